@@ -0,0 +1,92 @@
+package com.richieloco.coinsniper.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.service.AnnouncementCallingService;
+import com.richieloco.coinsniper.service.symbol.TokenizingSymbolExtractor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-article cost of what {@link AnnouncementCallingService} works out from an announcement before it touches the
+ * database: the symbols in its title ({@code extractSymbolsFromTitle}) and whether it is a delisting
+ * ({@code isDelisting}), over every article captured in the test resources.
+ * Run with {@code -Djmh.args="AnnouncementClassification -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnouncementClassificationBenchmark {
+
+    private String[] titles;
+    private String[] catalogNames;
+    private Classifier classifier;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> corpusTitles = new ArrayList<>();
+        List<String> corpusCatalogs = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources("classpath:testResponse_Full*.json")) {
+            JsonNode root = mapper.readTree(resource.getInputStream());
+            for (JsonNode catalog : root.path("data").path("catalogs")) {
+                String catalogName = catalog.path("catalogName").asText();
+                catalog.path("articles").forEach(article -> {
+                    corpusTitles.add(article.path("title").asText());
+                    corpusCatalogs.add(catalogName);
+                });
+            }
+        }
+        titles = corpusTitles.toArray(new String[0]);
+        catalogNames = corpusCatalogs.toArray(new String[0]);
+        classifier = new Classifier(new CoinSniperConfig());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void extractSymbolsFromTitle(Blackhole blackhole) {
+        String[] corpus = titles;
+        for (int i = 0; i < 1024; i++) {
+            blackhole.consume(classifier.symbols(corpus[i % corpus.length]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void isDelisting(Blackhole blackhole) {
+        String[] corpus = titles;
+        String[] catalogs = catalogNames;
+        for (int i = 0; i < 1024; i++) {
+            int article = i % corpus.length;
+            blackhole.consume(classifier.delisting(corpus[article], catalogs[article]));
+        }
+    }
+
+    /**
+     * Opens up the service's per-article steps; nothing else of it is used, so its other collaborators are absent.
+     */
+    static final class Classifier extends AnnouncementCallingService {
+
+        Classifier(CoinSniperConfig config) {
+            super(config, null, null, null, null, null, new TokenizingSymbolExtractor(), null, null, null);
+        }
+
+        List<String> symbols(String title) {
+            return extractSymbolsFromTitle(title);
+        }
+
+        boolean delisting(String title, String catalogName) {
+            return isDelisting(title, catalogName);
+        }
+    }
+}
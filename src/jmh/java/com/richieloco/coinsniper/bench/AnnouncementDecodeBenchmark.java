@@ -0,0 +1,115 @@
+package com.richieloco.coinsniper.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.richieloco.coinsniper.model.BinanceApiResponse;
+import com.richieloco.coinsniper.model.BinanceArticle;
+import com.richieloco.coinsniper.model.CatalogArticle;
+import com.richieloco.coinsniper.service.BinanceAnnouncementDecoder;
+import com.richieloco.coinsniper.service.TestCollaborators;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways {@code AnnouncementCallingService} can turn a Binance response into articles:
+ * binding the full {@link BinanceApiResponse} graph (what {@code bodyToMono} does) versus the
+ * token-level {@link BinanceAnnouncementDecoder}. Run with {@code -Djmh.args="AnnouncementDecode -prof gc"}
+ * to see the allocation difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnouncementDecodeBenchmark {
+
+    private static final Set<String> ALLOWED_CATALOGS = Set.of("New Cryptocurrency Listing", "Delisting");
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"10", "100", "500"})
+    public int pageSize;
+
+    private List<byte[]> chunks;
+    private Jackson2JsonDecoder bindingDecoder;
+    private BinanceAnnouncementDecoder streamingDecoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode root = (ObjectNode) mapper.readTree(new ClassPathResource("testResponse_Full.json").getInputStream());
+
+        // Grow each catalog to pageSize articles so larger pages can be simulated from the captured response
+        long nextId = 1;
+        for (var catalog : root.path("data").withArray("catalogs")) {
+            ArrayNode articles = (ArrayNode) catalog.get("articles");
+            List<ObjectNode> templates = new ArrayList<>();
+            articles.forEach(article -> templates.add((ObjectNode) article));
+            articles.removeAll();
+            for (int i = 0; i < pageSize; i++) {
+                ObjectNode copy = templates.get(i % templates.size()).deepCopy();
+                copy.put("id", nextId++);
+                articles.add(copy);
+            }
+        }
+
+        byte[] payload = mapper.writeValueAsBytes(root);
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < payload.length; offset += CHUNK_SIZE) {
+            chunks.add(Arrays.copyOfRange(payload, offset, Math.min(payload.length, offset + CHUNK_SIZE)));
+        }
+
+        bindingDecoder = new Jackson2JsonDecoder();
+        bindingDecoder.setMaxInMemorySize(-1);
+        streamingDecoder = new BinanceAnnouncementDecoder(TestCollaborators.pipelineMetrics());
+    }
+
+    @Benchmark
+    public List<CatalogArticle> bindingAllArticles() {
+        return binding().collectList().block();
+    }
+
+    @Benchmark
+    public List<CatalogArticle> streamingAllArticles() {
+        return streamingDecoder.decode(body(), ALLOWED_CATALOGS).collectList().block();
+    }
+
+    @Benchmark
+    public CatalogArticle bindingFirstArticle() {
+        return binding().next().block();
+    }
+
+    @Benchmark
+    public CatalogArticle streamingFirstArticle() {
+        return streamingDecoder.decode(body(), ALLOWED_CATALOGS).next().block();
+    }
+
+    private Flux<CatalogArticle> binding() {
+        return bindingDecoder.decodeToMono(body(), ResolvableType.forClass(BinanceApiResponse.class), MediaType.APPLICATION_JSON, null)
+                .cast(BinanceApiResponse.class)
+                .flatMapMany(response -> Flux.fromIterable(response.getData().getCatalogs()))
+                .filter(catalog -> ALLOWED_CATALOGS.contains(catalog.getCatalogName()))
+                .concatMap(catalog -> {
+                    List<BinanceArticle> articles = catalog.getArticles();
+                    return Flux.fromIterable(articles != null ? articles : List.of())
+                            .map(article -> new CatalogArticle(catalog.getCatalogName(), article));
+                });
+    }
+
+    private Flux<DataBuffer> body() {
+        return Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+}
@@ -0,0 +1,161 @@
+package com.richieloco.coinsniper.bench;
+
+import ai.djl.Model;
+import ai.djl.inference.Predictor;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.Activation;
+import ai.djl.nn.SequentialBlock;
+import ai.djl.nn.core.Linear;
+import ai.djl.training.DefaultTrainingConfig;
+import ai.djl.training.Trainer;
+import ai.djl.training.loss.Loss;
+import ai.djl.translate.Batchifier;
+import ai.djl.translate.Translator;
+import ai.djl.translate.TranslatorContext;
+import com.richieloco.coinsniper.dto.PredictionResult;
+import com.richieloco.coinsniper.entity.TradeDecisionRecord;
+import com.richieloco.coinsniper.repository.TradeDecisionRepository;
+import com.richieloco.coinsniper.service.DJLTrainingService;
+import com.richieloco.coinsniper.service.TestCollaborators;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-prediction cost of the risk model used by {@link DJLTrainingService}. {@code servicePredict} is the service as
+ * it stands, which builds and initialises the model for every prediction; {@code single} reuses one predictor for
+ * {@code batchSize} one-row predictions and {@code batch} scores the same rows in one forward pass, which shows what
+ * keeping the model and batching queued predictions would save.
+ * Needs the PyTorch engine, which DJL downloads on first use. Run with {@code -Djmh.args="DjlInference"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DjlInferenceBenchmark {
+
+    private static final int BATCH_SIZE = 64;
+
+    private DJLTrainingService service;
+    private Model model;
+    private Predictor<float[], Float> singlePredictor;
+    private Predictor<float[][], float[]> batchPredictor;
+    private float[][] rows;
+
+    @Setup
+    public void setUp() throws Exception {
+        service = new DJLTrainingService(latestDecisionRepository(), TestCollaborators.boundedElastic());
+
+        // Same block and initialisation as DJLTrainingService
+        model = Model.newInstance("coin-sniper-model", "PyTorch");
+        model.setBlock(new SequentialBlock()
+                .add(Linear.builder().setUnits(8).build())
+                .add(Activation.reluBlock())
+                .add(Linear.builder().setUnits(1).build())
+                .add(Activation.sigmoidBlock()));
+        try (Trainer trainer = model.newTrainer(new DefaultTrainingConfig(Loss.sigmoidBinaryCrossEntropyLoss()))) {
+            trainer.initialize(new Shape(1, 1));
+        }
+        singlePredictor = model.newPredictor(new RowTranslator());
+        batchPredictor = model.newPredictor(new BatchTranslator());
+
+        rows = new float[BATCH_SIZE][1];
+        for (float[] row : rows) {
+            row[0] = ThreadLocalRandom.current().nextFloat();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        singlePredictor.close();
+        batchPredictor.close();
+        model.close();
+    }
+
+    @Benchmark
+    public PredictionResult servicePredict() {
+        return service.predict("XYZ").block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public float single() throws Exception {
+        float sum = 0;
+        for (float[] row : rows) {
+            sum += singlePredictor.predict(row);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public float[] batch() throws Exception {
+        return batchPredictor.predict(rows);
+    }
+
+    /**
+     * One normalised risk score in, one probability out, as DJLTrainingService predicts.
+     */
+    private static final class RowTranslator implements Translator<float[], Float> {
+
+        @Override
+        public NDList processInput(TranslatorContext ctx, float[] input) {
+            return new NDList(ctx.getNDManager().create(new float[][]{{input[0]}}));
+        }
+
+        @Override
+        public Float processOutput(TranslatorContext ctx, NDList list) {
+            NDArray out = list.singletonOrThrow();
+            return out.isScalar() ? out.getFloat() : out.toFloatArray()[0];
+        }
+
+        @Override
+        public Batchifier getBatchifier() {
+            return null;
+        }
+    }
+
+    /**
+     * All rows as one {@code (n, 1)} input, so the model runs once for the batch.
+     */
+    private static final class BatchTranslator implements Translator<float[][], float[]> {
+
+        @Override
+        public NDList processInput(TranslatorContext ctx, float[][] input) {
+            return new NDList(ctx.getNDManager().create(input));
+        }
+
+        @Override
+        public float[] processOutput(TranslatorContext ctx, NDList list) {
+            return list.singletonOrThrow().toFloatArray();
+        }
+
+        @Override
+        public Batchifier getBatchifier() {
+            return null;
+        }
+    }
+
+    /**
+     * A {@link TradeDecisionRepository} whose latest decision for any coin has a medium risk score.
+     */
+    private static TradeDecisionRepository latestDecisionRepository() {
+        TradeDecisionRecord latest = TradeDecisionRecord.builder().coinSymbol("XYZ").exchange("Binance").riskScore(5).build();
+        return (TradeDecisionRepository) Proxy.newProxyInstance(TradeDecisionRepository.class.getClassLoader(),
+                new Class<?>[]{TradeDecisionRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findTopByCoinSymbolAndExpiredFalseOrderByDecidedAtDesc" -> Mono.just(latest);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "LatestDecisionRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,106 @@
+package com.richieloco.coinsniper.bench;
+
+import com.richieloco.coinsniper.config.AiPromptConfig;
+import com.richieloco.coinsniper.config.AssessmentStreamingConfig;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.service.TestCollaborators;
+import com.richieloco.coinsniper.service.persistence.ExchangeAssessmentWriter;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost around one LLM round trip in {@link ExchangeAssessor}: building the prompt from its template
+ * ({@code generatePrompt}) and turning the model's answer into records ({@code parseAssessmentOutput}), for a JSON
+ * array covering {@code exchanges} exchanges and for the key-value fallback. Run with
+ * {@code -Djmh.args="ExchangeAssessment -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExchangeAssessmentBenchmark {
+
+    private static final String[] EXCHANGES = {"Binance", "Bybit", "Coinbase", "GateIo", "Kraken", "Kucoin", "MEXC", "OKCoin", "Poloniex"};
+    private static final String[] RISKS = {"Low", "Medium", "High"};
+
+    @Param({"1", "9"})
+    public int exchanges;
+
+    @Param({"json", "key-value"})
+    public String response;
+
+    private Assessor assessor;
+    private ExchangeSelectorContext context;
+    private String answer;
+
+    @Setup
+    public void setUp() {
+        assessor = new Assessor();
+        context = new ExchangeSelectorContext(String.join(",", List.of(EXCHANGES).subList(0, exchanges)), "XYZ", "USDT,USDC,USD");
+        answer = switch (response) {
+            case "json" -> jsonAnswer(exchanges);
+            case "key-value" -> "Exchange: Binance, Coin Listing: XYZ/USDT, Overall Risk Score: Medium, "
+                    + "Liquidity: High, Trading Volume: Medium, Trading Fees: Low";
+            default -> throw new IllegalArgumentException("Unknown response " + response);
+        };
+    }
+
+    @Benchmark
+    public String generatePrompt() {
+        return assessor.prompt(context);
+    }
+
+    @Benchmark
+    public List<ExchangeAssessmentRecord> parseAssessmentOutput() {
+        return assessor.records(context, answer);
+    }
+
+    private static String jsonAnswer(int exchanges) {
+        StringJoiner array = new StringJoiner(",\n  ", "[\n  ", "\n]");
+        for (int i = 0; i < exchanges; i++) {
+            array.add("""
+                    {"exchange": "%s", "coinListing": "XYZ/USDT", "overallRiskScore": "%s", \
+                    "liquidity": "High", "tradingVolume": "Medium", "tradingFees": "Low"}""".formatted(EXCHANGES[i], RISKS[i % RISKS.length]));
+        }
+        return array.toString();
+    }
+
+    /**
+     * Opens up the assessor's prompt and parse steps; it never calls the model or writes anything.
+     */
+    static final class Assessor extends ExchangeAssessor {
+
+        Assessor() {
+            super(null, (ExchangeAssessmentWriter) null, new CachedPromptConfig(), TestCollaborators.pipelineMetrics(), new AssessmentStreamingConfig());
+        }
+
+        String prompt(ExchangeSelectorContext context) {
+            return generatePrompt(context);
+        }
+
+        List<ExchangeAssessmentRecord> records(ExchangeSelectorContext context, String response) {
+            return parseAssessmentOutput(context, response);
+        }
+    }
+
+    /**
+     * Hands out one template, as the Spring-proxied configuration does, instead of a new one per call.
+     */
+    static final class CachedPromptConfig extends AiPromptConfig {
+
+        private final PromptTemplate template = super.exchangeCoinAvailabilityPromptTemplate();
+
+        @Override
+        public PromptTemplate exchangeCoinAvailabilityPromptTemplate() {
+            return template;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.richieloco.coinsniper.bench;
+
+import com.richieloco.coinsniper.config.LlmTransportConfig;
+import com.richieloco.coinsniper.service.TestCollaborators;
+import com.richieloco.coinsniper.service.llm.ChatModelTransport;
+import com.richieloco.coinsniper.service.llm.ChatTransport;
+import com.richieloco.coinsniper.service.llm.WebClientChatTransport;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.openai.api.OpenAiApi;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two {@link ChatTransport}s under a burst of concurrent assessments against a local stub of the
+ * OpenAI-compatible endpoint that answers after a fixed latency. The {@code CHAT_MODEL} path parks a
+ * {@code boundedElastic} thread per call, so once {@code concurrency} exceeds that pool the burst takes several
+ * latency rounds; the {@code WEB_CLIENT} path is bounded by the connection pool instead.
+ * Run with {@code -Djmh.args="LlmTransport"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LlmTransportBenchmark {
+
+    private static final String COMPLETION = """
+            {"id": "bench", "object": "chat.completion", "created": 0, "model": "stub",
+             "choices": [{"index": 0, "message": {"role": "assistant",
+               "content": "[{\\"exchange\\": \\"Binance\\", \\"coinListing\\": \\"XYZUSDT\\", \\"overallRiskScore\\": \\"LOW\\"}]"},
+               "finish_reason": "stop"}],
+             "usage": {"prompt_tokens": 10, "completion_tokens": 20, "total_tokens": 30}}""";
+
+    @Param({"CHAT_MODEL", "WEB_CLIENT"})
+    public LlmTransportConfig.Type transport;
+
+    @Param({"16", "256"})
+    public int concurrency;
+
+    @Param({"50"})
+    public int latencyMillis;
+
+    private DisposableServer server;
+    private ChatTransport chatTransport;
+
+    @Setup
+    public void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/v1/chat/completions", (request, response) -> request.receive().then()
+                        .then(Mono.delay(Duration.ofMillis(latencyMillis)))
+                        .then(response.header("Content-Type", "application/json")
+                                .sendString(Mono.just(COMPLETION))
+                                .then())))
+                .bindNow();
+        String baseUrl = "http://localhost:" + server.port();
+
+        LlmTransportConfig config = new LlmTransportConfig();
+        config.setMaxConnections(Math.max(concurrency, 16));
+        chatTransport = switch (transport) {
+            case CHAT_MODEL -> new ChatModelTransport(OpenAiChatModel.builder()
+                    .openAiApi(new OpenAiApi.Builder().apiKey("bench").baseUrl(baseUrl).build())
+                    .defaultOptions(OpenAiChatOptions.builder().model("stub").temperature(0.7).build())
+                    .build(), TestCollaborators.boundedElastic());
+            case WEB_CLIENT -> WebClientChatTransport.create(baseUrl, "bench", "stub", 0.7, config);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.disposeNow();
+    }
+
+    /**
+     * One burst of {@code concurrency} simultaneous assessments, as after a multi-coin announcement.
+     */
+    @Benchmark
+    public long burst() {
+        return Flux.range(0, concurrency)
+                .flatMap(i -> chatTransport.call("Assess XYZ " + i), concurrency)
+                .count()
+                .block();
+    }
+}
@@ -0,0 +1,113 @@
+package com.richieloco.coinsniper.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.service.symbol.KnownSymbolDictionary;
+import com.richieloco.coinsniper.service.symbol.RegexSymbolExtractor;
+import com.richieloco.coinsniper.service.symbol.SymbolExtractor;
+import com.richieloco.coinsniper.service.symbol.TokenizingSymbolExtractor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-title cost of symbol extraction over every announcement title captured in the test resources.
+ * {@code legacy} is the previous in-service implementation that compiled its patterns on each call.
+ * Run with {@code -Djmh.args="SymbolExtraction -prof gc"} to compare allocation per title.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolExtractionBenchmark {
+
+    @Param({"legacy", "regex", "tokenizer", "dictionary"})
+    public String engine;
+
+    private String[] titles;
+    private SymbolExtractor extractor;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> corpus = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources("classpath:testResponse_Full*.json")) {
+            JsonNode root = mapper.readTree(resource.getInputStream());
+            for (JsonNode catalog : root.path("data").path("catalogs")) {
+                catalog.path("articles").forEach(article -> corpus.add(article.path("title").asText()));
+            }
+        }
+        titles = corpus.toArray(new String[0]);
+
+        extractor = switch (engine) {
+            case "legacy" -> SymbolExtractionBenchmark::legacyExtract;
+            case "regex" -> new RegexSymbolExtractor();
+            case "tokenizer" -> new TokenizingSymbolExtractor();
+            case "dictionary" -> new TokenizingSymbolExtractor(KnownSymbolDictionary.of(knownSymbols(corpus)));
+            default -> throw new IllegalArgumentException("Unknown engine " + engine);
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void extract(Blackhole blackhole) {
+        String[] corpus = titles;
+        for (int i = 0; i < 1024; i++) {
+            blackhole.consume(extractor.extract(corpus[i % corpus.length]));
+        }
+    }
+
+    /**
+     * Builds a realistic dictionary: every ticker the regex finds in the corpus.
+     */
+    private static Set<String> knownSymbols(List<String> corpus) {
+        SymbolExtractor regex = new RegexSymbolExtractor();
+        Set<String> symbols = new LinkedHashSet<>();
+        corpus.forEach(title -> symbols.addAll(regex.extract(title)));
+        symbols.remove(SymbolExtractor.UNKNOWN_COIN);
+        return symbols;
+    }
+
+    private static List<String> legacyExtract(String title) {
+        Set<String> symbols = new LinkedHashSet<>();
+        Matcher parens = Pattern.compile("\\(([A-Z0-9]{2,10})\\)").matcher(title);
+        while (parens.find()) {
+            String symbol = parens.group(1).trim();
+            if (legacyIsValid(symbol)) {
+                symbols.add(symbol);
+            }
+        }
+        Matcher structured = Pattern.compile(
+                "(?i)binance (will|has) (list|add|delist|support|complete|launch|introduce)\\s+(.*?)\\b([A-Z0-9]{2,10})\\b"
+        ).matcher(title);
+        while (structured.find()) {
+            String candidate = structured.group(4).trim();
+            if (legacyIsValid(candidate)) {
+                symbols.add(candidate);
+            }
+        }
+        if (symbols.isEmpty()) {
+            symbols.add(SymbolExtractor.UNKNOWN_COIN);
+        }
+        return new ArrayList<>(symbols);
+    }
+
+    private static boolean legacyIsValid(String symbol) {
+        return symbol.matches("^[A-Z0-9]{2,10}$") &&
+                !symbol.matches("^\\d{4}-\\d{2}-\\d{2}$") &&
+                !symbol.equalsIgnoreCase("USD") &&
+                !symbol.equalsIgnoreCase("USDT") &&
+                !symbol.equalsIgnoreCase("BNB");
+    }
+}
@@ -0,0 +1,85 @@
+package com.richieloco.coinsniper.bench;
+
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.entity.TradeDecisionRecord;
+import com.richieloco.coinsniper.repository.TradeDecisionRepository;
+import com.richieloco.coinsniper.service.TestCollaborators;
+import com.richieloco.coinsniper.service.TradeExecutionService;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The decision side of {@link TradeExecutionService} once the assessments are in: mapping each risk rating (a mix of
+ * casings and an unknown one) to a score and building and handing over one {@link TradeDecisionRecord} per supported
+ * exchange ({@code evaluateAndTrade} against an in-memory assessor and a repository that writes nothing), so the
+ * figure is the service's own overhead per announcement. Run with {@code -Djmh.args="TradeDecision -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TradeDecisionBenchmark {
+
+    private static final List<String> EXCHANGES = List.of("Binance", "Bybit", "Coinbase", "GateIo", "Kraken", "Kucoin", "MEXC", "OKCoin", "Poloniex");
+    private static final String[] RISKS = {"Low", "Medium", "High", "LOW", "medium", "Unknown"};
+
+    @Param({"1", "9"})
+    public int exchanges;
+
+    private TradeExecutionService service;
+    private CoinAnnouncementRecord announcement;
+
+    @Setup
+    public void setUp() {
+        List<ExchangeAssessmentRecord> assessments = new ArrayList<>();
+        for (int i = 0; i < exchanges; i++) {
+            assessments.add(ExchangeAssessmentRecord.builder()
+                    .exchange(EXCHANGES.get(i))
+                    .coinListing("XYZ/USDT")
+                    .overallRiskScore(RISKS[i % RISKS.length])
+                    .assessedAt(Instant.now())
+                    .build());
+        }
+        CoinSniperConfig config = new CoinSniperConfig();
+        config.setSupported(new CoinSniperConfig.Supported());
+        config.getSupported().setExchanges(EXCHANGES);
+        config.getSupported().setStableCoins(List.of("USDT", "USDC", "USD"));
+        service = new TradeExecutionService(context -> Mono.just(assessments), discardingRepository(), config,
+                TestCollaborators.pipelineMetrics(), TestCollaborators.unboundedBudget(), TestCollaborators.noOrders());
+        announcement = CoinAnnouncementRecord.builder()
+                .coinSymbol("XYZ")
+                .title("Binance Will List XYZ (XYZ)")
+                .announcedAt(Instant.now())
+                .build();
+    }
+
+    @Benchmark
+    public List<TradeDecisionRecord> evaluateAndTrade() {
+        return service.evaluateAndTrade(announcement).collectList().block();
+    }
+
+    /**
+     * A {@link TradeDecisionRepository} whose upsert completes immediately, so no database time is measured.
+     */
+    private static TradeDecisionRepository discardingRepository() {
+        return (TradeDecisionRepository) Proxy.newProxyInstance(TradeDecisionRepository.class.getClassLoader(),
+                new Class<?>[]{TradeDecisionRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "upsertPerMinute" -> Mono.empty();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "DiscardingTradeDecisionRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,71 @@
+package com.richieloco.coinsniper.loadtest;
+
+import com.richieloco.coinsniper.config.BlockingExecutionConfig;
+import com.richieloco.coinsniper.config.BlockingExecutionConfig.Mode;
+import com.richieloco.coinsniper.service.execution.BlockingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Four times as many simultaneous blocking calls as {@code boundedElastic} has threads. {@code boundedElastic} has to
+ * run them in at least four rounds; virtual threads with enough permits run them all at once. Wall-clock timed, so it
+ * runs with {@code ./mvnw verify -Pload-test} rather than in the unit suite.
+ */
+@Tag("load")
+@Slf4j
+class BlockingExecutorLoadTest {
+
+    private static final Duration CALL_LATENCY = Duration.ofMillis(200);
+
+    private final List<BlockingExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executors.forEach(BlockingExecutor::dispose);
+    }
+
+    @Test
+    void burstBeyondBoundedElasticCap_completesInOneRoundOnVirtualThreads() {
+        int calls = Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE * 4;
+
+        Duration boundedElastic = burst(executor(Mode.BOUNDED_ELASTIC, calls), calls);
+        Duration virtualThreads = burst(executor(Mode.VIRTUAL_THREADS, calls), calls);
+        log.info("{} blocking calls of {}: boundedElastic {}, virtual threads {}", calls, CALL_LATENCY, boundedElastic, virtualThreads);
+
+        assertThat(boundedElastic).isGreaterThanOrEqualTo(CALL_LATENCY.multipliedBy(4));
+        assertThat(virtualThreads).isLessThan(CALL_LATENCY.multipliedBy(3));
+    }
+
+    private Duration burst(BlockingExecutor executor, int calls) {
+        long start = System.nanoTime();
+        Long completed = Flux.range(0, calls)
+                .flatMap(i -> executor.call(() -> {
+                    Thread.sleep(CALL_LATENCY.toMillis()); // stands in for a blocking LLM round trip
+                    return i;
+                }), calls)
+                .count()
+                .block(Duration.ofMinutes(1));
+        assertThat(completed).isEqualTo(calls);
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private BlockingExecutor executor(Mode mode, int maxConcurrency) {
+        BlockingExecutionConfig config = new BlockingExecutionConfig();
+        config.setMode(mode);
+        config.setMaxConcurrency(maxConcurrency);
+        BlockingExecutor executor = new BlockingExecutor(config, new SimpleMeterRegistry());
+        executors.add(executor);
+        return executor;
+    }
+}
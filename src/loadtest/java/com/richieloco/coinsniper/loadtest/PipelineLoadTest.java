@@ -0,0 +1,248 @@
+package com.richieloco.coinsniper.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.entity.TradeDecisionRecord;
+import com.richieloco.coinsniper.repository.TradeDecisionRepository;
+import com.richieloco.coinsniper.service.AnnouncementCallingService;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Drives the real {@link AnnouncementCallingService} -> trade evaluation queue -> {@code TradeExecutionService}
+ * pipeline against {@link StubBinanceServer} and {@link StubLlmServer}, so it runs offline and repeatably.
+ * {@code polls} consecutive polls each bring {@code page-size} fresh articles; once every saved announcement has been
+ * evaluated the harness reports throughput and release-to-decision latency percentiles to the log and
+ * {@code target/load-test/pipeline-report.json}.
+ * <p>
+ * Run with {@code ./mvnw verify -Pload-test}. Every knob is a {@code -Dloadtest.*} system property (see
+ * {@link Settings}); application properties such as {@code -Dcoin-sniper.llm-transport.type=web-client} apply as usual.
+ * Setting {@code loadtest.min-throughput} or {@code loadtest.max-p99-ms} turns the run into a regression gate.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.allow-bean-definition-overriding=true",
+        "spring.ai.openai.api-key=load-test",
+        "spring.ai.groq.api-key=load-test",
+        "coin-sniper.announcement-polling.enabled=false",
+        "logging.level.root=WARN",
+        "logging.level.com.richieloco.coinsniper.loadtest=INFO",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.springdoc=WARN",
+        "logging.level.org.thymeleaf=WARN"
+})
+@Slf4j
+class PipelineLoadTest {
+
+    private static final Settings SETTINGS = Settings.fromSystemProperties();
+    private static final StubBehaviour BINANCE_BEHAVIOUR = StubBehaviour.fromSystemProperties("loadtest.binance",
+            new StubBehaviour(Duration.ofMillis(50), Duration.ofMillis(50), 0));
+    private static final StubBehaviour LLM_BEHAVIOUR = StubBehaviour.fromSystemProperties("loadtest.llm",
+            new StubBehaviour(Duration.ofMillis(300), Duration.ofMillis(400), 0));
+    private static final StubBinanceServer BINANCE = new StubBinanceServer(BINANCE_BEHAVIOUR, SETTINGS.maxCoinsPerArticle());
+    private static final StubLlmServer LLM = new StubLlmServer(LLM_BEHAVIOUR);
+
+    @Autowired
+    private AnnouncementCallingService announcementCallingService;
+
+    @Autowired
+    private TradeDecisionRepository tradeDecisionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void stubEndpoints(DynamicPropertyRegistry registry) {
+        registry.add("spring.ai.openai.base-url", LLM::baseUrl);
+        registry.add("spring.ai.groq.base-url", LLM::baseUrl);
+    }
+
+    @TestConfiguration
+    static class StubBinanceConfig {
+        @Bean
+        public WebClient binanceWebClient() {
+            return WebClient.builder().baseUrl(BINANCE.baseUrl()).build();
+        }
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        BINANCE.close();
+        LLM.close();
+    }
+
+    @Test
+    void pipelineUnderLoad() throws Exception {
+        log.info("Pipeline load test: {}; binance {}; llm {}", SETTINGS, BINANCE_BEHAVIOUR, LLM_BEHAVIOUR);
+        double evaluatedBefore = evaluated();
+        long start = System.nanoTime();
+
+        List<CoinAnnouncementRecord> saved = Flux.range(0, SETTINGS.polls())
+                .concatMap(poll -> announcementCallingService.callBinanceAnnouncements(1, 1, SETTINGS.pageSize())
+                        .delaySubscription(poll == 0 ? Duration.ZERO : SETTINGS.pollInterval()))
+                .collectList()
+                .block();
+        long polled = System.nanoTime();
+        await().atMost(SETTINGS.drainTimeout())
+                .pollInterval(50, TimeUnit.MILLISECONDS)
+                .until(() -> evaluated() - evaluatedBefore >= saved.size());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<String, Instant> releases = BINANCE.releases();
+        Map<String, List<TradeDecisionRecord>> decisionsByCoin = tradeDecisionRepository.findAll()
+                .filter(decision -> releases.containsKey(decision.getCoinSymbol()))
+                .collect(Collectors.groupingBy(TradeDecisionRecord::getCoinSymbol))
+                .block();
+        List<Long> firstDecision = new ArrayList<>();
+        List<Long> allDecided = new ArrayList<>();
+        decisionsByCoin.forEach((coin, decisions) -> {
+            Instant released = releases.get(coin);
+            firstDecision.add(Duration.between(released, decisions.stream().map(TradeDecisionRecord::getDecidedAt)
+                    .min(Comparator.naturalOrder()).orElseThrow()).toMillis());
+            allDecided.add(Duration.between(released, decisions.stream().map(TradeDecisionRecord::getDecidedAt)
+                    .max(Comparator.naturalOrder()).orElseThrow()).toMillis());
+        });
+        int decisions = decisionsByCoin.values().stream().mapToInt(List::size).sum();
+        double seconds = elapsed.toNanos() / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", SETTINGS);
+        report.put("binance", Map.of("behaviour", BINANCE_BEHAVIOUR.toString(), "requests", BINANCE.requests(), "errors", BINANCE.errors()));
+        report.put("llm", Map.of("behaviour", LLM_BEHAVIOUR.toString(), "requests", LLM.requests(), "errors", LLM.errors(),
+                "coinsAssessed", LLM.coinsAssessed()));
+        report.put("elapsedMs", elapsed.toMillis());
+        report.put("pollingMs", Duration.ofNanos(polled - start).toMillis());
+        report.put("announcements", saved.size());
+        report.put("announcementsDecided", decisionsByCoin.size());
+        report.put("decisions", decisions);
+        report.put("announcementsPerSecond", round(saved.size() / seconds));
+        report.put("decisionsPerSecond", round(decisions / seconds));
+        report.put("firstDecisionMs", percentiles(firstDecision));
+        report.put("allDecidedMs", percentiles(allDecided));
+        report.put("evaluationFailures", count(meterRegistry.find("coinsniper.evaluation").tag("outcome", "error").timer()));
+        report.put("stageMeanMs", stageMeans());
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+        String json = objectMapper.writeValueAsString(report);
+        Path reportFile = Path.of("target", "load-test", "pipeline-report.json");
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, json);
+        log.info("Pipeline load test report:\n{}", json);
+        log.info("Report written to {}", reportFile.toAbsolutePath());
+
+        assertThat(saved).as("announcements saved").isNotEmpty();
+        if (SETTINGS.minThroughput() > 0) {
+            assertThat(saved.size() / seconds).as("announcements per second").isGreaterThanOrEqualTo(SETTINGS.minThroughput());
+        }
+        if (SETTINGS.maxP99Millis() > 0) {
+            assertThat(percentile(allDecided, 0.99)).as("p99 release-to-decision ms").isLessThanOrEqualTo(SETTINGS.maxP99Millis());
+        }
+    }
+
+    /**
+     * Announcements the evaluation queue has finished with, including those it dropped on overflow.
+     */
+    private double evaluated() {
+        double evaluations = meterRegistry.find("coinsniper.evaluation").timers().stream().mapToLong(Timer::count).sum();
+        double dropped = meterRegistry.find("coinsniper.evaluation.queue.overflow").counters().stream()
+                .filter(counter -> !"caller-runs".equals(counter.getId().getTag("policy")))
+                .mapToDouble(Counter::count)
+                .sum();
+        return evaluations + dropped;
+    }
+
+    private Map<String, Double> stageMeans() {
+        Map<String, Double> means = new LinkedHashMap<>();
+        for (String stage : List.of(PipelineMetrics.FETCH, PipelineMetrics.DEDUP, PipelineMetrics.ANNOUNCEMENT_SAVE,
+                PipelineMetrics.LLM_CALL, PipelineMetrics.PARSE, PipelineMetrics.DECISION_UPSERT)) {
+            Timer timer = meterRegistry.find("coinsniper.pipeline.stage").tag("stage", stage).timer();
+            if (timer != null && timer.count() > 0) {
+                means.put(stage, round(timer.mean(TimeUnit.MILLISECONDS)));
+            }
+        }
+        Timer wait = meterRegistry.find("coinsniper.evaluation.queue.wait").timer();
+        if (wait != null && wait.count() > 0) {
+            means.put("queue-wait", round(wait.mean(TimeUnit.MILLISECONDS)));
+        }
+        return means;
+    }
+
+    private static Map<String, Long> percentiles(List<Long> millis) {
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", percentile(millis, 0.50));
+        percentiles.put("p95", percentile(millis, 0.95));
+        percentiles.put("p99", percentile(millis, 0.99));
+        percentiles.put("max", percentile(millis, 1.0));
+        return percentiles;
+    }
+
+    /**
+     * Nearest-rank percentile, 0 for an empty sample.
+     */
+    private static long percentile(List<Long> millis, double quantile) {
+        if (millis.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = millis.stream().sorted().toList();
+        int rank = (int) Math.ceil(quantile * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static long count(Timer timer) {
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Load shape, read from {@code loadtest.*} system properties.
+     */
+    record Settings(int polls, int pageSize, int maxCoinsPerArticle, Duration pollInterval, Duration drainTimeout,
+                    double minThroughput, long maxP99Millis) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("loadtest.polls", 20),
+                    Integer.getInteger("loadtest.page-size", 10),
+                    Integer.getInteger("loadtest.max-coins-per-article", 3),
+                    Duration.ofMillis(Long.getLong("loadtest.poll-interval-ms", 0)),
+                    Duration.ofSeconds(Long.getLong("loadtest.drain-timeout-s", 120)),
+                    Double.parseDouble(System.getProperty("loadtest.min-throughput", "0")),
+                    Long.getLong("loadtest.max-p99-ms", 0));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.richieloco.coinsniper.loadtest;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How a stub server answers: after {@code latency} plus a uniformly random share of {@code jitter}, and with an
+ * error status for {@code errorRate} of the requests.
+ */
+public record StubBehaviour(Duration latency, Duration jitter, double errorRate) {
+
+    /**
+     * Reads {@code <prefix>.latency-ms}, {@code <prefix>.jitter-ms} and {@code <prefix>.error-rate} from the system
+     * properties, falling back to {@code defaults}.
+     */
+    public static StubBehaviour fromSystemProperties(String prefix, StubBehaviour defaults) {
+        return new StubBehaviour(
+                Duration.ofMillis(Long.getLong(prefix + ".latency-ms", defaults.latency().toMillis())),
+                Duration.ofMillis(Long.getLong(prefix + ".jitter-ms", defaults.jitter().toMillis())),
+                Double.parseDouble(System.getProperty(prefix + ".error-rate", String.valueOf(defaults.errorRate()))));
+    }
+
+    /**
+     * Emits whether the request should fail, once its simulated latency has passed.
+     */
+    public Mono<Boolean> respond() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latency.toMillis() + (jitter.isZero() ? 0 : random.nextLong(jitter.toMillis() + 1));
+        boolean fail = random.nextDouble() < errorRate;
+        return delay == 0 ? Mono.just(fail) : Mono.delay(Duration.ofMillis(delay)).thenReturn(fail);
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latency.toMillis() + "ms, jitter=" + jitter.toMillis() + "ms, error-rate=" + errorRate;
+    }
+}
@@ -0,0 +1,117 @@
+package com.richieloco.coinsniper.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Binance announcement list endpoint. Every request is answered with a page of articles no
+ * poll has seen before, released now and newest first, so each poll feeds {@code pageSize} fresh announcements into
+ * the pipeline. Article {@code n} lists {@code 1 + n % maxCoinsPerArticle} coins, which exercises multi-coin batching.
+ * <p>
+ * The release time of every coin actually served is kept in {@link #releases()}, so the harness can measure how long
+ * each one took to reach its trade decisions.
+ */
+public class StubBinanceServer implements AutoCloseable {
+
+    static final String CATALOG = "New Cryptocurrency Listing";
+
+    private final StubBehaviour behaviour;
+    private final int maxCoinsPerArticle;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong articleIds = new AtomicLong();
+    private final AtomicLong coinIds = new AtomicLong();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final Map<String, Instant> releases = new ConcurrentHashMap<>();
+    private final DisposableServer server;
+
+    public StubBinanceServer(StubBehaviour behaviour, int maxCoinsPerArticle) {
+        this.behaviour = behaviour;
+        this.maxCoinsPerArticle = Math.max(1, maxCoinsPerArticle);
+        this.server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    requests.incrementAndGet();
+                    return behaviour.respond().flatMap(fail -> {
+                        if (fail) {
+                            errors.incrementAndGet();
+                            return response.status(503).sendString(Mono.just("stub error")).then();
+                        }
+                        return response.header("Content-Type", "application/json")
+                                .sendString(Mono.fromCallable(() -> page(pageSize(request))))
+                                .then();
+                    });
+                })
+                .bindNow();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port() + "/bapi/apex/v1/public/apex/cms/article/list/query";
+    }
+
+    /**
+     * Coin symbol to the release time of the article that announced it, for every page that was served.
+     */
+    public Map<String, Instant> releases() {
+        return releases;
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public int errors() {
+        return errors.get();
+    }
+
+    private String page(int pageSize) throws Exception {
+        Instant now = Instant.now();
+        List<Map<String, Object>> articles = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            long id = articleIds.incrementAndGet();
+            List<String> coins = new ArrayList<>();
+            for (long c = 0, count = 1 + id % maxCoinsPerArticle; c < count; c++) {
+                coins.add("LT" + Long.toString(coinIds.incrementAndGet(), 36).toUpperCase());
+            }
+            coins.forEach(coin -> releases.put(coin, now));
+            articles.add(Map.of(
+                    "id", id,
+                    "code", "lt" + id,
+                    "title", "Introducing Load Test " + coins.stream().map(coin -> "(" + coin + ")").toList(),
+                    "type", 1,
+                    "releaseDate", now.toEpochMilli()));
+        }
+        // Binance lists newest first
+        articles.sort((a, b) -> Long.compare((long) b.get("id"), (long) a.get("id")));
+        return objectMapper.writeValueAsString(Map.of(
+                "code", "000000",
+                "success", true,
+                "data", Map.of("catalogs", List.of(Map.of("catalogName", CATALOG, "articles", articles)))));
+    }
+
+    private static int pageSize(HttpServerRequest request) {
+        String uri = request.uri();
+        int at = uri.indexOf("pageSize=");
+        if (at < 0) {
+            return 10;
+        }
+        int end = uri.indexOf('&', at);
+        return Integer.parseInt(uri.substring(at + "pageSize=".length(), end < 0 ? uri.length() : end));
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
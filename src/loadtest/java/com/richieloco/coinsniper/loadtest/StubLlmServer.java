@@ -0,0 +1,174 @@
+package com.richieloco.coinsniper.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for an OpenAI-compatible {@code /v1/chat/completions} endpoint. It reads the exchanges, stable
+ * coins and target coin(s) out of the assessment prompt and answers with one object per coin and exchange, paired
+ * with the first stable coin, in the shape the single- and multi-coin prompts ask for. Both the plain and the
+ * {@code stream: true} flavour are served, so either {@code LlmTransportConfig} type and assessment streaming work.
+ */
+public class StubLlmServer implements AutoCloseable {
+
+    private static final String[] RISKS = {"Low", "Medium", "High"};
+    private static final int CHUNK_SIZE = 64;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final AtomicInteger coinsAssessed = new AtomicInteger();
+    private final DisposableServer server;
+
+    public StubLlmServer(StubBehaviour behaviour) {
+        this.server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/v1/chat/completions", (request, response) -> request.receive().aggregate().asString()
+                        .zipWith(behaviour.respond())
+                        .flatMap(received -> {
+                            requests.incrementAndGet();
+                            if (received.getT2()) {
+                                errors.incrementAndGet();
+                                return response.status(500).sendString(Mono.just("{\"error\": {\"message\": \"stub error\"}}")).then();
+                            }
+                            JsonNode body = read(received.getT1());
+                            String content = answer(body.path("messages").path(0).path("content").asText());
+                            if (body.path("stream").asBoolean()) {
+                                return response.header("Content-Type", "text/event-stream")
+                                        .sendString(Flux.fromIterable(chunks(content)).concatWithValues("data: [DONE]\n\n"))
+                                        .then();
+                            }
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Mono.just(completion(content)))
+                                    .then();
+                        })))
+                .bindNow();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public int errors() {
+        return errors.get();
+    }
+
+    public int coinsAssessed() {
+        return coinsAssessed.get();
+    }
+
+    private String answer(String prompt) {
+        List<String> exchanges = listAfter(prompt, "- Exchanges:");
+        List<String> stableCoins = listAfter(prompt, "- Stable coins:");
+        List<String> coins = listAfter(prompt, "- Target coins:");
+        boolean multiCoin = !coins.isEmpty();
+        if (!multiCoin) {
+            coins = listAfter(prompt, "- Target coin:");
+        }
+        String stableCoin = stableCoins.isEmpty() ? "USDT" : stableCoins.getFirst();
+        coinsAssessed.addAndGet(coins.size());
+
+        List<Map<String, String>> listings = new ArrayList<>();
+        for (String coin : coins) {
+            for (String exchange : exchanges) {
+                String risk = RISKS[Math.floorMod((coin + exchange).hashCode(), RISKS.length)];
+                Map<String, String> listing = new LinkedHashMap<>();
+                if (multiCoin) {
+                    listing.put("targetCoin", coin);
+                }
+                listing.put("exchange", exchange);
+                listing.put("coinListing", coin + "/" + stableCoin);
+                listing.put("overallRiskScore", risk);
+                listing.put("liquidity", risk.equals("Low") ? "High" : "Medium");
+                listing.put("tradingVolume", "Medium");
+                listing.put("tradingFees", "Low");
+                listings.add(listing);
+            }
+        }
+        return write(listings);
+    }
+
+    private static List<String> listAfter(String prompt, String label) {
+        int at = prompt.indexOf(label);
+        if (at < 0) {
+            return List.of();
+        }
+        int end = prompt.indexOf('\n', at);
+        String values = prompt.substring(at + label.length(), end < 0 ? prompt.length() : end);
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    private String completion(String content) {
+        return write(Map.of(
+                "id", "stub-" + requests.get(),
+                "object", "chat.completion",
+                "created", System.currentTimeMillis() / 1000,
+                "model", "stub",
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", content),
+                        "finish_reason", "stop")),
+                "usage", Map.of("prompt_tokens", 100, "completion_tokens", content.length() / 4, "total_tokens", 100 + content.length() / 4)));
+    }
+
+    private List<String> chunks(String content) {
+        List<String> events = new ArrayList<>();
+        for (int i = 0; i < content.length(); i += CHUNK_SIZE) {
+            events.add(chunk(Map.of("content", content.substring(i, Math.min(content.length(), i + CHUNK_SIZE))), null));
+        }
+        events.add(chunk(Map.of(), "stop"));
+        return events;
+    }
+
+    private String chunk(Map<String, String> delta, String finishReason) {
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("delta", delta);
+        choice.put("finish_reason", finishReason);
+        return "data: " + write(Map.of(
+                "id", "stub-" + requests.get(),
+                "object", "chat.completion.chunk",
+                "created", System.currentTimeMillis() / 1000,
+                "model", "stub",
+                "choices", List.of(choice))) + "\n\n";
+    }
+
+    private JsonNode read(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unreadable chat completion request", e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
@@ -1,5 +1,17 @@
 package com.richieloco.coinsniper.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.service.admission.LlmAdmissionController;
+import com.richieloco.coinsniper.service.admission.TokenBucket;
+import com.richieloco.coinsniper.service.execution.BlockingExecutor;
+import com.richieloco.coinsniper.service.llm.AdmittedChatTransport;
+import com.richieloco.coinsniper.service.llm.ChatModelTransport;
+import com.richieloco.coinsniper.service.llm.ChatTransport;
+import com.richieloco.coinsniper.service.llm.HedgingChatTransport;
+import com.richieloco.coinsniper.service.llm.WebClientChatTransport;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.LenientJsonArrayExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.openai.OpenAiChatModel;
 import org.springframework.ai.openai.OpenAiChatOptions;
@@ -7,6 +19,7 @@ import org.springframework.ai.openai.api.OpenAiApi;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 @Configuration
 public class AiModelConfig {
@@ -46,4 +59,45 @@ public class AiModelConfig {
                 .defaultOptions(options)
                 .build();
     }
+
+    @Bean
+    public ChatTransport chatTransport(ChatModel chatModel, LlmTransportConfig transportConfig, BlockingExecutor blockingExecutor,
+                                       LlmHedgingConfig hedgingConfig, LlmAdmissionConfig admissionConfig,
+                                       LlmAdmissionController admissionController, MeterRegistry meterRegistry,
+                                       Environment environment) {
+        ChatTransport primary = admitted("primary", switch (transportConfig.getType()) {
+            case CHAT_MODEL -> new ChatModelTransport(chatModel, blockingExecutor);
+            case WEB_CLIENT -> WebClientChatTransport.create(baseUrl, apiKey, model, Double.parseDouble(temperature), transportConfig);
+        }, admissionConfig, admissionController, meterRegistry);
+        if (!hedgingConfig.isEnabled()) {
+            return primary;
+        }
+
+        // Resolved only now, so GROQAI_KEY is required only while hedging is enabled
+        String secondaryApiKey = environment.getRequiredProperty("spring.ai.groq.api-key");
+        String secondaryBaseUrl = environment.getRequiredProperty("spring.ai.groq.base-url");
+        String secondaryModel = environment.getRequiredProperty("spring.ai.groq.chat.options.model");
+        double secondaryTemp = environment.getProperty("spring.ai.groq.chat.options.temperature", Double.class, 0.7);
+        ChatTransport secondary = admitted("secondary", switch (transportConfig.getType()) {
+            case CHAT_MODEL -> new ChatModelTransport(OpenAiChatModel.builder()
+                    .openAiApi(new OpenAiApi.Builder().apiKey(secondaryApiKey).baseUrl(secondaryBaseUrl).build())
+                    .defaultOptions(OpenAiChatOptions.builder().model(secondaryModel).temperature(secondaryTemp).build())
+                    .build(), blockingExecutor);
+            case WEB_CLIENT -> WebClientChatTransport.create(secondaryBaseUrl, secondaryApiKey, secondaryModel, secondaryTemp, transportConfig);
+        }, admissionConfig, admissionController, meterRegistry);
+        LenientJsonArrayExtractor jsonExtractor = new LenientJsonArrayExtractor(new ObjectMapper());
+        return new HedgingChatTransport(primary, secondary,
+                text -> ExchangeAssessor.isReadable(jsonExtractor, text), // an answer wins only if the assessor can read it
+                hedgingConfig, meterRegistry);
+    }
+
+    // Both providers share the admission slots, each has its own rate limit
+    private static ChatTransport admitted(String provider, ChatTransport transport, LlmAdmissionConfig admissionConfig,
+                                          LlmAdmissionController admissionController, MeterRegistry meterRegistry) {
+        if (!admissionConfig.isEnabled()) {
+            return transport;
+        }
+        return new AdmittedChatTransport(transport, admissionController,
+                new TokenBucket(admissionConfig.rateLimit(provider)), provider, meterRegistry);
+    }
 }
@@ -40,4 +40,40 @@ public class AiPromptConfig {
         """;
         return new PromptTemplate(template);
     }
+
+    /* Same question as above for several announced coins at once, so a multi-coin listing costs one LLM call.
+       Each object names the coin it describes so the answer can be split back per coin.
+     */
+    @Bean
+    public PromptTemplate exchangeMultiCoinAvailabilityPromptTemplate() {
+        String template = """
+        Given the following:
+        
+        - Exchanges: <exchanges>
+        - Stable coins: <stableCoins>
+        - Target coins: <targetCoins>
+        
+        Return a single JSON array where each object describes a listing of one of the target coins traded against each supported stable coin on each regulated exchange that lists it.
+
+        Do not include any explanation or text before or after the JSON.
+
+        Use this strict format:
+        [
+          {{
+            "targetCoin": "<targetCoin>",
+            "exchange": "GateIo",
+            "coinListing": "<targetCoin>/<stableCoin>",
+            "overallRiskScore": "Medium",
+            "liquidity": "High",
+            "tradingVolume": "Medium",
+            "tradingFees": "Low"
+          }}
+        ]
+        
+        Set "targetCoin" to the target coin the object describes, exactly as given in the list above.
+        Only include exchanges that list a target coin with at least one stable coin from the list.
+        Use exactly one object per (target coin, exchange, stable coin) pair.
+        """;
+        return new PromptTemplate(template);
+    }
 }
@@ -0,0 +1,20 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.announcement-backfill")
+public class AnnouncementBackfillConfig {
+    private int concurrency = 4;        // pages fetched in parallel
+    private int maxPages = 100;         // hard stop if the date boundary is never reached, and the most a request may ask for
+    private int pageSize = 50;
+    private int maxPageSize = 50;       // upper bound for a requested pageSize
+    private int batchSize = 200;        // rows per saveAll
+    private int retries = 3;            // per page, on ExternalApiException (e.g. rate limiting)
+    private long retryBackoffMillis = 500;
+}
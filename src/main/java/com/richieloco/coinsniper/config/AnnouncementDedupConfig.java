@@ -0,0 +1,19 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.announcement-dedup")
+public class AnnouncementDedupConfig {
+    private boolean enabled = true;                 // false sends every lookup to the database
+    private int maxEntries = 10_000;                // LRU capacity of recently seen (symbol, announcedAt) keys
+    private boolean bloomFilter = true;             // answer "never seen" without a DB read once warmed up
+    private int expectedInsertions = 100_000;       // Bloom filter sizing
+    private double falsePositiveRate = 0.01;        // Bloom filter sizing
+    private boolean warmUp = true;                  // load existing coin_announcements keys at startup
+}
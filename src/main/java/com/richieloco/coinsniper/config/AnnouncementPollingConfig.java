@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @Component
@@ -12,4 +14,31 @@ import org.springframework.stereotype.Component;
 public class AnnouncementPollingConfig {
     private long intervalSeconds = 60;      // Default to 60 seconds
     private boolean enabled = true;         // enable/disable flag
+    private OverlapPolicy overlapPolicy = OverlapPolicy.SKIP;   // what a tick does while the previous poll is still running
+    private int queueCapacity = 1;          // ticks held back under QUEUE
+    private Adaptive adaptive = new Adaptive();
+
+    public enum OverlapPolicy {
+        SKIP,               // drop the tick
+        QUEUE,              // run it once the current poll completes (up to queueCapacity pending)
+        CANCEL_PREVIOUS     // cancel the running poll and start a fresh one
+    }
+
+    /**
+     * Replaces the fixed {@code intervalSeconds} with a delay chosen before every tick.
+     */
+    @Getter
+    @Setter
+    public static class Adaptive {
+        private boolean enabled = false;
+        private Duration minInterval = Duration.ofMillis(500);
+        private Duration maxInterval = Duration.ofMinutes(2);
+        private Duration burstInterval = Duration.ofMillis(750);    // right after new announcements were saved
+        private Duration burstWindow = Duration.ofMinutes(5);
+        private Duration busyInterval = Duration.ofSeconds(10);     // during historically busy hours (UTC)
+        private double busyHourFactor = 1.5;                        // an hour is busy at this multiple of the hourly mean
+        private Duration busyHoursRefresh = Duration.ofHours(6);
+        private double quietBackoffFactor = 1.5;                    // growth per empty poll outside burst/busy periods
+        private int requestsPerHour = 1800;                         // 0 disables the request budget
+    }
 }
@@ -0,0 +1,18 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.assessment-batching")
+public class AssessmentBatchingConfig {
+    private boolean enabled = true;                 // false gives every coin its own LLM call
+    private int maxBatchSize = 5;                   // coins per multi-coin prompt; a full batch is sent immediately
+    private Duration window = Duration.ofMillis(25); // how long the first coin waits for others to join its batch
+}
@@ -0,0 +1,18 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.assessment-cache")
+public class AssessmentCacheConfig {
+    private boolean enabled = true;                 // false sends every assessment to the LLM
+    private Duration ttl = Duration.ofMinutes(30);  // how long an exchange assessment is reused
+    private int maxEntries = 1_000;                 // least recently used entries are evicted beyond this
+}
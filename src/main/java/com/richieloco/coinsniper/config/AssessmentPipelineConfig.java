@@ -0,0 +1,67 @@
+package com.richieloco.coinsniper.config;
+
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.service.risk.BatchingExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.CoalescingAssessmentFunction;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessmentCache;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessmentKey;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.ExchangeListingTable;
+import com.richieloco.coinsniper.service.risk.RuleBasedExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.StreamingAssessmentFunction;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Composes what {@code TradeExecutionService} calls to assess exchanges: the LLM-backed {@link ExchangeAssessor},
+ * wrapped by the decorators below. The {@link Primary} bean is the outermost one:
+ * <pre>
+ * rules -> cache -> single-flight -> batching -> ExchangeAssessor
+ * </pre>
+ * Coins the local listing table answers never reach the cache, so it only holds LLM assessments.
+ */
+@Configuration
+public class AssessmentPipelineConfig {
+
+    @Bean
+    public BatchingExchangeAssessor batchingExchangeAssessment(
+            ExchangeAssessor exchangeAssessor,
+            AssessmentBatchingConfig config,
+            MeterRegistry meterRegistry) {
+        return new BatchingExchangeAssessor(exchangeAssessor, config, meterRegistry);
+    }
+
+    @Bean
+    public CoalescingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> coalescingExchangeAssessment(
+            BatchingExchangeAssessor batchingExchangeAssessment,
+            MeterRegistry meterRegistry) {
+        return new CoalescingAssessmentFunction<>(batchingExchangeAssessment, ExchangeAssessmentKey::of, meterRegistry);
+    }
+
+    @Bean
+    public ExchangeAssessmentCache exchangeAssessmentCache(
+            CoalescingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> coalescingExchangeAssessment,
+            AssessmentCacheConfig config,
+            MeterRegistry meterRegistry) {
+        return new ExchangeAssessmentCache(coalescingExchangeAssessment, config, meterRegistry);
+    }
+
+    @Bean
+    public RuleBasedExchangeAssessor ruleBasedExchangeAssessment(
+            ExchangeAssessmentCache exchangeAssessmentCache,
+            ExchangeListingTable exchangeListingTable,
+            RuleAssessmentConfig config,
+            MeterRegistry meterRegistry) {
+        return new RuleBasedExchangeAssessor(exchangeAssessmentCache, exchangeListingTable, config, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> exchangeAssessment(
+            RuleBasedExchangeAssessor ruleBasedExchangeAssessment) {
+        return ruleBasedExchangeAssessment;
+    }
+}
@@ -0,0 +1,23 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.assessment-retry")
+public class AssessmentRetryConfig {
+    private boolean enabled = true;                          // false leaves a failed evaluation undecided, as before
+    private int maxAttempts = 5;                             // evaluations in total, the failed first one included
+    private Duration initialBackoff = Duration.ofSeconds(2); // wait before the first retry
+    private Duration maxBackoff = Duration.ofMinutes(1);
+    private double multiplier = 2.0;                         // backoff growth per attempt
+    private double jitter = 0.5;                             // up to this share of each backoff is taken off at random
+    private int capacity = 256;                              // announcements waiting for a retry; beyond that they are dead-lettered
+    private int concurrency = 1;                             // retries evaluated at once, apart from the evaluation queue's evaluators
+}
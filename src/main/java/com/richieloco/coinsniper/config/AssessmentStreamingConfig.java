@@ -0,0 +1,14 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.assessment-streaming")
+public class AssessmentStreamingConfig {
+    private boolean enabled = false;    // stream the LLM response and decide on each exchange as its JSON object closes
+}
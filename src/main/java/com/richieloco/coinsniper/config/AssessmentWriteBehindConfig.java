@@ -0,0 +1,26 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.assessment-write-behind")
+public class AssessmentWriteBehindConfig {
+    private boolean enabled = true;                          // false saves each assessment before it is handed on
+    private int batchSize = 50;                              // assessments per saveAll; a full batch is written immediately
+    private Duration flushInterval = Duration.ofMillis(500); // longest an assessment waits for its batch to fill
+    private int capacity = 10_000;                           // assessments buffered or being written
+    private OverflowPolicy overflowPolicy = OverflowPolicy.WRITE_THROUGH;
+    private Duration shutdownTimeout = Duration.ofSeconds(10); // how long shutdown waits for the buffer to drain
+
+    public enum OverflowPolicy {
+        WRITE_THROUGH,  // save on the caller's path, slowing assessments down to database speed
+        DROP            // do not persist the assessment that did not fit
+    }
+}
@@ -0,0 +1,20 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.blocking-execution")
+public class BlockingExecutionConfig {
+    private Mode mode = Mode.BOUNDED_ELASTIC;
+    private int maxConcurrency = 256;   // virtual threads only: blocking calls running at once, the rest wait unmounted
+
+    public enum Mode {
+        BOUNDED_ELASTIC,    // Reactor's shared pool, capped at 10 platform threads per core
+        VIRTUAL_THREADS     // one virtual thread per call, limited by max-concurrency
+    }
+}
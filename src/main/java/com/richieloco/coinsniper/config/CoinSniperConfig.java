@@ -42,6 +42,8 @@ public class CoinSniperConfig {
                 private int type;
                 private int pageNo;
                 private int pageSize;
+                private boolean streamingDecode;    // token-level decode instead of binding the whole response
+                private boolean watermark;          // stop each catalog at the first article already processed
             }
         }
 
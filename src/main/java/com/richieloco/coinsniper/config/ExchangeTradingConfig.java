@@ -0,0 +1,26 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.exchange-trading")
+public class ExchangeTradingConfig {
+    private boolean enabled = false;                        // true places a market buy on every exchange a decision approves
+    private BigDecimal quoteAmount = new BigDecimal("10");  // spent per order, in quote-asset
+    private String quoteAsset = "USDT";
+    private String orderPath = "/api/v1/order";             // signed REST endpoint under on-exchange.<name>.trade.base-url
+    private Duration orderTimeout = Duration.ofSeconds(2);  // per order; an order is not sent once the latency budget is spent
+    private Duration reconcileDelay = Duration.ofMillis(500); // before looking up an order whose outcome is unknown
+    private int reconcileAttempts = 3;                      // look-ups by clientOrderId before it stays unknown
+    private Duration connectTimeout = Duration.ofSeconds(1);
+    private int maxConnections = 50;                        // pooled connections shared by all exchange clients
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+}
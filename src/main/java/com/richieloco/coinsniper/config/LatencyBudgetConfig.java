@@ -0,0 +1,29 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.latency-budget")
+public class LatencyBudgetConfig {
+    private boolean enabled = true;                  // false lets an assessment take as long as the LLM does
+    private Duration budget = Duration.ofSeconds(15); // time from the anchor until a decision is no longer worth making
+    private Anchor anchor = Anchor.INGESTION;
+    private ExpiryDecision onExpiry = ExpiryDecision.REJECT;
+
+    public enum Anchor {
+        INGESTION,  // the budget starts when the announcement is handed over for evaluation
+        RELEASE     // the budget starts at the announcement's releaseDate, so time spent before the poll counts too
+    }
+
+    public enum ExpiryDecision {
+        REJECT,     // record a not-executed decision, flagged expired, for every supported exchange still undecided
+        SKIP        // record nothing for the undecided exchanges
+    }
+}
@@ -0,0 +1,36 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.llm-admission")
+public class LlmAdmissionConfig {
+    private boolean enabled = true;                     // false sends every prompt to the provider straight away
+    private int maxConcurrency = 16;                    // LLM calls in flight across providers
+    private int queueCapacity = 128;                    // calls waiting for a slot; beyond that they are rejected
+    private Duration maxWait = Duration.ofSeconds(10);  // a call still waiting after this long is rejected
+    private Map<String, RateLimit> rateLimits = new HashMap<>(); // by provider: primary, secondary
+
+    public RateLimit rateLimit(String provider) {
+        return rateLimits.getOrDefault(provider, new RateLimit());
+    }
+
+    /**
+     * Token bucket for one provider's requests.
+     */
+    @Getter
+    @Setter
+    public static class RateLimit {
+        private double requestsPerSecond = 0;   // average rate; 0 disables the limit
+        private int burst = 1;                  // requests that may go out back to back after a quiet spell
+    }
+}
@@ -0,0 +1,22 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.llm-hedging")
+public class LlmHedgingConfig {
+    private boolean enabled = false;                        // true also sends slow prompts to the spring.ai.groq provider
+    private double percentile = 0.95;                       // hedge once the primary is slower than this share of its recent calls
+    private int window = 100;                               // recent primary latencies the percentile is taken over
+    private int minSamples = 20;                            // below this, initial-delay is used instead
+    private Duration initialDelay = Duration.ofSeconds(3);
+    private Duration minDelay = Duration.ofMillis(250);     // never hedge sooner than this
+    private Duration maxDelay = Duration.ofSeconds(10);     // nor later than this
+}
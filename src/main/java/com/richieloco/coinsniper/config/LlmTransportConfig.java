@@ -0,0 +1,26 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.llm-transport")
+public class LlmTransportConfig {
+    private Type type = Type.CHAT_MODEL;
+    private Duration requestTimeout = Duration.ofSeconds(30);       // whole completion; between chunks when streaming
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private int maxConnections = 100;                               // pooled connections to the LLM endpoint
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10); // wait for a free connection before failing
+    private Duration maxIdleTime = Duration.ofSeconds(30);          // close pooled connections idle this long
+
+    public enum Type {
+        CHAT_MODEL,     // Spring AI ChatModel, blocking a boundedElastic thread per call
+        WEB_CLIENT      // reactive WebClient against the OpenAI-compatible endpoint, no thread held while waiting
+    }
+}
@@ -0,0 +1,20 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.rule-assessment")
+public class RuleAssessmentConfig {
+    private boolean enabled = true;                          // false sends every coin to the LLM
+    private String table = "classpath:exchange-listings.csv"; // listing/fee/liquidity table, any Spring resource location
+    private Duration refreshInterval = Duration.ofMinutes(1); // how often the table is re-read when it has changed; 0 disables
+    private Duration maxAge = Duration.ofDays(30);           // rows verified longer ago than this count as stale
+    private double minConfidence = 0.8;                      // share of matching rows that must be fresh and complete
+}
@@ -15,7 +15,8 @@ public class SecurityConfig {
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
         return http
                 .authorizeExchange(exchanges -> exchanges
-                        .pathMatchers("/dashboard", "/backtesting", "/api/**").authenticated()
+                        .pathMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .pathMatchers("/dashboard", "/backtesting", "/api/**", "/actuator/**").authenticated() // metrics expose pipeline and trading activity
                         .anyExchange().permitAll()
                 )
                 .httpBasic(Customizer.withDefaults())
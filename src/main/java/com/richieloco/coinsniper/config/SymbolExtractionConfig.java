@@ -0,0 +1,63 @@
+package com.richieloco.coinsniper.config;
+
+import com.richieloco.coinsniper.service.symbol.KnownSymbolDictionary;
+import com.richieloco.coinsniper.service.symbol.RegexSymbolExtractor;
+import com.richieloco.coinsniper.service.symbol.SymbolExtractor;
+import com.richieloco.coinsniper.service.symbol.TokenizingSymbolExtractor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("coin-sniper.symbol-extraction")
+public class SymbolExtractionConfig {
+
+    public enum Engine { TOKENIZER, REGEX }
+
+    private Engine engine = Engine.TOKENIZER;
+    private List<String> knownSymbols = new ArrayList<>();   // inline tickers for the dictionary
+    private String knownSymbolsLocation;                    // e.g. classpath:known-symbols.txt, one ticker per line
+
+    @Bean
+    public SymbolExtractor symbolExtractor(ResourceLoader resourceLoader) {
+        if (engine == Engine.REGEX) {
+            log.info("Using regex symbol extractor");
+            return new RegexSymbolExtractor();
+        }
+        KnownSymbolDictionary dictionary = loadDictionary(resourceLoader);
+        log.info("Using tokenizing symbol extractor with {} known symbols", dictionary.size());
+        return new TokenizingSymbolExtractor(dictionary);
+    }
+
+    private KnownSymbolDictionary loadDictionary(ResourceLoader resourceLoader) {
+        List<String> symbols = new ArrayList<>(knownSymbols);
+        if (knownSymbolsLocation != null && !knownSymbolsLocation.isBlank()) {
+            Resource resource = resourceLoader.getResource(knownSymbolsLocation);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .forEach(symbols::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to load known symbols from " + knownSymbolsLocation, e);
+            }
+        }
+        return KnownSymbolDictionary.of(symbols);
+    }
+}
@@ -0,0 +1,23 @@
+package com.richieloco.coinsniper.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties("coin-sniper.trade-evaluation")
+public class TradeEvaluationConfig {
+    private boolean queued = true;                  // false evaluates inside the poll, as before
+    private int evaluators = 4;                     // announcements assessed concurrently
+    private int queueCapacity = 256;                // saved announcements waiting for an evaluator
+    private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+
+    public enum OverflowPolicy {
+        CALLER_RUNS,    // evaluate inside the poll, slowing ingestion down to evaluation speed
+        DROP_NEWEST,    // dead-letter the announcement that did not fit
+        DROP_OLDEST     // dead-letter the longest-waiting announcement to make room
+    }
+}
@@ -0,0 +1,41 @@
+package com.richieloco.coinsniper.controller;
+
+import com.richieloco.coinsniper.config.AnnouncementBackfillConfig;
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.dto.BackfillResult;
+import com.richieloco.coinsniper.service.AnnouncementBackfillService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/announcements")
+@RequiredArgsConstructor
+public class AnnouncementBackfillController {
+
+    private final AnnouncementBackfillService backfillService;
+    private final AnnouncementBackfillConfig backfillConfig;
+    private final CoinSniperConfig config;
+
+    @PostMapping("/backfill")
+    public Mono<BackfillResult> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            @RequestParam(required = false) Integer type,
+            @RequestParam(required = false, defaultValue = "1") int fromPage,
+            @RequestParam(required = false) Integer maxPages,
+            @RequestParam(required = false) Integer pageSize
+    ) {
+        int resolvedType = type != null ? type : config.getApi().getBinance().getAnnouncement().getType();
+        if (fromPage < 1 || (maxPages != null && maxPages < 1) || (pageSize != null && pageSize < 1)) {
+            return Mono.error(new ServerWebInputException("fromPage, maxPages and pageSize must be at least 1"));
+        }
+        int resolvedMaxPages = Math.min(maxPages != null ? maxPages : backfillConfig.getMaxPages(), backfillConfig.getMaxPages());
+        int resolvedPageSize = Math.min(pageSize != null ? pageSize : backfillConfig.getPageSize(), backfillConfig.getMaxPageSize());
+
+        return backfillService.backfill(resolvedType, since, fromPage, resolvedMaxPages, resolvedPageSize);
+    }
+}
@@ -0,0 +1,32 @@
+package com.richieloco.coinsniper.controller;
+
+import com.richieloco.coinsniper.dto.AssessmentCacheStats;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessmentCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/assessment-cache")
+@RequiredArgsConstructor
+public class AssessmentCacheController {
+
+    private final ExchangeAssessmentCache assessmentCache;
+
+    @GetMapping
+    public Mono<AssessmentCacheStats> stats() {
+        return Mono.fromSupplier(assessmentCache::stats);
+    }
+
+    @DeleteMapping
+    public Mono<Map<String, Integer>> invalidateAll() {
+        return Mono.fromSupplier(() -> Map.of("invalidated", assessmentCache.invalidateAll()));
+    }
+
+    @DeleteMapping("/{coin}")
+    public Mono<Map<String, Integer>> invalidate(@PathVariable String coin) {
+        return Mono.fromSupplier(() -> Map.of("invalidated", assessmentCache.invalidate(coin)));
+    }
+}
@@ -0,0 +1,34 @@
+package com.richieloco.coinsniper.controller;
+
+import com.richieloco.coinsniper.entity.AssessmentDeadLetterRecord;
+import com.richieloco.coinsniper.service.retry.AssessmentRetryQueue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/dead-letters")
+@RequiredArgsConstructor
+public class AssessmentDeadLetterController {
+
+    private final AssessmentRetryQueue retryQueue;
+
+    @GetMapping
+    public Flux<AssessmentDeadLetterRecord> list() {
+        return retryQueue.deadLetters();
+    }
+
+    @PostMapping("/replay")
+    public Mono<Map<String, Long>> replayAll() {
+        return retryQueue.replayAll().map(replayed -> Map.of("replayed", replayed));
+    }
+
+    @PostMapping("/{id}/replay")
+    public Mono<Map<String, Boolean>> replay(@PathVariable UUID id) {
+        return retryQueue.replay(id).map(replayed -> Map.of("replayed", replayed));
+    }
+}
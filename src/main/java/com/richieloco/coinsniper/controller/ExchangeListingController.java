@@ -0,0 +1,27 @@
+package com.richieloco.coinsniper.controller;
+
+import com.richieloco.coinsniper.dto.ExchangeListingTableStats;
+import com.richieloco.coinsniper.service.risk.ExchangeListingTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@RequestMapping("/api/admin/exchange-listings")
+@RequiredArgsConstructor
+public class ExchangeListingController {
+
+    private final ExchangeListingTable listingTable;
+
+    @GetMapping
+    public Mono<ExchangeListingTableStats> stats() {
+        return Mono.fromSupplier(listingTable::stats);
+    }
+
+    @PostMapping("/reload")
+    public Mono<ExchangeListingTableStats> reload() {
+        return Mono.fromCallable(listingTable::reload)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
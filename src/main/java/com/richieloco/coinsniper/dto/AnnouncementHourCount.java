@@ -0,0 +1,7 @@
+package com.richieloco.coinsniper.dto;
+
+/**
+ * How many announcements were made in one UTC hour of the day, over the whole {@code coin_announcements} history.
+ */
+public record AnnouncementHourCount(int utcHour, long announcements) {
+}
@@ -0,0 +1,29 @@
+package com.richieloco.coinsniper.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Duration;
+
+@Builder
+@Data
+public class AssessmentCacheStats {
+
+    private boolean enabled;
+
+    private int size;
+
+    private int maxEntries;
+
+    private Duration ttl;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictedBySize;
+
+    private long expired;
+
+    private long invalidated;
+}
@@ -0,0 +1,23 @@
+package com.richieloco.coinsniper.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Builder
+@Data
+public class BackfillResult {
+
+    private Instant since;
+
+    private int fromPage;
+
+    private int pagesFetched;
+
+    private long articlesInRange;
+
+    private long inserted;
+
+    private long skippedDuplicates;
+}
@@ -0,0 +1,21 @@
+package com.richieloco.coinsniper.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Builder
+@Data
+public class ExchangeListingTableStats {
+
+    private String location;
+
+    private int rows;
+
+    private int coins;
+
+    private int skippedRows;
+
+    private Instant loadedAt;
+}
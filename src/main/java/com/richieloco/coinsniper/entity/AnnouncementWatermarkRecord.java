@@ -0,0 +1,22 @@
+package com.richieloco.coinsniper.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("announcement_watermarks")
+public class AnnouncementWatermarkRecord implements Identifiable {
+    @Id
+    private UUID id;
+    private String catalogName;
+    private long releaseDate;   // newest processed BinanceArticle.releaseDate (epoch millis)
+    private long articleId;     // tie-breaker for articles released in the same millisecond
+    private Instant updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.richieloco.coinsniper.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("assessment_dead_letters")
+public class AssessmentDeadLetterRecord implements Identifiable {
+    @Id
+    private UUID id;
+    private UUID announcementId;
+    private String coinSymbol;
+    private String title;
+    private Instant announcedAt;
+    private int attempts;           // evaluations that failed before it was given up on
+    private String lastError;
+    private Instant firstFailedAt;
+    private Instant deadLetteredAt;
+}
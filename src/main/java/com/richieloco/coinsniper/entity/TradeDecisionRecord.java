@@ -22,6 +22,8 @@ public class TradeDecisionRecord implements Identifiable {
     private String exchange;
     private double riskScore;
     private boolean tradeExecuted;
+    // the latency budget ran out before the exchange was assessed; riskScore is a placeholder, not a rating
+    private boolean expired;
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "UTC")
     private Instant decidedAt;
     //... below used to eliminate duplicates from db
@@ -0,0 +1,6 @@
+package com.richieloco.coinsniper.model;
+
+/**
+ * A {@link BinanceArticle} paired with the name of the catalog it was published under.
+ */
+public record CatalogArticle(String catalogName, BinanceArticle article) {}
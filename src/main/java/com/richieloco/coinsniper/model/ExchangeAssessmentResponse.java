@@ -8,5 +8,6 @@ public record ExchangeAssessmentResponse(
         @JsonProperty("overallRiskScore") String overallRiskScore,
         @JsonProperty("liquidity") String liquidity,
         @JsonProperty("tradingVolume") String tradingVolume,
-        @JsonProperty("tradingFees") String tradingFees
+        @JsonProperty("tradingFees") String tradingFees,
+        @JsonProperty("targetCoin") String targetCoin   // only asked for in multi-coin prompts
 ) {}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.richieloco.coinsniper.repository;
+
+import com.richieloco.coinsniper.entity.AnnouncementWatermarkRecord;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface AnnouncementWatermarkRepository extends ReactiveCrudRepository<AnnouncementWatermarkRecord, UUID> {
+
+    Flux<AnnouncementWatermarkRecord> findByCatalogNameIn(Collection<String> catalogNames);
+
+    @Query("""
+MERGE INTO announcement_watermarks (id, catalog_name, release_date, article_id, updated_at)
+KEY (catalog_name)
+VALUES (:id, :catalogName, :releaseDate, :articleId, :updatedAt)
+""")
+    Mono<Void> upsert(UUID id,
+                      String catalogName,
+                      long releaseDate,
+                      long articleId,
+                      Instant updatedAt);
+}
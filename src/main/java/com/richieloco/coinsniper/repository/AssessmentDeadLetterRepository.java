@@ -0,0 +1,12 @@
+package com.richieloco.coinsniper.repository;
+
+import com.richieloco.coinsniper.entity.AssessmentDeadLetterRecord;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+public interface AssessmentDeadLetterRepository extends ReactiveCrudRepository<AssessmentDeadLetterRecord, UUID> {
+
+    Flux<AssessmentDeadLetterRecord> findAllByOrderByDeadLetteredAtAsc();
+}
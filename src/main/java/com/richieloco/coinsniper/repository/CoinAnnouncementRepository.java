@@ -1,11 +1,23 @@
 package com.richieloco.coinsniper.repository;
 
+import com.richieloco.coinsniper.dto.AnnouncementHourCount;
 import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 
 public interface CoinAnnouncementRepository extends ReactiveCrudRepository<CoinAnnouncementRecord, String> {
     Mono<CoinAnnouncementRecord> findByCoinSymbolAndAnnouncedAt(String coinSymbol, Instant announcedAt);
+
+    @Query("""
+SELECT EXTRACT(HOUR FROM (CAST(announced_at AS TIMESTAMP WITH TIME ZONE) AT TIME ZONE 'UTC')) AS utc_hour,
+       COUNT(*) AS announcements
+FROM coin_announcements
+WHERE announced_at IS NOT NULL
+GROUP BY utc_hour
+""")
+    Flux<AnnouncementHourCount> countByUtcHour();
 }
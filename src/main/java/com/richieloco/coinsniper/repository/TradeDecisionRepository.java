@@ -10,18 +10,19 @@ import java.util.UUID;
 
 public interface TradeDecisionRepository extends ReactiveCrudRepository<TradeDecisionRecord, UUID> {
 
-    Mono<TradeDecisionRecord> findTopByCoinSymbolOrderByDecidedAtDesc(String coinSymbol);
+    Mono<TradeDecisionRecord> findTopByCoinSymbolAndExpiredFalseOrderByDecidedAtDesc(String coinSymbol);
 
     @Query("""
-MERGE INTO trade_decisions (id, coin_symbol, exchange, risk_score, trade_executed, decided_at, ts_minute)
+MERGE INTO trade_decisions (id, coin_symbol, exchange, risk_score, trade_executed, expired, decided_at, ts_minute)
 KEY (coin_symbol, exchange, ts_minute)
-VALUES (:id, :coinSymbol, :exchange, :riskScore, :tradeExecuted, :decidedAt, :tsMinute)
+VALUES (:id, :coinSymbol, :exchange, :riskScore, :tradeExecuted, :expired, :decidedAt, :tsMinute)
 """)
     Mono<Void> upsertPerMinute(UUID id,
                                String coinSymbol,
                                String exchange,
                                Double riskScore,
                                Boolean tradeExecuted,
+                               Boolean expired,
                                Instant decidedAt,
                                String tsMinute);
 }
\ No newline at end of file
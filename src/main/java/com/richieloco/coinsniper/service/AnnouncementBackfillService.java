@@ -0,0 +1,118 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AnnouncementBackfillConfig;
+import com.richieloco.coinsniper.dto.BackfillResult;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.ex.ExternalApiException;
+import com.richieloco.coinsniper.model.CatalogArticle;
+import com.richieloco.coinsniper.repository.CoinAnnouncementRepository;
+import com.richieloco.coinsniper.service.dedup.AnnouncementDedupIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Crawls historical Binance announcement pages to build backtesting data.
+ * <p>
+ * Pages are fetched concurrently but consumed in page order, and the crawl stops after the first page
+ * that has no article at or after {@code since}. Historical rows are bulk inserted into
+ * {@code coin_announcements} and are never passed to {@link TradeExecutionService}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnnouncementBackfillService {
+
+    private final AnnouncementCallingService callingService;
+    private final CoinAnnouncementRepository repository;
+    private final AnnouncementDedupIndex dedupIndex;
+    private final AnnouncementBackfillConfig backfillConfig;
+
+    public Mono<BackfillResult> backfill(int type, Instant since, int fromPage, int maxPages, int pageSize) {
+        return Mono.defer(() -> {
+            long sinceMillis = since.toEpochMilli();
+            int concurrency = Math.max(1, backfillConfig.getConcurrency());
+            AtomicInteger pagesFetched = new AtomicInteger();
+            AtomicLong articlesInRange = new AtomicLong();
+            AtomicLong duplicates = new AtomicLong();
+            Set<String> seenThisRun = ConcurrentHashMap.newKeySet();
+
+            log.info("Backfilling announcements since {} from page {} (maxPages={}, pageSize={}, concurrency={})",
+                    since, fromPage, maxPages, pageSize, concurrency);
+
+            return Flux.range(fromPage, maxPages)
+                    .flatMapSequential(pageNo -> fetchPage(type, pageNo, pageSize), concurrency, 1)
+                    .doOnNext(page -> pagesFetched.incrementAndGet())
+                    // Catalogs are newest first: once a page has nothing in range, later pages won't either
+                    .takeUntil(page -> page.stream().noneMatch(entry -> entry.article().getReleaseDate() >= sinceMillis))
+                    .concatMapIterable(page -> page)
+                    .filter(entry -> entry.article().getReleaseDate() >= sinceMillis)
+                    .doOnNext(entry -> articlesInRange.incrementAndGet())
+                    .concatMapIterable(this::toRecords)
+                    .filter(record -> {
+                        boolean first = seenThisRun.add(record.getCoinSymbol() + '@' + record.getAnnouncedAt().toEpochMilli());
+                        if (!first) {
+                            duplicates.incrementAndGet();
+                        }
+                        return first;
+                    })
+                    .flatMap(record -> dedupIndex.exists(record.getCoinSymbol(), record.getAnnouncedAt())
+                            .flatMap(exists -> {
+                                if (exists) {
+                                    duplicates.incrementAndGet();
+                                    return Mono.empty();
+                                }
+                                return Mono.just(record);
+                            }), concurrency)
+                    .buffer(Math.max(1, backfillConfig.getBatchSize()))
+                    .concatMap(batch -> repository.saveAll(batch)
+                            .doOnNext(saved -> dedupIndex.record(saved.getCoinSymbol(), saved.getAnnouncedAt()))
+                            .count())
+                    .reduce(0L, Long::sum)
+                    .map(inserted -> BackfillResult.builder()
+                            .since(since)
+                            .fromPage(fromPage)
+                            .pagesFetched(pagesFetched.get())
+                            .articlesInRange(articlesInRange.get())
+                            .inserted(inserted)
+                            .skippedDuplicates(duplicates.get())
+                            .build())
+                    .doOnNext(result -> log.info("Backfill complete: {}", result));
+        });
+    }
+
+    private Mono<List<CatalogArticle>> fetchPage(int type, int pageNo, int pageSize) {
+        return callingService.fetchArticles(type, pageNo, pageSize)
+                .collectList()
+                .retryWhen(Retry.backoff(backfillConfig.getRetries(), Duration.ofMillis(backfillConfig.getRetryBackoffMillis()))
+                        .filter(ExternalApiException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .doOnNext(page -> log.debug("Backfill page {} returned {} articles", pageNo, page.size()));
+    }
+
+    private List<CoinAnnouncementRecord> toRecords(CatalogArticle entry) {
+        var article = entry.article();
+        Instant announcedAt = Instant.ofEpochMilli(article.getReleaseDate());
+        boolean delisting = callingService.isDelisting(article.getTitle(), entry.catalogName());
+        return callingService.extractSymbolsFromTitle(article.getTitle()).stream()
+                .filter(symbol -> !AnnouncementCallingService.UNKNOWN_COIN.equalsIgnoreCase(symbol))
+                .map(symbol -> CoinAnnouncementRecord.builder()
+                        .title(article.getTitle())
+                        .coinSymbol(symbol)
+                        .announcedAt(announcedAt)
+                        .delisting(delisting)
+                        .build())
+                .toList();
+    }
+}
@@ -6,10 +6,17 @@ import com.richieloco.coinsniper.entity.ErrorResponseRecord;
 import com.richieloco.coinsniper.ex.ExternalApiException;
 import com.richieloco.coinsniper.model.BinanceApiResponse;
 import com.richieloco.coinsniper.model.BinanceArticle;
+import com.richieloco.coinsniper.model.CatalogArticle;
 import com.richieloco.coinsniper.repository.CoinAnnouncementRepository;
 import com.richieloco.coinsniper.repository.ErrorResponseRepository;
+import com.richieloco.coinsniper.service.dedup.AnnouncementDedupIndex;
+import com.richieloco.coinsniper.service.evaluation.TradeEvaluationQueue;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import com.richieloco.coinsniper.service.symbol.SymbolExtractor;
+import com.richieloco.coinsniper.service.watermark.AnnouncementWatermarkService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -17,9 +24,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -29,8 +36,13 @@ public class AnnouncementCallingService {
     protected final CoinSniperConfig config;
     protected final CoinAnnouncementRepository repository;
     protected final ErrorResponseRepository errorResponseRepository;
-    protected final TradeExecutionService tradeExecutionService;
+    protected final TradeEvaluationQueue tradeEvaluationQueue;
     protected final WebClient binanceWebClient;
+    protected final BinanceAnnouncementDecoder decoder;
+    protected final SymbolExtractor symbolExtractor;
+    protected final AnnouncementDedupIndex dedupIndex;
+    protected final AnnouncementWatermarkService watermarkService;
+    protected final PipelineMetrics pipelineMetrics;
 
     private static final List<String> USER_AGENTS = List.of(
             "Mozilla/5.0 (Windows NT 10.0; Win64; x64)",
@@ -40,14 +52,86 @@ public class AnnouncementCallingService {
             "Mozilla/5.0 (Windows NT 10.0; rv:115.0) Gecko/20100101 Firefox/115.0"
     );
 
-    public static final String UNKNOWN_COIN = "UNKNOWN";
+    public static final String UNKNOWN_COIN = SymbolExtractor.UNKNOWN_COIN;
     private static final Set<String> ALLOWED_CATALOGS = Set.of("New Cryptocurrency Listing", "Delisting");
 
     public Flux<CoinAnnouncementRecord> callBinanceAnnouncements(int type, int pageNo, int pageSize) {
+        // Only the first page is a poll for what is new; a later page is older than the watermark by definition
+        Flux<CoinAnnouncementRecord> announcements = pageNo > 1
+                ? fetchArticles(type, pageNo, pageSize).flatMap(this::processArticle)
+                : watermarkService.beginPoll(ALLOWED_CATALOGS)
+                        .flatMapMany(poll -> fetchArticles(type, pageNo, pageSize)
+                                .<CatalogArticle>handle((entry, sink) -> {
+                                    if (poll.admit(entry)) {
+                                        sink.next(entry);
+                                    } else if (poll.isExhausted()) {
+                                        log.debug("All catalogs reached their watermark, ignoring the rest of the page");
+                                        sink.complete();
+                                    }
+                                })
+                                .flatMap(this::processArticle)
+                                .concatWith(Mono.defer(poll::commit).then(Mono.empty())));
+        return announcements
+                .onErrorResume(ExternalApiException.class, ex -> {
+                    log.error("External API error: {}", ex.getMessage());
+                    ErrorResponseRecord error = ErrorResponseRecord.builder()
+                            .source("Binance")
+                            .errorMessage(ex.getMessage())
+                            .statusCode(ex.getStatusCode())
+                            .timestamp(Instant.now())
+                            .build();
+                    return errorResponseRepository.save(error).thenMany(Flux.empty());
+                });
+    }
+
+    protected Flux<CoinAnnouncementRecord> processArticle(CatalogArticle entry) {
+        var article = entry.article();
+        var catalogName = entry.catalogName();
+        Instant announcedAt = Instant.ofEpochMilli(article.getReleaseDate());
+
+        long extractionStart = System.nanoTime();
+        List<String> symbols = extractSymbolsFromTitle(article.getTitle());
+        pipelineMetrics.record(PipelineMetrics.SYMBOL_EXTRACTION, System.nanoTime() - extractionStart);
+        log.debug("Extracted symbols from '{}': {}", article.getTitle(), symbols);
+        if (symbols.contains(UNKNOWN_COIN)) {
+            log.warn("Title '{}' resulted in UNKNOWN_COIN", article.getTitle());
+        }
+
+        boolean isDelisting = isDelisting(article.getTitle(), catalogName);
+
+        return Flux.fromIterable(symbols)
+                .filter(symbol -> !UNKNOWN_COIN.equalsIgnoreCase(symbol))
+                .flatMap(symbol -> pipelineMetrics.time(PipelineMetrics.DEDUP, dedupIndex.exists(symbol, announcedAt))
+                        .flatMapMany(exists -> {
+                            if (exists) {
+                                log.debug("Duplicate found for symbol='{}' at '{}'. Skipping.", symbol, announcedAt);
+                                return Flux.empty();
+                            } else {
+                                CoinAnnouncementRecord record = CoinAnnouncementRecord.builder()
+                                        .title(article.getTitle())
+                                        .coinSymbol(symbol)
+                                        .announcedAt(announcedAt)
+                                        .delisting(isDelisting)
+                                        .build();
+                                log.info("Attempting to persist coinAnnouncementRecord={}", record);
+
+                                return pipelineMetrics.time(PipelineMetrics.ANNOUNCEMENT_SAVE, repository.save(record))
+                                        .flatMapMany(saved -> {
+                                            log.info("Saved record: {}", saved);
+                                            dedupIndex.record(symbol, announcedAt);
+                                            // Evaluation runs off the poll; the queue only holds us up under CALLER_RUNS
+                                            return tradeEvaluationQueue.submit(saved)
+                                                    .thenMany(Flux.just(saved));
+                                        });
+                            }
+                        }));
+    }
+
+    protected Flux<CatalogArticle> fetchArticles(int type, int pageNo, int pageSize) {
         String userAgent = USER_AGENTS.get(new Random().nextInt(USER_AGENTS.size()));
         log.info("Calling Binance announcements [type={}, pageNo={}, pageSize={}]", type, pageNo, pageSize);
 
-        return binanceWebClient.get()
+        WebClient.ResponseSpec responseSpec = binanceWebClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .queryParam("type", type)
                         .queryParam("pageNo", pageNo)
@@ -63,8 +147,15 @@ public class AnnouncementCallingService {
                                 .flatMap(errorBody -> Mono.error(new ExternalApiException(
                                         "Binance API error: " + errorBody,
                                         clientResponse.statusCode().value())))
-                )
-                .bodyToMono(BinanceApiResponse.class)
+                );
+
+        if (config.getApi().getBinance().getAnnouncement().isStreamingDecode()) {
+            Flux<DataBuffer> body = pipelineMetrics.timeToFirst(PipelineMetrics.FETCH, responseSpec.bodyToFlux(DataBuffer.class));
+            return decoder.decode(body, ALLOWED_CATALOGS)
+                    .doOnNext(entry -> log.debug("Decoded '{}' from catalog '{}'", entry.article().getTitle(), entry.catalogName()));
+        }
+
+        return pipelineMetrics.time(PipelineMetrics.FETCH, responseSpec.bodyToMono(BinanceApiResponse.class))
                 .doOnNext(resp -> log.debug("Raw Binance API response: {}", resp))
                 .flatMapMany(response -> {
                     if (response == null || response.getData() == null || response.getData().getCatalogs() == null) {
@@ -83,103 +174,12 @@ public class AnnouncementCallingService {
                     List<BinanceArticle> articles = catalog.getArticles();
                     log.debug("Catalog '{}' has {} articles", catalog.getCatalogName(), articles != null ? articles.size() : 0);
                     return Flux.fromIterable(articles != null ? articles : List.of())
-                            .map(article -> Map.entry(article, catalog.getCatalogName()));
-                })
-                .flatMap(entry -> {
-                    var article = entry.getKey();
-                    var catalogName = entry.getValue();
-                    Instant announcedAt = Instant.ofEpochMilli(article.getReleaseDate());
-
-                    int intervalSeconds = config.getAnnouncementPolling().getIntervalSeconds();
-                    Instant announcedAtCutoff = Instant.now().minusSeconds(intervalSeconds);
-
-                    if (announcedAt.isBefore(announcedAtCutoff)) {
-                        log.debug("Skipping '{}': too old (announcedAt={}, cutoff={})", article.getTitle(), announcedAt, announcedAtCutoff);
-                        // For dashboard testing, we keep the record instead of returning empty
-                    }
-                    log.debug("Keeping '{}': fresh (announcedAt={}, cutoff={})", article.getTitle(), announcedAt, announcedAtCutoff);
-
-                    List<String> symbols = extractSymbolsFromTitle(article.getTitle());
-                    log.debug("Extracted symbols from '{}': {}", article.getTitle(), symbols);
-                    if (symbols.contains(UNKNOWN_COIN)) {
-                        log.warn("Title '{}' resulted in UNKNOWN_COIN", article.getTitle());
-                    }
-
-                    boolean isDelisting = isDelisting(article.getTitle(), catalogName);
-
-                    return Flux.fromIterable(symbols)
-                            .filter(symbol -> !UNKNOWN_COIN.equalsIgnoreCase(symbol))
-                            .flatMap(symbol -> repository.findByCoinSymbolAndAnnouncedAt(symbol, announcedAt)
-                                    .hasElement()
-                                    .flatMapMany(exists -> {
-                                        if (exists) {
-                                            log.debug("Duplicate found for symbol='{}' at '{}'. Skipping.", symbol, announcedAt);
-                                            return Flux.empty();
-                                        } else {
-                                            CoinAnnouncementRecord record = CoinAnnouncementRecord.builder()
-                                                    .title(article.getTitle())
-                                                    .coinSymbol(symbol)
-                                                    .announcedAt(announcedAt)
-                                                    .delisting(isDelisting)
-                                                    .build();
-                                            log.info("Attempting to persist coinAnnouncementRecord={}", record);
-
-                                            return repository.save(record)
-                                                    .flatMapMany(saved -> {
-                                                        log.info("Saved record: {}", saved);
-                                                        // TradeExecutionService now returns Flux<TradeDecisionRecord>
-                                                        return tradeExecutionService.evaluateAndTrade(saved)
-                                                                .thenMany(Flux.just(saved));
-                                                    });
-                                        }
-                                    }));
-                })
-                .onErrorResume(ExternalApiException.class, ex -> {
-                    log.error("External API error: {}", ex.getMessage());
-                    ErrorResponseRecord error = ErrorResponseRecord.builder()
-                            .source("Binance")
-                            .errorMessage(ex.getMessage())
-                            .statusCode(ex.getStatusCode())
-                            .timestamp(Instant.now())
-                            .build();
-                    return errorResponseRepository.save(error).thenMany(Flux.empty());
+                            .map(article -> new CatalogArticle(catalog.getCatalogName(), article));
                 });
     }
 
     protected List<String> extractSymbolsFromTitle(String title) {
-        Set<String> symbols = new LinkedHashSet<>();
-
-        Matcher parens = Pattern.compile("\\(([A-Z0-9]{2,10})\\)").matcher(title);
-        while (parens.find()) {
-            String symbol = parens.group(1).trim();
-            if (isValidSymbol(symbol)) {
-                symbols.add(symbol);
-            }
-        }
-
-        Matcher structured = Pattern.compile(
-                "(?i)binance (will|has) (list|add|delist|support|complete|launch|introduce)\\s+(.*?)\\b([A-Z0-9]{2,10})\\b"
-        ).matcher(title);
-        while (structured.find()) {
-            String candidate = structured.group(4).trim();
-            if (isValidSymbol(candidate)) {
-                symbols.add(candidate);
-            }
-        }
-
-        if (symbols.isEmpty()) {
-            symbols.add(UNKNOWN_COIN);
-        }
-
-        return new ArrayList<>(symbols);
-    }
-
-    private boolean isValidSymbol(String symbol) {
-        return symbol.matches("^[A-Z0-9]{2,10}$") &&
-                !symbol.matches("^\\d{4}-\\d{2}-\\d{2}$") &&
-                !symbol.equalsIgnoreCase("USD") &&
-                !symbol.equalsIgnoreCase("USDT") &&
-                !symbol.equalsIgnoreCase("BNB");
+        return symbolExtractor.extract(title);
     }
 
     protected boolean isDelisting(String title, String catalogName) {
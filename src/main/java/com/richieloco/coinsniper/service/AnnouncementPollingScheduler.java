@@ -1,19 +1,40 @@
 package com.richieloco.coinsniper.service;
 
 import com.richieloco.coinsniper.config.AnnouncementPollingConfig;
+import com.richieloco.coinsniper.config.AnnouncementPollingConfig.OverlapPolicy;
 import com.richieloco.coinsniper.config.CoinSniperConfig;
-import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.service.cadence.AdaptivePollingCadence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-
-import java.util.List;
-import java.util.concurrent.*;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.richieloco.coinsniper.service.AnnouncementCallingService.UNKNOWN_COIN;
 
+/**
+ * Drives announcement polls from a {@link Flux#interval} without blocking any thread.
+ * <p>
+ * A tick that fires while the previous poll is still running is handled according to
+ * {@link AnnouncementPollingConfig#getOverlapPolicy()}. Errors are contained to the tick that raised
+ * them, and every tick's duration is recorded as {@code coinsniper.polling.tick}.
+ * <p>
+ * With {@code adaptive.enabled}, the fixed interval is replaced by {@link AdaptivePollingCadence}: each poll
+ * is followed by a delay chosen from recent activity, busy hours and the request budget, so polls never overlap.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -22,9 +43,10 @@ public class AnnouncementPollingScheduler {
     private final AnnouncementCallingService service;
     private final AnnouncementPollingConfig config;
     private final CoinSniperConfig coinSniperConfig;
+    private final MeterRegistry meterRegistry;
+    private final AdaptivePollingCadence cadence;
 
-    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
-    private ScheduledFuture<?> pollingTask;
+    private Disposable pollingTask;
     private final AtomicBoolean pollingActive = new AtomicBoolean(false);
 
     public void initializePolling() {
@@ -36,7 +58,6 @@ public class AnnouncementPollingScheduler {
     @PreDestroy
     public void shutdown() {
         stopPolling();
-        executor.shutdownNow();
     }
 
 
@@ -46,39 +67,69 @@ public class AnnouncementPollingScheduler {
             return;
         }
 
-        Runnable pollingRunnable = () -> {
-            log.info("Polling Binance...");
-            try {
-                var announcementCfg = coinSniperConfig.getApi().getBinance().getAnnouncement();
-                List<CoinAnnouncementRecord> records = service.callBinanceAnnouncements(
-                                announcementCfg.getType(),
-                                announcementCfg.getPageNo(),
-                                announcementCfg.getPageSize()
-                        )
-                        .filter(record -> !UNKNOWN_COIN.equalsIgnoreCase(record.getCoinSymbol()))
-                        .collectList()
-                        .block(); // Blocking since we're no longer reactive
-
-                logPollingSummary(records);
-            } catch (Exception e) {
-                log.error("Polling error: {}", e.getMessage(), e);
-            }
+        if (isAdaptive()) {
+            startAdaptivePolling();
+            return;
+        }
+
+        OverlapPolicy policy = config.getOverlapPolicy() != null ? config.getOverlapPolicy() : OverlapPolicy.SKIP;
+        Counter droppedTicks = Counter.builder("coinsniper.polling.ticks.dropped")
+                .tag("policy", policy.name())
+                .description("Ticks discarded because a poll was still running")
+                .register(meterRegistry);
+
+        Flux<Long> ticks = Flux.interval(Duration.ZERO, Duration.ofSeconds(Math.max(1, config.getIntervalSeconds())));
+        Flux<Void> polls = switch (policy) {
+            case SKIP -> ticks
+                    .onBackpressureDrop(tick -> {
+                        droppedTicks.increment();
+                        log.info("Skipping poll tick {}: previous poll still running", tick);
+                    })
+                    .concatMap(this::poll, 0);
+            case QUEUE -> ticks
+                    .onBackpressureBuffer(Math.max(1, config.getQueueCapacity()), tick -> {
+                        droppedTicks.increment();
+                        log.info("Dropping poll tick {}: queue of {} is full", tick, config.getQueueCapacity());
+                    }, BufferOverflowStrategy.DROP_LATEST)
+                    .concatMap(this::poll, 0);
+            case CANCEL_PREVIOUS -> ticks.switchMap(this::poll);
         };
 
-        pollingTask = executor.scheduleAtFixedRate(
-                pollingRunnable,
-                0,
-                config.getIntervalSeconds(),
-                TimeUnit.SECONDS
-        );
+        pollingTask = polls.subscribe(
+                null,
+                e -> log.error("Polling loop terminated: {}", e.getMessage(), e));
+
+        pollingActive.set(true);
+        log.info("Polling task scheduled (interval={}s, overlapPolicy={}).", config.getIntervalSeconds(), policy);
+    }
+
+    private void startAdaptivePolling() {
+        Gauge.builder("coinsniper.polling.interval", cadence, c -> c.lastDelay().toMillis() / 1000.0)
+                .description("Delay chosen before the next adaptive poll")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        AtomicLong tick = new AtomicLong();
+        pollingTask = Mono.defer(() -> poll(tick.getAndIncrement()))
+                .then(Mono.defer(() -> cadence.refreshBusyHoursIfStale()
+                        .onErrorResume(e -> {
+                            log.warn("Could not learn busy announcement hours: {}", e.getMessage());
+                            return Mono.empty();
+                        })))
+                .then(Mono.defer(() -> Mono.delay(cadence.nextDelay())))
+                .repeat()
+                .subscribe(
+                        null,
+                        e -> log.error("Polling loop terminated: {}", e.getMessage(), e));
 
         pollingActive.set(true);
-        log.info("Polling task scheduled.");
+        log.info("Adaptive polling task scheduled (min={}, max={}).",
+                config.getAdaptive().getMinInterval(), config.getAdaptive().getMaxInterval());
     }
 
     public synchronized void stopPolling() {
         if (pollingTask != null) {
-            pollingTask.cancel(true);
+            pollingTask.dispose();
             pollingTask = null;
             log.info("Polling task cancelled.");
         }
@@ -90,11 +141,65 @@ public class AnnouncementPollingScheduler {
         return pollingActive.get();
     }
 
-    private void logPollingSummary(List<CoinAnnouncementRecord> records) {
-        if (records == null || records.isEmpty()) {
+    private Mono<Void> poll(long tick) {
+        return Mono.defer(() -> {
+                    log.info("Polling Binance (tick {})...", tick);
+                    var announcementCfg = coinSniperConfig.getApi().getBinance().getAnnouncement();
+                    return service.callBinanceAnnouncements(
+                                    announcementCfg.getType(),
+                                    announcementCfg.getPageNo(),
+                                    announcementCfg.getPageSize()
+                            )
+                            .filter(record -> !UNKNOWN_COIN.equalsIgnoreCase(record.getCoinSymbol()))
+                            .count();
+                })
+                .doOnNext(saved -> {
+                    logPollingSummary(saved);
+                    if (isAdaptive()) {
+                        cadence.recordPoll(saved);
+                    }
+                })
+                .transform(this::timed)
+                .onErrorResume(e -> {
+                    log.error("Polling error: {}", e.getMessage(), e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private boolean isAdaptive() {
+        return cadence != null && config.getAdaptive() != null && config.getAdaptive().isEnabled();
+    }
+
+    private Mono<Long> timed(Mono<Long> poll) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return poll.doFinally(signal -> {
+                long elapsed = System.nanoTime() - start;
+                String outcome = switch (signal) {
+                    case ON_COMPLETE -> "success";
+                    case ON_ERROR -> "error";
+                    default -> "cancelled";
+                };
+                Timer.builder("coinsniper.polling.tick")
+                        .tag("outcome", outcome)
+                        .description("Duration of one announcement poll")
+                        .register(meterRegistry)
+                        .record(elapsed, TimeUnit.NANOSECONDS);
+                if (signal == SignalType.CANCEL) {
+                    log.info("Poll cancelled after {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+                } else {
+                    log.info("Poll finished in {} ms ({})", TimeUnit.NANOSECONDS.toMillis(elapsed), outcome);
+                }
+            });
+        });
+    }
+
+    private void logPollingSummary(long saved) {
+        if (saved == 0) {
             log.info("Polling complete: No new announcements were saved.");
         } else {
-            log.info("Polling complete: {} new announcement(s) saved.", records.size());
+            log.info("Polling complete: {} new announcement(s) saved.", saved);
         }
     }
 }
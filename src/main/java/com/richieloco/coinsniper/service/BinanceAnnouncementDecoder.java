@@ -0,0 +1,248 @@
+package com.richieloco.coinsniper.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.richieloco.coinsniper.model.BinanceArticle;
+import com.richieloco.coinsniper.model.CatalogArticle;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming decoder for the Binance announcement list response.
+ * <p>
+ * Walks the raw response body token by token with Jackson's non-blocking parser instead of binding
+ * the whole payload into {@code BinanceApiResponse}. Articles of catalogs that are not allowed are
+ * skipped without being materialised, and allowed articles are emitted as soon as their object closes.
+ * Time spent parsing each response is recorded as the {@link PipelineMetrics#DECODE} stage.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BinanceAnnouncementDecoder {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final PipelineMetrics pipelineMetrics;
+
+    public Flux<CatalogArticle> decode(Flux<DataBuffer> body, Set<String> allowedCatalogs) {
+        return Flux.defer(() -> {
+            ArticleStreamParser parser = new ArticleStreamParser(createParser(), allowedCatalogs);
+            return body
+                    .concatMapIterable(buffer -> {
+                        try {
+                            return parser.feed(buffer);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(parser.endOfInput())))
+                    .doFinally(signal -> {
+                        pipelineMetrics.record(PipelineMetrics.DECODE, parser.decodeNanos);
+                        parser.close();
+                    });
+        });
+    }
+
+    private JsonParser createParser() {
+        try {
+            return jsonFactory.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new DecodingException("Unable to create non-blocking JSON parser", e);
+        }
+    }
+
+    /**
+     * Stateful, single-use token walker. Tracks the container path so that only
+     * {@code data.catalogs[*].catalogName} and {@code data.catalogs[*].articles[*]} are acted upon.
+     */
+    private static final class ArticleStreamParser {
+
+        private static final int CATALOG_DEPTH = 4;
+        private static final int ARTICLE_DEPTH = 6;
+
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private final Set<String> allowedCatalogs;
+
+        private final List<Frame> frames = new ArrayList<>();
+        private String fieldName;
+
+        private String catalogName;
+        private List<BinanceArticle> pendingArticles; // articles seen before catalogName
+        private BinanceArticle currentArticle;
+
+        private List<CatalogArticle> output;
+        private long decodeNanos;
+
+        private ArticleStreamParser(JsonParser parser, Set<String> allowedCatalogs) {
+            this.parser = parser;
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+            this.allowedCatalogs = allowedCatalogs;
+        }
+
+        List<CatalogArticle> feed(DataBuffer buffer) {
+            long start = System.nanoTime();
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    feeder.feedInput(iterator.next());
+                    drain();
+                }
+            } catch (IOException e) {
+                throw new DecodingException("Failed to decode Binance announcement response", e);
+            } finally {
+                decodeNanos += System.nanoTime() - start;
+            }
+            return takeOutput();
+        }
+
+        List<CatalogArticle> endOfInput() {
+            feeder.endOfInput();
+            long start = System.nanoTime();
+            try {
+                drain();
+            } catch (IOException e) {
+                throw new DecodingException("Failed to decode Binance announcement response", e);
+            } finally {
+                decodeNanos += System.nanoTime() - start;
+            }
+            if (!frames.isEmpty()) {
+                throw new DecodingException("Binance announcement response ended unexpectedly");
+            }
+            return takeOutput();
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                log.debug("Failed to close JSON parser: {}", e.getMessage());
+            }
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handle(token);
+            }
+        }
+
+        private void handle(JsonToken token) throws IOException {
+            switch (token) {
+                case FIELD_NAME -> fieldName = parser.currentName();
+                case START_OBJECT, START_ARRAY -> {
+                    frames.add(new Frame(token == JsonToken.START_ARRAY, fieldName));
+                    fieldName = null;
+                    if (token == JsonToken.START_OBJECT) {
+                        if (atCatalog()) {
+                            catalogName = null;
+                            pendingArticles = null;
+                        } else if (atArticle() && catalogAccepting()) {
+                            currentArticle = new BinanceArticle();
+                        }
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (token == JsonToken.END_OBJECT) {
+                        if (atArticle() && currentArticle != null) {
+                            completeArticle(currentArticle);
+                            currentArticle = null;
+                        } else if (atCatalog()) {
+                            // Catalog closed without a name: nothing can be attributed to it
+                            catalogName = null;
+                            pendingArticles = null;
+                        }
+                    }
+                    frames.removeLast();
+                    fieldName = null;
+                }
+                default -> {
+                    if (atCatalog() && "catalogName".equals(fieldName)) {
+                        resolveCatalog(token == JsonToken.VALUE_NULL ? null : parser.getText());
+                    } else if (atArticle() && currentArticle != null) {
+                        applyArticleField(token);
+                    }
+                    fieldName = null;
+                }
+            }
+        }
+
+        private void applyArticleField(JsonToken token) throws IOException {
+            if (fieldName == null || token == JsonToken.VALUE_NULL) {
+                return;
+            }
+            switch (fieldName) {
+                case "id" -> currentArticle.setId(parser.getValueAsLong());
+                case "code" -> currentArticle.setCode(parser.getText());
+                case "title" -> currentArticle.setTitle(parser.getText());
+                case "type" -> currentArticle.setType(parser.getValueAsInt());
+                case "releaseDate" -> currentArticle.setReleaseDate(parser.getValueAsLong());
+                default -> { /* ignored */ }
+            }
+        }
+
+        private void resolveCatalog(String name) {
+            catalogName = name;
+            List<BinanceArticle> pending = pendingArticles;
+            pendingArticles = null;
+            if (pending != null && catalogAccepting()) {
+                pending.forEach(this::completeArticle);
+            }
+        }
+
+        private void completeArticle(BinanceArticle article) {
+            if (catalogName == null) {
+                if (pendingArticles == null) {
+                    pendingArticles = new ArrayList<>();
+                }
+                pendingArticles.add(article);
+                return;
+            }
+            if (output == null) {
+                output = new ArrayList<>();
+            }
+            output.add(new CatalogArticle(catalogName, article));
+        }
+
+        private boolean catalogAccepting() {
+            return catalogName == null || allowedCatalogs.contains(catalogName);
+        }
+
+        private boolean atCatalog() {
+            return frames.size() == CATALOG_DEPTH && inCatalogs();
+        }
+
+        private boolean atArticle() {
+            return frames.size() == ARTICLE_DEPTH
+                    && inCatalogs()
+                    && frames.get(4).array()
+                    && "articles".equals(frames.get(4).name());
+        }
+
+        private boolean inCatalogs() {
+            return "data".equals(frames.get(1).name())
+                    && frames.get(2).array()
+                    && "catalogs".equals(frames.get(2).name());
+        }
+
+        private List<CatalogArticle> takeOutput() {
+            List<CatalogArticle> result = output != null ? output : List.of();
+            output = null;
+            return result;
+        }
+
+        private record Frame(boolean array, String name) {}
+    }
+}
@@ -16,11 +16,12 @@ import com.richieloco.coinsniper.dto.PredictionResult;
 import com.richieloco.coinsniper.dto.TrainingResult;
 import com.richieloco.coinsniper.entity.TradeDecisionRecord;
 import com.richieloco.coinsniper.repository.TradeDecisionRepository;
+import com.richieloco.coinsniper.service.execution.BlockingExecutor;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.io.*;
 import java.time.Instant;
@@ -28,12 +29,14 @@ import java.util.*;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class DJLTrainingService {
 
     private static final int EPOCHS = 8;
     private static final int BATCH_SIZE = 8;
 
     private final TradeDecisionRepository tradeDecisionRepository;
+    private final BlockingExecutor blockingExecutor;
 
     private final List<Double> cumulativeLossPerEpoch = new ArrayList<>();
     private final List<Double> cumulativeAccuracyPerEpoch = new ArrayList<>();
@@ -41,12 +44,8 @@ public class DJLTrainingService {
     @Getter
     private TrainingResult lastTrainingResult = TrainingResult.builder().build();
 
-    public DJLTrainingService(TradeDecisionRepository tradeDecisionRepository) {
-        this.tradeDecisionRepository = tradeDecisionRepository;
-    }
-
     public Mono<TrainingResult> trainReactive(List<TradeDecisionRecord> history) {
-        return Mono.fromCallable(() -> {
+        return blockingExecutor.call(() -> {
             TrainingResult result = trainBlocking(history);
 
             cumulativeLossPerEpoch.addAll(result.getLossPerEpoch());
@@ -94,17 +93,20 @@ public class DJLTrainingService {
                     .build();
 
             return lastTrainingResult;
-        }).subscribeOn(Schedulers.boundedElastic());
+        });
     }
 
     public Mono<PredictionResult> predict(String coinSymbol) {
-        return tradeDecisionRepository.findTopByCoinSymbolOrderByDecidedAtDesc(coinSymbol)
+        return tradeDecisionRepository.findTopByCoinSymbolAndExpiredFalseOrderByDecidedAtDesc(coinSymbol)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("No historical data for coin symbol: " + coinSymbol)))
-                .flatMap(record -> Mono.fromCallable(() -> runDjlPrediction(coinSymbol, record.getRiskScore()))
-                        .subscribeOn(Schedulers.boundedElastic()));
+                .flatMap(record -> blockingExecutor.call(() -> runDjlPrediction(coinSymbol, record.getRiskScore())));
     }
 
-    private TrainingResult trainBlocking(List<TradeDecisionRecord> tradeData) {
+    private TrainingResult trainBlocking(List<TradeDecisionRecord> history) {
+        // An expired decision was never assessed; its risk score would teach the model a rating nobody gave
+        List<TradeDecisionRecord> tradeData = history.stream()
+                .filter(record -> !record.isExpired())
+                .toList();
         try (Model model = Model.newInstance("coin-sniper-model", "PyTorch");
              NDManager manager = NDManager.newBaseManager()) {
 
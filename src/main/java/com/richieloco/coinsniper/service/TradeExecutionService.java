@@ -1,27 +1,61 @@
 package com.richieloco.coinsniper.service;
 
 import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.config.LatencyBudgetConfig.ExpiryDecision;
 import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
 import com.richieloco.coinsniper.entity.TradeDecisionRecord;
 import com.richieloco.coinsniper.repository.TradeDecisionRepository;
-import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import com.richieloco.coinsniper.service.deadline.Deadline;
+import com.richieloco.coinsniper.service.deadline.DeadlineExceededException;
+import com.richieloco.coinsniper.service.deadline.LatencyBudget;
+import com.richieloco.coinsniper.service.exchange.ExchangeOrderService;
+import com.richieloco.coinsniper.service.exchange.OrderResult;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import com.richieloco.coinsniper.service.risk.StreamingAssessmentFunction;
 import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Turns an announcement into one trade decision per supported exchange.
+ * <p>
+ * Each announcement has a latency budget ({@link LatencyBudget}): the {@link Deadline} started at ingestion, or here
+ * when the caller did not start one, travels in the Reactor context to the assessors, and the assessment is cancelled
+ * when it runs out. Exchanges decided by then keep their decisions; what happens to the rest is the configured
+ * {@link ExpiryDecision}.
+ * <p>
+ * With exchange trading enabled, an approved decision first places its order through {@link ExchangeOrderService};
+ * the orders for an announcement's exchanges go out side by side as their assessments arrive, and a decision records
+ * the trade as executed only when its order was filled, as the exchange reports it once an order whose answer was
+ * lost has been looked up.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TradeExecutionService {
 
-    private final ExchangeAssessor exchangeAssessor;
+    // Placeholder on decisions flagged expired; they carry no rating and are left out of training
+    private static final double EXPIRED_RISK_SCORE = 10;
+
+    private final StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> exchangeAssessor;
     private final TradeDecisionRepository repository;
     private final CoinSniperConfig config;
+    private final PipelineMetrics pipelineMetrics;
+    private final LatencyBudget latencyBudget;
+    private final ExchangeOrderService exchangeOrders;
 
     public Flux<TradeDecisionRecord> evaluateAndTrade(CoinAnnouncementRecord announcement) {
         if (announcement.isDelisting()) {
@@ -30,43 +64,120 @@ public class TradeExecutionService {
 
         ExchangeSelectorContext context = ExchangeSelectorContext.from(config, announcement.getCoinSymbol());
 
-        return exchangeAssessor.assess(context)
-                .flatMapMany(assessments -> Flux.fromIterable(assessments)
-                        .filter(assessment ->
-                                assessment != null &&
-                                        config.getSupported().getExchanges().contains(assessment.getExchange()))
-                        .flatMap(assessment -> {
-                            Instant decidedAt = Instant.now();
-
-                            String tsMinute = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
-                                    .withZone(ZoneOffset.UTC)
-                                    .format(decidedAt);
-                            UUID id = java.util.UUID.randomUUID();
-
-                            TradeDecisionRecord record = TradeDecisionRecord.builder()
-                                    .id(id)
-                                    .coinSymbol(announcement.getCoinSymbol())
-                                    .exchange(assessment.getExchange())
-                                    .riskScore(mapRiskToNumeric(assessment.getOverallRiskScore()))
-                                    .tradeExecuted(mapRiskToNumeric(assessment.getOverallRiskScore()) <= 5.0)
-                                    .decidedAt(decidedAt)
-                                    .tsMinute(tsMinute)
-                                    .build();
-
-                            return repository.upsertPerMinute(
-                                    id,
-                                    record.getCoinSymbol(),
-                                    record.getExchange(),
-                                    record.getRiskScore(),
-                                    record.isTradeExecuted(),
-                                    record.getDecidedAt(),
-                                    record.getTsMinute()
-                            ).thenReturn(record);
-
-                        }));
+        return Flux.deferContextual(contextView -> {
+                    Deadline deadline = Deadline.from(contextView).orElse(null);
+                    if (deadline == null) {
+                        return decide(announcement, assessments(context));
+                    }
+                    if (deadline.isExpired()) {
+                        return expired(announcement, Set.of(), new DeadlineExceededException(LatencyBudget.QUEUED));
+                    }
+
+                    // The deadline ends the assessment, not the decisions already being written
+                    AtomicReference<DeadlineExceededException> expiry = new AtomicReference<>();
+                    Flux<ExchangeAssessmentRecord> assessments = deadline.apply(assessments(context), LatencyBudget.ASSESSMENT)
+                            .onErrorResume(DeadlineExceededException.class, e -> {
+                                expiry.set(e);
+                                return Flux.empty();
+                            });
+                    Set<String> decided = ConcurrentHashMap.newKeySet();
+                    return decide(announcement, assessments)
+                            .doOnNext(decision -> {
+                                decided.add(decision.getExchange());
+                                latencyBudget.decidedWithin(deadline);
+                            })
+                            .concatWith(Flux.defer(() -> expiry.get() == null
+                                    ? Flux.empty()
+                                    : expired(announcement, decided, expiry.get())));
+                })
+                .contextWrite(contextView -> latencyBudget.attach(contextView, announcement));
+    }
+
+    private Flux<ExchangeAssessmentRecord> assessments(ExchangeSelectorContext context) {
+        // Streaming hands over each exchange as the model finishes describing it, so the first decision does not
+        // wait for the whole response.
+        return exchangeAssessor.isStreaming()
+                ? exchangeAssessor.stream(context)
+                : exchangeAssessor.assess(context).flatMapMany(Flux::fromIterable);
+    }
+
+    private Flux<TradeDecisionRecord> decide(CoinAnnouncementRecord announcement, Flux<ExchangeAssessmentRecord> assessments) {
+        return assessments
+                .filter(assessment ->
+                        assessment != null &&
+                                config.getSupported().getExchanges().contains(assessment.getExchange()))
+                .flatMap(assessment -> {
+                    double riskScore = mapRiskToNumeric(assessment.getOverallRiskScore());
+                    boolean approved = riskScore <= 5.0;
+                    if (!approved || !exchangeOrders.isEnabled()) {
+                        return record(announcement, assessment.getExchange(), riskScore, approved, false);
+                    }
+                    return exchangeOrders.place(announcement, assessment.getExchange())
+                            .map(OrderResult::isExecuted)
+                            .defaultIfEmpty(false)
+                            .flatMap(executed -> record(announcement, assessment.getExchange(), riskScore, executed, false));
+                });
+    }
+
+    /**
+     * Applies the {@link ExpiryDecision} to the supported exchanges not in {@code decided}.
+     */
+    private Flux<TradeDecisionRecord> expired(CoinAnnouncementRecord announcement, Set<String> decided, DeadlineExceededException e) {
+        latencyBudget.exceeded(e.getStage());
+        List<String> undecided = config.getSupported().getExchanges().stream()
+                .filter(exchange -> !decided.contains(exchange))
+                .toList();
+        log.warn("Latency budget for {} ran out during {}, {} undecided exchanges: {}",
+                announcement.getCoinSymbol(), e.getStage(), latencyBudget.onExpiry(), undecided);
+        if (latencyBudget.onExpiry() == ExpiryDecision.SKIP) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(undecided)
+                .flatMap(exchange -> record(announcement, exchange, EXPIRED_RISK_SCORE, false, true));
+    }
+
+    private Mono<TradeDecisionRecord> record(CoinAnnouncementRecord announcement, String exchange, double riskScore,
+                                             boolean tradeExecuted, boolean expired) {
+        Instant decidedAt = Instant.now();
+
+        String tsMinute = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+                .withZone(ZoneOffset.UTC)
+                .format(decidedAt);
+        UUID id = java.util.UUID.randomUUID();
+
+        TradeDecisionRecord record = TradeDecisionRecord.builder()
+                .id(id)
+                .coinSymbol(announcement.getCoinSymbol())
+                .exchange(exchange)
+                .riskScore(riskScore)
+                .tradeExecuted(tradeExecuted)
+                .expired(expired)
+                .decidedAt(decidedAt)
+                .tsMinute(tsMinute)
+                .build();
+
+        return pipelineMetrics.time(PipelineMetrics.DECISION_UPSERT, repository.upsertPerMinute(
+                id,
+                record.getCoinSymbol(),
+                record.getExchange(),
+                record.getRiskScore(),
+                record.isTradeExecuted(),
+                record.isExpired(),
+                record.getDecidedAt(),
+                record.getTsMinute()
+        ))
+                .doOnSuccess(ignored -> pipelineMetrics.recordReleaseToDecision(announcement.getAnnouncedAt(), Instant.now()))
+                .thenReturn(record);
     }
 
-    private double mapRiskToNumeric(String risk) {
+    /**
+     * Maps the LLM's overall risk rating onto the 0-10 score a trade decision records; anything unrecognised or
+     * missing is 10.
+     */
+    private static double mapRiskToNumeric(String risk) {
+        if (risk == null) {
+            return 10;
+        }
         return switch (risk.toLowerCase()) {
             case "low" -> 2;
             case "medium" -> 5;
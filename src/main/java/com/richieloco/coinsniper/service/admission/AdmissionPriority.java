@@ -0,0 +1,25 @@
+package com.richieloco.coinsniper.service.admission;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Which LLM calls go first when {@link LlmAdmissionController} has more waiting than it can run, carried in the
+ * Reactor {@link Context} like the latency deadline. A call without one is a new listing.
+ */
+public enum AdmissionPriority {
+    /** An announcement assessed for the first time, where every second counts. */
+    NEW_LISTING,
+    /** Another go at an announcement whose evaluation failed, or a replayed dead letter. */
+    REASSESSMENT;
+
+    private static final Class<AdmissionPriority> KEY = AdmissionPriority.class;
+
+    public static AdmissionPriority from(ContextView context) {
+        return context.getOrDefault(KEY, NEW_LISTING);
+    }
+
+    public Context attachTo(Context context) {
+        return context.put(KEY, this);
+    }
+}
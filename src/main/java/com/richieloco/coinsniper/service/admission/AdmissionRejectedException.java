@@ -0,0 +1,17 @@
+package com.richieloco.coinsniper.service.admission;
+
+import lombok.Getter;
+
+/**
+ * Signals that an LLM call was not admitted; {@code reason} is {@code queue-full} or {@code timeout}.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final String reason;
+
+    public AdmissionRejectedException(String reason, AdmissionPriority priority) {
+        super("LLM call not admitted (" + reason + ", " + priority + ")");
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,212 @@
+package com.richieloco.coinsniper.service.admission;
+
+import com.richieloco.coinsniper.config.LlmAdmissionConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many LLM calls are in flight, so a burst of announcements queues here instead of tripping the provider's
+ * rate limits (429s) and slowing every call down.
+ * <p>
+ * A call takes one of {@code max-concurrency} slots, or waits for one. When a slot frees up it goes to the longest
+ * waiting {@link AdmissionPriority#NEW_LISTING new listing} first, and only then to a
+ * {@link AdmissionPriority#REASSESSMENT re-assessment}. At most {@code queue-capacity} calls wait; beyond that, or
+ * after {@code max-wait}, a call fails with {@link AdmissionRejectedException}. A waiting call that is cancelled (its
+ * deadline passed) leaves the queue.
+ * <p>
+ * Calls in flight ({@code coinsniper.llm.admission.in-flight}), waiting calls
+ * ({@code coinsniper.llm.admission.queue.depth{priority}}), time spent waiting
+ * ({@code coinsniper.llm.admission.wait{priority}}) and rejections
+ * ({@code coinsniper.llm.admission.rejected{priority,reason}}) are published to the meter registry.
+ */
+@Slf4j
+@Component
+public class LlmAdmissionController {
+
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final LlmAdmissionConfig config;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<AdmissionPriority, Deque<Waiter>> waiting = new EnumMap<>(AdmissionPriority.class);
+    private final Map<AdmissionPriority, Timer> waitTimers = new EnumMap<>(AdmissionPriority.class);
+    private int inFlight;
+    private int queued;
+
+    public LlmAdmissionController(LlmAdmissionConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("coinsniper.llm.admission.in-flight", this, LlmAdmissionController::inFlight)
+                .description("LLM calls holding an admission slot")
+                .register(meterRegistry);
+        for (AdmissionPriority priority : AdmissionPriority.values()) {
+            Deque<Waiter> queue = new ArrayDeque<>();
+            waiting.put(priority, queue);
+            Gauge.builder("coinsniper.llm.admission.queue.depth", this, controller -> controller.depth(priority))
+                    .description("LLM calls waiting for an admission slot")
+                    .tag("priority", tag(priority))
+                    .register(meterRegistry);
+            waitTimers.put(priority, Timer.builder("coinsniper.llm.admission.wait")
+                    .description("Time an LLM call waited for an admission slot")
+                    .tag("priority", tag(priority))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Emits a {@link Permit} once the call may go ahead; the caller must {@link Permit#release release} it when the
+     * call ends, however it ends.
+     */
+    public Mono<Permit> acquire(AdmissionPriority priority) {
+        return Mono.<Permit>create(sink -> {
+                    Waiter waiter = new Waiter(sink, priority, System.nanoTime());
+                    sink.onCancel(() -> cancel(waiter));
+                    boolean admitted = false;
+                    boolean rejected = false;
+                    synchronized (waiting) {
+                        if (inFlight < Math.max(1, config.getMaxConcurrency())) {
+                            inFlight++;
+                            admitted = true;
+                        } else if (queued >= Math.max(0, config.getQueueCapacity())) {
+                            rejected = true;
+                        } else if (waiter.state.get() == WAITING) {
+                            waiting.get(priority).addLast(waiter);
+                            queued++;
+                        }
+                    }
+                    if (admitted) {
+                        grant(waiter);
+                    } else if (rejected) {
+                        sink.error(rejected(priority, "queue-full"));
+                    }
+                })
+                .timeout(config.getMaxWait(), Mono.error(() -> rejected(priority, "timeout")));
+    }
+
+    public int inFlight() {
+        synchronized (waiting) {
+            return inFlight;
+        }
+    }
+
+    public int depth(AdmissionPriority priority) {
+        synchronized (waiting) {
+            return waiting.get(priority).size();
+        }
+    }
+
+    private void grant(Waiter waiter) {
+        if (!waiter.state.compareAndSet(WAITING, GRANTED) && waiter.state.get() != GRANTED) {
+            release(); // cancelled on its way in; pass the slot on
+            return;
+        }
+        waitTimers.get(waiter.priority).record(System.nanoTime() - waiter.since, TimeUnit.NANOSECONDS);
+        waiter.sink.success(waiter.permit);
+    }
+
+    private void cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(WAITING, CANCELLED)) {
+            synchronized (waiting) {
+                if (waiting.get(waiter.priority).remove(waiter)) {
+                    queued--;
+                }
+            }
+        } else {
+            // Admitted but cancelled before (or as) the permit was handed over
+            waiter.permit.release();
+        }
+    }
+
+    /**
+     * Hands the freed slot to the next waiting call, new listings first, or returns it.
+     */
+    private void release() {
+        Waiter next = null;
+        synchronized (waiting) {
+            for (AdmissionPriority priority : AdmissionPriority.values()) {
+                Deque<Waiter> queue = waiting.get(priority);
+                while (next == null && !queue.isEmpty()) {
+                    Waiter candidate = queue.pollFirst();
+                    queued--;
+                    if (candidate.state.compareAndSet(WAITING, GRANTED)) {
+                        next = candidate;
+                    }
+                }
+                if (next != null) {
+                    break;
+                }
+            }
+            if (next == null) {
+                inFlight--;
+            }
+        }
+        if (next != null) {
+            grant(next);
+        }
+    }
+
+    private AdmissionRejectedException rejected(AdmissionPriority priority, String reason) {
+        Counter.builder("coinsniper.llm.admission.rejected")
+                .description("LLM calls that were not admitted")
+                .tag("priority", tag(priority))
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.warn("LLM call not admitted ({}, {}): {} in flight", reason, tag(priority), inFlight());
+        return new AdmissionRejectedException(reason, priority);
+    }
+
+    private static String tag(AdmissionPriority priority) {
+        return priority.name().toLowerCase().replace('_', '-');
+    }
+
+    /**
+     * One admission slot. Releasing it more than once has no further effect.
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                LlmAdmissionController.this.release();
+            }
+        }
+    }
+
+    private final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private final AdmissionPriority priority;
+        private final long since;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final Permit permit = new Permit();
+
+        private Waiter(MonoSink<Permit> sink, AdmissionPriority priority, long since) {
+            this.sink = sink;
+            this.priority = priority;
+            this.since = since;
+        }
+    }
+}
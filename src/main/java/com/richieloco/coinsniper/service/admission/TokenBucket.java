@@ -0,0 +1,58 @@
+package com.richieloco.coinsniper.service.admission;
+
+import com.richieloco.coinsniper.config.LlmAdmissionConfig.RateLimit;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds up to {@code burst} tokens, refilled continuously at {@code requests-per-second}. {@link #reserve} takes a
+ * token even when there is none yet and says how long to wait for it, so callers queue up in arrival order instead
+ * of polling. Time is read from {@link Schedulers#parallel()}, so tests can use virtual time.
+ */
+public class TokenBucket {
+
+    private final double perNano;
+    private final double capacity;
+    private double tokens;
+    private long updatedAt;
+
+    public TokenBucket(RateLimit rateLimit) {
+        this.perNano = rateLimit.getRequestsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, rateLimit.getBurst());
+        this.tokens = capacity;
+        this.updatedAt = now();
+    }
+
+    public boolean isLimited() {
+        return perNano > 0;
+    }
+
+    /**
+     * Takes a token and returns how long until it is actually available; zero when there was one in the bucket.
+     */
+    public synchronized Duration reserve() {
+        if (!isLimited()) {
+            return Duration.ZERO;
+        }
+        long now = now();
+        tokens = Math.min(capacity, tokens + (now - updatedAt) * perNano);
+        updatedAt = now;
+        tokens -= 1;
+        return tokens >= 0 ? Duration.ZERO : Duration.ofNanos((long) Math.ceil(-tokens / perNano));
+    }
+
+    /**
+     * Returns a reserved token whose call never went out.
+     */
+    public synchronized void refund() {
+        if (isLimited()) {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+    }
+
+    private static long now() {
+        return Schedulers.parallel().now(TimeUnit.NANOSECONDS);
+    }
+}
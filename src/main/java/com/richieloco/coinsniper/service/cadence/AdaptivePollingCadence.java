@@ -0,0 +1,198 @@
+package com.richieloco.coinsniper.service.cadence;
+
+import com.richieloco.coinsniper.config.AnnouncementPollingConfig;
+import com.richieloco.coinsniper.repository.CoinAnnouncementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+/**
+ * Chooses the delay before the next announcement poll.
+ * <ul>
+ *   <li>{@link Mode#BURST}: new announcements were saved within {@code burstWindow}, poll at {@code burstInterval}.</li>
+ *   <li>{@link Mode#BUSY}: the current UTC hour historically sees many announcements, poll at {@code busyInterval}.</li>
+ *   <li>{@link Mode#QUIET}: otherwise, back off by {@code quietBackoffFactor} per empty poll up to {@code maxInterval}.</li>
+ * </ul>
+ * Every delay is clamped to {@code [minInterval, maxInterval]} and then stretched if needed so that polls stay
+ * within {@code requestsPerHour}, using a token bucket that allows short bursts at the hourly average rate.
+ */
+@Slf4j
+@Component
+public class AdaptivePollingCadence {
+
+    public enum Mode { BURST, BUSY, QUIET }
+
+    private static final int HOURS = 24;
+
+    private final AnnouncementPollingConfig config;
+    private final CoinAnnouncementRepository repository;
+    private final Clock clock;
+
+    private Instant lastActivityAt;
+    private Duration quietInterval;
+    private volatile boolean[] busyHours = new boolean[HOURS];
+    private volatile Instant busyHoursLearnedAt;
+
+    private double tokens = -1;
+    private Instant tokensAsOf;
+
+    private volatile Duration lastDelay = Duration.ZERO;
+    private volatile Mode lastMode = Mode.QUIET;
+
+    @Autowired
+    public AdaptivePollingCadence(AnnouncementPollingConfig config, CoinAnnouncementRepository repository) {
+        this(config, repository, Clock.systemUTC());
+    }
+
+    public AdaptivePollingCadence(AnnouncementPollingConfig config, CoinAnnouncementRepository repository, Clock clock) {
+        this.config = config;
+        this.repository = repository;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns how long to wait before the next poll and reserves a request from the budget for it.
+     */
+    public synchronized Duration nextDelay() {
+        AnnouncementPollingConfig.Adaptive adaptive = config.getAdaptive();
+        Instant now = clock.instant();
+
+        Mode mode;
+        Duration base;
+        if (lastActivityAt != null && now.isBefore(lastActivityAt.plus(adaptive.getBurstWindow()))) {
+            mode = Mode.BURST;
+            base = adaptive.getBurstInterval();
+        } else if (busyHours[now.atZone(ZoneOffset.UTC).getHour()]) {
+            mode = Mode.BUSY;
+            base = adaptive.getBusyInterval();
+        } else {
+            mode = Mode.QUIET;
+            base = quietInterval != null ? quietInterval : adaptive.getBusyInterval();
+        }
+
+        Duration delay = withinBudget(now, clamp(base, adaptive));
+        if (mode != lastMode) {
+            log.info("Polling cadence switched {} -> {} (next poll in {} ms)", lastMode, mode, delay.toMillis());
+        }
+        lastMode = mode;
+        lastDelay = delay;
+        return delay;
+    }
+
+    /**
+     * Feeds back the number of announcements a poll saved.
+     */
+    public synchronized void recordPoll(long savedAnnouncements) {
+        AnnouncementPollingConfig.Adaptive adaptive = config.getAdaptive();
+        if (savedAnnouncements > 0) {
+            lastActivityAt = clock.instant();
+            quietInterval = null;
+            return;
+        }
+        Duration current = quietInterval != null ? quietInterval : adaptive.getBusyInterval();
+        long grown = (long) (current.toMillis() * Math.max(1.0, adaptive.getQuietBackoffFactor()));
+        quietInterval = clamp(Duration.ofMillis(grown), adaptive);
+    }
+
+    /**
+     * Re-learns the busy UTC hours from {@code coin_announcements.announced_at} when the last histogram is stale.
+     */
+    public Mono<Void> refreshBusyHoursIfStale() {
+        Instant learnedAt = busyHoursLearnedAt;
+        if (learnedAt != null && clock.instant().isBefore(learnedAt.plus(config.getAdaptive().getBusyHoursRefresh()))) {
+            return Mono.empty();
+        }
+        return learnBusyHours();
+    }
+
+    public Mono<Void> learnBusyHours() {
+        return repository.countByUtcHour() // grouped in SQL, so the table is never loaded
+                .reduce(new long[HOURS], (histogram, count) -> {
+                    histogram[count.utcHour()] += count.announcements();
+                    return histogram;
+                })
+                .doOnNext(this::applyHistogram)
+                .then();
+    }
+
+    public Duration lastDelay() {
+        return lastDelay;
+    }
+
+    public Mode lastMode() {
+        return lastMode;
+    }
+
+    public boolean isBusyHour(int utcHour) {
+        return busyHours[utcHour];
+    }
+
+    private void applyHistogram(long[] histogram) {
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        boolean[] busy = new boolean[HOURS];
+        if (total > 0) {
+            double threshold = (double) total / HOURS * config.getAdaptive().getBusyHourFactor();
+            for (int hour = 0; hour < HOURS; hour++) {
+                busy[hour] = histogram[hour] >= threshold;
+            }
+        }
+        busyHours = busy;
+        busyHoursLearnedAt = clock.instant();
+        log.info("Learned busy announcement hours (UTC) from {} records: {}", total, describe(busy));
+    }
+
+    /**
+     * Token bucket holding up to one hour's budget, refilled continuously. A poll that would find the bucket
+     * empty is pushed back to when the next token arrives.
+     */
+    private Duration withinBudget(Instant now, Duration delay) {
+        int perHour = config.getAdaptive().getRequestsPerHour();
+        if (perHour <= 0) {
+            return delay;
+        }
+        double perMilli = perHour / 3_600_000d;
+        if (tokens < 0) {
+            tokens = perHour;
+            tokensAsOf = now;
+        }
+
+        Instant at = now.plus(delay);
+        double available = Math.min(perHour, tokens + Math.max(0, Duration.between(tokensAsOf, at).toMillis()) * perMilli);
+        if (available < 1) {
+            at = at.plusMillis((long) Math.ceil((1 - available) / perMilli));
+            available = 1;
+        }
+        tokens = available - 1;
+        tokensAsOf = at;
+        return Duration.between(now, at);
+    }
+
+    private static Duration clamp(Duration delay, AnnouncementPollingConfig.Adaptive adaptive) {
+        if (delay.compareTo(adaptive.getMinInterval()) < 0) {
+            return adaptive.getMinInterval();
+        }
+        if (delay.compareTo(adaptive.getMaxInterval()) > 0) {
+            return adaptive.getMaxInterval();
+        }
+        return delay;
+    }
+
+    private static String describe(boolean[] busy) {
+        StringBuilder hours = new StringBuilder();
+        for (int hour = 0; hour < busy.length; hour++) {
+            if (busy[hour]) {
+                hours.append(hours.isEmpty() ? "" : ",").append(hour);
+            }
+        }
+        return hours.isEmpty() ? "none" : hours.toString();
+    }
+}
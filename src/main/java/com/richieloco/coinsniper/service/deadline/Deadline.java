@@ -0,0 +1,80 @@
+package com.richieloco.coinsniper.service.deadline;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The moment after which a trade decision for an announcement is no longer worth making, carried to every stage of
+ * its evaluation in the Reactor {@link Context}.
+ * <p>
+ * {@link #bound} applies the deadline found in the subscriber's context to a publisher: it fails with
+ * {@link DeadlineExceededException} at the deadline, cancelling the publisher, and does not subscribe to it at all
+ * once the deadline has passed. Without a deadline in the context the publisher is returned as is. Time is read from
+ * {@link Schedulers#parallel()}, so deadlines follow virtual time in tests.
+ */
+public record Deadline(long expiresAtMillis) {
+
+    private static final Class<Deadline> KEY = Deadline.class;
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(now() + budget.toMillis());
+    }
+
+    public static Deadline after(Instant anchor, Duration budget) {
+        return new Deadline(anchor.toEpochMilli() + budget.toMillis());
+    }
+
+    public static Optional<Deadline> from(ContextView context) {
+        return context.getOrEmpty(KEY);
+    }
+
+    public Context attachTo(Context context) {
+        return context.put(KEY, this);
+    }
+
+    public Duration remaining() {
+        return Duration.ofMillis(Math.max(0, expiresAtMillis - now()));
+    }
+
+    public boolean isExpired() {
+        return now() >= expiresAtMillis;
+    }
+
+    public static <T> Mono<T> bound(Mono<T> source, String stage) {
+        return Mono.deferContextual(context -> from(context)
+                .map(deadline -> deadline.apply(source, stage))
+                .orElse(source));
+    }
+
+    public static <T> Flux<T> bound(Flux<T> source, String stage) {
+        return Flux.deferContextual(context -> from(context)
+                .map(deadline -> deadline.apply(source, stage))
+                .orElse(source));
+    }
+
+    public <T> Mono<T> apply(Mono<T> source, String stage) {
+        return Mono.defer(() -> isExpired()
+                ? Mono.error(new DeadlineExceededException(stage))
+                : source.timeout(Mono.delay(remaining()), Mono.error(() -> new DeadlineExceededException(stage))));
+    }
+
+    public <T> Flux<T> apply(Flux<T> source, String stage) {
+        // each element re-arms the timer with what is left, so the whole stream is bounded rather than each gap
+        return Flux.defer(() -> isExpired()
+                ? Flux.error(new DeadlineExceededException(stage))
+                : source.timeout(Mono.delay(remaining()), item -> Mono.delay(remaining()),
+                        Flux.error(() -> new DeadlineExceededException(stage))));
+    }
+
+    private static long now() {
+        return Schedulers.parallel().now(TimeUnit.MILLISECONDS);
+    }
+}
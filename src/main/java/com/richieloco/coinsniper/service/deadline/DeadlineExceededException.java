@@ -0,0 +1,17 @@
+package com.richieloco.coinsniper.service.deadline;
+
+import lombok.Getter;
+
+/**
+ * Signals that an announcement's latency budget ran out; {@code stage} says where the pipeline was at the time.
+ */
+@Getter
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String stage;
+
+    public DeadlineExceededException(String stage) {
+        super("Latency budget exhausted during " + stage);
+        this.stage = stage;
+    }
+}
@@ -0,0 +1,90 @@
+package com.richieloco.coinsniper.service.deadline;
+
+import com.richieloco.coinsniper.config.LatencyBudgetConfig;
+import com.richieloco.coinsniper.config.LatencyBudgetConfig.Anchor;
+import com.richieloco.coinsniper.config.LatencyBudgetConfig.ExpiryDecision;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Starts the {@link Deadline} of each announcement from {@link LatencyBudgetConfig} and publishes how budgets are
+ * spent: {@code coinsniper.deadline.exceeded{stage}} counts announcements whose budget ran out, and
+ * {@code coinsniper.deadline.remaining} records the budget left whenever a trade decision is made in time.
+ */
+@Component
+public class LatencyBudget {
+
+    /** The budget ran out before the assessment started, e.g. while waiting in the evaluation queue. */
+    public static final String QUEUED = "queued";
+    /** The budget ran out while the exchanges were being assessed. */
+    public static final String ASSESSMENT = "assessment";
+    /** The budget ran out before an approved trade's order was sent. */
+    public static final String ORDER = "order";
+
+    private final LatencyBudgetConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Timer remaining;
+
+    public LatencyBudget(LatencyBudgetConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.remaining = Timer.builder("coinsniper.deadline.remaining")
+                .description("Latency budget left when a trade decision was made")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(meterRegistry);
+    }
+
+    /**
+     * The deadline an upstream stage already put into the context, otherwise a new one for the announcement; empty
+     * when budgets are disabled and there is none.
+     */
+    public Optional<Deadline> deadline(ContextView context, CoinAnnouncementRecord announcement) {
+        Optional<Deadline> existing = Deadline.from(context);
+        if (existing.isPresent() || !config.isEnabled()) {
+            return existing;
+        }
+        return Optional.of(start(announcement));
+    }
+
+    /**
+     * Puts {@link #deadline} into the context.
+     */
+    public Context attach(Context context, CoinAnnouncementRecord announcement) {
+        return deadline(context, announcement)
+                .map(deadline -> deadline.attachTo(context))
+                .orElse(context);
+    }
+
+    public Deadline start(CoinAnnouncementRecord announcement) {
+        if (config.getAnchor() == Anchor.RELEASE && announcement.getAnnouncedAt() != null) {
+            return Deadline.after(announcement.getAnnouncedAt(), config.getBudget());
+        }
+        return Deadline.after(config.getBudget());
+    }
+
+    public ExpiryDecision onExpiry() {
+        return config.getOnExpiry();
+    }
+
+    public void exceeded(String stage) {
+        Counter.builder("coinsniper.deadline.exceeded")
+                .description("Announcements whose latency budget ran out before every exchange was decided")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void decidedWithin(Deadline deadline) {
+        remaining.record(deadline.remaining());
+    }
+}
@@ -0,0 +1,152 @@
+package com.richieloco.coinsniper.service.dedup;
+
+import com.richieloco.coinsniper.config.AnnouncementDedupConfig;
+import com.richieloco.coinsniper.repository.CoinAnnouncementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process answer to "has this (symbol, announcedAt) already been persisted?".
+ * <p>
+ * Recently seen keys are held in a bounded LRU. Once the Bloom filter has been warmed from
+ * {@code coin_announcements}, a negative from it is trusted as well, so a brand new announcement is
+ * recognised without a database read. Everything else falls through to
+ * {@link CoinAnnouncementRepository#findByCoinSymbolAndAnnouncedAt}. The index assumes this process
+ * is the only writer of announcements, and every save has to be reported through {@link #record}.
+ */
+@Slf4j
+@Component
+public class AnnouncementDedupIndex {
+
+    private final CoinAnnouncementRepository repository;
+    private final AnnouncementDedupConfig config;
+
+    private final Map<Key, Boolean> recent;
+    private final BloomFilter bloomFilter;
+    private volatile boolean bloomWarm;
+
+    private final Counter hits;
+    private final Counter absent;
+    private final Counter misses;
+
+    public AnnouncementDedupIndex(CoinAnnouncementRepository repository, AnnouncementDedupConfig config, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.config = config;
+
+        int maxEntries = Math.max(1, config.getMaxEntries());
+        this.recent = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.bloomFilter = config.isBloomFilter()
+                ? new BloomFilter(config.getExpectedInsertions(), config.getFalsePositiveRate())
+                : null;
+
+        this.hits = lookupCounter(meterRegistry, "hit", "Answered from the LRU of recently seen announcements");
+        this.absent = lookupCounter(meterRegistry, "absent", "Answered as unseen by the Bloom filter");
+        this.misses = lookupCounter(meterRegistry, "miss", "Fell through to a database lookup");
+        Gauge.builder("coinsniper.announcement.dedup.size", this, AnnouncementDedupIndex::size)
+                .description("Keys held in the announcement dedup LRU")
+                .register(meterRegistry);
+    }
+
+    public Mono<Boolean> exists(String symbol, Instant announcedAt) {
+        if (!config.isEnabled()) {
+            return repository.findByCoinSymbolAndAnnouncedAt(symbol, announcedAt).hasElement();
+        }
+
+        Key key = new Key(symbol, announcedAt.toEpochMilli());
+        if (containsRecent(key)) {
+            hits.increment();
+            return Mono.just(true);
+        }
+        if (bloomWarm && !bloomFilter.mightContain(key.hash())) {
+            absent.increment();
+            return Mono.just(false);
+        }
+
+        misses.increment();
+        return repository.findByCoinSymbolAndAnnouncedAt(symbol, announcedAt)
+                .hasElement()
+                .doOnNext(found -> {
+                    if (found) {
+                        remember(key);
+                    }
+                });
+    }
+
+    /**
+     * Reports a persisted announcement so later lookups for it are answered in memory.
+     */
+    public void record(String symbol, Instant announcedAt) {
+        if (config.isEnabled() && symbol != null && announcedAt != null) {
+            remember(new Key(symbol, announcedAt.toEpochMilli()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (config.isEnabled() && config.isWarmUp()) {
+            warmUp().subscribe(
+                    count -> log.info("Announcement dedup index warmed with {} records (bloomFilter={})", count, bloomFilter != null),
+                    e -> log.warn("Announcement dedup warm-up failed, falling back to database lookups: {}", e.getMessage()));
+        }
+    }
+
+    /**
+     * Loads every existing announcement key. The Bloom filter is only trusted for negatives once this completes.
+     */
+    public Mono<Long> warmUp() {
+        return repository.findAll()
+                .filter(record -> record.getCoinSymbol() != null && record.getAnnouncedAt() != null)
+                .doOnNext(record -> remember(new Key(record.getCoinSymbol(), record.getAnnouncedAt().toEpochMilli())))
+                .count()
+                .doOnSuccess(count -> bloomWarm = bloomFilter != null);
+    }
+
+    public int size() {
+        synchronized (recent) {
+            return recent.size();
+        }
+    }
+
+    private boolean containsRecent(Key key) {
+        synchronized (recent) {
+            return recent.get(key) != null;
+        }
+    }
+
+    private void remember(Key key) {
+        synchronized (recent) {
+            recent.put(key, Boolean.TRUE);
+        }
+        if (bloomFilter != null) {
+            bloomFilter.put(key.hash());
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result, String description) {
+        return Counter.builder("coinsniper.announcement.dedup.lookups")
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private record Key(String symbol, long announcedAtMillis) {
+        long hash() {
+            return BloomFilter.mix(symbol.hashCode() * 0x9E3779B97F4A7C15L ^ announcedAtMillis);
+        }
+    }
+}
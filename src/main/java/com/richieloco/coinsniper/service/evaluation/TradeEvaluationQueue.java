@@ -0,0 +1,256 @@
+package com.richieloco.coinsniper.service.evaluation;
+
+import com.richieloco.coinsniper.config.TradeEvaluationConfig;
+import com.richieloco.coinsniper.config.TradeEvaluationConfig.OverflowPolicy;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.service.TradeExecutionService;
+import com.richieloco.coinsniper.service.deadline.Deadline;
+import com.richieloco.coinsniper.service.deadline.LatencyBudget;
+import com.richieloco.coinsniper.service.retry.AssessmentRetryQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands saved announcements from the poll over to {@link TradeExecutionService} without waiting for the assessment.
+ * <p>
+ * Announcements wait in a bounded FIFO that {@code evaluators} concurrent consumers pull from, so a poll completes as
+ * soon as its records are persisted while slow LLM assessments drain at their own pace. When the queue is full the
+ * configured {@link OverflowPolicy} applies. Queue depth ({@code coinsniper.evaluation.queue.depth}), time spent
+ * waiting ({@code coinsniper.evaluation.queue.wait}), overflows ({@code coinsniper.evaluation.queue.overflow}) and
+ * evaluation time ({@code coinsniper.evaluation}) are published to the meter registry.
+ * <p>
+ * Submitting starts the announcement's {@link Deadline} (or keeps the one in the caller's context), and the evaluation
+ * runs under it, so time spent waiting in the queue counts against the latency budget.
+ * <p>
+ * An evaluation that fails is handed to the {@link AssessmentRetryQueue}, which retries it apart from the evaluators.
+ * Announcements that are never evaluated (turned away or evicted by a full queue, or still waiting or being evaluated
+ * when the queue stops) are written to its dead letters, reason {@code overflow} or {@code shutdown}, for replay.
+ */
+@Slf4j
+@Component
+public class TradeEvaluationQueue {
+
+    private static final Duration SHUTDOWN_DEAD_LETTER_TIMEOUT = Duration.ofSeconds(10);
+
+    private final TradeExecutionService tradeExecutionService;
+    private final TradeEvaluationConfig config;
+    private final MeterRegistry meterRegistry;
+    private final LatencyBudget latencyBudget;
+    private final AssessmentRetryQueue retryQueue;
+
+    private final Deque<Pending> queue = new ArrayDeque<>();
+    private final Set<Pending> evaluating = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile FluxSink<Pending> sink;
+    private Disposable consumers;
+
+    private final Timer waitTimer;
+    private final Map<OverflowPolicy, Counter> overflows = new EnumMap<>(OverflowPolicy.class);
+
+    public TradeEvaluationQueue(TradeExecutionService tradeExecutionService,
+                                TradeEvaluationConfig config,
+                                MeterRegistry meterRegistry,
+                                LatencyBudget latencyBudget,
+                                AssessmentRetryQueue retryQueue) {
+        this.tradeExecutionService = tradeExecutionService;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.latencyBudget = latencyBudget;
+        this.retryQueue = retryQueue;
+
+        Gauge.builder("coinsniper.evaluation.queue.depth", this, TradeEvaluationQueue::depth)
+                .description("Saved announcements waiting for trade evaluation")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("coinsniper.evaluation.queue.wait")
+                .description("Time from enqueue until an evaluator picked the announcement up")
+                .register(meterRegistry);
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            overflows.put(policy, Counter.builder("coinsniper.evaluation.queue.overflow")
+                    .description("Announcements that arrived while the evaluation queue was full")
+                    .tag("policy", policy.name().toLowerCase().replace('_', '-'))
+                    .register(meterRegistry));
+        }
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!config.isQueued() || consumers != null) {
+            return;
+        }
+        int evaluators = Math.max(1, config.getEvaluators());
+        consumers = Flux.<Pending>create(emitter -> {
+                    sink = emitter;
+                    emitter.onRequest(n -> drain());
+                })
+                .flatMap(this::evaluateQueued, evaluators)
+                .subscribe(null, e -> log.error("Trade evaluation consumers terminated: {}", e.getMessage(), e));
+        log.info("Trade evaluation queue started with {} evaluators (capacity={}, overflow={})",
+                evaluators, config.getQueueCapacity(), config.getOverflowPolicy());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (consumers != null) {
+            consumers.dispose();
+            consumers = null;
+            sink = null;
+        }
+        // Evaluations cut off by the dispose never terminated, so they are still in the set
+        List<Pending> abandoned = new ArrayList<>(evaluating);
+        evaluating.clear();
+        synchronized (queue) {
+            abandoned.addAll(queue);
+            queue.clear();
+        }
+        if (abandoned.isEmpty()) {
+            return;
+        }
+        log.warn("Trade evaluation queue stopped with {} announcements not evaluated, dead-lettering them", abandoned.size());
+        try {
+            Flux.fromIterable(abandoned)
+                    .concatMap(pending -> retryQueue.deadLetter(pending.announcement(), "shutdown"))
+                    .then()
+                    .block(SHUTDOWN_DEAD_LETTER_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.error("Could not dead-letter every announcement left in the evaluation queue: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queues the announcement for evaluation. Completes once it is queued (and, under {@code DROP_OLDEST}, the
+     * announcement it evicted is dead-lettered), once it is dead-lettered under {@code DROP_NEWEST} with a full queue,
+     * or, under {@code CALLER_RUNS} with a full queue (or when queuing is disabled), once it has been evaluated or
+     * handed to the retry queue.
+     */
+    public Mono<Void> submit(CoinAnnouncementRecord announcement) {
+        return Mono.deferContextual(callerContext -> {
+            Deadline deadline = latencyBudget.deadline(callerContext, announcement).orElse(null);
+            if (consumers == null) {
+                return tradeExecutionService.evaluateAndTrade(announcement)
+                        .contextWrite(context -> deadline == null ? context : deadline.attachTo(context))
+                        .then()
+                        .onErrorResume(e -> retryQueue.isRunning(), e -> retryQueue.retry(announcement, e));
+            }
+
+            OverflowPolicy policy = config.getOverflowPolicy();
+            Pending pending = new Pending(announcement, System.nanoTime(), deadline);
+            Pending evicted = null;
+            boolean accepted = true;
+            synchronized (queue) {
+                if (queue.size() >= Math.max(1, config.getQueueCapacity())) {
+                    if (policy == OverflowPolicy.DROP_OLDEST) {
+                        evicted = queue.pollFirst();
+                    } else {
+                        accepted = false;
+                    }
+                }
+                if (accepted) {
+                    queue.offerLast(pending);
+                }
+            }
+
+            if (accepted) {
+                drain();
+                if (evicted == null) {
+                    return Mono.empty();
+                }
+                overflows.get(policy).increment();
+                log.warn("Evaluation queue full, dead-lettering oldest pending announcement {}", evicted.announcement().getCoinSymbol());
+                return retryQueue.deadLetter(evicted.announcement(), "overflow");
+            }
+
+            overflows.get(policy).increment();
+            if (policy == OverflowPolicy.DROP_NEWEST) {
+                log.warn("Evaluation queue full, dead-lettering {}", announcement.getCoinSymbol());
+                return retryQueue.deadLetter(announcement, "overflow");
+            }
+            log.debug("Evaluation queue full, evaluating {} inside the poll", announcement.getCoinSymbol());
+            return evaluate(pending);
+        });
+    }
+
+    public int depth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Emits queued announcements while the evaluators have capacity. Re-entrant calls (from an evaluator finishing
+     * synchronously, or a concurrent submit) are folded into the running loop.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            FluxSink<Pending> target = sink;
+            while (target != null && target.requestedFromDownstream() > 0) {
+                Pending next;
+                synchronized (queue) {
+                    next = queue.pollFirst();
+                }
+                if (next == null) {
+                    break;
+                }
+                target.next(next);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * {@link #evaluate} for an announcement taken off the queue, remembered until it finishes so that {@link #stop}
+     * can dead-letter it should it be cut off.
+     */
+    private Mono<Void> evaluateQueued(Pending pending) {
+        evaluating.add(pending);
+        return evaluate(pending).doOnTerminate(() -> evaluating.remove(pending));
+    }
+
+    private Mono<Void> evaluate(Pending pending) {
+        waitTimer.record(System.nanoTime() - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Deadline deadline = pending.deadline();
+        return Mono.defer(() -> tradeExecutionService.evaluateAndTrade(pending.announcement()).then())
+                .contextWrite(context -> deadline == null ? context : deadline.attachTo(context))
+                .doOnSuccess(ignored -> sample.stop(evaluationTimer("success")))
+                .onErrorResume(e -> {
+                    sample.stop(evaluationTimer("error"));
+                    log.error("Trade evaluation failed for {}: {}", pending.announcement().getCoinSymbol(), e.getMessage(), e);
+                    return retryQueue.retry(pending.announcement(), e);
+                });
+    }
+
+    private Timer evaluationTimer(String outcome) {
+        return Timer.builder("coinsniper.evaluation")
+                .description("Time to assess and record trade decisions for one announcement")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Pending(CoinAnnouncementRecord announcement, long enqueuedAt, Deadline deadline) {}
+}
@@ -0,0 +1,26 @@
+package com.richieloco.coinsniper.service.exchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Places orders on one exchange. A Spring bean implementing this replaces the generic {@link RestExchangeClient} for
+ * the exchange it names, for exchanges whose API needs its own request format or signing scheme.
+ */
+public interface ExchangeClient {
+
+    /**
+     * The exchange as named in {@code coin-sniper.supported.exchanges}, matched ignoring case.
+     */
+    String exchange();
+
+    /**
+     * Sends the order and emits the exchange's answer. Errors (connection, timeout) are left to the caller.
+     */
+    Mono<OrderResult> placeOrder(OrderRequest request);
+
+    /**
+     * Looks up the order placed for {@code request} by its {@code clientOrderId} and emits what the exchange knows of
+     * it; empty when the exchange has no such order. Errors are left to the caller.
+     */
+    Mono<OrderResult> queryOrder(OrderRequest request);
+}
@@ -0,0 +1,212 @@
+package com.richieloco.coinsniper.service.exchange;
+
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.config.ExchangeTradingConfig;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.service.deadline.Deadline;
+import com.richieloco.coinsniper.service.deadline.DeadlineExceededException;
+import com.richieloco.coinsniper.service.deadline.LatencyBudget;
+import com.richieloco.coinsniper.service.exchange.OrderResult.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places the order behind an approved trade decision on its exchange.
+ * <p>
+ * Each exchange under {@code coin-sniper.api.on-exchange} with a {@code trade.base-url} gets a
+ * {@link RestExchangeClient}, unless an {@link ExchangeClient} bean already covers it. All REST clients share one
+ * pool of {@code max-connections} non-blocking connections, so an order never waits for a TLS handshake that an
+ * earlier one already paid for. {@link #place} never blocks and never fails: the caller places the orders for an
+ * announcement's exchanges side by side, each bounded by {@code order-timeout}. The announcement's {@link Deadline}
+ * only decides whether an order is sent; one already sent is never cut off by it, since that would not take it back.
+ * <p>
+ * An order that could not be sent at all comes back as {@link Status#FAILED}. One that was sent but timed out, lost
+ * its connection or got a 5xx answer may still have been filled, so after {@code reconcile-delay} it is looked up by
+ * its {@code clientOrderId} (up to {@code reconcile-attempts} times): the exchange's record of it wins, an order the
+ * exchange never received is {@link Status#FAILED}, and one that cannot be looked up stays {@link Status#UNKNOWN}.
+ * Order latency, look-ups included, is recorded as {@code coinsniper.exchange.order{exchange,status}}.
+ */
+@Slf4j
+@Component
+public class ExchangeOrderService {
+
+    private final ExchangeTradingConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ExchangeClient> clients = new HashMap<>();
+    private ConnectionProvider connectionProvider;
+
+    @Autowired
+    public ExchangeOrderService(CoinSniperConfig coinSniperConfig,
+                                ExchangeTradingConfig config,
+                                ObjectProvider<ExchangeClient> exchangeClients,
+                                MeterRegistry meterRegistry) {
+        this(config, exchangeClients.orderedStream().toList(), meterRegistry);
+        if (!config.isEnabled()) {
+            return;
+        }
+        Map<String, CoinSniperConfig.Api.OnExchange> onExchange = coinSniperConfig.getApi() == null
+                ? null : coinSniperConfig.getApi().getOnExchange();
+        if (onExchange == null) {
+            log.warn("Exchange trading is enabled but coin-sniper.api.on-exchange is empty; only ExchangeClient beans {} can place orders",
+                    clients.keySet());
+            return;
+        }
+        onExchange.forEach((exchange, settings) -> {
+            CoinSniperConfig.Api.OnExchange.Trade trade = settings == null ? null : settings.getTrade();
+            if (clients.containsKey(key(exchange)) || trade == null || trade.getBaseUrl() == null || trade.getBaseUrl().isBlank()) {
+                return;
+            }
+            clients.put(key(exchange), RestExchangeClient.create(exchange, trade, httpClient(), config));
+        });
+        log.info("Exchange trading enabled for {}", clients.keySet());
+    }
+
+    public ExchangeOrderService(ExchangeTradingConfig config, Collection<ExchangeClient> exchangeClients, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        exchangeClients.forEach(client -> clients.put(key(client.exchange()), client));
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public boolean canTrade(String exchange) {
+        return config.isEnabled() && clients.containsKey(key(exchange));
+    }
+
+    /**
+     * Buys the announcement's coin on {@code exchange} for {@code quote-amount}; empty when trading is disabled or
+     * there is no client for the exchange.
+     */
+    public Mono<OrderResult> place(CoinAnnouncementRecord announcement, String exchange) {
+        if (!config.isEnabled()) {
+            return Mono.empty();
+        }
+        ExchangeClient client = clients.get(key(exchange));
+        if (client == null) {
+            log.warn("Exchange trading is enabled but {} has no client (api.on-exchange.{}.trade.base-url), no order placed",
+                    exchange, key(exchange));
+            return Mono.empty();
+        }
+        OrderRequest request = new OrderRequest(exchange,
+                announcement.getCoinSymbol().toUpperCase(Locale.ROOT) + config.getQuoteAsset(),
+                config.getQuoteAmount(),
+                clientOrderId(announcement, exchange));
+        return Mono.deferContextual(context -> {
+            if (Deadline.from(context).filter(Deadline::isExpired).isPresent()) {
+                log.warn("Latency budget for {} ran out before its order on {} was sent", announcement.getCoinSymbol(), exchange);
+                return Mono.just(OrderResult.failed(request, Status.FAILED,
+                        new DeadlineExceededException(LatencyBudget.ORDER).getMessage()));
+            }
+            long start = System.nanoTime();
+            return client.placeOrder(request)
+                    .timeout(config.getOrderTimeout())
+                    .onErrorResume(e -> {
+                        Status status = neverSent(e) ? Status.FAILED : Status.UNKNOWN;
+                        log.warn("Order {} on {} {}: {}", request.clientOrderId(), exchange,
+                                status == Status.FAILED ? "could not be sent" : "has no answer", e.toString());
+                        return Mono.just(OrderResult.failed(request, status, message(e)));
+                    })
+                    .flatMap(result -> result.status() == Status.UNKNOWN ? reconcile(client, request, result) : Mono.just(result))
+                    .doOnNext(result -> {
+                        orderTimer(exchange, result.status()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        log.info("Order {} for {} on {}: {} {}", result.clientOrderId(), request.symbol(), exchange,
+                                result.status(), result.message() != null ? result.message() : "");
+                    });
+        });
+    }
+
+    /**
+     * Asks the exchange what became of an order whose outcome is unknown.
+     */
+    private Mono<OrderResult> reconcile(ExchangeClient client, OrderRequest request, OrderResult unknown) {
+        int lookUps = Math.max(1, config.getReconcileAttempts());
+        return Mono.delay(config.getReconcileDelay())
+                .then(Mono.defer(() -> client.queryOrder(request))
+                        .timeout(config.getOrderTimeout())
+                        .retryWhen(Retry.fixedDelay(lookUps - 1, config.getReconcileDelay())))
+                .doOnNext(found -> log.info("Order {} on {} reconciled as {}", request.clientOrderId(), request.exchange(), found.status()))
+                .switchIfEmpty(Mono.fromSupplier(() -> OrderResult.failed(request, Status.FAILED,
+                        "Not received by the exchange (" + unknown.message() + ")")))
+                .onErrorResume(e -> {
+                    log.error("Order {} on {} could not be looked up, its outcome is unknown: {}",
+                            request.clientOrderId(), request.exchange(), message(e));
+                    return Mono.just(unknown);
+                });
+    }
+
+    /**
+     * Whether the order certainly never left: the connection to the exchange could not be opened.
+     */
+    private static boolean neverSent(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof UnknownHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String message(Throwable error) {
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+            connectionProvider = null;
+        }
+    }
+
+    private synchronized HttpClient httpClient() {
+        if (connectionProvider == null) {
+            connectionProvider = ConnectionProvider.builder("exchange")
+                    .maxConnections(config.getMaxConnections())
+                    .maxIdleTime(config.getMaxIdleTime())
+                    .build();
+        }
+        return HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getConnectTimeout().toMillis())
+                .responseTimeout(config.getOrderTimeout());
+    }
+
+    private Timer orderTimer(String exchange, Status status) {
+        return Timer.builder("coinsniper.exchange.order")
+                .description("Time to place one order, by exchange and outcome")
+                .tag("exchange", exchange)
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    /**
+     * The same for every evaluation of one announcement on one exchange, so a retried evaluation cannot buy twice.
+     */
+    private static String clientOrderId(CoinAnnouncementRecord announcement, String exchange) {
+        if (announcement.getId() == null) {
+            return UUID.randomUUID().toString();
+        }
+        return UUID.nameUUIDFromBytes((announcement.getId() + ":" + key(exchange)).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static String key(String exchange) {
+        return exchange.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,43 @@
+package com.richieloco.coinsniper.service.exchange;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * HMAC-SHA256 request signatures as lower-case hex. Looking up and keying a {@link Mac} costs more than signing a
+ * short payload, so each thread keeps its own keyed instance, cloned from one keyed prototype, and reuses it;
+ * {@link Mac#doFinal} resets it for the next payload.
+ */
+public class HmacSigner {
+
+    static final String ALGORITHM = "HmacSHA256";
+
+    private final Mac prototype;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::copy);
+
+    public HmacSigner(String secret) {
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot create " + ALGORITHM + " signer", e);
+        }
+    }
+
+    public String sign(String payload) {
+        return HexFormat.of().formatHex(macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac copy() {
+        try {
+            synchronized (prototype) {
+                return (Mac) prototype.clone();
+            }
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " provider does not support cloning", e);
+        }
+    }
+}
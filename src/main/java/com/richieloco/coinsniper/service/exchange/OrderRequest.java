@@ -0,0 +1,10 @@
+package com.richieloco.coinsniper.service.exchange;
+
+import java.math.BigDecimal;
+
+/**
+ * A market buy of {@code symbol} for {@code quoteAmount} of its quote asset. {@code clientOrderId} is derived from the
+ * announcement and exchange, so an exchange that deduplicates on it never fills the same decision twice.
+ */
+public record OrderRequest(String exchange, String symbol, BigDecimal quoteAmount, String clientOrderId) {
+}
@@ -0,0 +1,26 @@
+package com.richieloco.coinsniper.service.exchange;
+
+import java.math.BigDecimal;
+
+/**
+ * What became of one {@link OrderRequest}; {@code message} explains a rejection or failure.
+ */
+public record OrderResult(String exchange, String clientOrderId, String orderId, Status status,
+                          BigDecimal executedQuantity, BigDecimal averagePrice, String message) {
+
+    public enum Status {
+        FILLED,
+        PARTIALLY_FILLED,
+        REJECTED,   // the exchange answered and refused the order
+        FAILED,     // the order never reached the exchange
+        UNKNOWN     // sent, but no answer said what became of it, and looking it up did not tell either
+    }
+
+    public static OrderResult failed(OrderRequest request, Status status, String message) {
+        return new OrderResult(request.exchange(), request.clientOrderId(), null, status, BigDecimal.ZERO, null, message);
+    }
+
+    public boolean isExecuted() {
+        return status == Status.FILLED || status == Status.PARTIALLY_FILLED;
+    }
+}
@@ -0,0 +1,160 @@
+package com.richieloco.coinsniper.service.exchange;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.config.ExchangeTradingConfig;
+import com.richieloco.coinsniper.service.exchange.OrderResult.Status;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ExchangeClient} for a signed JSON REST order endpoint, used for every exchange configured under
+ * {@code coin-sniper.api.on-exchange} that has no dedicated client.
+ * <p>
+ * The order is a {@code POST} of {@code {symbol, side, type, quoteOrderQty, clientOrderId}} to {@code order-path}.
+ * It carries the API key, the epoch-millisecond timestamp and the {@link HmacSigner} signature of
+ * {@code timestamp + "POST" + path + body} in the {@link #API_KEY_HEADER}, {@link #TIMESTAMP_HEADER} and
+ * {@link #SIGNATURE_HEADER} headers. The answer's {@code orderId}, {@code status}, {@code executedQty} and
+ * {@code avgPrice} become the {@link OrderResult}. A 4xx answer is a rejection carrying the exchange's {@code msg};
+ * after a 5xx answer the order may or may not have been taken, so its outcome is {@link Status#UNKNOWN}.
+ * <p>
+ * {@link #queryOrder} is a {@code GET} of {@code order-path?clientOrderId=...}, signed the same way over
+ * {@code timestamp + "GET" + path + "?" + query}; it answers like the order did, or 404 for an order the exchange
+ * never received.
+ */
+public class RestExchangeClient implements ExchangeClient {
+
+    public static final String API_KEY_HEADER = "X-API-KEY";
+    public static final String TIMESTAMP_HEADER = "X-TIMESTAMP";
+    public static final String SIGNATURE_HEADER = "X-SIGNATURE";
+
+    private final String exchange;
+    private final WebClient webClient;
+    private final String apiKey;
+    private final HmacSigner signer;
+    private final String orderPath;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RestExchangeClient(String exchange, WebClient webClient, String apiKey, HmacSigner signer, String orderPath) {
+        this.exchange = exchange;
+        this.webClient = webClient;
+        this.apiKey = apiKey;
+        this.signer = signer;
+        this.orderPath = orderPath;
+    }
+
+    /**
+     * A client for {@code trade.base-url} over the shared, pooled {@code httpClient}.
+     */
+    public static RestExchangeClient create(String exchange, CoinSniperConfig.Api.OnExchange.Trade trade,
+                                            HttpClient httpClient, ExchangeTradingConfig config) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl(trade.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        return new RestExchangeClient(exchange, webClient, trade.getApiKey(), new HmacSigner(trade.getApiSecret()), config.getOrderPath());
+    }
+
+    @Override
+    public String exchange() {
+        return exchange;
+    }
+
+    @Override
+    public Mono<OrderResult> placeOrder(OrderRequest request) {
+        return Mono.defer(() -> {
+            String body = body(request);
+            String timestamp = Long.toString(System.currentTimeMillis());
+            return webClient.post()
+                    .uri(orderPath)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .header(API_KEY_HEADER, apiKey)
+                    .header(TIMESTAMP_HEADER, timestamp)
+                    .header(SIGNATURE_HEADER, signer.sign(timestamp + "POST" + orderPath + body))
+                    .bodyValue(body)
+                    .exchangeToMono(response -> response.bodyToMono(JsonNode.class)
+                            .defaultIfEmpty(MissingNode.getInstance())
+                            .map(json -> result(request, response.statusCode(), json)));
+        });
+    }
+
+    @Override
+    public Mono<OrderResult> queryOrder(OrderRequest request) {
+        return Mono.defer(() -> {
+            String pathAndQuery = orderPath + "?clientOrderId=" + request.clientOrderId();
+            String timestamp = Long.toString(System.currentTimeMillis());
+            return webClient.get()
+                    .uri(pathAndQuery)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .header(API_KEY_HEADER, apiKey)
+                    .header(TIMESTAMP_HEADER, timestamp)
+                    .header(SIGNATURE_HEADER, signer.sign(timestamp + "GET" + pathAndQuery))
+                    .exchangeToMono(response -> {
+                        if (response.statusCode().value() == 404) {
+                            return response.releaseBody().then(Mono.<OrderResult>empty());
+                        }
+                        return response.bodyToMono(JsonNode.class)
+                                .defaultIfEmpty(MissingNode.getInstance())
+                                .flatMap(json -> response.statusCode().is2xxSuccessful()
+                                        ? Mono.just(result(request, response.statusCode(), json))
+                                        : Mono.error(new IllegalStateException("Order look-up answered HTTP "
+                                        + response.statusCode().value() + ": " + json.path("msg").asText(""))));
+                    });
+        });
+    }
+
+    private String body(OrderRequest request) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("symbol", request.symbol());
+        order.put("side", "BUY");
+        order.put("type", "MARKET");
+        order.put("quoteOrderQty", request.quoteAmount().toPlainString());
+        order.put("clientOrderId", request.clientOrderId());
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise order " + order, e);
+        }
+    }
+
+    private OrderResult result(OrderRequest request, HttpStatusCode statusCode, JsonNode json) {
+        String message = json.path("msg").asText(null);
+        if (statusCode.is4xxClientError()) {
+            return OrderResult.failed(request, Status.REJECTED, message != null ? message : "HTTP " + statusCode.value());
+        }
+        if (!statusCode.is2xxSuccessful()) {
+            return OrderResult.failed(request, Status.UNKNOWN, message != null ? message : "HTTP " + statusCode.value());
+        }
+
+        BigDecimal executed = decimal(json.path("executedQty"));
+        String status = json.path("status").asText("");
+        Status mapped = switch (status) {
+            case "FILLED" -> Status.FILLED;
+            case "PARTIALLY_FILLED" -> Status.PARTIALLY_FILLED;
+            default -> executed.signum() > 0 ? Status.PARTIALLY_FILLED : Status.REJECTED;
+        };
+        return new OrderResult(request.exchange(), request.clientOrderId(), json.path("orderId").asText(null), mapped,
+                executed, json.hasNonNull("avgPrice") ? decimal(json.path("avgPrice")) : null,
+                mapped == Status.REJECTED ? "Order status " + status : message);
+    }
+
+    private static BigDecimal decimal(JsonNode node) {
+        try {
+            return node.isMissingNode() || node.isNull() ? BigDecimal.ZERO : new BigDecimal(node.asText());
+        } catch (NumberFormatException e) {
+            return BigDecimal.ZERO;
+        }
+    }
+}
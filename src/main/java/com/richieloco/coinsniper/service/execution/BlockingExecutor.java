@@ -0,0 +1,114 @@
+package com.richieloco.coinsniper.service.execution;
+
+import com.richieloco.coinsniper.config.BlockingExecutionConfig;
+import com.richieloco.coinsniper.config.BlockingExecutionConfig.Mode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Where blocking work (LLM calls through {@code ChatModel}, DJL training and prediction) runs, off the Netty event loop.
+ * <p>
+ * In {@link Mode#BOUNDED_ELASTIC} mode this is Reactor's {@code boundedElastic} pool, whose thread cap is also the
+ * ceiling on outstanding calls. In {@link Mode#VIRTUAL_THREADS} mode every call gets its own virtual thread and a
+ * semaphore of {@code max-concurrency} permits bounds how many run at once; a call waiting for a permit or for its
+ * response holds no platform thread. Running and waiting calls are published as {@code coinsniper.blocking.active}
+ * and {@code coinsniper.blocking.waiting}.
+ */
+@Slf4j
+@Component
+public class BlockingExecutor {
+
+    private final Mode mode;
+    private final Scheduler scheduler;
+    private final Semaphore limiter;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public BlockingExecutor(BlockingExecutionConfig config, MeterRegistry meterRegistry) {
+        this.mode = config.getMode();
+        if (mode == Mode.VIRTUAL_THREADS) {
+            this.scheduler = Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("coinsniper-blocking-", 0).factory()),
+                    "coinsniper-blocking");
+            this.limiter = new Semaphore(Math.max(1, config.getMaxConcurrency()), true);
+        } else {
+            this.scheduler = Schedulers.boundedElastic();
+            this.limiter = null;
+        }
+        String modeTag = mode.name().toLowerCase().replace('_', '-');
+        Gauge.builder("coinsniper.blocking.active", active, AtomicInteger::get)
+                .description("Blocking calls currently running")
+                .tag("mode", modeTag)
+                .register(meterRegistry);
+        Gauge.builder("coinsniper.blocking.waiting", waiting, AtomicInteger::get)
+                .description("Blocking calls waiting for a concurrency permit")
+                .tag("mode", modeTag)
+                .register(meterRegistry);
+        log.info("Blocking work runs on {}", mode == Mode.VIRTUAL_THREADS
+                ? "virtual threads (max " + limiter.availablePermits() + " concurrent)"
+                : "boundedElastic");
+    }
+
+    /**
+     * Runs {@code task} on this executor when the returned {@link Mono} is subscribed. A {@code null} result
+     * completes empty.
+     */
+    public <T> Mono<T> call(Callable<T> task) {
+        return Mono.fromCallable(() -> {
+            if (limiter == null) {
+                return run(task);
+            }
+            waiting.incrementAndGet();
+            try {
+                limiter.acquire();
+            } finally {
+                waiting.decrementAndGet();
+            }
+            try {
+                return run(task);
+            } finally {
+                limiter.release();
+            }
+        }).subscribeOn(scheduler);
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public int active() {
+        return active.get();
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+
+    @PreDestroy
+    public void dispose() {
+        if (mode == Mode.VIRTUAL_THREADS) {
+            scheduler.dispose();
+        }
+    }
+
+    private <T> T run(Callable<T> task) throws Exception {
+        active.incrementAndGet();
+        try {
+            return task.call();
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.richieloco.coinsniper.service.llm;
+
+import com.richieloco.coinsniper.service.admission.AdmissionPriority;
+import com.richieloco.coinsniper.service.admission.LlmAdmissionController;
+import com.richieloco.coinsniper.service.admission.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Puts one provider's calls behind the provider's own {@link TokenBucket} and the shared
+ * {@link LlmAdmissionController}. A call first waits for a token, then for an admission slot at the
+ * {@link AdmissionPriority} found in the subscriber's context, and holds the slot until its completion (or stream)
+ * ends. Waiting for the token before taking a slot keeps a rate-limited provider from sitting on slots the other
+ * provider could use; a call cancelled or rejected before it reaches the provider hands its token back. Time spent
+ * waiting for a token is recorded as {@code coinsniper.llm.rate-limit.wait{provider}}.
+ */
+public class AdmittedChatTransport implements ChatTransport {
+
+    private final ChatTransport delegate;
+    private final LlmAdmissionController admission;
+    private final TokenBucket rateLimit;
+    private final Timer rateLimitWait;
+
+    public AdmittedChatTransport(ChatTransport delegate, LlmAdmissionController admission, TokenBucket rateLimit,
+                                 String provider, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.admission = admission;
+        this.rateLimit = rateLimit;
+        this.rateLimitWait = Timer.builder("coinsniper.llm.rate-limit.wait")
+                .description("Time an admitted LLM call waited for its provider's rate limit")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<String> call(String prompt) {
+        return Mono.deferContextual(context -> {
+            AtomicBoolean sent = new AtomicBoolean();
+            return throttle()
+                    .then(Mono.usingWhen(
+                            admission.acquire(AdmissionPriority.from(context)),
+                            permit -> Mono.defer(() -> {
+                                sent.set(true);
+                                return delegate.call(prompt);
+                            }),
+                            permit -> Mono.fromRunnable(permit::release)))
+                    .doFinally(signal -> refundUnlessSent(sent));
+        });
+    }
+
+    @Override
+    public Flux<String> stream(String prompt) {
+        return Flux.deferContextual(context -> {
+            AtomicBoolean sent = new AtomicBoolean();
+            return throttle()
+                    .thenMany(Flux.usingWhen(
+                            admission.acquire(AdmissionPriority.from(context)),
+                            permit -> Flux.defer(() -> {
+                                sent.set(true);
+                                return delegate.stream(prompt);
+                            }),
+                            permit -> Mono.fromRunnable(permit::release)))
+                    .doFinally(signal -> refundUnlessSent(sent));
+        });
+    }
+
+    private void refundUnlessSent(AtomicBoolean sent) {
+        if (!sent.get()) {
+            rateLimit.refund();
+        }
+    }
+
+    private Mono<Void> throttle() {
+        return Mono.defer(() -> {
+            Duration wait = rateLimit.reserve();
+            rateLimitWait.record(wait);
+            return wait.isZero() ? Mono.empty() : Mono.delay(wait).then();
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package com.richieloco.coinsniper.service.llm;
+
+import com.richieloco.coinsniper.service.execution.BlockingExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ChatTransport} over a Spring AI {@link ChatModel}. {@link ChatModel#call} blocks, so every call holds a
+ * thread of the {@link BlockingExecutor} for the whole round trip: a {@code boundedElastic} thread by default, which
+ * caps concurrent assessments at that pool's size, or a virtual thread.
+ */
+@RequiredArgsConstructor
+public class ChatModelTransport implements ChatTransport {
+
+    private final ChatModel chatModel;
+    private final BlockingExecutor blockingExecutor;
+
+    @Override
+    public Mono<String> call(String prompt) {
+        return blockingExecutor.call(() -> text(chatModel.call(new Prompt(prompt)))); // move off Netty event loop
+    }
+
+    @Override
+    public Flux<String> stream(String prompt) {
+        return chatModel.stream(new Prompt(prompt))
+                .mapNotNull(ChatModelTransport::text);
+    }
+
+    private static String text(ChatResponse chatResponse) {
+        if (chatResponse == null
+                || chatResponse.getResults().isEmpty()
+                || chatResponse.getResults().getFirst().getOutput() == null) {
+            return null;
+        }
+        return chatResponse.getResults().getFirst().getOutput().getText();
+    }
+}
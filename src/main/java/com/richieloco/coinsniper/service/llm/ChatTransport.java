@@ -0,0 +1,22 @@
+package com.richieloco.coinsniper.service.llm;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * How an assessor gets a single-prompt completion out of the LLM.
+ * <p>
+ * Implementations complete empty rather than emitting blank text when the model produced no usable output.
+ */
+public interface ChatTransport {
+
+    /**
+     * Sends the prompt and emits the full completion text.
+     */
+    Mono<String> call(String prompt);
+
+    /**
+     * Sends the prompt and emits the completion text in the chunks the model streams it in.
+     */
+    Flux<String> stream(String prompt);
+}
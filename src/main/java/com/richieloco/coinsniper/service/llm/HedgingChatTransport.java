@@ -0,0 +1,148 @@
+package com.richieloco.coinsniper.service.llm;
+
+import com.richieloco.coinsniper.config.LlmHedgingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Hedges completions across two LLM providers to cut tail latency.
+ * <p>
+ * Every prompt goes to the primary. If the primary has not answered after the hedge delay (or has already failed),
+ * the same prompt also goes to the secondary, and whichever usable answer arrives first wins. The slower call is
+ * cancelled. An answer is usable when it passes the {@code usable} predicate, so a fast but unreadable reply does not
+ * beat a slower valid one.
+ * <p>
+ * The hedge delay is the configured percentile of the primary's recent latencies, clamped between
+ * {@code min-delay} and {@code max-delay}. A call cancelled because it lost is recorded at its elapsed time, a lower
+ * bound that keeps the estimate from drifting down. Winners are counted as {@code coinsniper.llm.hedge{winner}} and the
+ * current delay is exported as {@code coinsniper.llm.hedge.delay}. Streaming is not hedged and goes to the primary.
+ */
+@Slf4j
+public class HedgingChatTransport implements ChatTransport {
+
+    private final ChatTransport primary;
+    private final ChatTransport secondary;
+    private final Predicate<String> usable;
+    private final LlmHedgingConfig config;
+
+    private final long[] latencies;
+    private int samples;
+    private int next;
+
+    private final Counter primaryWins;
+    private final Counter secondaryWins;
+    private final Counter hedged;
+
+    public HedgingChatTransport(ChatTransport primary, ChatTransport secondary, Predicate<String> usable,
+                                LlmHedgingConfig config, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.usable = usable;
+        this.config = config;
+        this.latencies = new long[Math.max(1, config.getWindow())];
+
+        this.primaryWins = winnerCounter(meterRegistry, "primary");
+        this.secondaryWins = winnerCounter(meterRegistry, "secondary");
+        this.hedged = Counter.builder("coinsniper.llm.hedge.fired")
+                .description("Prompts also sent to the secondary provider")
+                .register(meterRegistry);
+        Gauge.builder("coinsniper.llm.hedge.delay", this, transport -> transport.hedgeDelay().toMillis())
+                .description("Primary latency after which a prompt is hedged, in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<String> call(String prompt) {
+        return Mono.defer(() -> {
+            long start = now();
+            Duration delay = hedgeDelay();
+            Sinks.Empty<Void> primaryGaveUp = Sinks.empty();
+
+            Mono<String> first = primary.call(prompt)
+                    .doFinally(signal -> recordLatency(now() - start))
+                    .filter(usable)
+                    .doOnNext(text -> primaryWins.increment())
+                    .switchIfEmpty(Mono.defer(() -> {
+                        primaryGaveUp.tryEmitEmpty();
+                        return Mono.empty();
+                    }))
+                    .doOnError(error -> primaryGaveUp.tryEmitEmpty());
+            // the secondary is asked once the primary is slower than the delay, or straight away if it failed
+            Mono<String> hedge = Mono.firstWithSignal(Mono.delay(delay).then(), primaryGaveUp.asMono())
+                    .then(Mono.defer(() -> {
+                        hedged.increment();
+                        log.debug("Hedging prompt to secondary LLM after {}", Duration.ofNanos(now() - start));
+                        return secondary.call(prompt);
+                    }))
+                    .filter(usable)
+                    .doOnNext(text -> secondaryWins.increment());
+
+            return Mono.firstWithValue(first, hedge)
+                    .onErrorMap(NoSuchElementException.class,
+                            e -> new IllegalStateException("No LLM provider returned a usable completion", e));
+        });
+    }
+
+    @Override
+    public Flux<String> stream(String prompt) {
+        return primary.stream(prompt);
+    }
+
+    /**
+     * How long the primary gets before the prompt is hedged.
+     */
+    public Duration hedgeDelay() {
+        long[] recent;
+        synchronized (latencies) {
+            if (samples < Math.max(1, config.getMinSamples())) {
+                return clamp(config.getInitialDelay());
+            }
+            recent = Arrays.copyOf(latencies, samples);
+        }
+        Arrays.sort(recent);
+        int index = (int) Math.ceil(config.getPercentile() * recent.length) - 1;
+        return clamp(Duration.ofNanos(recent[Math.max(0, Math.min(recent.length - 1, index))]));
+    }
+
+    private void recordLatency(long nanos) {
+        synchronized (latencies) {
+            latencies[next] = nanos;
+            next = (next + 1) % latencies.length;
+            samples = Math.min(samples + 1, latencies.length);
+        }
+    }
+
+    /**
+     * Scheduler time rather than {@link System#nanoTime()}, so latencies follow the same clock as the hedge timer.
+     */
+    private static long now() {
+        return Schedulers.parallel().now(TimeUnit.NANOSECONDS);
+    }
+
+    private Duration clamp(Duration delay) {
+        if (delay.compareTo(config.getMinDelay()) < 0) {
+            return config.getMinDelay();
+        }
+        return delay.compareTo(config.getMaxDelay()) > 0 ? config.getMaxDelay() : delay;
+    }
+
+    private static Counter winnerCounter(MeterRegistry registry, String winner) {
+        return Counter.builder("coinsniper.llm.hedge")
+                .description("Completions by the provider that answered first")
+                .tag("winner", winner)
+                .register(registry);
+    }
+}
@@ -0,0 +1,124 @@
+package com.richieloco.coinsniper.service.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.config.LlmTransportConfig;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientRequest;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ChatTransport} that calls an OpenAI-compatible {@code /v1/chat/completions} endpoint with a reactive
+ * {@link WebClient}, so no thread is held while the model is thinking.
+ * <p>
+ * Connections come from a dedicated pool sized by {@link LlmTransportConfig}; a call that does not complete within
+ * the request timeout fails with a {@link java.util.concurrent.TimeoutException}. Streaming uses the endpoint's
+ * server-sent events, stops at the {@code [DONE]} marker and fails if no chunk arrives within the request timeout.
+ */
+@Slf4j
+public class WebClientChatTransport implements ChatTransport {
+
+    static final String COMPLETIONS_PATH = "/v1/chat/completions";
+    private static final String DONE = "[DONE]";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENTS = new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final String model;
+    private final double temperature;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public WebClientChatTransport(WebClient webClient, String model, double temperature, Duration requestTimeout) {
+        this.webClient = webClient;
+        this.model = model;
+        this.temperature = temperature;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Builds the transport with its own pooled Reactor Netty client for {@code baseUrl}.
+     */
+    public static WebClientChatTransport create(String baseUrl, String apiKey, String model, double temperature,
+                                                LlmTransportConfig config) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("llm")
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireTimeout(config.getPendingAcquireTimeout())
+                .maxIdleTime(config.getMaxIdleTime())
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getConnectTimeout().toMillis());
+        WebClient webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        return new WebClientChatTransport(webClient, model, temperature, config.getRequestTimeout());
+    }
+
+    @Override
+    public Mono<String> call(String prompt) {
+        return webClient.post()
+                .uri(COMPLETIONS_PATH)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(request(prompt, false))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(requestTimeout)
+                .mapNotNull(response -> text(response.path("choices").path(0).path("message")));
+    }
+
+    @Override
+    public Flux<String> stream(String prompt) {
+        return webClient.post()
+                .uri(COMPLETIONS_PATH)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .httpRequest(request -> {
+                    // a stream may legitimately outlast the request timeout, so it only bounds the gaps between chunks
+                    HttpClientRequest nativeRequest = request.getNativeRequest();
+                    nativeRequest.responseTimeout(requestTimeout);
+                })
+                .bodyValue(request(prompt, true))
+                .retrieve()
+                .bodyToFlux(EVENTS)
+                .mapNotNull(ServerSentEvent::data)
+                .takeWhile(data -> !DONE.equals(data.trim()))
+                .mapNotNull(this::deltaText);
+    }
+
+    private Map<String, Object> request(String prompt, boolean stream) {
+        return Map.of(
+                "model", model,
+                "temperature", temperature,
+                "stream", stream,
+                "messages", List.of(Map.of("role", "user", "content", prompt)));
+    }
+
+    private String deltaText(String chunk) {
+        try {
+            return text(objectMapper.readTree(chunk).path("choices").path(0).path("delta"));
+        } catch (Exception e) {
+            log.warn("Skipping unreadable completion chunk: {}", chunk);
+            return null;
+        }
+    }
+
+    private static String text(JsonNode message) {
+        JsonNode content = message.path("content");
+        return content.isTextual() ? content.asText() : null;
+    }
+}
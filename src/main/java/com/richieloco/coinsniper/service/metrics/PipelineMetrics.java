@@ -0,0 +1,113 @@
+package com.richieloco.coinsniper.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Latency of each step between Binance publishing an announcement and a trade decision being persisted.
+ * <p>
+ * Every stage is a {@code coinsniper.pipeline.stage{stage=...}} timer with a percentile histogram:
+ * <ul>
+ *   <li>{@link #FETCH}: request until the first body bytes arrive (the whole bound response when streaming decode is off)</li>
+ *   <li>{@link #DECODE}: time spent inside the streaming JSON parser for one response</li>
+ *   <li>{@link #SYMBOL_EXTRACTION}, {@link #DEDUP}, {@link #ANNOUNCEMENT_SAVE}: per article / symbol</li>
+ *   <li>{@link #LLM_CALL}, {@link #PARSE}: the blocking model call and its output parsing in {@code BaseAssessor}</li>
+ *   <li>{@link #DECISION_UPSERT}: {@code TradeDecisionRepository.upsertPerMinute}</li>
+ * </ul>
+ * {@code coinsniper.pipeline.release.to.decision} is the end-to-end figure: from the article's {@code releaseDate}
+ * to the moment its decision row was written.
+ * <p>
+ * {@code coinsniper.assessment.parse{outcome=...}} counts how model answers were read: {@code clean},
+ * {@code repaired} (made readable locally), {@code salvaged} (some objects had to be dropped) or {@code failed}.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String FETCH = "fetch";
+    public static final String DECODE = "decode";
+    public static final String SYMBOL_EXTRACTION = "symbol-extraction";
+    public static final String DEDUP = "dedup";
+    public static final String ANNOUNCEMENT_SAVE = "announcement-save";
+    public static final String LLM_CALL = "llm-call";
+    public static final String PARSE = "parse";
+    public static final String DECISION_UPSERT = "decision-upsert";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stages = new ConcurrentHashMap<>();
+    private final Timer releaseToDecision;
+
+    public PipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.releaseToDecision = Timer.builder("coinsniper.pipeline.release.to.decision")
+                .description("Announcement releaseDate until its trade decision was persisted")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(100))
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(meterRegistry);
+    }
+
+    public Timer stage(String stage) {
+        return stages.computeIfAbsent(stage, name -> Timer.builder("coinsniper.pipeline.stage")
+                .description("Latency of one announcement-to-decision pipeline stage")
+                .tag("stage", name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(meterRegistry));
+    }
+
+    public void record(String stage, long nanos) {
+        stage(stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Times {@code source} from subscription until it completes, errors or is cancelled.
+     */
+    public <T> Mono<T> time(String stage, Mono<T> source) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return source.doFinally(signal -> record(stage, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Times {@code source} from subscription until its first element.
+     */
+    public <T> Flux<T> timeToFirst(String stage, Flux<T> source) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean first = new AtomicBoolean(true);
+            return source.doOnNext(item -> {
+                if (first.compareAndSet(true, false)) {
+                    record(stage, System.nanoTime() - start);
+                }
+            });
+        });
+    }
+
+    public void recordParseOutcome(String outcome) {
+        Counter.builder("coinsniper.assessment.parse")
+                .description("Model answers by how they could be read")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordReleaseToDecision(Instant releasedAt, Instant decidedAt) {
+        if (releasedAt == null || decidedAt == null || decidedAt.isBefore(releasedAt)) {
+            return;
+        }
+        releaseToDecision.record(Duration.between(releasedAt, decidedAt));
+    }
+}
@@ -0,0 +1,175 @@
+package com.richieloco.coinsniper.service.persistence;
+
+import com.richieloco.coinsniper.config.AssessmentWriteBehindConfig;
+import com.richieloco.coinsniper.config.AssessmentWriteBehindConfig.OverflowPolicy;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.repository.ExchangeAssessmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind persistence of exchange assessments, so saving them is not part of the time to a trade decision.
+ * <p>
+ * {@link #write} hands the record back at once and buffers it; a single writer drains the buffer with
+ * {@code saveAll} in batches of {@code batch-size}, or whatever has gathered after {@code flush-interval}, one batch at
+ * a time. At most {@code capacity} assessments are buffered or being written: beyond that the
+ * {@link OverflowPolicy} applies, which under {@code WRITE_THROUGH} pushes back on the caller by saving on its path.
+ * A failed batch is logged and counted, not retried. On shutdown the buffer is flushed before the bean is destroyed,
+ * waiting at most {@code shutdown-timeout}.
+ * <p>
+ * Pending assessments ({@code coinsniper.assessment.write-behind.pending}), batch sizes
+ * ({@code coinsniper.assessment.write-behind.batch.size}), flush time ({@code coinsniper.assessment.write-behind.flush}),
+ * failures and overflows are published to the meter registry.
+ */
+@Slf4j
+@Component
+public class ExchangeAssessmentWriter {
+
+    private final ExchangeAssessmentRepository repository;
+    private final AssessmentWriteBehindConfig config;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Sinks.Empty<Void> drained = Sinks.empty();
+    private FluxSink<ExchangeAssessmentRecord> sink;
+    private Disposable flusher;
+
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+    private final Counter failed;
+    private final Map<OverflowPolicy, Counter> overflows = new EnumMap<>(OverflowPolicy.class);
+
+    @Autowired
+    public ExchangeAssessmentWriter(ExchangeAssessmentRepository repository,
+                                    AssessmentWriteBehindConfig config,
+                                    MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.config = config;
+
+        Gauge.builder("coinsniper.assessment.write-behind.pending", pending, AtomicInteger::get)
+                .description("Exchange assessments buffered or being written")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("coinsniper.assessment.write-behind.batch.size")
+                .description("Exchange assessments per saveAll")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("coinsniper.assessment.write-behind.flush")
+                .description("Time to write one batch of exchange assessments")
+                .register(meterRegistry);
+        this.failed = Counter.builder("coinsniper.assessment.write-behind.failed")
+                .description("Exchange assessments whose batch could not be written")
+                .register(meterRegistry);
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            overflows.put(policy, Counter.builder("coinsniper.assessment.write-behind.overflow")
+                    .description("Exchange assessments that arrived while the write-behind buffer was full")
+                    .tag("policy", policy.name().toLowerCase().replace('_', '-'))
+                    .register(meterRegistry));
+        }
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!config.isEnabled() || flusher != null) {
+            return;
+        }
+        flusher = Flux.<ExchangeAssessmentRecord>create(emitter -> sink = emitter)
+                .bufferTimeout(Math.max(1, config.getBatchSize()), config.getFlushInterval(), true)
+                .concatMap(this::flush)
+                .subscribe(null,
+                        e -> log.error("Exchange assessment writer terminated: {}", e.getMessage(), e),
+                        drained::tryEmitEmpty);
+        log.info("Exchange assessment write-behind started (batch-size={}, flush-interval={}, capacity={})",
+                config.getBatchSize(), config.getFlushInterval(), config.getCapacity());
+    }
+
+    /**
+     * Completes the buffer and waits for what it holds to be written.
+     */
+    @PreDestroy
+    public void stop() {
+        synchronized (this) {
+            if (flusher == null) {
+                return;
+            }
+            sink.complete();
+            sink = null;
+            flusher = null;
+        }
+        try {
+            drained.asMono().block(config.getShutdownTimeout());
+        } catch (RuntimeException e) {
+            log.warn("Exchange assessment writer stopped with {} assessments unwritten: {}", pending.get(), e.getMessage());
+        }
+    }
+
+    /**
+     * Persists the assessment, normally behind the caller's back; emits the record once it is buffered, or saved when
+     * it had to be written through.
+     */
+    public Mono<ExchangeAssessmentRecord> write(ExchangeAssessmentRecord record) {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (sink == null) {
+                    return save(record);
+                }
+                if (pending.incrementAndGet() <= Math.max(1, config.getCapacity())) {
+                    sink.next(record);
+                    return Mono.just(record);
+                }
+                pending.decrementAndGet();
+            }
+            OverflowPolicy policy = config.getOverflowPolicy();
+            overflows.get(policy).increment();
+            if (policy == OverflowPolicy.DROP) {
+                log.warn("Write-behind buffer full, not persisting assessment of {} on {}", record.getCoinListing(), record.getExchange());
+                return Mono.just(record);
+            }
+            log.debug("Write-behind buffer full, saving assessment of {} on {} inline", record.getCoinListing(), record.getExchange());
+            return save(record);
+        });
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    private Mono<Void> flush(List<ExchangeAssessmentRecord> batch) {
+        batchSizes.record(batch.size());
+        Timer.Sample sample = Timer.start();
+        return repository.saveAll(batch)
+                .then()
+                .onErrorResume(e -> {
+                    failed.increment(batch.size());
+                    log.warn("Failed to write {} exchange assessments: {}", batch.size(), e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> {
+                    sample.stop(flushTimer);
+                    pending.addAndGet(-batch.size());
+                });
+    }
+
+    private Mono<ExchangeAssessmentRecord> save(ExchangeAssessmentRecord record) {
+        return repository.save(record)
+                .onErrorResume(err -> {
+                    log.warn("Repository save failed for {}: {}", record.getExchange(), err.getMessage());
+                    return Mono.just(record);
+                });
+    }
+}
@@ -0,0 +1,280 @@
+package com.richieloco.coinsniper.service.retry;
+
+import com.richieloco.coinsniper.config.AssessmentRetryConfig;
+import com.richieloco.coinsniper.entity.AssessmentDeadLetterRecord;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.repository.AssessmentDeadLetterRepository;
+import com.richieloco.coinsniper.service.TradeExecutionService;
+import com.richieloco.coinsniper.service.admission.AdmissionPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives announcements whose evaluation failed (the model returned nothing usable, the call errored) further attempts
+ * instead of leaving them undecided.
+ * <p>
+ * A failed announcement waits an exponential backoff with jitter ({@code initial-backoff} growing by
+ * {@code multiplier} up to {@code max-backoff}, then up to {@code jitter} of it taken off at random) before it is
+ * evaluated again. Retries are a bulkhead of their own: they never take one of the evaluation queue's evaluators, and
+ * at most {@code concurrency} run at once, so a burst of failures cannot crowd out fresh announcements; their LLM
+ * calls are admitted as {@link AdmissionPriority#REASSESSMENT re-assessments}, behind new listings. At most
+ * {@code capacity} announcements wait in memory. One that fails {@code max-attempts} times in total, or does not fit,
+ * is written to the {@code assessment_dead_letters} table, from where {@link #replay} puts it back in the queue. The
+ * evaluation queue writes announcements it never got to evaluate there too, through {@link #deadLetter}.
+ * <p>
+ * Waiting retries ({@code coinsniper.assessment.retry.pending}), retry outcomes
+ * ({@code coinsniper.assessment.retry{outcome}}) and dead letters ({@code coinsniper.assessment.dead-letter{reason}})
+ * are published to the meter registry.
+ */
+@Slf4j
+@Component
+public class AssessmentRetryQueue {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final TradeExecutionService tradeExecutionService;
+    private final AssessmentDeadLetterRepository deadLetters;
+    private final AssessmentRetryConfig config;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile Sinks.Many<Retry> due;
+    private volatile Scheduler timer;
+    private volatile Disposable retriers;
+
+    public AssessmentRetryQueue(TradeExecutionService tradeExecutionService,
+                                AssessmentDeadLetterRepository deadLetters,
+                                AssessmentRetryConfig config,
+                                MeterRegistry meterRegistry) {
+        this.tradeExecutionService = tradeExecutionService;
+        this.deadLetters = deadLetters;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("coinsniper.assessment.retry.pending", pending, AtomicInteger::get)
+                .description("Announcements waiting to have their failed evaluation retried")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!config.isEnabled() || retriers != null) {
+            return;
+        }
+        timer = Schedulers.newSingle("assessment-retry", true);
+        due = Sinks.many().unicast().onBackpressureBuffer();
+        retriers = due.asFlux()
+                .flatMap(this::attempt, Math.max(1, config.getConcurrency()))
+                .subscribe(null, e -> log.error("Assessment retries terminated: {}", e.getMessage(), e));
+        log.info("Assessment retry queue started (max-attempts={}, capacity={}, concurrency={})",
+                config.getMaxAttempts(), config.getCapacity(), config.getConcurrency());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (retriers == null) {
+            return;
+        }
+        retriers.dispose();
+        timer.dispose();
+        retriers = null;
+        timer = null;
+        int abandoned = pending.getAndSet(0);
+        if (abandoned > 0) {
+            log.warn("Assessment retry queue stopped with {} retries still pending", abandoned);
+        }
+    }
+
+    /**
+     * Schedules another evaluation of an announcement whose first evaluation just failed. Completes once it is
+     * queued, or once it has been dead-lettered because the queue is full.
+     */
+    public Mono<Void> retry(CoinAnnouncementRecord announcement, Throwable failure) {
+        return Mono.defer(() -> {
+            Retry retry = new Retry(announcement, 1, Instant.now(), message(failure));
+            if (retriers == null) {
+                return Mono.empty();
+            }
+            if (!offer(retry, backoff(retry.failures()))) {
+                log.warn("Assessment retry queue full, dead-lettering {}", announcement.getCoinSymbol());
+                return deadLetter(retry, "overflow");
+            }
+            log.info("Evaluation of {} failed, retrying in the background: {}", announcement.getCoinSymbol(), retry.lastError());
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * Writes an announcement that was never evaluated straight to the dead letters, with no attempts, so that
+     * {@link #replay} can give it its first evaluation later. Works whether or not retries are enabled.
+     */
+    public Mono<Void> deadLetter(CoinAnnouncementRecord announcement, String reason) {
+        return Mono.defer(() -> deadLetter(new Retry(announcement, 0, Instant.now(), "Never evaluated: " + reason), reason));
+    }
+
+    /**
+     * Moves one dead letter back into the queue for an immediate evaluation with a fresh set of attempts. Emits
+     * false when there is no such dead letter or the queue is full, in which case it stays in the table.
+     */
+    public Mono<Boolean> replay(UUID deadLetterId) {
+        return deadLetters.findById(deadLetterId)
+                .flatMap(this::replay)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * {@link #replay(UUID) Replays} every dead letter, oldest first, while the queue has room; emits how many were
+     * replayed.
+     */
+    public Mono<Long> replayAll() {
+        return deadLetters.findAllByOrderByDeadLetteredAtAsc()
+                .concatMap(this::replay)
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+
+    public Flux<AssessmentDeadLetterRecord> deadLetters() {
+        return deadLetters.findAllByOrderByDeadLetteredAtAsc();
+    }
+
+    public boolean isRunning() {
+        return retriers != null;
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * How long to wait before the attempt that follows {@code failures} failed ones.
+     */
+    public Duration backoff(int failures) {
+        double exponential = config.getInitialBackoff().toMillis() * Math.pow(config.getMultiplier(), Math.max(0, failures - 1));
+        double capped = Math.min(exponential, config.getMaxBackoff().toMillis());
+        double jitter = Math.clamp(config.getJitter(), 0.0, 1.0);
+        return Duration.ofMillis((long) (capped * (1 - jitter * ThreadLocalRandom.current().nextDouble())));
+    }
+
+    private Mono<Boolean> replay(AssessmentDeadLetterRecord deadLetter) {
+        CoinAnnouncementRecord announcement = CoinAnnouncementRecord.builder()
+                .id(deadLetter.getAnnouncementId())
+                .coinSymbol(deadLetter.getCoinSymbol())
+                .title(deadLetter.getTitle())
+                .announcedAt(deadLetter.getAnnouncedAt())
+                .build();
+        Retry retry = new Retry(announcement, 0, deadLetter.getFirstFailedAt(), deadLetter.getLastError());
+        // Should it fail again straight away, it is dead-lettered under a new id, so the old row can go afterwards
+        return Mono.fromSupplier(() -> offer(retry, Duration.ZERO))
+                .flatMap(offered -> offered
+                        ? deadLetters.deleteById(deadLetter.getId()).thenReturn(true)
+                        : Mono.just(false));
+    }
+
+    /**
+     * Reserves room in the queue and hands the retry to the retriers once {@code delay} has passed.
+     */
+    private boolean offer(Retry retry, Duration delay) {
+        Scheduler target = timer;
+        if (target == null || pending.incrementAndGet() > Math.max(1, config.getCapacity())) {
+            if (target != null) {
+                pending.decrementAndGet();
+            }
+            return false;
+        }
+        try {
+            // Every emission happens on the timer's single thread, so the unicast sink is never signalled concurrently
+            target.schedule(() -> due.tryEmitNext(retry), delay.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            return false;
+        }
+    }
+
+    private Mono<Void> attempt(Retry retry) {
+        pending.decrementAndGet();
+        CoinAnnouncementRecord announcement = retry.announcement();
+        return Mono.defer(() -> tradeExecutionService.evaluateAndTrade(announcement).then())
+                .contextWrite(AdmissionPriority.REASSESSMENT::attachTo)
+                .then(Mono.fromRunnable(() -> {
+                    outcome("success");
+                    log.info("Evaluation of {} succeeded after {} failed attempts", announcement.getCoinSymbol(), retry.failures());
+                }))
+                .onErrorResume(e -> {
+                    outcome("failure");
+                    Retry failed = new Retry(announcement, retry.failures() + 1, retry.firstFailedAt(), message(e));
+                    if (failed.failures() >= config.getMaxAttempts()) {
+                        log.warn("Evaluation of {} failed {} times, dead-lettering: {}",
+                                announcement.getCoinSymbol(), failed.failures(), failed.lastError());
+                        return deadLetter(failed, "exhausted");
+                    }
+                    if (!offer(failed, backoff(failed.failures()))) {
+                        return deadLetter(failed, "overflow");
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Void> deadLetter(Retry retry, String reason) {
+        CoinAnnouncementRecord announcement = retry.announcement();
+        AssessmentDeadLetterRecord record = AssessmentDeadLetterRecord.builder()
+                .announcementId(announcement.getId())
+                .coinSymbol(announcement.getCoinSymbol())
+                .title(announcement.getTitle())
+                .announcedAt(announcement.getAnnouncedAt())
+                .attempts(retry.failures())
+                .lastError(retry.lastError())
+                .firstFailedAt(retry.firstFailedAt())
+                .deadLetteredAt(Instant.now())
+                .build();
+        return deadLetters.save(record)
+                .doOnSuccess(saved -> Counter.builder("coinsniper.assessment.dead-letter")
+                        .description("Announcements written to the dead-letter table instead of being evaluated again")
+                        .tag("reason", reason)
+                        .register(meterRegistry)
+                        .increment())
+                .onErrorResume(e -> {
+                    log.error("Could not dead-letter {}: {}", announcement.getCoinSymbol(), e.getMessage(), e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void outcome(String outcome) {
+        Counter.builder("coinsniper.assessment.retry")
+                .description("Retried evaluations by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String message(Throwable failure) {
+        String message = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    /**
+     * @param failures evaluations of the announcement that have failed so far (0 for a replayed dead letter)
+     */
+    private record Retry(CoinAnnouncementRecord announcement, int failures, Instant firstFailedAt, String lastError) {}
+}
@@ -0,0 +1,187 @@
+package com.richieloco.coinsniper.service.risk;
+
+import com.richieloco.coinsniper.config.AssessmentBatchingConfig;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.service.admission.AdmissionPriority;
+import com.richieloco.coinsniper.service.deadline.Deadline;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs concurrent assessments of different coins into one multi-coin LLM call.
+ * <p>
+ * The coins of an announcement such as "Binance Will List A (A), B (B) and C (C)" are evaluated side by side, so
+ * their contexts arrive within moments of each other. The first context opens a batch for its exchange and stable
+ * coin sets. The batch goes out when it reaches {@code max-batch-size} or when {@code window} has passed, and each
+ * caller then receives its own coin's records. A batch of one, and any coin the batched answer leaves out, is sent as
+ * the ordinary single-coin assessment.
+ * Batch sizes are recorded as {@code coinsniper.assessment.batch.size}.
+ * <p>
+ * The batch's LLM call runs under the latest {@link Deadline} of its callers, so it is cancelled once no caller can
+ * use the answer any more; without a deadline from every caller it is not bounded. It is admitted at the highest
+ * {@link AdmissionPriority} among them. Streaming assessments bypass batching, because they already hand each
+ * exchange over as soon as it is known.
+ */
+@Slf4j
+public class BatchingExchangeAssessor implements StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> {
+
+    private final ExchangeAssessor delegate;
+    private final AssessmentBatchingConfig config;
+
+    private final Map<BatchKey, Batch> open = new HashMap<>();
+    private final DistributionSummary batchSizes;
+
+    public BatchingExchangeAssessor(ExchangeAssessor delegate, AssessmentBatchingConfig config, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.config = config;
+        this.batchSizes = DistributionSummary.builder("coinsniper.assessment.batch.size")
+                .description("Coins assessed per LLM call")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<List<ExchangeAssessmentRecord>> assess(ExchangeSelectorContext context) {
+        if (!config.isEnabled() || config.getMaxBatchSize() <= 1) {
+            return delegate.assess(context);
+        }
+        return Mono.deferContextual(callerContext -> {
+            Pending pending = new Pending(context, Deadline.from(callerContext).orElse(null),
+                    AdmissionPriority.from(callerContext), Sinks.one());
+            Batch full = enqueue(BatchKey.of(context), pending);
+            if (full != null) {
+                dispatch(full);
+            }
+            return pending.result().asMono();
+        });
+    }
+
+    @Override
+    public Flux<ExchangeAssessmentRecord> stream(ExchangeSelectorContext context) {
+        return delegate.isStreaming() ? delegate.stream(context) : StreamingAssessmentFunction.super.stream(context);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return delegate.isStreaming();
+    }
+
+    /**
+     * Adds {@code pending} to the open batch for {@code key}, opening one if needed, and returns the batch when this
+     * filled it.
+     */
+    private Batch enqueue(BatchKey key, Pending pending) {
+        synchronized (open) {
+            Batch batch = open.get(key);
+            if (batch == null) {
+                batch = new Batch();
+                open.put(key, batch);
+                Batch opened = batch;
+                batch.timer = Mono.delay(config.getWindow()).subscribe(tick -> flush(key, opened));
+            }
+            batch.entries.add(pending);
+            if (batch.entries.size() >= config.getMaxBatchSize()) {
+                open.remove(key);
+                batch.timer.dispose();
+                return batch;
+            }
+            return null;
+        }
+    }
+
+    private void flush(BatchKey key, Batch batch) {
+        synchronized (open) {
+            if (!open.remove(key, batch)) {
+                return; // already sent because it filled up
+            }
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        List<Pending> entries = batch.entries;
+        batchSizes.record(entries.size());
+        Deadline latest = latestDeadline(entries);
+        AdmissionPriority priority = highestPriority(entries);
+        if (entries.size() == 1) {
+            assessAlone(entries.getFirst());
+            return;
+        }
+
+        log.debug("Assessing {} coins in one batch", entries.size());
+        delegate.assessBatch(entries.stream().map(Pending::context).toList())
+                .contextWrite(context -> latest == null ? context : latest.attachTo(context))
+                .contextWrite(priority::attachTo)
+                .subscribe(
+                        byCoin -> entries.forEach(pending -> {
+                            List<ExchangeAssessmentRecord> assessments =
+                                    byCoin.get(ExchangeAssessmentKey.normalise(pending.context().targetCoin()));
+                            if (assessments == null || assessments.isEmpty()) {
+                                log.debug("Batched answer left out {}, assessing it on its own", pending.context().targetCoin());
+                                assessAlone(pending);
+                            } else {
+                                pending.result().tryEmitValue(assessments);
+                            }
+                        }),
+                        error -> entries.forEach(pending -> pending.result().tryEmitError(error)));
+    }
+
+    /**
+     * The ordinary single-coin assessment, under the caller's own deadline and priority.
+     */
+    private void assessAlone(Pending pending) {
+        delegate.assess(pending.context())
+                .contextWrite(context -> pending.deadline() == null ? context : pending.deadline().attachTo(context))
+                .contextWrite(pending.priority()::attachTo)
+                .subscribe(
+                        assessments -> pending.result().tryEmitValue(assessments),
+                        error -> pending.result().tryEmitError(error));
+    }
+
+    private static Deadline latestDeadline(List<Pending> entries) {
+        Deadline latest = null;
+        for (Pending pending : entries) {
+            if (pending.deadline() == null) {
+                return null;
+            }
+            if (latest == null || pending.deadline().expiresAtMillis() > latest.expiresAtMillis()) {
+                latest = pending.deadline();
+            }
+        }
+        return latest;
+    }
+
+    private static AdmissionPriority highestPriority(List<Pending> entries) {
+        AdmissionPriority highest = AdmissionPriority.REASSESSMENT;
+        for (Pending pending : entries) {
+            if (pending.priority().compareTo(highest) < 0) {
+                highest = pending.priority();
+            }
+        }
+        return highest;
+    }
+
+    private record BatchKey(String exchanges, String stableCoins) {
+        static BatchKey of(ExchangeSelectorContext context) {
+            ExchangeAssessmentKey key = ExchangeAssessmentKey.of(context);
+            return new BatchKey(key.exchanges(), key.stableCoins());
+        }
+    }
+
+    private record Pending(ExchangeSelectorContext context, Deadline deadline, AdmissionPriority priority, Sinks.One<List<ExchangeAssessmentRecord>> result) {}
+
+    private static final class Batch {
+        private final List<Pending> entries = new ArrayList<>();
+        private Disposable timer;
+    }
+}
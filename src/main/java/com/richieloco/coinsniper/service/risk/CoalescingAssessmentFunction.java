@@ -0,0 +1,94 @@
+package com.richieloco.coinsniper.service.risk;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Single-flight wrapper around a {@link StreamingAssessmentFunction}: while an assessment for a key is in flight,
+ * further calls with an equal key subscribe to the same {@link Mono} (or, when streaming, the same {@link Flux}, which
+ * replays what was already emitted to a late joiner) instead of starting their own.
+ * <p>
+ * The shared call is not cancelled when one of its subscribers cancels, and it is forgotten as soon as it terminates,
+ * so a failure is delivered to everyone waiting on it but never to later callers. Joined calls are counted as
+ * {@code coinsniper.assessment.coalesced}.
+ *
+ * @param <T> the type of input context
+ * @param <E> the type of a single assessment in the result
+ */
+@Slf4j
+public class CoalescingAssessmentFunction<T, E> implements StreamingAssessmentFunction<T, E> {
+
+    private final StreamingAssessmentFunction<T, E> delegate;
+    private final Function<T, ?> keyFunction;
+
+    private final Map<Object, Mono<List<E>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Object, Flux<E>> inFlightStreams = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    public CoalescingAssessmentFunction(StreamingAssessmentFunction<T, E> delegate, Function<T, ?> keyFunction, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.keyFunction = keyFunction;
+        this.coalesced = Counter.builder("coinsniper.assessment.coalesced")
+                .description("Assessment calls that joined an identical in-flight call")
+                .register(meterRegistry);
+        Gauge.builder("coinsniper.assessment.inflight", this, CoalescingAssessmentFunction::inFlight)
+                .description("Distinct assessments currently in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<List<E>> assess(T context) {
+        return Mono.defer(() -> {
+            Object key = keyFunction.apply(context);
+            boolean[] leader = {false};
+            Mono<List<E>> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return delegate.assess(context)
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            if (!leader[0]) {
+                coalesced.increment();
+                log.debug("Joined in-flight assessment for {}", key);
+            }
+            return shared;
+        });
+    }
+
+    @Override
+    public Flux<E> stream(T context) {
+        return Flux.defer(() -> {
+            Object key = keyFunction.apply(context);
+            boolean[] leader = {false};
+            Flux<E> shared = inFlightStreams.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return delegate.stream(context)
+                        .doFinally(signal -> inFlightStreams.remove(k))
+                        .cache();
+            });
+            if (!leader[0]) {
+                coalesced.increment();
+                log.debug("Joined in-flight assessment stream for {}", key);
+            }
+            return shared;
+        });
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return delegate.isStreaming();
+    }
+
+    public int inFlight() {
+        return inFlight.size() + inFlightStreams.size();
+    }
+}
@@ -0,0 +1,220 @@
+package com.richieloco.coinsniper.service.risk;
+
+import com.richieloco.coinsniper.config.AssessmentCacheConfig;
+import com.richieloco.coinsniper.dto.AssessmentCacheStats;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TTL and size bounded cache in front of an exchange {@link AssessmentFunction}.
+ * <p>
+ * Entries are keyed on the {@link ExchangeAssessmentKey} of the context (coin, exchange set and stable coin set,
+ * case- and order-insensitive), so a repeat announcement of the same coin reuses the earlier assessment instead of
+ * another LLM round trip. A hit never reaches the delegate, which also means no duplicate
+ * {@code exchange_assessments} rows are written. Failed assessments are not cached, and neither are empty ones nor
+ * streams that were cancelled or failed before completing.
+ */
+@Slf4j
+public class ExchangeAssessmentCache implements StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> {
+
+    private final StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> delegate;
+    private final AssessmentCacheConfig config;
+    private final Clock clock;
+
+    private final Map<ExchangeAssessmentKey, Entry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictedBySize;
+    private final Counter expired;
+    private final Counter invalidated;
+
+    public ExchangeAssessmentCache(StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> delegate,
+                                   AssessmentCacheConfig config,
+                                   MeterRegistry meterRegistry) {
+        this(delegate, config, meterRegistry, Clock.systemUTC());
+    }
+
+    public ExchangeAssessmentCache(StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> delegate,
+                                   AssessmentCacheConfig config,
+                                   MeterRegistry meterRegistry,
+                                   Clock clock) {
+        this.delegate = delegate;
+        this.config = config;
+        this.clock = clock;
+
+        int maxEntries = Math.max(1, config.getMaxEntries());
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 256), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ExchangeAssessmentKey, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictedBySize.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.evictedBySize = evictionCounter(meterRegistry, "size");
+        this.expired = evictionCounter(meterRegistry, "expired");
+        this.invalidated = evictionCounter(meterRegistry, "invalidated");
+        Gauge.builder("coinsniper.assessment.cache.size", this, ExchangeAssessmentCache::size)
+                .description("Exchange assessments currently cached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<List<ExchangeAssessmentRecord>> assess(ExchangeSelectorContext context) {
+        if (!config.isEnabled()) {
+            return delegate.assess(context);
+        }
+        return Mono.defer(() -> {
+            ExchangeAssessmentKey key = ExchangeAssessmentKey.of(context);
+            List<ExchangeAssessmentRecord> cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                log.debug("Assessment cache hit for {}", key);
+                return Mono.just(cached);
+            }
+            misses.increment();
+            return delegate.assess(context)
+                    .doOnNext(assessments -> store(key, assessments));
+        });
+    }
+
+    @Override
+    public Flux<ExchangeAssessmentRecord> stream(ExchangeSelectorContext context) {
+        if (!config.isEnabled()) {
+            return delegate.stream(context);
+        }
+        return Flux.defer(() -> {
+            ExchangeAssessmentKey key = ExchangeAssessmentKey.of(context);
+            List<ExchangeAssessmentRecord> cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                log.debug("Assessment cache hit for {}", key);
+                return Flux.fromIterable(cached);
+            }
+            misses.increment();
+            List<ExchangeAssessmentRecord> streamed = new ArrayList<>();
+            return delegate.stream(context)
+                    .doOnNext(streamed::add)
+                    .doOnComplete(() -> store(key, streamed));
+        });
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return delegate.isStreaming();
+    }
+
+    /**
+     * Drops every cached assessment.
+     */
+    public int invalidateAll() {
+        int removed;
+        synchronized (entries) {
+            removed = entries.size();
+            entries.clear();
+        }
+        invalidated.increment(removed);
+        log.info("Invalidated {} cached exchange assessments", removed);
+        return removed;
+    }
+
+    /**
+     * Drops the cached assessments of one coin, whatever exchange set they were made against.
+     */
+    public int invalidate(String coin) {
+        String normalised = ExchangeAssessmentKey.normalise(coin);
+        int removed = 0;
+        synchronized (entries) {
+            var iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().coin().equals(normalised)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        invalidated.increment(removed);
+        log.info("Invalidated {} cached exchange assessments for {}", removed, normalised);
+        return removed;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public AssessmentCacheStats stats() {
+        return AssessmentCacheStats.builder()
+                .enabled(config.isEnabled())
+                .size(size())
+                .maxEntries(config.getMaxEntries())
+                .ttl(config.getTtl())
+                .hits((long) hits.count())
+                .misses((long) misses.count())
+                .evictedBySize((long) evictedBySize.count())
+                .expired((long) expired.count())
+                .invalidated((long) invalidated.count())
+                .build();
+    }
+
+    private List<ExchangeAssessmentRecord> lookup(ExchangeAssessmentKey key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!clock.instant().isBefore(entry.expiresAt())) {
+                entries.remove(key);
+                expired.increment();
+                return null;
+            }
+            return entry.assessments();
+        }
+    }
+
+    private void store(ExchangeAssessmentKey key, List<ExchangeAssessmentRecord> assessments) {
+        if (assessments.isEmpty()) {
+            return; // nothing to decide on, so ask again next time rather than for the whole TTL
+        }
+        Entry entry = new Entry(List.copyOf(assessments), clock.instant().plus(config.getTtl()));
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private static Counter requestCounter(MeterRegistry registry, String result) {
+        return Counter.builder("coinsniper.assessment.cache.requests")
+                .description("Exchange assessment lookups by cache result")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry registry, String cause) {
+        return Counter.builder("coinsniper.assessment.cache.evictions")
+                .description("Cached exchange assessments removed, by cause")
+                .tag("cause", cause)
+                .register(registry);
+    }
+
+    private record Entry(List<ExchangeAssessmentRecord> assessments, Instant expiresAt) {}
+}
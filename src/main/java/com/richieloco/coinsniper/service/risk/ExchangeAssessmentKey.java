@@ -0,0 +1,31 @@
+package com.richieloco.coinsniper.service.risk;
+
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ExchangeSelectorContext} normalised for identity: the coin and the exchange / stable coin sets are
+ * trimmed and upper-cased, and the sets are de-duplicated and sorted, so contexts that ask the same question compare equal.
+ */
+public record ExchangeAssessmentKey(String coin, String exchanges, String stableCoins) {
+
+    public static ExchangeAssessmentKey of(ExchangeSelectorContext context) {
+        return new ExchangeAssessmentKey(normalise(context.targetCoin()), normaliseSet(context.exchanges()), normaliseSet(context.stableCoins()));
+    }
+
+    public static String normalise(String value) {
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String normaliseSet(String commaSeparated) {
+        return Arrays.stream(commaSeparated.split(","))
+                .map(ExchangeAssessmentKey::normalise)
+                .filter(value -> !value.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+}
@@ -1,36 +1,44 @@
 package com.richieloco.coinsniper.service.risk;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.richieloco.coinsniper.config.AiPromptConfig;
+import com.richieloco.coinsniper.config.AssessmentStreamingConfig;
 import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
 import com.richieloco.coinsniper.model.ExchangeAssessmentResponse;
-import com.richieloco.coinsniper.repository.ExchangeAssessmentRepository;
+import com.richieloco.coinsniper.service.llm.ChatTransport;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import com.richieloco.coinsniper.service.persistence.ExchangeAssessmentWriter;
 import com.richieloco.coinsniper.service.risk.context.BaseAssessor;
 import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-public class ExchangeAssessor extends BaseAssessor<ExchangeSelectorContext, List<ExchangeAssessmentRecord>> {
+public class ExchangeAssessor extends BaseAssessor<ExchangeSelectorContext, List<ExchangeAssessmentRecord>>
+        implements StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> {
 
-    private final ExchangeAssessmentRepository repository;
+    private final ExchangeAssessmentWriter writer;
     private final AiPromptConfig aiPromptConfig;
+    private final AssessmentStreamingConfig streamingConfig;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LenientJsonArrayExtractor jsonExtractor = new LenientJsonArrayExtractor(objectMapper);
 
-    public ExchangeAssessor(ChatModel chatModel, ExchangeAssessmentRepository repository, AiPromptConfig aiPromptConfig) {
-        super(chatModel);
-        this.repository = repository;
+    public ExchangeAssessor(ChatTransport chatTransport, ExchangeAssessmentWriter writer, AiPromptConfig aiPromptConfig,
+                            PipelineMetrics pipelineMetrics, AssessmentStreamingConfig streamingConfig) {
+        super(chatTransport, pipelineMetrics);
+        this.writer = writer;
         this.aiPromptConfig = aiPromptConfig;
+        this.streamingConfig = streamingConfig;
     }
 
     @Override
@@ -63,31 +71,25 @@ public class ExchangeAssessor extends BaseAssessor<ExchangeSelectorContext, List
         log.debug("LLM response: '{}'", response);
 
         try {
-            // Try JSON
-            if (response.trim().startsWith("[")) {
-                List<ExchangeAssessmentResponse> responses = objectMapper.readValue(
-                        response, new TypeReference<>() {});
-                return responses.stream()
+            // JSON wherever it is in the answer, repaired locally rather than asking the model again
+            LenientJsonArrayExtractor.Extraction<ExchangeAssessmentResponse> extraction =
+                    jsonExtractor.extract(response, ExchangeAssessmentResponse.class);
+            if (extraction.foundJson()) {
+                return usable(extraction, response).stream()
                         .map(dto -> buildRecord(context, dto.exchange(), dto.coinListing(),
                                 dto.overallRiskScore(), dto.liquidity(), dto.tradingVolume(), dto.tradingFees()))
                         .toList();
             }
 
             // Fallback to key-value parsing
-            Map<String, String> values = Arrays.stream(response.split(","))
-                    .map(String::trim)
-                    .map(s -> s.split(":", 2))
-                    .filter(arr -> arr.length == 2)
-                    .collect(Collectors.toMap(
-                            arr -> arr[0].trim(),
-                            arr -> arr[1].trim(),
-                            (a, b) -> a // handle duplicates gracefully
-                    ));
+            Map<String, String> values = keyValues(response);
 
             // Validate minimal required keys
-            if (!values.containsKey("Exchange") || !values.containsKey("Coin Listing") || !values.containsKey("Overall Risk Score")) {
+            if (!hasRequiredKeys(values)) {
+                pipelineMetrics.recordParseOutcome("failed");
                 throw new RuntimeException("Failed to map LLM response: " + response);
             }
+            pipelineMetrics.recordParseOutcome("clean");
 
             return List.of(buildRecord(
                     context,
@@ -106,6 +108,74 @@ public class ExchangeAssessor extends BaseAssessor<ExchangeSelectorContext, List
         }
     }
 
+    /**
+     * Whether {@code response} holds an assessment by the rules {@link #parseAssessmentOutput} applies: JSON found
+     * anywhere in it (repaired or salvaged) with at least one usable object or nothing dropped, or the key-value form
+     * with its required keys. Lets hedging tell an answer the assessor can read from one it would reject.
+     */
+    public static boolean isReadable(LenientJsonArrayExtractor jsonExtractor, String response) {
+        if (response == null || response.isBlank()) {
+            return false;
+        }
+        LenientJsonArrayExtractor.Extraction<ExchangeAssessmentResponse> extraction =
+                jsonExtractor.extract(response, ExchangeAssessmentResponse.class);
+        if (extraction.foundJson()) {
+            boolean anyUsable = extraction.elements().stream().anyMatch(ExchangeAssessor::isUsable);
+            return anyUsable || (extraction.dropped() == 0 && extraction.elements().isEmpty());
+        }
+        return hasRequiredKeys(keyValues(response));
+    }
+
+    private static Map<String, String> keyValues(String response) {
+        return Arrays.stream(response.split(","))
+                .map(String::trim)
+                .map(s -> s.split(":", 2))
+                .filter(arr -> arr.length == 2)
+                .collect(Collectors.toMap(
+                        arr -> arr[0].trim(),
+                        arr -> arr[1].trim(),
+                        (a, b) -> a // handle duplicates gracefully
+                ));
+    }
+
+    private static boolean hasRequiredKeys(Map<String, String> values) {
+        return values.containsKey("Exchange") && values.containsKey("Coin Listing") && values.containsKey("Overall Risk Score");
+    }
+
+    /**
+     * The extracted objects that name an exchange and a risk score, counting how the answer had to be read. Fails
+     * when the answer held objects but none of them is usable, so the assessment is retried as before.
+     */
+    private List<ExchangeAssessmentResponse> usable(LenientJsonArrayExtractor.Extraction<ExchangeAssessmentResponse> extraction,
+                                                    String response) {
+        List<ExchangeAssessmentResponse> usable = extraction.elements().stream()
+                .filter(ExchangeAssessor::isUsable)
+                .toList();
+        int dropped = extraction.dropped() + extraction.elements().size() - usable.size();
+        if (usable.isEmpty() && dropped > 0) {
+            pipelineMetrics.recordParseOutcome("failed");
+            throw new RuntimeException("Failed to parse LLM response: " + response);
+        }
+        if (dropped > 0) {
+            log.warn("Salvaged {} of {} exchange assessments from a malformed LLM response", usable.size(), usable.size() + dropped);
+            pipelineMetrics.recordParseOutcome("salvaged");
+        } else {
+            pipelineMetrics.recordParseOutcome(extraction.repaired() ? "repaired" : "clean");
+        }
+        return usable;
+    }
+
+    /**
+     * Whether an object names both an exchange and a risk score; a trade decision needs both.
+     */
+    private static boolean isUsable(ExchangeAssessmentResponse dto) {
+        return dto.exchange() != null && dto.overallRiskScore() != null;
+    }
+
+    private static String exchangeKey(ExchangeAssessmentResponse dto) {
+        return dto.exchange().trim().toLowerCase(Locale.ROOT);
+    }
+
     private ExchangeAssessmentRecord buildRecord(ExchangeSelectorContext context,
                                                  String exchange,
                                                  String coinListing,
@@ -126,13 +196,6 @@ public class ExchangeAssessor extends BaseAssessor<ExchangeSelectorContext, List
                 .build();
     }
 
-    @Override
-    protected void logAssessment(ExchangeSelectorContext context, List<ExchangeAssessmentRecord> records) {
-        repository.saveAll(records)
-                .onErrorContinue((err, obj) -> log.warn("Save failed: {}", err.getMessage()))
-                .subscribe();
-    }
-
     @Override
     public Mono<List<ExchangeAssessmentRecord>> assess(ExchangeSelectorContext context) {
         return generateAssessment(context)
@@ -140,15 +203,176 @@ public class ExchangeAssessor extends BaseAssessor<ExchangeSelectorContext, List
                     if (response == null || response.trim().isEmpty()) {
                         throw new NullPointerException("LLM returned null or empty generation text");
                     }
-                    return parseAssessmentOutput(context, response);
+                    return parse(context, response);
                 })
                 .flatMapMany(Flux::fromIterable)
-                .flatMap(record -> repository.save(record)
-                        .onErrorResume(err -> {
-                            log.warn("Repository save failed for {}: {}", record.getExchange(), err.getMessage());
-                            return Mono.just(record);
-                        })
-                )
+                .flatMap(this::save)
                 .collectList();
     }
+
+    @Override
+    public boolean isStreaming() {
+        return streamingConfig.isEnabled();
+    }
+
+    /**
+     * Streams the LLM response and emits each exchange as soon as its JSON object is complete, so the first decision
+     * does not wait for the model to finish the rest of the array. A response that turns out not to be a JSON array
+     * is parsed whole once it ends, exactly as {@link #assess} would; one that stops being strict JSON part-way (or is
+     * cut off) has its remaining objects repaired then.
+     */
+    @Override
+    public Flux<ExchangeAssessmentRecord> stream(ExchangeSelectorContext context) {
+        if (!isStreaming()) {
+            return StreamingAssessmentFunction.super.stream(context);
+        }
+        return Flux.defer(() -> {
+            IncrementalJsonArrayParser<ExchangeAssessmentResponse> parser =
+                    new IncrementalJsonArrayParser<>(objectMapper, ExchangeAssessmentResponse.class);
+            StringBuilder raw = new StringBuilder();
+            long[] parseNanos = {0};
+            Set<String> emitted = ConcurrentHashMap.newKeySet();
+            boolean[] malformed = {false};
+
+            Flux<ExchangeAssessmentRecord> streamed = streamAssessment(context)
+                    .concatMapIterable(chunk -> {
+                        raw.append(chunk);
+                        if (malformed[0]) {
+                            return List.of();
+                        }
+                        long start = System.nanoTime();
+                        try {
+                            return parser.feed(chunk);
+                        } catch (UncheckedIOException e) {
+                            // keep collecting; the rest is repaired once the answer is complete
+                            log.debug("Streamed LLM response is not strict JSON: {}", e.getMessage());
+                            malformed[0] = true;
+                            return List.of();
+                        } finally {
+                            parseNanos[0] += System.nanoTime() - start;
+                        }
+                    })
+                    .filter(dto -> isUsable(dto) && emitted.add(exchangeKey(dto)))
+                    .map(dto -> buildRecord(context, dto.exchange(), dto.coinListing(),
+                            dto.overallRiskScore(), dto.liquidity(), dto.tradingVolume(), dto.tradingFees()))
+                    .doFinally(signal -> pipelineMetrics.record(PipelineMetrics.PARSE, parseNanos[0]));
+
+            Flux<ExchangeAssessmentRecord> remainder = Flux.defer(() -> {
+                if (parser.isComplete() && !malformed[0]) {
+                    pipelineMetrics.recordParseOutcome("clean");
+                    return Flux.empty();
+                }
+                return Flux.fromIterable(remainder(context, raw.toString(), emitted));
+            });
+
+            return streamed.concatWith(remainder)
+                    .flatMap(this::save);
+        });
+    }
+
+    /**
+     * What a streamed answer holds beyond the exchanges the strict parser already handed out: the whole answer read
+     * as {@link #assess} would when nothing was emitted, otherwise the repaired array minus the {@code emitted}
+     * exchanges. Matched by name rather than position, because the repair may drop or find objects the strict parser
+     * did not.
+     */
+    private List<ExchangeAssessmentRecord> remainder(ExchangeSelectorContext context, String response, Set<String> emitted) {
+        if (emitted.isEmpty()) {
+            return parse(context, response);
+        }
+        LenientJsonArrayExtractor.Extraction<ExchangeAssessmentResponse> extraction =
+                jsonExtractor.extract(response, ExchangeAssessmentResponse.class);
+        pipelineMetrics.recordParseOutcome(extraction.dropped() > 0 ? "salvaged" : "repaired");
+        return extraction.elements().stream()
+                .filter(dto -> isUsable(dto) && emitted.add(exchangeKey(dto)))
+                .map(dto -> buildRecord(context, dto.exchange(), dto.coinListing(),
+                        dto.overallRiskScore(), dto.liquidity(), dto.tradingVolume(), dto.tradingFees()))
+                .toList();
+    }
+
+    /**
+     * Assesses several coins against the same exchanges and stable coins with one LLM call, using the multi-coin
+     * prompt. The returned map is keyed by normalised coin symbol and has an entry for every requested coin, empty
+     * when the model listed nothing for it; {@link BatchingExchangeAssessor} assesses those coins again on their own.
+     * Objects that cannot be matched to a requested coin are dropped.
+     */
+    public Mono<Map<String, List<ExchangeAssessmentRecord>>> assessBatch(List<ExchangeSelectorContext> contexts) {
+        return Mono.defer(() -> {
+                    Map<String, ExchangeSelectorContext> byCoin = new LinkedHashMap<>();
+                    contexts.forEach(context -> byCoin.putIfAbsent(ExchangeAssessmentKey.normalise(context.targetCoin()), context));
+                    return complete(generateBatchPrompt(contexts.getFirst(), byCoin.keySet()))
+                            .map(response -> parseBatch(byCoin, response));
+                })
+                .flatMapMany(assessments -> Flux.fromIterable(assessments.entrySet()))
+                .flatMap(entry -> Flux.fromIterable(entry.getValue())
+                        .flatMap(this::save)
+                        .collectList()
+                        .map(saved -> Map.entry(entry.getKey(), saved)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private String generateBatchPrompt(ExchangeSelectorContext shared, Collection<String> coins) {
+        PromptTemplate prompt = aiPromptConfig.exchangeMultiCoinAvailabilityPromptTemplate();
+        if (prompt == null) {
+            throw new NullPointerException("Multi-coin PromptTemplate is null for ExchangeAssessor");
+        }
+        return prompt.getTemplate()
+                .replace("<exchanges>", shared.exchanges())
+                .replace("<targetCoins>", String.join(",", coins))
+                .replace("<stableCoins>", shared.stableCoins());
+    }
+
+    private Map<String, List<ExchangeAssessmentRecord>> parseBatch(Map<String, ExchangeSelectorContext> byCoin, String response) {
+        long start = System.nanoTime();
+        try {
+            log.debug("Batched LLM response: '{}'", response);
+            LenientJsonArrayExtractor.Extraction<ExchangeAssessmentResponse> extraction =
+                    jsonExtractor.extract(response, ExchangeAssessmentResponse.class);
+            if (!extraction.foundJson()) {
+                pipelineMetrics.recordParseOutcome("failed");
+                throw new RuntimeException("Failed to map batched LLM response: " + response);
+            }
+            List<ExchangeAssessmentResponse> responses = usable(extraction, response);
+
+            Map<String, List<ExchangeAssessmentRecord>> assessments = new LinkedHashMap<>();
+            byCoin.keySet().forEach(coin -> assessments.put(coin, new ArrayList<>()));
+            for (ExchangeAssessmentResponse dto : responses) {
+                String coin = coinOf(dto, byCoin.keySet());
+                if (coin == null) {
+                    log.warn("Dropping batched assessment for unrequested coin: {}", dto);
+                    continue;
+                }
+                assessments.get(coin).add(buildRecord(byCoin.get(coin), dto.exchange(), dto.coinListing(),
+                        dto.overallRiskScore(), dto.liquidity(), dto.tradingVolume(), dto.tradingFees()));
+            }
+            return assessments;
+        } finally {
+            pipelineMetrics.record(PipelineMetrics.PARSE, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The requested coin an object describes: its {@code targetCoin} when the model filled it in, otherwise the
+     * longest requested coin its {@code coinListing} starts with.
+     */
+    private static String coinOf(ExchangeAssessmentResponse dto, Collection<String> coins) {
+        if (dto.targetCoin() != null && coins.contains(ExchangeAssessmentKey.normalise(dto.targetCoin()))) {
+            return ExchangeAssessmentKey.normalise(dto.targetCoin());
+        }
+        if (dto.coinListing() == null) {
+            return null;
+        }
+        String listing = ExchangeAssessmentKey.normalise(dto.coinListing());
+        return coins.stream()
+                .filter(listing::startsWith)
+                .max(Comparator.comparingInt(String::length))
+                .orElse(null);
+    }
+
+    /**
+     * Hands the record to the {@link ExchangeAssessmentWriter}, which normally persists it off the decision path.
+     */
+    private Mono<ExchangeAssessmentRecord> save(ExchangeAssessmentRecord record) {
+        return writer.write(record);
+    }
 }
@@ -0,0 +1,230 @@
+package com.richieloco.coinsniper.service.risk;
+
+import com.richieloco.coinsniper.config.RuleAssessmentConfig;
+import com.richieloco.coinsniper.dto.ExchangeListingTableStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the locally maintained exchange listing table read by {@link RuleBasedExchangeAssessor}.
+ * <p>
+ * The table is a CSV resource with the columns
+ * {@code coin,exchange,stable_coin,liquidity,trading_volume,trading_fees,risk,verified_at}; blank lines and lines
+ * starting with {@code #} are ignored and malformed rows are skipped with a warning. Lookups read an immutable
+ * snapshot, so a reload swaps the whole table at once. While {@code refresh-interval} is positive the resource is
+ * re-read whenever its last-modified time changes; a reload that fails keeps the previous snapshot.
+ */
+@Slf4j
+@Component
+public class ExchangeListingTable {
+
+    private static final int COLUMNS = 8;
+
+    private final RuleAssessmentConfig config;
+    private final ResourceLoader resourceLoader;
+    private final Clock clock;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private Disposable refreshTask;
+
+    /**
+     * One row of the table. Levels are kept as written ({@code High}, {@code Medium}, {@code Low}); {@code risk} and
+     * {@code verifiedAt} are {@code null} when blank.
+     */
+    public record Listing(String coin,
+                          String exchange,
+                          String stableCoin,
+                          String liquidity,
+                          String tradingVolume,
+                          String tradingFees,
+                          String risk,
+                          LocalDate verifiedAt) {}
+
+    @Autowired
+    public ExchangeListingTable(RuleAssessmentConfig config, ResourceLoader resourceLoader) {
+        this(config, resourceLoader, Clock.systemUTC());
+    }
+
+    public ExchangeListingTable(RuleAssessmentConfig config, ResourceLoader resourceLoader, Clock clock) {
+        this.config = config;
+        this.resourceLoader = resourceLoader;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!config.isEnabled() || refreshTask != null) {
+            return;
+        }
+        try {
+            reload();
+        } catch (UncheckedIOException e) {
+            log.warn("Exchange listing table unavailable, every assessment will use the LLM: {}", e.getMessage());
+        }
+        Duration interval = config.getRefreshInterval();
+        if (interval != null && interval.isPositive()) {
+            refreshTask = Flux.interval(interval, interval)
+                    .concatMap(tick -> Mono.fromRunnable(this::reloadIfModified)
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .onErrorResume(e -> {
+                                log.warn("Exchange listing table refresh failed, keeping the previous table: {}", e.getMessage());
+                                return Mono.empty();
+                            }))
+                    .subscribe();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (refreshTask != null) {
+            refreshTask.dispose();
+            refreshTask = null;
+        }
+    }
+
+    /**
+     * Re-reads the table unconditionally.
+     *
+     * @throws UncheckedIOException if the resource cannot be read; the current table is kept
+     */
+    public ExchangeListingTableStats reload() {
+        Resource resource = resourceLoader.getResource(config.getTable());
+        long lastModified = lastModified(resource);
+        Snapshot loaded = read(resource, lastModified);
+        snapshot = loaded;
+        log.info("Loaded {} exchange listings for {} coins from {} ({} rows skipped)",
+                loaded.rows(), loaded.byCoin().size(), config.getTable(), loaded.skipped());
+        return stats();
+    }
+
+    /**
+     * The rows for a coin, matched on its upper-cased symbol; empty when the coin is not in the table.
+     */
+    public List<Listing> listings(String coin) {
+        return snapshot.byCoin().getOrDefault(ExchangeAssessmentKey.normalise(coin), List.of());
+    }
+
+    public ExchangeListingTableStats stats() {
+        Snapshot current = snapshot;
+        return ExchangeListingTableStats.builder()
+                .location(config.getTable())
+                .rows(current.rows())
+                .coins(current.byCoin().size())
+                .skippedRows(current.skipped())
+                .loadedAt(current.loadedAt())
+                .build();
+    }
+
+    private void reloadIfModified() {
+        Resource resource = resourceLoader.getResource(config.getTable());
+        long lastModified = lastModified(resource);
+        if (lastModified < 0 || lastModified != snapshot.lastModified()) {
+            reload();
+        }
+    }
+
+    private Snapshot read(Resource resource, long lastModified) {
+        Map<String, List<Listing>> byCoin = new HashMap<>();
+        int rows = 0;
+        int skipped = 0;
+        boolean header = true;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (header) {
+                    header = false;
+                    if (line.toLowerCase().startsWith("coin,")) {
+                        continue;
+                    }
+                }
+                Listing listing = parse(line);
+                if (listing == null) {
+                    skipped++;
+                    continue;
+                }
+                byCoin.computeIfAbsent(listing.coin(), coin -> new ArrayList<>()).add(listing);
+                rows++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load exchange listings from " + config.getTable(), e);
+        }
+        byCoin.replaceAll((coin, listings) -> List.copyOf(listings));
+        return new Snapshot(Map.copyOf(byCoin), rows, skipped, clock.instant(), lastModified);
+    }
+
+    private static Listing parse(String line) {
+        String[] cells = line.split(",", -1);
+        if (cells.length != COLUMNS) {
+            log.warn("Skipping exchange listing with {} columns instead of {}: {}", cells.length, COLUMNS, line);
+            return null;
+        }
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = cells[i].trim();
+        }
+        if (cells[0].isEmpty() || cells[1].isEmpty() || cells[2].isEmpty()) {
+            log.warn("Skipping exchange listing without coin, exchange or stable coin: {}", line);
+            return null;
+        }
+        LocalDate verifiedAt = null;
+        if (!cells[7].isEmpty()) {
+            try {
+                verifiedAt = LocalDate.parse(cells[7]);
+            } catch (RuntimeException e) {
+                log.warn("Skipping exchange listing with unreadable verified_at: {}", line);
+                return null;
+            }
+        }
+        return new Listing(
+                ExchangeAssessmentKey.normalise(cells[0]),
+                cells[1],
+                ExchangeAssessmentKey.normalise(cells[2]),
+                blankToNull(cells[3]),
+                blankToNull(cells[4]),
+                blankToNull(cells[5]),
+                blankToNull(cells[6]),
+                verifiedAt);
+    }
+
+    private static String blankToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1; // not a file, e.g. inside a jar; re-read on every refresh
+        }
+    }
+
+    private record Snapshot(Map<String, List<Listing>> byCoin, int rows, int skipped, Instant loadedAt, long lastModified) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), 0, 0, null, -1);
+    }
+}
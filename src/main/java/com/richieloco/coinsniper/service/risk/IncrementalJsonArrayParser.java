@@ -0,0 +1,127 @@
+package com.richieloco.coinsniper.service.risk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the first JSON array in a text that arrives in pieces, returning each object element as soon as it closes.
+ * <p>
+ * Anything before the opening {@code [} (prose, a {@code ```json} fence) and after the closing {@code ]} is ignored.
+ * Elements are buffered as tokens and bound with the given {@link ObjectMapper} once complete, so a model that is
+ * still generating the third exchange does not hold back the first two. Not thread-safe; use one per response.
+ *
+ * @param <T> the element type
+ */
+public final class IncrementalJsonArrayParser<T> {
+
+    private final ObjectMapper objectMapper;
+    private final Class<T> elementType;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean arrayStarted;
+    private boolean arrayClosed;
+    private int depth;
+    private TokenBuffer element;
+
+    public IncrementalJsonArrayParser(ObjectMapper objectMapper, Class<T> elementType) {
+        this.objectMapper = objectMapper;
+        this.elementType = elementType;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feeds the next piece of text and returns the elements it completed.
+     */
+    public List<T> feed(String chunk) {
+        if (arrayClosed || chunk == null || chunk.isEmpty()) {
+            return List.of();
+        }
+        String input = chunk;
+        if (!arrayStarted) {
+            int start = chunk.indexOf('[');
+            if (start < 0) {
+                return List.of();
+            }
+            input = chunk.substring(start);
+        }
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            return drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed JSON array in model output", e);
+        }
+    }
+
+    /**
+     * Whether the opening {@code [} has been seen; when it never is, the output was not a JSON array at all.
+     */
+    public boolean sawArray() {
+        return arrayStarted;
+    }
+
+    /**
+     * Whether the array has been closed; elements after an unclosed array are lost with the truncated output.
+     */
+    public boolean isComplete() {
+        return arrayClosed;
+    }
+
+    private List<T> drain() throws IOException {
+        List<T> completed = null;
+        JsonToken token;
+        while (!arrayClosed && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (!arrayStarted) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IOException("Expected '[' but found " + token);
+                }
+                arrayStarted = true;
+                depth = 1;
+                continue;
+            }
+
+            if (element != null) {
+                element.copyCurrentEvent(parser);
+            }
+            if (token.isStructStart()) {
+                if (depth == 1 && token == JsonToken.START_OBJECT) {
+                    element = new TokenBuffer(parser);
+                    element.copyCurrentEvent(parser);
+                }
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+                if (depth == 0) {
+                    arrayClosed = true;
+                } else if (depth == 1 && element != null) {
+                    if (completed == null) {
+                        completed = new ArrayList<>();
+                    }
+                    try (JsonParser elementParser = element.asParser(objectMapper)) {
+                        completed.add(objectMapper.readValue(elementParser, elementType));
+                    }
+                    element = null;
+                }
+            }
+        }
+        if (arrayClosed) {
+            parser.close();
+        }
+        return completed != null ? completed : List.of();
+    }
+}
@@ -0,0 +1,291 @@
+package com.richieloco.coinsniper.service.risk;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pulls the JSON objects out of a model answer that is only roughly JSON, so a near miss does not cost another
+ * multi-second LLM call.
+ * <p>
+ * The first array of objects is located wherever it sits (after prose, inside a {@code ```json} fence); without one,
+ * every top-level object in the text is taken. While copying each object it repairs what models commonly get wrong:
+ * single-quoted strings, trailing or doubled commas, unquoted keys and bare words ({@code Medium},
+ * {@code True}/{@code None}), raw line breaks inside strings and stray characters between tokens. An object cut off
+ * by the end of the text keeps the members that were complete. Each object is then bound on its own, ignoring unknown
+ * properties, and one that still cannot be read is dropped without losing the others. Stateless and thread-safe.
+ */
+@Slf4j
+public final class LenientJsonArrayExtractor {
+
+    private final ObjectMapper objectMapper;
+
+    public LenientJsonArrayExtractor(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * What could be salvaged from one answer.
+     *
+     * @param elements  the objects that could be bound, in the order they appear
+     * @param foundJson whether the text contained an array of objects or any object at all
+     * @param repaired  whether the text needed repairing (including a truncated last object) to get them
+     * @param dropped   objects that were present but could not be bound even after repair
+     */
+    public record Extraction<T>(List<T> elements, boolean foundJson, boolean repaired, int dropped) {
+
+        static <T> Extraction<T> none() {
+            return new Extraction<>(List.of(), false, false, 0);
+        }
+
+        public boolean isClean() {
+            return foundJson && !repaired && dropped == 0;
+        }
+    }
+
+    public <T> Extraction<T> extract(String text, Class<T> elementType) {
+        if (text == null) {
+            return Extraction.none();
+        }
+        int start = start(text);
+        if (start < 0) {
+            return Extraction.none();
+        }
+        ObjectReader reader = objectMapper.readerFor(elementType).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        Scanner scanner = new Scanner(text, text.charAt(start) == '[' ? start + 1 : start);
+        List<T> elements = new ArrayList<>();
+        int dropped = 0;
+        String json;
+        while ((json = scanner.nextObject()) != null) {
+            try {
+                elements.add(reader.readValue(json));
+            } catch (Exception e) {
+                dropped++;
+                log.debug("Dropping unreadable object from model output: {} ({})", json, e.getMessage());
+            }
+        }
+        return new Extraction<>(elements, true, scanner.repaired, dropped);
+    }
+
+    /**
+     * The first {@code [} that opens an array of objects (or an empty one), else the first {@code {}, else -1.
+     */
+    private static int start(String text) {
+        for (int i = text.indexOf('['); i >= 0; i = text.indexOf('[', i + 1)) {
+            int next = skipWhitespace(text, i + 1);
+            if (next < text.length() && (text.charAt(next) == '{' || text.charAt(next) == ']')) {
+                return i;
+            }
+        }
+        return text.indexOf('{');
+    }
+
+    private static int skipWhitespace(String text, int from) {
+        int i = from;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Copies one top-level object at a time into strict JSON.
+     */
+    private static final class Scanner {
+
+        private final String text;
+        private int position;
+        private boolean finished;
+        boolean repaired;
+
+        private StringBuilder out;
+        private int depth;
+        private boolean pendingComma;
+        private boolean expectValue;
+        private int safeLength;
+
+        Scanner(String text, int position) {
+            this.text = text;
+            this.position = position;
+        }
+
+        /**
+         * The next object as strict JSON, or {@code null} once the array has closed or the text has run out.
+         */
+        String nextObject() {
+            while (!finished && position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '{') {
+                    return object();
+                }
+                if (c == ']') {
+                    finished = true;
+                }
+                // commas, whitespace and prose between the objects are skipped
+            }
+            finished = true;
+            return null;
+        }
+
+        private String object() {
+            out = new StringBuilder(256).append('{');
+            depth = 1;
+            pendingComma = false;
+            expectValue = false;
+            safeLength = 1;
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (Character.isWhitespace(c)) {
+                    continue;
+                }
+                switch (c) {
+                    case '"', '\'' -> {
+                        flushComma();
+                        if (!string(c)) {
+                            return truncated();
+                        }
+                        valueEnded(false);
+                    }
+                    case ',' -> {
+                        if (pendingComma) {
+                            repaired = true;
+                        }
+                        pendingComma = true;
+                    }
+                    case ':' -> {
+                        pendingComma = false;
+                        out.append(':');
+                        if (depth == 1) {
+                            expectValue = true;
+                        }
+                    }
+                    case '{', '[' -> {
+                        flushComma();
+                        out.append(c);
+                        depth++;
+                    }
+                    case '}', ']' -> {
+                        if (pendingComma) {
+                            repaired = true;
+                            pendingComma = false;
+                        }
+                        out.append(c);
+                        if (--depth == 0) {
+                            return out.toString();
+                        }
+                        valueEnded(false);
+                    }
+                    default -> {
+                        if (Character.isLetter(c) || c == '_') {
+                            flushComma();
+                            word(position - 1);
+                        } else if (Character.isDigit(c) || c == '-' || c == '+' || c == '.') {
+                            flushComma();
+                            number(position - 1);
+                        } else {
+                            repaired = true;
+                        }
+                    }
+                }
+            }
+            return truncated();
+        }
+
+        /**
+         * Copies a string opened by {@code quote} as a double-quoted JSON string; false if the text ends inside it.
+         */
+        private boolean string(char quote) {
+            if (quote != '"') {
+                repaired = true;
+            }
+            out.append('"');
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '\\' && position < text.length()) {
+                    char escaped = text.charAt(position++);
+                    if (escaped == '\'') {
+                        out.append('\'');
+                    } else {
+                        out.append('\\').append(escaped);
+                    }
+                } else if (c == quote) {
+                    out.append('"');
+                    return true;
+                } else if (c == '"') {
+                    out.append("\\\"");
+                } else if (c == '\n' || c == '\r') {
+                    repaired = true;
+                    out.append(c == '\n' ? "\\n" : "\\r");
+                } else {
+                    out.append(c);
+                }
+            }
+            return false;
+        }
+
+        private void word(int from) {
+            int end = from;
+            while (end < text.length() && (Character.isLetterOrDigit(text.charAt(end)) || text.charAt(end) == '_')) {
+                end++;
+            }
+            position = end;
+            String word = text.substring(from, end);
+            switch (word) {
+                case "true", "false", "null" -> out.append(word);
+                case "True", "False" -> {
+                    repaired = true;
+                    out.append(word.toLowerCase());
+                }
+                case "None" -> {
+                    repaired = true;
+                    out.append("null");
+                }
+                default -> {
+                    repaired = true;
+                    out.append('"').append(word).append('"');
+                }
+            }
+            valueEnded(end == text.length());
+        }
+
+        private void number(int from) {
+            int end = from;
+            while (end < text.length() && "0123456789+-.eE".indexOf(text.charAt(end)) >= 0) {
+                end++;
+            }
+            position = end;
+            out.append(text, from, end);
+            valueEnded(end == text.length());
+        }
+
+        private void flushComma() {
+            if (pendingComma) {
+                out.append(',');
+                pendingComma = false;
+            }
+        }
+
+        /**
+         * Remembers where the object could be cut off if the text ends, once a member's value is known to be whole.
+         */
+        private void valueEnded(boolean atEndOfText) {
+            if (depth == 1 && expectValue && !atEndOfText) {
+                safeLength = out.length();
+                expectValue = false;
+            }
+        }
+
+        /**
+         * The object cut off by the end of the text, closed after its last complete member, or {@code null}.
+         */
+        private String truncated() {
+            finished = true;
+            repaired = true;
+            return safeLength > 1 ? out.substring(0, safeLength) + "}" : null;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.richieloco.coinsniper.service.risk;
+
+import com.richieloco.coinsniper.config.RuleAssessmentConfig;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.service.risk.ExchangeListingTable.Listing;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * First tier of exchange assessment: scores the requested exchanges from the {@link ExchangeListingTable} without a
+ * network call, and only hands the context to the LLM-backed delegate when the table cannot answer confidently.
+ * <p>
+ * The rows considered are those for the coin on a requested exchange against a requested stable coin; an exchange
+ * without such a row is taken as not listing the coin. Confidence is the share of those rows that are complete and
+ * were verified within {@code max-age}. The delegate is used when no row matches or confidence is below
+ * {@code min-confidence}. Each exchange gets one assessment, from its lowest-risk stable coin pair: the row's
+ * {@code risk} column when set, otherwise a score derived from liquidity, trading volume and fees. Rule assessments
+ * are not written to {@code exchange_assessments}. Which tier answered is counted in
+ * {@code coinsniper.assessment.tier}.
+ */
+@Slf4j
+public class RuleBasedExchangeAssessor implements StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> {
+
+    static final String CONTEXT_TYPE = "ExchangeRules";
+
+    private final StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> delegate;
+    private final ExchangeListingTable table;
+    private final RuleAssessmentConfig config;
+    private final Clock clock;
+
+    private final Counter rulesTier;
+    private final Counter llmTier;
+
+    public RuleBasedExchangeAssessor(StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> delegate,
+                                     ExchangeListingTable table,
+                                     RuleAssessmentConfig config,
+                                     MeterRegistry meterRegistry) {
+        this(delegate, table, config, meterRegistry, Clock.systemUTC());
+    }
+
+    public RuleBasedExchangeAssessor(StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> delegate,
+                                     ExchangeListingTable table,
+                                     RuleAssessmentConfig config,
+                                     MeterRegistry meterRegistry,
+                                     Clock clock) {
+        this.delegate = delegate;
+        this.table = table;
+        this.config = config;
+        this.clock = clock;
+        this.rulesTier = tierCounter(meterRegistry, "rules");
+        this.llmTier = tierCounter(meterRegistry, "llm");
+    }
+
+    @Override
+    public Mono<List<ExchangeAssessmentRecord>> assess(ExchangeSelectorContext context) {
+        if (!config.isEnabled()) {
+            return delegate.assess(context);
+        }
+        return Mono.defer(() -> {
+            List<ExchangeAssessmentRecord> assessments = fromRules(context);
+            return assessments != null ? Mono.just(assessments) : delegate.assess(context);
+        });
+    }
+
+    @Override
+    public Flux<ExchangeAssessmentRecord> stream(ExchangeSelectorContext context) {
+        if (!config.isEnabled()) {
+            return delegate.stream(context);
+        }
+        return Flux.defer(() -> {
+            List<ExchangeAssessmentRecord> assessments = fromRules(context);
+            return assessments != null ? Flux.fromIterable(assessments) : delegate.stream(context);
+        });
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return delegate.isStreaming();
+    }
+
+    /**
+     * The rule assessments for the context, or {@code null} when the LLM has to be asked.
+     */
+    List<ExchangeAssessmentRecord> fromRules(ExchangeSelectorContext context) {
+        Set<String> exchanges = normalisedSet(context.exchanges());
+        Set<String> stableCoins = normalisedSet(context.stableCoins());
+        List<Listing> matching = table.listings(context.targetCoin()).stream()
+                .filter(listing -> exchanges.contains(ExchangeAssessmentKey.normalise(listing.exchange())))
+                .filter(listing -> stableCoins.contains(listing.stableCoin()))
+                .toList();
+        if (matching.isEmpty()) {
+            log.debug("No exchange listings for {}, asking the LLM", context.targetCoin());
+            llmTier.increment();
+            return null;
+        }
+        double confidence = (double) matching.stream().filter(this::trusted).count() / matching.size();
+        if (confidence < config.getMinConfidence()) {
+            log.debug("Exchange listings for {} have confidence {} below {}, asking the LLM",
+                    context.targetCoin(), confidence, config.getMinConfidence());
+            llmTier.increment();
+            return null;
+        }
+        rulesTier.increment();
+        Map<String, Listing> bestPerExchange = new LinkedHashMap<>();
+        matching.stream()
+                .sorted(Comparator.comparingInt(RuleBasedExchangeAssessor::riskPoints))
+                .forEach(listing -> bestPerExchange.putIfAbsent(ExchangeAssessmentKey.normalise(listing.exchange()), listing));
+        Instant now = clock.instant();
+        return bestPerExchange.values().stream()
+                .map(listing -> toRecord(context, listing, now))
+                .toList();
+    }
+
+    private boolean trusted(Listing listing) {
+        boolean complete = level(listing.risk()) != null
+                || (level(listing.liquidity()) != null && level(listing.tradingVolume()) != null && level(listing.tradingFees()) != null);
+        if (!complete) {
+            return false;
+        }
+        if (listing.verifiedAt() == null) {
+            return true;
+        }
+        Instant verified = listing.verifiedAt().atStartOfDay(ZoneOffset.UTC).toInstant();
+        return verified.plus(config.getMaxAge()).isAfter(clock.instant());
+    }
+
+    private static ExchangeAssessmentRecord toRecord(ExchangeSelectorContext context, Listing listing, Instant now) {
+        return ExchangeAssessmentRecord.builder()
+                .contextType(CONTEXT_TYPE)
+                .contextDescription(context.toString())
+                .exchange(listing.exchange())
+                .coinListing(listing.coin() + listing.stableCoin())
+                .overallRiskScore(riskScore(listing))
+                .liquidity(listing.liquidity())
+                .tradingVolume(listing.tradingVolume())
+                .tradingFees(listing.tradingFees())
+                .assessedAt(now)
+                .build();
+    }
+
+    /**
+     * The row's explicit risk, or LOW / MEDIUM / HIGH from its points: 0-1, 2-3, 4 and above.
+     */
+    static String riskScore(Listing listing) {
+        String explicit = level(listing.risk());
+        if (explicit != null) {
+            return explicit;
+        }
+        int points = riskPoints(listing);
+        return points <= 1 ? "LOW" : points <= 3 ? "MEDIUM" : "HIGH";
+    }
+
+    /**
+     * Two points for low liquidity, low volume or high fees, one for medium; an unknown level counts as the worst.
+     */
+    private static int riskPoints(Listing listing) {
+        String explicit = level(listing.risk());
+        if (explicit != null) {
+            return switch (explicit) {
+                case "LOW" -> 0;
+                case "MEDIUM" -> 2;
+                default -> 4;
+            };
+        }
+        return inversePoints(level(listing.liquidity()))
+                + inversePoints(level(listing.tradingVolume()))
+                + directPoints(level(listing.tradingFees()));
+    }
+
+    private static int inversePoints(String level) {
+        return level == null ? 2 : switch (level) {
+            case "HIGH" -> 0;
+            case "MEDIUM" -> 1;
+            default -> 2;
+        };
+    }
+
+    private static int directPoints(String level) {
+        return level == null ? 2 : switch (level) {
+            case "LOW" -> 0;
+            case "MEDIUM" -> 1;
+            default -> 2;
+        };
+    }
+
+    private static String level(String value) {
+        if (value == null) {
+            return null;
+        }
+        String upper = value.trim().toUpperCase(Locale.ROOT);
+        return switch (upper) {
+            case "LOW", "MEDIUM", "HIGH" -> upper;
+            default -> null;
+        };
+    }
+
+    private static Set<String> normalisedSet(String commaSeparated) {
+        return Arrays.stream(commaSeparated.split(","))
+                .map(ExchangeAssessmentKey::normalise)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    private static Counter tierCounter(MeterRegistry registry, String tier) {
+        return Counter.builder("coinsniper.assessment.tier")
+                .description("Exchange assessments by the tier that answered them")
+                .tag("tier", tier)
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.richieloco.coinsniper.service.risk;
+
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * An {@link AssessmentFunction} producing a list of assessments that can also hand them out one at a time, as each
+ * becomes available, instead of all at once when the last is done.
+ *
+ * @param <T> the type of input context
+ * @param <E> the type of a single assessment in the result
+ */
+@FunctionalInterface
+public interface StreamingAssessmentFunction<T, E> extends AssessmentFunction<T, List<E>> {
+
+    /**
+     * Assesses the context, emitting each assessment as soon as it is known.
+     * <p>
+     * Defaults to flattening {@link #assess}, which is only as early as the whole list.
+     *
+     * @param context the trading context input
+     * @return a Flux emitting the assessments in the order they are produced
+     */
+    default Flux<E> stream(T context) {
+        return assess(context).flatMapIterable(assessments -> assessments);
+    }
+
+    /**
+     * Whether {@link #stream} actually emits ahead of {@link #assess}; callers use it to pick the path.
+     */
+    default boolean isStreaming() {
+        return false;
+    }
+}
@@ -1,22 +1,21 @@
 package com.richieloco.coinsniper.service.risk.context;
 
+import com.richieloco.coinsniper.service.deadline.Deadline;
+import com.richieloco.coinsniper.service.deadline.LatencyBudget;
+import com.richieloco.coinsniper.service.llm.ChatTransport;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
 import com.richieloco.coinsniper.service.risk.AssessmentFunction;
-import org.springframework.ai.chat.messages.UserMessage;
-import org.springframework.ai.chat.model.ChatModel;
-import org.springframework.ai.chat.model.ChatResponse;
-import org.springframework.ai.chat.model.Generation;
-import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-
-import java.util.List;
 
 public abstract class BaseAssessor<T, R> implements AssessmentFunction<T, R> {
 
-    protected final ChatModel chatModel;
+    protected final ChatTransport chatTransport;
+    protected final PipelineMetrics pipelineMetrics;
 
-    protected BaseAssessor(ChatModel chatModel) {
-        this.chatModel = chatModel;
+    protected BaseAssessor(ChatTransport chatTransport, PipelineMetrics pipelineMetrics) {
+        this.chatTransport = chatTransport;
+        this.pipelineMetrics = pipelineMetrics;
     }
 
     protected abstract String generatePrompt(T context);
@@ -27,28 +26,55 @@ public abstract class BaseAssessor<T, R> implements AssessmentFunction<T, R> {
     }
 
     protected Mono<String> generateAssessment(T context) {
-        return Mono.fromCallable(() -> {
-                    String prompt = generatePrompt(context);
-                    ChatResponse chatResponse = chatModel.call(new Prompt(prompt)); // still blocking
-
-                    if (chatResponse == null
-                            || chatResponse.getResults().isEmpty()
-                            || chatResponse.getResults().getFirst().getOutput() == null
-                            || chatResponse.getResults().getFirst().getOutput().getText() == null
-                            || chatResponse.getResults().getFirst().getOutput().getText().trim().isEmpty()) {
-                        throw new NullPointerException("LLM generation contained no usable output");
-                    }
-
-                    return chatResponse.getResults().getFirst().getOutput().getText();
+        return Mono.defer(() -> complete(generatePrompt(context)));
+    }
+
+    /**
+     * Sends an already generated prompt, timed as the {@link PipelineMetrics#LLM_CALL} stage. Blank output is an error.
+     * The call is cancelled when the subscriber's {@link Deadline} passes, and never made once it has.
+     */
+    protected Mono<String> complete(String prompt) {
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    // recorded before the text moves on, so the LLM_CALL sample never includes parsing
+                    return Deadline.bound(chatTransport.call(prompt), LatencyBudget.ASSESSMENT)
+                            .doOnSuccess(text -> pipelineMetrics.record(PipelineMetrics.LLM_CALL, System.nanoTime() - start))
+                            .doOnError(error -> pipelineMetrics.record(PipelineMetrics.LLM_CALL, System.nanoTime() - start));
                 })
-                .subscribeOn(Schedulers.boundedElastic()); // move off Netty event loop
+                .filter(text -> !text.trim().isEmpty())
+                .switchIfEmpty(Mono.error(() -> new NullPointerException("LLM generation contained no usable output")));
+    }
+
+    /**
+     * Streams the model's output as text chunks in arrival order, timed as the {@link PipelineMetrics#LLM_CALL} stage
+     * from subscription until the stream ends. Like {@link #complete}, it is bounded by the subscriber's {@link Deadline}.
+     */
+    protected Flux<String> streamAssessment(T context) {
+        return Flux.defer(() -> {
+            String prompt = generatePrompt(context);
+            long start = System.nanoTime();
+            return Deadline.bound(chatTransport.stream(prompt), LatencyBudget.ASSESSMENT)
+                    .doFinally(signal -> pipelineMetrics.record(PipelineMetrics.LLM_CALL, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * {@link #parseAssessmentOutput}, timed as the {@link PipelineMetrics#PARSE} stage.
+     */
+    protected R parse(T context, String response) {
+        long start = System.nanoTime();
+        try {
+            return parseAssessmentOutput(context, response);
+        } finally {
+            pipelineMetrics.record(PipelineMetrics.PARSE, System.nanoTime() - start);
+        }
     }
 
     @Override
     public Mono<R> assess(T context) {
         return generateAssessment(context)
                 .map(response -> {
-                    R result = parseAssessmentOutput(context, response);
+                    R result = parse(context, response);
                     logAssessment(context, result);
                     return result;
                 });
@@ -0,0 +1,161 @@
+package com.richieloco.coinsniper.service.symbol;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Aho-Corasick automaton over a set of known tickers.
+ * <p>
+ * The automaton is compiled into a dense transition table over {@code [A-Z0-9]} so a title is
+ * scanned once, without backtracking, regardless of how many tickers are known. Only whole-word
+ * occurrences are reported, and the dictionary's own {@code String} instances are handed out.
+ */
+public final class KnownSymbolDictionary {
+
+    private static final int ALPHABET = 36;
+    private static final KnownSymbolDictionary EMPTY = new KnownSymbolDictionary(List.of());
+
+    private final int[][] transitions;
+    private final String[] outputs;
+    private final int[] outputLinks;
+    private final int size;
+
+    private KnownSymbolDictionary(Collection<String> symbols) {
+        List<int[]> trie = new ArrayList<>();
+        List<String> terminals = new ArrayList<>();
+        trie.add(newState());
+        terminals.add(null);
+
+        int count = 0;
+        for (String raw : symbols) {
+            if (raw == null) {
+                continue;
+            }
+            String symbol = raw.trim().toUpperCase(Locale.ROOT);
+            if (!SymbolExtractor.isValidSymbol(symbol)) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < symbol.length(); i++) {
+                int index = indexOf(symbol.charAt(i));
+                if (trie.get(state)[index] < 0) {
+                    trie.get(state)[index] = trie.size();
+                    trie.add(newState());
+                    terminals.add(null);
+                }
+                state = trie.get(state)[index];
+            }
+            if (terminals.get(state) == null) {
+                terminals.set(state, symbol);
+                count++;
+            }
+        }
+
+        this.transitions = trie.toArray(new int[0][]);
+        this.outputs = terminals.toArray(new String[0]);
+        this.outputLinks = new int[transitions.length];
+        this.size = count;
+        compile();
+    }
+
+    public static KnownSymbolDictionary of(Collection<String> symbols) {
+        return symbols == null || symbols.isEmpty() ? EMPTY : new KnownSymbolDictionary(symbols);
+    }
+
+    public static KnownSymbolDictionary empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Reports every known ticker that appears in {@code text} as a whole word, in order of where it ends.
+     */
+    public void forEachMatch(CharSequence text, Consumer<String> consumer) {
+        if (size == 0) {
+            return;
+        }
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            int index = indexOf(text.charAt(i));
+            if (index < 0) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state][index];
+            int match = outputs[state] != null ? state : outputLinks[state];
+            if (match == 0 || isWordChar(text, i + 1)) {
+                continue;
+            }
+            for (; match != 0; match = outputLinks[match]) {
+                String symbol = outputs[match];
+                if (!isWordChar(text, i - symbol.length())) {
+                    consumer.accept(symbol);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves failure links breadth-first and folds them into the transition table, turning the trie into a DFA.
+     */
+    private void compile() {
+        int[] failure = new int[transitions.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = transitions[0][c];
+            if (child < 0) {
+                transitions[0][c] = 0;
+            } else {
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fallback = failure[state];
+            outputLinks[state] = outputs[fallback] != null ? fallback : outputLinks[fallback];
+            for (int c = 0; c < ALPHABET; c++) {
+                int child = transitions[state][c];
+                if (child < 0) {
+                    transitions[state][c] = transitions[fallback][c];
+                } else {
+                    failure[child] = transitions[fallback][c];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static int indexOf(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= '0' && c <= '9') {
+            return 26 + (c - '0');
+        }
+        return -1;
+    }
+
+    private static boolean isWordChar(CharSequence text, int index) {
+        return index >= 0 && index < text.length() && TokenizingSymbolExtractor.isWordChar(text.charAt(index));
+    }
+}
@@ -0,0 +1,45 @@
+package com.richieloco.coinsniper.service.symbol;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Regex based extractor using precompiled patterns. Kept as the reference implementation
+ * for {@link TokenizingSymbolExtractor}, which must produce identical results.
+ */
+public class RegexSymbolExtractor implements SymbolExtractor {
+
+    private static final Pattern PARENTHESISED = Pattern.compile("\\(([A-Z0-9]{2,10})\\)");
+    private static final Pattern STRUCTURED = Pattern.compile(
+            "(?i)binance (will|has) (list|add|delist|support|complete|launch|introduce)\\s+(.*?)\\b([A-Z0-9]{2,10})\\b");
+
+    @Override
+    public List<String> extract(String title) {
+        Set<String> symbols = new LinkedHashSet<>();
+
+        Matcher parens = PARENTHESISED.matcher(title);
+        while (parens.find()) {
+            String symbol = parens.group(1);
+            if (SymbolExtractor.isValidSymbol(symbol)) {
+                symbols.add(symbol);
+            }
+        }
+
+        Matcher structured = STRUCTURED.matcher(title);
+        while (structured.find()) {
+            String candidate = structured.group(4);
+            if (SymbolExtractor.isValidSymbol(candidate)) {
+                symbols.add(candidate);
+            }
+        }
+
+        if (symbols.isEmpty()) {
+            symbols.add(UNKNOWN_COIN);
+        }
+        return new ArrayList<>(symbols);
+    }
+}
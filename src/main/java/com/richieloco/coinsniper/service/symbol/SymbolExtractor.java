@@ -0,0 +1,34 @@
+package com.richieloco.coinsniper.service.symbol;
+
+import java.util.List;
+
+/**
+ * Extracts coin symbols from a Binance announcement title.
+ */
+@FunctionalInterface
+public interface SymbolExtractor {
+
+    String UNKNOWN_COIN = "UNKNOWN";
+
+    /**
+     * Extracts the coin symbols mentioned in an announcement title.
+     *
+     * @param title the announcement title
+     * @return the distinct symbols in order of appearance, or a single {@link #UNKNOWN_COIN} when none were found
+     */
+    List<String> extract(String title);
+
+    static boolean isValidSymbol(String symbol) {
+        int length = symbol.length();
+        if (length < 2 || length > 10) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = symbol.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) {
+                return false;
+            }
+        }
+        return !symbol.equals("USD") && !symbol.equals("USDT") && !symbol.equals("BNB");
+    }
+}
@@ -0,0 +1,169 @@
+package com.richieloco.coinsniper.service.symbol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass symbol extractor.
+ * <p>
+ * Recognises the same two shapes as {@link RegexSymbolExtractor} with a hand-written scanner:
+ * a parenthesised ticker such as {@code (FORM)} and the first word following
+ * {@code "Binance will|has list|add|delist|support|complete|launch|introduce"}. When a
+ * {@link KnownSymbolDictionary} is configured, whole-word occurrences of known tickers anywhere in
+ * the title are appended as well, which picks up comma separated lists such as delisting notices.
+ * <p>
+ * Without a dictionary the output is identical to {@link RegexSymbolExtractor}.
+ */
+public class TokenizingSymbolExtractor implements SymbolExtractor {
+
+    private static final String BINANCE = "binance ";
+    private static final String[] AUXILIARIES = {"will ", "has "};
+    private static final String[] VERBS = {"list", "add", "delist", "support", "complete", "launch", "introduce"};
+    private static final long NO_MATCH = -1L;
+
+    private final KnownSymbolDictionary dictionary;
+
+    public TokenizingSymbolExtractor() {
+        this(KnownSymbolDictionary.empty());
+    }
+
+    public TokenizingSymbolExtractor(KnownSymbolDictionary dictionary) {
+        this.dictionary = dictionary != null ? dictionary : KnownSymbolDictionary.empty();
+    }
+
+    @Override
+    public List<String> extract(String title) {
+        List<String> symbols = new ArrayList<>(4);
+        if (title != null) {
+            List<String> structured = null;
+            int length = title.length();
+            int structuredFrom = 0;
+            for (int i = 0; i < length; i++) {
+                char c = title.charAt(i);
+                if (c == '(') {
+                    int end = closingParenthesis(title, i + 1);
+                    if (end > 0) {
+                        addIfValid(symbols, title.substring(i + 1, end));
+                    }
+                } else if (i >= structuredFrom && (c == 'b' || c == 'B')
+                        && title.regionMatches(true, i, BINANCE, 0, BINANCE.length())) {
+                    long match = structuredCandidate(title, i + BINANCE.length());
+                    if (match != NO_MATCH) {
+                        int start = (int) (match >>> 32);
+                        int end = (int) match;
+                        if (structured == null) {
+                            structured = new ArrayList<>(2);
+                        }
+                        structured.add(title.substring(start, end));
+                        // Matching resumes after the candidate, as Matcher.find() would
+                        structuredFrom = end;
+                    }
+                }
+            }
+            if (structured != null) {
+                structured.forEach(candidate -> addIfValid(symbols, candidate));
+            }
+            dictionary.forEachMatch(title, symbol -> addIfValid(symbols, symbol));
+        }
+        if (symbols.isEmpty()) {
+            symbols.add(UNKNOWN_COIN);
+        }
+        return symbols;
+    }
+
+    /**
+     * Returns the index of the {@code ')'} closing a 2-10 character {@code [A-Z0-9]} run starting at {@code from}, or -1.
+     */
+    private static int closingParenthesis(String title, int from) {
+        int length = title.length();
+        int i = from;
+        while (i < length && i - from <= 10 && isUpperAlphanumeric(title.charAt(i))) {
+            i++;
+        }
+        int runLength = i - from;
+        return i < length && title.charAt(i) == ')' && runLength >= 2 && runLength <= 10 ? i : -1;
+    }
+
+    /**
+     * Matches {@code "(will|has) (verb)\s+"} at {@code from} and returns the bounds of the first
+     * whole 2-10 character alphanumeric word on the same line, packed as {@code start << 32 | end}.
+     */
+    private static long structuredCandidate(String title, int from) {
+        int i = matchAny(title, from, AUXILIARIES);
+        if (i < 0) {
+            return NO_MATCH;
+        }
+        int verbEnd = -1;
+        for (String verb : VERBS) {
+            int end = i + verb.length();
+            if (title.regionMatches(true, i, verb, 0, verb.length()) && end < title.length() && isWhitespace(title.charAt(end))) {
+                verbEnd = end;
+                break;
+            }
+        }
+        if (verbEnd < 0) {
+            return NO_MATCH;
+        }
+
+        int length = title.length();
+        i = verbEnd;
+        while (i < length && isWhitespace(title.charAt(i))) {
+            i++;
+        }
+        while (i < length) {
+            char c = title.charAt(i);
+            if (isLineTerminator(c)) {
+                return NO_MATCH;
+            }
+            if (!isWordChar(c)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean alphanumeric = true;
+            while (i < length && isWordChar(title.charAt(i))) {
+                alphanumeric &= title.charAt(i) != '_';
+                i++;
+            }
+            int wordLength = i - start;
+            if (alphanumeric && wordLength >= 2 && wordLength <= 10) {
+                return ((long) start << 32) | i;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private static int matchAny(String title, int from, String[] words) {
+        for (String word : words) {
+            if (title.regionMatches(true, from, word, 0, word.length())) {
+                return from + word.length();
+            }
+        }
+        return -1;
+    }
+
+    private static void addIfValid(List<String> symbols, String candidate) {
+        if (SymbolExtractor.isValidSymbol(candidate) && !symbols.contains(candidate)) {
+            symbols.add(candidate);
+        }
+    }
+
+    private static boolean isUpperAlphanumeric(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * ASCII word character, matching {@code \w} and {@code \b} in {@link java.util.regex.Pattern}.
+     */
+    static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
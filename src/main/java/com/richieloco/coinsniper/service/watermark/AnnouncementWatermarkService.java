@@ -0,0 +1,135 @@
+package com.richieloco.coinsniper.service.watermark;
+
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.model.CatalogArticle;
+import com.richieloco.coinsniper.repository.AnnouncementWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persisted per-catalog high-water mark of processed Binance articles.
+ * <p>
+ * Binance returns each catalog newest first, so once a poll reaches an article at or below the mark
+ * the rest of that catalog has already been processed and can be dropped before symbol extraction.
+ * The mark only moves forward after a poll completes without error, so a failed poll is retried in full.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnnouncementWatermarkService {
+
+    private final AnnouncementWatermarkRepository repository;
+    private final CoinSniperConfig config;
+
+    private final Map<String, Watermark> committed = new ConcurrentHashMap<>();
+    private final Set<String> loadedCatalogs = ConcurrentHashMap.newKeySet();
+
+    public Mono<Poll> beginPoll(Set<String> catalogs) {
+        if (!isEnabled()) {
+            return Mono.just(new Poll(catalogs, false));
+        }
+        Set<String> missing = new HashSet<>(catalogs);
+        missing.removeAll(loadedCatalogs);
+        if (missing.isEmpty()) {
+            return Mono.just(new Poll(catalogs, true));
+        }
+        return repository.findByCatalogNameIn(missing)
+                .doOnNext(record -> committed.merge(record.getCatalogName(),
+                        new Watermark(record.getReleaseDate(), record.getArticleId()), AnnouncementWatermarkService::newer))
+                .then(Mono.fromSupplier(() -> {
+                    loadedCatalogs.addAll(missing);
+                    return new Poll(catalogs, true);
+                }));
+    }
+
+    public Watermark current(String catalogName) {
+        return committed.get(catalogName);
+    }
+
+    private boolean isEnabled() {
+        CoinSniperConfig.Api api = config.getApi();
+        return api != null && api.getBinance() != null && api.getBinance().getAnnouncement() != null
+                && api.getBinance().getAnnouncement().isWatermark();
+    }
+
+    private Mono<Void> advance(String catalogName, Watermark mark) {
+        if (!mark.isAfter(committed.get(catalogName))) {
+            return Mono.empty();
+        }
+        return repository.upsert(UUID.randomUUID(), catalogName, mark.releaseDate(), mark.articleId(), Instant.now())
+                .then(Mono.fromRunnable(() -> {
+                    committed.merge(catalogName, mark, AnnouncementWatermarkService::newer);
+                    log.debug("Advanced '{}' watermark to {}", catalogName, mark);
+                }));
+    }
+
+    private static Watermark newer(Watermark a, Watermark b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /**
+     * Single poll's view of the watermarks. {@link #admit} must be called serially, in response order.
+     */
+    public final class Poll {
+
+        private final Set<String> catalogs;
+        private final boolean tracking;
+        private final Map<String, Watermark> baseline;
+        private final Map<String, Watermark> newest = new HashMap<>();
+        private final Set<String> exhausted = new HashSet<>();
+
+        private Poll(Set<String> catalogs, boolean tracking) {
+            this.catalogs = catalogs;
+            this.tracking = tracking;
+            this.baseline = tracking ? Map.copyOf(committed) : Map.of();
+        }
+
+        /**
+         * @return true if the article is newer than the catalog's mark and still needs processing
+         */
+        public boolean admit(CatalogArticle entry) {
+            if (!tracking) {
+                return true;
+            }
+            String catalogName = entry.catalogName();
+            if (exhausted.contains(catalogName)) {
+                return false;
+            }
+            Watermark mark = Watermark.of(entry.article());
+            if (!mark.isAfter(baseline.get(catalogName))) {
+                exhausted.add(catalogName);
+                log.debug("Reached '{}' watermark at article {}", catalogName, mark);
+                return false;
+            }
+            newest.merge(catalogName, mark, AnnouncementWatermarkService::newer);
+            return true;
+        }
+
+        /**
+         * @return true once every catalog has reached its mark, so the rest of the response can be ignored
+         */
+        public boolean isExhausted() {
+            return tracking && exhausted.containsAll(catalogs);
+        }
+
+        public Mono<Void> commit() {
+            if (!tracking || newest.isEmpty()) {
+                return Mono.empty();
+            }
+            return Flux.fromIterable(newest.entrySet())
+                    .concatMap(entry -> advance(entry.getKey(), entry.getValue()))
+                    .then();
+        }
+    }
+}
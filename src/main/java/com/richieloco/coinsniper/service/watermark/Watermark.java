@@ -0,0 +1,23 @@
+package com.richieloco.coinsniper.service.watermark;
+
+import com.richieloco.coinsniper.model.BinanceArticle;
+
+/**
+ * Position of an article in a catalog: newest release first, article id breaking ties.
+ */
+public record Watermark(long releaseDate, long articleId) implements Comparable<Watermark> {
+
+    public static Watermark of(BinanceArticle article) {
+        return new Watermark(article.getReleaseDate(), article.getId());
+    }
+
+    public boolean isAfter(Watermark other) {
+        return other == null || compareTo(other) > 0;
+    }
+
+    @Override
+    public int compareTo(Watermark other) {
+        int byRelease = Long.compare(releaseDate, other.releaseDate);
+        return byRelease != 0 ? byRelease : Long.compare(articleId, other.articleId);
+    }
+}
@@ -16,6 +16,7 @@ CREATE TABLE trade_decisions (
     exchange VARCHAR(255) NOT NULL,
     risk_score DOUBLE PRECISION,
     trade_executed BOOLEAN,
+    expired BOOLEAN DEFAULT FALSE,
     decided_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     ts_minute VARCHAR(16) NOT NULL
 );
@@ -48,3 +49,32 @@ CREATE TABLE exchange_assessments (
   trading_fees VARCHAR(255),
   assessed_at TIMESTAMP
 );
+
+DROP TABLE IF EXISTS announcement_watermarks;
+
+CREATE TABLE announcement_watermarks (
+  id UUID PRIMARY KEY,
+  catalog_name VARCHAR(255) NOT NULL,
+  release_date BIGINT NOT NULL,
+  article_id BIGINT NOT NULL,
+  updated_at TIMESTAMP
+);
+
+-- One high-water mark per Binance catalog
+CREATE UNIQUE INDEX uq_announcement_watermarks_catalog
+  ON announcement_watermarks (catalog_name);
+
+DROP TABLE IF EXISTS assessment_dead_letters;
+
+-- Announcements whose evaluation kept failing after every retry
+CREATE TABLE assessment_dead_letters (
+  id UUID PRIMARY KEY,
+  announcement_id UUID,
+  coin_symbol VARCHAR(255) NOT NULL,
+  title VARCHAR(255),
+  announced_at TIMESTAMP,
+  attempts INT,
+  last_error VARCHAR(1000),
+  first_failed_at TIMESTAMP,
+  dead_lettered_at TIMESTAMP
+);
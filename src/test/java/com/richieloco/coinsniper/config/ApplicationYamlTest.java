@@ -0,0 +1,102 @@
+package com.richieloco.coinsniper.config;
+
+import com.richieloco.coinsniper.service.admission.LlmAdmissionController;
+import com.richieloco.coinsniper.service.exchange.ExchangeOrderService;
+import com.richieloco.coinsniper.service.execution.BlockingExecutor;
+import com.richieloco.coinsniper.service.llm.ChatTransport;
+import com.richieloco.coinsniper.service.llm.HedgingChatTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Binds the shipped application.yaml, and nothing else: no system properties or environment variables, so a
+ * placeholder the yaml cannot resolve on its own fails here the way it would on a host without that variable.
+ */
+class ApplicationYamlTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner(ApplicationYamlTest::context)
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class));
+
+    @Test
+    void onExchange_bindsUnderApi() {
+        runner.withUserConfiguration(CoinSniperConfig.class)
+                .run(context -> {
+                    CoinSniperConfig config = context.getBean(CoinSniperConfig.class);
+                    assertThat(config.getApi().getBinance().getAnnouncement().getBaseUrl()).isNotBlank();
+                    assertThat(config.getApi().getOnExchange()).containsOnlyKeys("poloniex", "bybit");
+                    assertThat(config.getApi().getOnExchange().get("poloniex").getTrade().getApiKey()).isEqualTo("123");
+                });
+    }
+
+    @Test
+    void enabledExchangeTrading_hasAClientForEveryExchangeWithATradeBaseUrl() {
+        runner.withUserConfiguration(CoinSniperConfig.class, ExchangeTradingConfig.class)
+                .withBean(SimpleMeterRegistry.class)
+                .withBean(ExchangeOrderService.class)
+                .withPropertyValues(
+                        "coin-sniper.exchange-trading.enabled=true",
+                        "coin-sniper.api.on-exchange.poloniex.trade.base-url=http://localhost:1")
+                .run(context -> {
+                    ExchangeOrderService orders = context.getBean(ExchangeOrderService.class);
+                    assertThat(orders.canTrade("Poloniex")).isTrue();
+                    assertThat(orders.canTrade("Bybit")).isFalse(); // base-url left blank
+                });
+    }
+
+    @Test
+    void chatTransport_startsWithOnlyThePrimaryKey_whileHedgingIsOff() {
+        llmRunner()
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context.getBean(ChatTransport.class)).isNotInstanceOf(HedgingChatTransport.class);
+                });
+    }
+
+    @Test
+    void chatTransport_needsTheSecondaryKey_onceHedgingIsOn() {
+        llmRunner()
+                .withPropertyValues("coin-sniper.llm-hedging.enabled=true")
+                .run(context -> assertThat(context).hasFailed());
+        llmRunner()
+                .withPropertyValues("coin-sniper.llm-hedging.enabled=true", "GROQAI_KEY=secondary-key")
+                .run(context -> assertThat(context.getBean(ChatTransport.class)).isInstanceOf(HedgingChatTransport.class));
+    }
+
+    private ApplicationContextRunner llmRunner() {
+        return runner.withUserConfiguration(AiModelConfig.class, LlmTransportConfig.class, LlmHedgingConfig.class,
+                        LlmAdmissionConfig.class, BlockingExecutionConfig.class, BlockingExecutor.class, LlmAdmissionController.class)
+                .withBean(SimpleMeterRegistry.class)
+                .withPropertyValues("OPENAI_KEY=primary-key");
+    }
+
+    private static AnnotationConfigApplicationContext context() {
+        StandardEnvironment environment = new StandardEnvironment() {
+            @Override
+            protected void customizePropertySources(MutablePropertySources propertySources) {
+                // application.yaml only
+            }
+        };
+        try {
+            new YamlPropertySourceLoader().load("application.yaml", new ClassPathResource("application.yaml"))
+                    .forEach(environment.getPropertySources()::addLast);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.setEnvironment(environment);
+        return context;
+    }
+}
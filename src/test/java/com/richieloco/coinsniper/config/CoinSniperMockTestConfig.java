@@ -7,6 +7,7 @@ import com.richieloco.coinsniper.service.AnnouncementCallingService;
 import com.richieloco.coinsniper.service.AnnouncementPollingScheduler;
 import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
 import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -116,7 +117,7 @@ public class CoinSniperMockTestConfig {
             AnnouncementPollingConfig config,
             CoinSniperConfig coinSniperConfig
     ) {
-        return new AnnouncementPollingScheduler(service, config, coinSniperConfig);
+        return new AnnouncementPollingScheduler(service, config, coinSniperConfig, new SimpleMeterRegistry(), null);
     }
 
     @TestConfiguration
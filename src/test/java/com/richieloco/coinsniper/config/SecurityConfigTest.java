@@ -0,0 +1,29 @@
+package com.richieloco.coinsniper.config;
+
+import com.richieloco.coinsniper.controller.LoginController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@WebFluxTest(LoginController.class)
+@Import(SecurityConfig.class)
+class SecurityConfigTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void actuatorEndpoints_requireAuthentication() {
+        webTestClient.get().uri("/actuator/metrics").exchange().expectStatus().isUnauthorized();
+        webTestClient.get().uri("/actuator/prometheus").exchange().expectStatus().isUnauthorized();
+        webTestClient.get().uri("/actuator/configprops").exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void healthAndLogin_stayOpen() {
+        webTestClient.get().uri("/actuator/health").exchange().expectStatus().isNotFound(); // permitted, no actuator in this slice
+        webTestClient.get().uri("/login").exchange().expectStatus().isOk();
+    }
+}
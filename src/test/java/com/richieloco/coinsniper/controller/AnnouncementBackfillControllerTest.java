@@ -0,0 +1,51 @@
+package com.richieloco.coinsniper.controller;
+
+import com.richieloco.coinsniper.config.AnnouncementBackfillConfig;
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.dto.BackfillResult;
+import com.richieloco.coinsniper.service.AnnouncementBackfillService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class AnnouncementBackfillControllerTest {
+
+    private final AnnouncementBackfillService service = mock(AnnouncementBackfillService.class);
+    private final AnnouncementBackfillConfig backfillConfig = new AnnouncementBackfillConfig();
+    private WebTestClient client;
+
+    @BeforeEach
+    public void setUp() {
+        backfillConfig.setMaxPages(100);
+        backfillConfig.setPageSize(50);
+        backfillConfig.setMaxPageSize(50);
+        when(service.backfill(anyInt(), any(), anyInt(), anyInt(), anyInt())).thenReturn(Mono.just(BackfillResult.builder().build()));
+        client = WebTestClient.bindToController(
+                new AnnouncementBackfillController(service, backfillConfig, mock(CoinSniperConfig.class))).build();
+    }
+
+    @Test
+    public void backfill_capsMaxPagesAndPageSizeAtTheConfiguredLimits() {
+        post("/api/announcements/backfill?since=2024-01-01T00:00:00Z&type=48&maxPages=100000&pageSize=5000")
+                .expectStatus().isOk();
+
+        verify(service).backfill(eq(48), any(), eq(1), eq(100), eq(50));
+    }
+
+    @Test
+    public void backfill_rejectsPagingBelowOne() {
+        post("/api/announcements/backfill?since=2024-01-01T00:00:00Z&type=48&maxPages=0").expectStatus().isBadRequest();
+        post("/api/announcements/backfill?since=2024-01-01T00:00:00Z&type=48&pageSize=-1").expectStatus().isBadRequest();
+        post("/api/announcements/backfill?since=2024-01-01T00:00:00Z&type=48&fromPage=0").expectStatus().isBadRequest();
+
+        verifyNoInteractions(service);
+    }
+
+    private WebTestClient.ResponseSpec post(String uri) {
+        return client.post().uri(uri).exchange();
+    }
+}
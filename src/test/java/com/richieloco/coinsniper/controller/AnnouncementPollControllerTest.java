@@ -5,6 +5,7 @@ import com.richieloco.coinsniper.config.CoinSniperConfig;
 import com.richieloco.coinsniper.config.NoSecurityTestConfig;
 import com.richieloco.coinsniper.service.AnnouncementCallingService;
 import com.richieloco.coinsniper.service.AnnouncementPollingScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
@@ -147,7 +148,7 @@ class AnnouncementPollControllerTest {
         public TestableScheduler(AnnouncementCallingService service,
                                  AnnouncementPollingConfig config,
                                  CoinSniperConfig coinSniperConfig) {
-            super(service, config, coinSniperConfig);
+            super(service, config, coinSniperConfig, new SimpleMeterRegistry(), null);
         }
 
 
@@ -178,7 +178,7 @@ public class AnnouncementPollingIT {
 
         @Bean
         public TradeExecutionService tradeExecutionService() {
-            return new TradeExecutionService(null, null, null) {
+            return new TradeExecutionService(null, null, null, null, null, null) {
                 @Override
                 public Flux<TradeDecisionRecord> evaluateAndTrade(CoinAnnouncementRecord announcement) {
                     return Flux.just(
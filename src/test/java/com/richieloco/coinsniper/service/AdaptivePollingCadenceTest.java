@@ -0,0 +1,142 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AnnouncementPollingConfig;
+import com.richieloco.coinsniper.dto.AnnouncementHourCount;
+import com.richieloco.coinsniper.repository.CoinAnnouncementRepository;
+import com.richieloco.coinsniper.service.cadence.AdaptivePollingCadence;
+import com.richieloco.coinsniper.service.cadence.AdaptivePollingCadence.Mode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class AdaptivePollingCadenceTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-01T03:00:00Z"));
+    private final CoinAnnouncementRepository repository = mock(CoinAnnouncementRepository.class);
+    private AnnouncementPollingConfig config;
+    private AdaptivePollingCadence cadence;
+
+    @BeforeEach
+    void setUp() {
+        config = new AnnouncementPollingConfig();
+        config.getAdaptive().setEnabled(true);
+        config.getAdaptive().setBurstInterval(Duration.ofSeconds(1));
+        config.getAdaptive().setBurstWindow(Duration.ofMinutes(5));
+        config.getAdaptive().setBusyInterval(Duration.ofSeconds(10));
+        config.getAdaptive().setMaxInterval(Duration.ofSeconds(60));
+        config.getAdaptive().setQuietBackoffFactor(2.0);
+        config.getAdaptive().setRequestsPerHour(0);
+        cadence = new AdaptivePollingCadence(config, repository, clock);
+    }
+
+    @Test
+    void activity_switchesToBurstUntilWindowExpires() {
+        cadence.recordPoll(1);
+
+        assertThat(cadence.nextDelay()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(cadence.lastMode()).isEqualTo(Mode.BURST);
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(cadence.nextDelay()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(cadence.lastMode()).isEqualTo(Mode.QUIET);
+    }
+
+    @Test
+    void emptyPolls_backOffUpToMaxInterval() {
+        cadence.recordPoll(0);
+        assertThat(cadence.nextDelay()).isEqualTo(Duration.ofSeconds(20));
+        cadence.recordPoll(0);
+        assertThat(cadence.nextDelay()).isEqualTo(Duration.ofSeconds(40));
+        cadence.recordPoll(0);
+        assertThat(cadence.nextDelay()).isEqualTo(Duration.ofSeconds(60));
+
+        cadence.recordPoll(2);
+        assertThat(cadence.nextDelay()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void learnedBusyHour_usesBusyIntervalInsteadOfQuietBackoff() {
+        config.getAdaptive().setBusyHourFactor(3.0);
+        when(repository.countByUtcHour()).thenReturn(Flux.just(
+                new AnnouncementHourCount(3, 10),
+                new AnnouncementHourCount(15, 1)));
+
+        StepVerifier.create(cadence.refreshBusyHoursIfStale()).verifyComplete();
+        assertThat(cadence.isBusyHour(3)).isTrue();
+        assertThat(cadence.isBusyHour(15)).isFalse();
+
+        cadence.recordPoll(0);
+        cadence.recordPoll(0);
+        assertThat(cadence.nextDelay()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(cadence.lastMode()).isEqualTo(Mode.BUSY);
+
+        clock.advance(Duration.ofHours(1));
+        assertThat(cadence.nextDelay()).isEqualTo(Duration.ofSeconds(40));
+        assertThat(cadence.lastMode()).isEqualTo(Mode.QUIET);
+
+        // Histogram is cached until busy-hours-refresh elapses
+        StepVerifier.create(cadence.refreshBusyHoursIfStale()).verifyComplete();
+        verify(repository, times(1)).countByUtcHour();
+    }
+
+    @Test
+    void requestBudget_stretchesBurstOnceBucketIsEmpty() {
+        config.getAdaptive().setRequestsPerHour(3600); // one request per second on average
+        config.getAdaptive().setBurstInterval(Duration.ofMillis(500));
+        config.getAdaptive().setMinInterval(Duration.ofMillis(500));
+        cadence.recordPoll(1);
+
+        // The full hourly bucket absorbs the burst for a while (it drains at half a token per poll)...
+        int burstPolls = 0;
+        Duration delay;
+        while ((delay = cadence.nextDelay()).equals(Duration.ofMillis(500))) {
+            burstPolls++;
+            clock.advance(delay);
+            cadence.recordPoll(1);
+        }
+        assertThat(burstPolls).isBetween(7000, 7200);
+
+        // ...then polls are held to the sustained rate
+        clock.advance(delay);
+        assertThat(cadence.nextDelay()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(cadence.lastMode()).isEqualTo(Mode.BURST);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
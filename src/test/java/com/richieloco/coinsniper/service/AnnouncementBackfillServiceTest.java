@@ -0,0 +1,168 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AnnouncementBackfillConfig;
+import com.richieloco.coinsniper.config.AnnouncementDedupConfig;
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.config.TradeEvaluationConfig;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.repository.AnnouncementWatermarkRepository;
+import com.richieloco.coinsniper.repository.CoinAnnouncementRepository;
+import com.richieloco.coinsniper.repository.ErrorResponseRepository;
+import com.richieloco.coinsniper.service.dedup.AnnouncementDedupIndex;
+import com.richieloco.coinsniper.service.evaluation.TradeEvaluationQueue;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import com.richieloco.coinsniper.service.symbol.TokenizingSymbolExtractor;
+import com.richieloco.coinsniper.service.watermark.AnnouncementWatermarkService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AnnouncementBackfillServiceTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final Instant NEWEST = Instant.parse("2025-03-01T00:00:00Z");
+
+    private final Map<Integer, AtomicInteger> requestsPerPage = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Map<Integer, Boolean> failFirstRequest = new ConcurrentHashMap<>();
+
+    private DisposableServer server;
+    private CoinAnnouncementRepository repository;
+    private TradeExecutionService tradeExecutionService;
+    private AnnouncementBackfillConfig backfillConfig;
+    private AnnouncementBackfillService backfillService;
+
+    @BeforeEach
+    public void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> {
+                    int pageNo = Integer.parseInt(new QueryStringDecoder(request.uri()).parameters().get("pageNo").get(0));
+                    int attempt = requestsPerPage.computeIfAbsent(pageNo, p -> new AtomicInteger()).incrementAndGet();
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    if (attempt == 1 && failFirstRequest.containsKey(pageNo)) {
+                        inFlight.decrementAndGet();
+                        return response.status(HttpResponseStatus.TOO_MANY_REQUESTS).sendString(Mono.just("slow down"));
+                    }
+                    return Mono.delay(Duration.ofMillis(50))
+                            .then(response.header("Content-Type", "application/json")
+                                    .sendString(Mono.just(page(pageNo)))
+                                    .then())
+                            .doFinally(signal -> inFlight.decrementAndGet());
+                })
+                .bindNow();
+
+        repository = mock(CoinAnnouncementRepository.class);
+        tradeExecutionService = mock(TradeExecutionService.class);
+        when(repository.findByCoinSymbolAndAnnouncedAt(any(), any())).thenReturn(Mono.empty());
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            Iterable<CoinAnnouncementRecord> batch = invocation.getArgument(0);
+            return Flux.fromIterable(batch);
+        });
+
+        CoinSniperConfig.Api.Binance.Announcement announcement = new CoinSniperConfig.Api.Binance.Announcement();
+        announcement.setStreamingDecode(true);
+        CoinSniperConfig.Api.Binance binance = new CoinSniperConfig.Api.Binance();
+        binance.setAnnouncement(announcement);
+        CoinSniperConfig.Api api = new CoinSniperConfig.Api();
+        api.setBinance(binance);
+        CoinSniperConfig config = new CoinSniperConfig();
+        config.setApi(api);
+
+        AnnouncementDedupIndex dedupIndex = new AnnouncementDedupIndex(repository, new AnnouncementDedupConfig(), new SimpleMeterRegistry());
+        AnnouncementCallingService callingService = new AnnouncementCallingService(config, repository, mock(ErrorResponseRepository.class),
+                new TradeEvaluationQueue(tradeExecutionService, new TradeEvaluationConfig(), new SimpleMeterRegistry(),
+                        TestCollaborators.unboundedBudget(), TestCollaborators.noRetries()), WebClient.create("http://localhost:" + server.port() + "/query"), new BinanceAnnouncementDecoder(TestCollaborators.pipelineMetrics()),
+                new TokenizingSymbolExtractor(), dedupIndex, new AnnouncementWatermarkService(mock(AnnouncementWatermarkRepository.class), config),
+                TestCollaborators.pipelineMetrics());
+
+        backfillConfig = new AnnouncementBackfillConfig();
+        backfillConfig.setConcurrency(3);
+        backfillConfig.setBatchSize(16);
+        backfillConfig.setRetryBackoffMillis(10);
+        backfillService = new AnnouncementBackfillService(callingService, repository, dedupIndex, backfillConfig);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    public void backfill_stopsAtDateBoundary_withBoundedParallelism() {
+        // Articles are one hour apart, newest first: index 35 is the oldest in range
+        Instant since = releaseDate(35);
+        when(repository.findByCoinSymbolAndAnnouncedAt("C0", releaseDate(0))).thenReturn(Mono.just(new CoinAnnouncementRecord()));
+
+        StepVerifier.create(backfillService.backfill(1, since, 1, 50, PAGE_SIZE))
+                .assertNext(result -> {
+                    assertThat(result.getPagesFetched()).isEqualTo(5);
+                    assertThat(result.getArticlesInRange()).isEqualTo(36);
+                    assertThat(result.getInserted()).isEqualTo(35);
+                    assertThat(result.getSkippedDuplicates()).isEqualTo(1);
+                })
+                .verifyComplete();
+
+        // Pages past the boundary are only those already in flight when it was reached
+        assertThat(requestsPerPage.keySet()).allMatch(page -> page <= 5 + backfillConfig.getConcurrency());
+        assertThat(maxInFlight.get()).isBetween(2, backfillConfig.getConcurrency());
+        verify(repository, times(3)).saveAll(anyIterable());
+        verifyNoInteractions(tradeExecutionService);
+    }
+
+    @Test
+    public void backfill_retriesRateLimitedPages() {
+        failFirstRequest.put(2, true);
+
+        StepVerifier.create(backfillService.backfill(1, releaseDate(14), 1, 50, PAGE_SIZE))
+                .assertNext(result -> assertThat(result.getInserted()).isEqualTo(15))
+                .verifyComplete();
+
+        assertThat(requestsPerPage.get(2).get()).isEqualTo(2);
+        verify(repository, never()).findByCoinSymbolAndAnnouncedAt(eq("C15"), any());
+    }
+
+    private static Instant releaseDate(int index) {
+        return NEWEST.minus(Duration.ofHours(index));
+    }
+
+    private static String page(int pageNo) {
+        List<String> articles = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            int index = (pageNo - 1) * PAGE_SIZE + i;
+            articles.add("""
+                    {"id":%d,"code":"c%d","title":"Binance Will List Coin %d (C%d)","type":1,"releaseDate":%d}"""
+                    .formatted(1000 + index, index, index, index, releaseDate(index).toEpochMilli()));
+        }
+        return """
+                {"code":"000000","data":{"catalogs":[
+                  {"catalogId":48,"catalogName":"New Cryptocurrency Listing","articles":[%s]},
+                  {"catalogId":49,"catalogName":"Latest Binance News","articles":[]}
+                ]},"success":true}""".formatted(String.join(",", articles));
+    }
+}
@@ -1,12 +1,25 @@
 package com.richieloco.coinsniper.service;
 
+import com.richieloco.coinsniper.config.AnnouncementDedupConfig;
 import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.config.TradeEvaluationConfig;
+import com.richieloco.coinsniper.entity.AnnouncementWatermarkRecord;
 import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
 import com.richieloco.coinsniper.entity.ErrorResponseRecord;
 import com.richieloco.coinsniper.entity.TradeDecisionRecord;
 import com.richieloco.coinsniper.ex.ExternalApiException;
+import com.richieloco.coinsniper.model.BinanceArticle;
+import com.richieloco.coinsniper.model.CatalogArticle;
+import com.richieloco.coinsniper.repository.AnnouncementWatermarkRepository;
 import com.richieloco.coinsniper.repository.CoinAnnouncementRepository;
 import com.richieloco.coinsniper.repository.ErrorResponseRepository;
+import com.richieloco.coinsniper.service.dedup.AnnouncementDedupIndex;
+import com.richieloco.coinsniper.service.evaluation.TradeEvaluationQueue;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import com.richieloco.coinsniper.service.symbol.TokenizingSymbolExtractor;
+import com.richieloco.coinsniper.service.watermark.AnnouncementWatermarkService;
+import com.richieloco.coinsniper.service.watermark.Watermark;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -16,6 +29,9 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -28,6 +44,7 @@ public class AnnouncementCallingServiceTest {
     protected TradeExecutionService tradeExecutionService;
     protected AnnouncementCallingService service;
     protected WebClient webClient;
+    protected AnnouncementWatermarkRepository watermarkRepository;
 
     @BeforeEach
     public void setUp() {
@@ -36,6 +53,7 @@ public class AnnouncementCallingServiceTest {
         config = mock(CoinSniperConfig.class);
         tradeExecutionService = mock(TradeExecutionService.class);
         webClient = mock(WebClient.class);
+        watermarkRepository = mock(AnnouncementWatermarkRepository.class);
     }
 
     @Test
@@ -60,7 +78,9 @@ public class AnnouncementCallingServiceTest {
         when(announcementRepository.save(any())).thenReturn(Mono.just(expectedRecord));
         when(tradeExecutionService.evaluateAndTrade(any())).thenReturn(Flux.just(mock(TradeDecisionRecord.class)));
 
-        service = new AnnouncementCallingService(config, announcementRepository, errorRepository, tradeExecutionService, webClient) {
+        service = new AnnouncementCallingService(config, announcementRepository, errorRepository, inlineEvaluation(), webClient, new BinanceAnnouncementDecoder(TestCollaborators.pipelineMetrics()), new TokenizingSymbolExtractor(),
+                new AnnouncementDedupIndex(announcementRepository, new AnnouncementDedupConfig(), new SimpleMeterRegistry()),
+                new AnnouncementWatermarkService(watermarkRepository, config), TestCollaborators.pipelineMetrics()) {
             public Flux<CoinAnnouncementRecord> callBinanceAnnouncements(int type, int pageNo, int pageSize) {
                 return Flux.just(expectedRecord).flatMap(announcementRepository::save);
             }
@@ -84,7 +104,9 @@ public class AnnouncementCallingServiceTest {
         when(config.getApi()).thenReturn(api);
         when(errorRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
-        service = new AnnouncementCallingService(config, announcementRepository, errorRepository, tradeExecutionService, webClient) {
+        service = new AnnouncementCallingService(config, announcementRepository, errorRepository, inlineEvaluation(), webClient, new BinanceAnnouncementDecoder(TestCollaborators.pipelineMetrics()), new TokenizingSymbolExtractor(),
+                new AnnouncementDedupIndex(announcementRepository, new AnnouncementDedupConfig(), new SimpleMeterRegistry()),
+                new AnnouncementWatermarkService(watermarkRepository, config), TestCollaborators.pipelineMetrics()) {
             public Flux<CoinAnnouncementRecord> callBinanceAnnouncements(int type, int pageNo, int pageSize) {
                 return Flux.<CoinAnnouncementRecord>error(new ExternalApiException("Simulated error", 500))
                         .onErrorResume(ExternalApiException.class, ex -> {
@@ -132,7 +154,9 @@ public class AnnouncementCallingServiceTest {
         when(announcementRepository.save(any())).thenReturn(Mono.just(savedRecord));
         when(tradeExecutionService.evaluateAndTrade(any())).thenReturn(Flux.just(mock(TradeDecisionRecord.class)));
 
-        service = new AnnouncementCallingService(config, announcementRepository, errorRepository, tradeExecutionService, webClient) {
+        service = new AnnouncementCallingService(config, announcementRepository, errorRepository, inlineEvaluation(), webClient, new BinanceAnnouncementDecoder(TestCollaborators.pipelineMetrics()), new TokenizingSymbolExtractor(),
+                new AnnouncementDedupIndex(announcementRepository, new AnnouncementDedupConfig(), new SimpleMeterRegistry()),
+                new AnnouncementWatermarkService(watermarkRepository, config), TestCollaborators.pipelineMetrics()) {
             @Override
             public Flux<CoinAnnouncementRecord> callBinanceAnnouncements(int type, int pageNo, int pageSize) {
                 return announcementRepository.save(savedRecord)
@@ -148,4 +172,144 @@ public class AnnouncementCallingServiceTest {
 
         verify(tradeExecutionService, atLeastOnce()).evaluateAndTrade(any(CoinAnnouncementRecord.class));
     }
+
+    @Test
+    public void testWatermark_steadyStatePollSkipsSeenArticles() {
+        enableWatermark();
+        when(announcementRepository.findByCoinSymbolAndAnnouncedAt(anyString(), any())).thenReturn(Mono.empty());
+        when(announcementRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(tradeExecutionService.evaluateAndTrade(any())).thenReturn(Flux.empty());
+
+        AtomicReference<List<CatalogArticle>> page = new AtomicReference<>(List.of(
+                listing(3, "Binance Will List Ccc (CCC)"),
+                listing(2, "Binance Will List Bbb (BBB)"),
+                listing(1, "Binance Will List Aaa (AAA)")));
+        AtomicBoolean cancelled = new AtomicBoolean();
+        service = watermarkedService(page, cancelled);
+
+        StepVerifier.create(service.callBinanceAnnouncements(1, 1, 10).map(CoinAnnouncementRecord::getCoinSymbol))
+                .expectNext("CCC", "BBB", "AAA")
+                .verifyComplete();
+        verify(watermarkRepository).upsert(any(), eq("New Cryptocurrency Listing"), eq(3_000L), eq(3L), any());
+
+        page.set(List.of(
+                listing(4, "Binance Will List Ddd (DDD)"),
+                listing(3, "Binance Will List Ccc (CCC)"),
+                listing(2, "Binance Will List Bbb (BBB)"),
+                listing(1, "Binance Will List Aaa (AAA)")));
+
+        StepVerifier.create(service.callBinanceAnnouncements(1, 1, 10).map(CoinAnnouncementRecord::getCoinSymbol))
+                .expectNext("DDD")
+                .verifyComplete();
+
+        // Only the new article reached symbol extraction and trade evaluation
+        verify(tradeExecutionService, times(4)).evaluateAndTrade(any());
+        verify(watermarkRepository).upsert(any(), eq("New Cryptocurrency Listing"), eq(4_000L), eq(4L), any());
+        assertThat(cancelled).isFalse();
+    }
+
+    @Test
+    public void testWatermark_failedPollDoesNotAdvance() {
+        enableWatermark();
+        when(announcementRepository.findByCoinSymbolAndAnnouncedAt(anyString(), any())).thenReturn(Mono.empty());
+        when(announcementRepository.save(any())).thenReturn(Mono.error(new IllegalStateException("db down")));
+
+        AtomicReference<List<CatalogArticle>> page = new AtomicReference<>(List.of(listing(5, "Binance Will List Eee (EEE)")));
+        service = watermarkedService(page, new AtomicBoolean());
+
+        StepVerifier.create(service.callBinanceAnnouncements(1, 1, 10))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(watermarkRepository, never()).upsert(any(), anyString(), anyLong(), anyLong(), any());
+        assertThat(service.watermarkService.current("New Cryptocurrency Listing")).isNull();
+    }
+
+    @Test
+    public void testWatermark_cancelsResponseOnceEveryCatalogIsExhausted() {
+        enableWatermark();
+        when(watermarkRepository.findByCatalogNameIn(any())).thenReturn(Flux.just(
+                AnnouncementWatermarkRecord.builder()
+                        .catalogName("New Cryptocurrency Listing").releaseDate(9_000L).articleId(9L).build(),
+                AnnouncementWatermarkRecord.builder()
+                        .catalogName("Delisting").releaseDate(9_000L).articleId(9L).build()));
+
+        AtomicReference<List<CatalogArticle>> page = new AtomicReference<>(List.of(
+                listing(9, "Binance Will List Seen (SEEN)"),
+                new CatalogArticle("Delisting", article(8, "Binance Will Delist OLD")),
+                listing(7, "Binance Will List Never (NEVER)")));
+        AtomicBoolean cancelled = new AtomicBoolean();
+        service = watermarkedService(page, cancelled);
+
+        StepVerifier.create(service.callBinanceAnnouncements(1, 1, 10)).verifyComplete();
+
+        assertThat(cancelled).isTrue();
+        assertThat(service.watermarkService.current("Delisting")).isEqualTo(new Watermark(9_000L, 9L));
+        verifyNoInteractions(tradeExecutionService);
+        verify(watermarkRepository, never()).upsert(any(), anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    public void testWatermark_doesNotHideAnExplicitlyRequestedOlderPage() {
+        enableWatermark();
+        when(watermarkRepository.findByCatalogNameIn(any())).thenReturn(Flux.just(
+                AnnouncementWatermarkRecord.builder()
+                        .catalogName("New Cryptocurrency Listing").releaseDate(9_000L).articleId(9L).build()));
+        when(announcementRepository.findByCoinSymbolAndAnnouncedAt(anyString(), any())).thenReturn(Mono.empty());
+        when(announcementRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(tradeExecutionService.evaluateAndTrade(any())).thenReturn(Flux.empty());
+
+        AtomicReference<List<CatalogArticle>> page = new AtomicReference<>(List.of(
+                listing(2, "Binance Will List Bbb (BBB)"),
+                listing(1, "Binance Will List Aaa (AAA)")));
+        service = watermarkedService(page, new AtomicBoolean());
+
+        StepVerifier.create(service.callBinanceAnnouncements(1, 2, 10).map(CoinAnnouncementRecord::getCoinSymbol))
+                .expectNext("BBB", "AAA")
+                .verifyComplete();
+        verify(watermarkRepository, never()).upsert(any(), anyString(), anyLong(), anyLong(), any());
+    }
+
+    private AnnouncementCallingService watermarkedService(AtomicReference<List<CatalogArticle>> page, AtomicBoolean cancelled) {
+        return new AnnouncementCallingService(config, announcementRepository, errorRepository, inlineEvaluation(), webClient, new BinanceAnnouncementDecoder(TestCollaborators.pipelineMetrics()), new TokenizingSymbolExtractor(),
+                new AnnouncementDedupIndex(announcementRepository, new AnnouncementDedupConfig(), new SimpleMeterRegistry()),
+                new AnnouncementWatermarkService(watermarkRepository, config), TestCollaborators.pipelineMetrics()) {
+            @Override
+            protected Flux<CatalogArticle> fetchArticles(int type, int pageNo, int pageSize) {
+                return Flux.defer(() -> Flux.fromIterable(page.get())).doOnCancel(() -> cancelled.set(true));
+            }
+        };
+    }
+
+    private TradeEvaluationQueue inlineEvaluation() {
+        // Never started, so every submit evaluates inside the poll and the verifications below stay synchronous
+        return new TradeEvaluationQueue(tradeExecutionService, new TradeEvaluationConfig(), new SimpleMeterRegistry(),
+                TestCollaborators.unboundedBudget(), TestCollaborators.noRetries());
+    }
+
+    private void enableWatermark() {
+        CoinSniperConfig.Api.Binance.Announcement announcementCfg = new CoinSniperConfig.Api.Binance.Announcement();
+        announcementCfg.setWatermark(true);
+        CoinSniperConfig.Api.Binance binance = new CoinSniperConfig.Api.Binance();
+        binance.setAnnouncement(announcementCfg);
+        CoinSniperConfig.Api api = new CoinSniperConfig.Api();
+        api.setBinance(binance);
+        when(config.getApi()).thenReturn(api);
+        when(config.getAnnouncementPolling()).thenReturn(new CoinSniperConfig.AnnouncementPolling());
+
+        when(watermarkRepository.findByCatalogNameIn(any())).thenReturn(Flux.empty());
+        when(watermarkRepository.upsert(any(), anyString(), anyLong(), anyLong(), any())).thenReturn(Mono.empty());
+    }
+
+    private static CatalogArticle listing(long id, String title) {
+        return new CatalogArticle("New Cryptocurrency Listing", article(id, title));
+    }
+
+    private static BinanceArticle article(long id, String title) {
+        BinanceArticle article = new BinanceArticle();
+        article.setId(id);
+        article.setTitle(title);
+        article.setReleaseDate(id * 1_000L);
+        return article;
+    }
 }
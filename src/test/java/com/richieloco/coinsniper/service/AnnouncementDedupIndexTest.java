@@ -0,0 +1,109 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AnnouncementDedupConfig;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.repository.CoinAnnouncementRepository;
+import com.richieloco.coinsniper.service.dedup.AnnouncementDedupIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class AnnouncementDedupIndexTest {
+
+    private static final Instant ANNOUNCED_AT = Instant.parse("2025-03-01T10:00:00Z");
+
+    private CoinAnnouncementRepository repository;
+    private AnnouncementDedupConfig config;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        repository = mock(CoinAnnouncementRepository.class);
+        config = new AnnouncementDedupConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        when(repository.findByCoinSymbolAndAnnouncedAt(anyString(), any())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    public void exists_recordedKey_isAnsweredWithoutDatabase() {
+        AnnouncementDedupIndex index = new AnnouncementDedupIndex(repository, config, meterRegistry);
+
+        StepVerifier.create(index.exists("FOO", ANNOUNCED_AT)).expectNext(false).verifyComplete();
+        index.record("FOO", ANNOUNCED_AT);
+        StepVerifier.create(index.exists("FOO", ANNOUNCED_AT)).expectNext(true).verifyComplete();
+
+        verify(repository, times(1)).findByCoinSymbolAndAnnouncedAt("FOO", ANNOUNCED_AT);
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    public void exists_databaseHit_isRemembered() {
+        when(repository.findByCoinSymbolAndAnnouncedAt("BAR", ANNOUNCED_AT)).thenReturn(Mono.just(record("BAR", ANNOUNCED_AT)));
+        AnnouncementDedupIndex index = new AnnouncementDedupIndex(repository, config, meterRegistry);
+
+        StepVerifier.create(index.exists("BAR", ANNOUNCED_AT)).expectNext(true).verifyComplete();
+        StepVerifier.create(index.exists("BAR", ANNOUNCED_AT)).expectNext(true).verifyComplete();
+
+        verify(repository, times(1)).findByCoinSymbolAndAnnouncedAt("BAR", ANNOUNCED_AT);
+    }
+
+    @Test
+    public void exists_afterWarmUp_unseenKeySkipsDatabase() {
+        config.setMaxEntries(1);
+        when(repository.findAll()).thenReturn(Flux.just(record("OLD", ANNOUNCED_AT), record("NEW", ANNOUNCED_AT)));
+        when(repository.findByCoinSymbolAndAnnouncedAt("OLD", ANNOUNCED_AT)).thenReturn(Mono.just(record("OLD", ANNOUNCED_AT)));
+        AnnouncementDedupIndex index = new AnnouncementDedupIndex(repository, config, meterRegistry);
+
+        StepVerifier.create(index.warmUp()).expectNext(2L).verifyComplete();
+
+        // Never persisted: the Bloom filter rules it out
+        StepVerifier.create(index.exists("FRESH", ANNOUNCED_AT)).expectNext(false).verifyComplete();
+        // Evicted from the LRU but present in the Bloom filter: confirmed against the database
+        StepVerifier.create(index.exists("OLD", ANNOUNCED_AT)).expectNext(true).verifyComplete();
+
+        verify(repository, never()).findByCoinSymbolAndAnnouncedAt("FRESH", ANNOUNCED_AT);
+        verify(repository, times(1)).findByCoinSymbolAndAnnouncedAt("OLD", ANNOUNCED_AT);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(count("absent")).isEqualTo(1);
+    }
+
+    @Test
+    public void exists_beforeWarmUp_alwaysConsultsDatabase() {
+        AnnouncementDedupIndex index = new AnnouncementDedupIndex(repository, config, meterRegistry);
+
+        StepVerifier.create(index.exists("FRESH", ANNOUNCED_AT)).expectNext(false).verifyComplete();
+
+        verify(repository, times(1)).findByCoinSymbolAndAnnouncedAt("FRESH", ANNOUNCED_AT);
+    }
+
+    @Test
+    public void exists_disabled_delegatesToRepository() {
+        config.setEnabled(false);
+        AnnouncementDedupIndex index = new AnnouncementDedupIndex(repository, config, meterRegistry);
+
+        index.record("FOO", ANNOUNCED_AT);
+        StepVerifier.create(index.exists("FOO", ANNOUNCED_AT)).expectNext(false).verifyComplete();
+
+        verify(repository, times(1)).findByCoinSymbolAndAnnouncedAt("FOO", ANNOUNCED_AT);
+        assertThat(index.size()).isZero();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("coinsniper.announcement.dedup.lookups").tag("result", result).counter().count();
+    }
+
+    private static CoinAnnouncementRecord record(String symbol, Instant announcedAt) {
+        return CoinAnnouncementRecord.builder().coinSymbol(symbol).announcedAt(announcedAt).build();
+    }
+}
@@ -3,16 +3,30 @@ package com.richieloco.coinsniper.service;
 import com.richieloco.coinsniper.config.AnnouncementPollingConfig;
 import com.richieloco.coinsniper.config.CoinSniperConfig;
 import com.richieloco.coinsniper.config.CoinSniperConfig.Api.Binance.Announcement;
+import com.richieloco.coinsniper.config.AnnouncementPollingConfig.OverlapPolicy;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.repository.CoinAnnouncementRepository;
+import com.richieloco.coinsniper.service.cadence.AdaptivePollingCadence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
+import reactor.test.scheduler.VirtualTimeScheduler;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
 class AnnouncementPollingSchedulerTest {
 
+    @AfterEach
+    void resetSchedulers() {
+        VirtualTimeScheduler.reset();
+    }
+
     @Test
     void pollingStarts_whenEnabled() {
         var pollingConfig = new AnnouncementPollingConfig();
@@ -35,7 +49,7 @@ class AnnouncementPollingSchedulerTest {
         when(api.getBinance()).thenReturn(binance);
         when(binance.getAnnouncement()).thenReturn(announcement);
 
-        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig);
+        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig, new SimpleMeterRegistry(), null);
         scheduler.startPolling();
 
         await().atMost(Duration.ofSeconds(3)).untilAsserted(() ->
@@ -51,7 +65,7 @@ class AnnouncementPollingSchedulerTest {
         var callingService = mock(AnnouncementCallingService.class);
         var coinSniperConfig = mock(CoinSniperConfig.class);
 
-        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig);
+        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig, new SimpleMeterRegistry(), null);
         scheduler.startPolling();
 
         verifyNoInteractions(callingService);
@@ -79,7 +93,7 @@ class AnnouncementPollingSchedulerTest {
         when(api.getBinance()).thenReturn(binance);
         when(binance.getAnnouncement()).thenReturn(announcement);
 
-        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig);
+        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig, new SimpleMeterRegistry(), null);
         scheduler.startPolling();
         scheduler.startPolling(); // Second call should be ignored
 
@@ -110,7 +124,7 @@ class AnnouncementPollingSchedulerTest {
         when(api.getBinance()).thenReturn(binance);
         when(binance.getAnnouncement()).thenReturn(announcement);
 
-        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig);
+        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig, new SimpleMeterRegistry(), null);
         scheduler.initializePolling();
 
         await().atMost(Duration.ofSeconds(3)).untilAsserted(() ->
@@ -140,11 +154,137 @@ class AnnouncementPollingSchedulerTest {
         when(api.getBinance()).thenReturn(binance);
         when(binance.getAnnouncement()).thenReturn(announcement);
 
-        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig);
+        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig, coinSniperConfig, new SimpleMeterRegistry(), null);
         scheduler.startPolling();
 
         await().atMost(Duration.ofSeconds(3)).untilAsserted(() ->
                 verify(callingService, atLeastOnce()).callBinanceAnnouncements(1, 1, 10)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void skipPolicy_dropsTicksWhilePollIsRunning() {
+        VirtualTimeScheduler time = VirtualTimeScheduler.getOrSet();
+        var registry = new SimpleMeterRegistry();
+        var callingService = slowCallingService(Duration.ofSeconds(25));
+        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig(OverlapPolicy.SKIP), announcementConfig(), registry, null);
+
+        scheduler.startPolling();
+        time.advanceTimeBy(Duration.ofSeconds(1));
+        verify(callingService, times(1)).callBinanceAnnouncements(1, 1, 10);
+
+        // Ticks at 10s and 20s arrive mid-poll and are dropped; the 30s tick starts the next poll
+        time.advanceTimeBy(Duration.ofSeconds(29));
+        verify(callingService, times(2)).callBinanceAnnouncements(1, 1, 10);
+        assertThat(registry.get("coinsniper.polling.ticks.dropped").counter().count()).isEqualTo(2);
+        assertThat(registry.get("coinsniper.polling.tick").tag("outcome", "success").timer().count()).isEqualTo(1);
+
+        scheduler.stopPolling();
+    }
+
+    @Test
+    void queuePolicy_runsQueuedTickAfterCurrentPoll() {
+        VirtualTimeScheduler time = VirtualTimeScheduler.getOrSet();
+        var registry = new SimpleMeterRegistry();
+        var callingService = slowCallingService(Duration.ofSeconds(25));
+        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig(OverlapPolicy.QUEUE), announcementConfig(), registry, null);
+
+        scheduler.startPolling();
+        time.advanceTimeBy(Duration.ofSeconds(24));
+        verify(callingService, times(1)).callBinanceAnnouncements(1, 1, 10);
+
+        // The 10s tick was queued and runs as soon as the first poll completes; the 20s tick overflowed
+        time.advanceTimeBy(Duration.ofSeconds(1));
+        verify(callingService, times(2)).callBinanceAnnouncements(1, 1, 10);
+        assertThat(registry.get("coinsniper.polling.ticks.dropped").counter().count()).isEqualTo(1);
+
+        scheduler.stopPolling();
+    }
+
+    @Test
+    void cancelPreviousPolicy_cancelsRunningPoll() {
+        VirtualTimeScheduler time = VirtualTimeScheduler.getOrSet();
+        var registry = new SimpleMeterRegistry();
+        var cancellations = new AtomicInteger();
+        var callingService = mock(AnnouncementCallingService.class);
+        when(callingService.callBinanceAnnouncements(anyInt(), anyInt(), anyInt()))
+                .thenReturn(Flux.<CoinAnnouncementRecord>never().doOnCancel(cancellations::incrementAndGet));
+        var scheduler = new AnnouncementPollingScheduler(callingService, pollingConfig(OverlapPolicy.CANCEL_PREVIOUS), announcementConfig(), registry, null);
+
+        scheduler.startPolling();
+        time.advanceTimeBy(Duration.ofSeconds(10));
+
+        verify(callingService, times(2)).callBinanceAnnouncements(1, 1, 10);
+        assertThat(cancellations.get()).isEqualTo(1);
+        assertThat(registry.get("coinsniper.polling.tick").tag("outcome", "cancelled").timer().count()).isEqualTo(1);
+
+        scheduler.stopPolling();
+        assertThat(cancellations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void adaptiveCadence_burstsAfterPollSavesAnnouncement() {
+        VirtualTimeScheduler time = VirtualTimeScheduler.getOrSet();
+        var pollingConfig = pollingConfig(OverlapPolicy.SKIP);
+        pollingConfig.getAdaptive().setEnabled(true);
+        pollingConfig.getAdaptive().setBurstInterval(Duration.ofSeconds(1));
+        pollingConfig.getAdaptive().setBusyInterval(Duration.ofSeconds(30));
+        pollingConfig.getAdaptive().setRequestsPerHour(0);
+
+        var repository = mock(CoinAnnouncementRepository.class);
+        when(repository.countByUtcHour()).thenReturn(Flux.empty());
+        var cadence = new AdaptivePollingCadence(pollingConfig, repository);
+
+        var callingService = mock(AnnouncementCallingService.class);
+        when(callingService.callBinanceAnnouncements(anyInt(), anyInt(), anyInt()))
+                .thenReturn(Flux.empty())
+                .thenReturn(Flux.just(CoinAnnouncementRecord.builder().coinSymbol("ABC").build()))
+                .thenReturn(Flux.empty());
+        var scheduler = new AnnouncementPollingScheduler(
+                callingService, pollingConfig, announcementConfig(), new SimpleMeterRegistry(), cadence);
+
+        scheduler.startPolling();
+        verify(callingService, times(1)).callBinanceAnnouncements(1, 1, 10);
+
+        // Quiet: first empty poll backs off from the busy interval
+        time.advanceTimeBy(Duration.ofSeconds(44));
+        verify(callingService, times(1)).callBinanceAnnouncements(1, 1, 10);
+        time.advanceTimeBy(Duration.ofSeconds(1));
+        verify(callingService, times(2)).callBinanceAnnouncements(1, 1, 10);
+
+        // The second poll saved an announcement, so the next one follows at the burst interval
+        assertThat(cadence.lastMode()).isEqualTo(AdaptivePollingCadence.Mode.BURST);
+        time.advanceTimeBy(Duration.ofSeconds(1));
+        verify(callingService, times(3)).callBinanceAnnouncements(1, 1, 10);
+
+        scheduler.stopPolling();
+    }
+
+    private static AnnouncementCallingService slowCallingService(Duration pollDuration) {
+        var callingService = mock(AnnouncementCallingService.class);
+        when(callingService.callBinanceAnnouncements(anyInt(), anyInt(), anyInt()))
+                .thenReturn(Flux.<CoinAnnouncementRecord>empty().delaySubscription(pollDuration));
+        return callingService;
+    }
+
+    private static AnnouncementPollingConfig pollingConfig(OverlapPolicy policy) {
+        var pollingConfig = new AnnouncementPollingConfig();
+        pollingConfig.setIntervalSeconds(10);
+        pollingConfig.setOverlapPolicy(policy);
+        return pollingConfig;
+    }
+
+    private static CoinSniperConfig announcementConfig() {
+        var announcement = new Announcement();
+        announcement.setType(1);
+        announcement.setPageNo(1);
+        announcement.setPageSize(10);
+        var binance = new CoinSniperConfig.Api.Binance();
+        binance.setAnnouncement(announcement);
+        var api = new CoinSniperConfig.Api();
+        api.setBinance(binance);
+        var coinSniperConfig = new CoinSniperConfig();
+        coinSniperConfig.setApi(api);
+        return coinSniperConfig;
+    }
+}
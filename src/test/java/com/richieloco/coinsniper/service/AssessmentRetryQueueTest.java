@@ -0,0 +1,187 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AssessmentRetryConfig;
+import com.richieloco.coinsniper.config.TradeEvaluationConfig;
+import com.richieloco.coinsniper.entity.AssessmentDeadLetterRecord;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.entity.TradeDecisionRecord;
+import com.richieloco.coinsniper.repository.AssessmentDeadLetterRepository;
+import com.richieloco.coinsniper.service.deadline.LatencyBudget;
+import com.richieloco.coinsniper.service.evaluation.TradeEvaluationQueue;
+import com.richieloco.coinsniper.service.retry.AssessmentRetryQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AssessmentRetryQueueTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AssessmentRetryConfig config = new AssessmentRetryConfig();
+    private TradeExecutionService tradeExecutionService;
+    private AssessmentDeadLetterRepository repository;
+    private AssessmentRetryQueue retryQueue;
+
+    @BeforeEach
+    void setUp() {
+        tradeExecutionService = mock(TradeExecutionService.class);
+        repository = mock(AssessmentDeadLetterRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(repository.deleteById(any(UUID.class))).thenReturn(Mono.empty());
+        config.setInitialBackoff(Duration.ofMillis(10));
+        config.setMaxBackoff(Duration.ofMillis(40));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (retryQueue != null) {
+            retryQueue.stop();
+        }
+    }
+
+    @Test
+    void failedEvaluation_isRetriedUntilItSucceeds() {
+        when(tradeExecutionService.evaluateAndTrade(any()))
+                .thenReturn(Flux.error(new RuntimeException("Empty generation")))
+                .thenReturn(Flux.<TradeDecisionRecord>empty());
+        retryQueue = startedQueue();
+
+        StepVerifier.create(retryQueue.retry(announcement("AAA"), new RuntimeException("Failed to parse LLM response")))
+                .verifyComplete();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(retryCount("success")).isEqualTo(1));
+        verify(tradeExecutionService, times(2)).evaluateAndTrade(any());
+        assertThat(retryCount("failure")).isEqualTo(1);
+        assertThat(retryQueue.pending()).isZero();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void evaluationThatKeepsFailing_isDeadLetteredAfterMaxAttempts() {
+        config.setMaxAttempts(3);
+        when(tradeExecutionService.evaluateAndTrade(any())).thenReturn(Flux.error(new RuntimeException("LLM down")));
+        retryQueue = startedQueue();
+
+        retryQueue.retry(announcement("AAA"), new RuntimeException("first failure")).block();
+
+        ArgumentCaptor<AssessmentDeadLetterRecord> deadLetter = ArgumentCaptor.forClass(AssessmentDeadLetterRecord.class);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> verify(repository).save(deadLetter.capture()));
+        verify(tradeExecutionService, times(2)).evaluateAndTrade(any());
+        assertThat(deadLetter.getValue().getCoinSymbol()).isEqualTo("AAA");
+        assertThat(deadLetter.getValue().getAttempts()).isEqualTo(3);
+        assertThat(deadLetter.getValue().getLastError()).isEqualTo("LLM down");
+        assertThat(deadLetterCount("exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueue_deadLettersWithoutWaiting() {
+        config.setCapacity(1);
+        config.setInitialBackoff(Duration.ofMinutes(1));
+        config.setMaxBackoff(Duration.ofMinutes(1));
+        retryQueue = startedQueue();
+
+        retryQueue.retry(announcement("AAA"), new RuntimeException("boom")).block();
+        retryQueue.retry(announcement("BBB"), new RuntimeException("boom")).block();
+
+        assertThat(retryQueue.pending()).isEqualTo(1);
+        verify(repository).save(argThat(record -> record.getCoinSymbol().equals("BBB") && record.getAttempts() == 1));
+        assertThat(deadLetterCount("overflow")).isEqualTo(1);
+        verify(tradeExecutionService, never()).evaluateAndTrade(any());
+    }
+
+    @Test
+    void backoff_growsExponentiallyUpToTheCap_minusJitter() {
+        config.setInitialBackoff(Duration.ofSeconds(1));
+        config.setMaxBackoff(Duration.ofSeconds(5));
+        config.setMultiplier(2.0);
+        config.setJitter(0.5);
+        retryQueue = new AssessmentRetryQueue(tradeExecutionService, repository, config, registry);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(retryQueue.backoff(1)).isBetween(Duration.ofMillis(500), Duration.ofSeconds(1));
+            assertThat(retryQueue.backoff(3)).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(4));
+            assertThat(retryQueue.backoff(10)).isBetween(Duration.ofMillis(2500), Duration.ofSeconds(5));
+        }
+        config.setJitter(0);
+        assertThat(retryQueue.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void replay_requeuesDeadLetterAndRemovesIt() {
+        UUID id = UUID.randomUUID();
+        when(repository.findById(id)).thenReturn(Mono.just(AssessmentDeadLetterRecord.builder()
+                .id(id).coinSymbol("AAA").title("Binance Will List AAA").attempts(5).lastError("LLM down")
+                .firstFailedAt(Instant.now()).deadLetteredAt(Instant.now())
+                .build()));
+        when(tradeExecutionService.evaluateAndTrade(any())).thenReturn(Flux.empty());
+        retryQueue = startedQueue();
+
+        StepVerifier.create(retryQueue.replay(id)).expectNext(true).verifyComplete();
+
+        verify(repository).deleteById(id);
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                verify(tradeExecutionService).evaluateAndTrade(argThat(a -> a.getCoinSymbol().equals("AAA"))));
+    }
+
+    @Test
+    void replay_unknownDeadLetter_isNotReplayed() {
+        when(repository.findById(any(UUID.class))).thenReturn(Mono.empty());
+        retryQueue = startedQueue();
+
+        StepVerifier.create(retryQueue.replay(UUID.randomUUID())).expectNext(false).verifyComplete();
+        verify(repository, never()).deleteById(any(UUID.class));
+    }
+
+    @Test
+    void evaluationQueue_handsFailedEvaluationToTheRetryQueue() {
+        when(tradeExecutionService.evaluateAndTrade(any()))
+                .thenReturn(Flux.error(new RuntimeException("Empty generation")))
+                .thenReturn(Flux.<TradeDecisionRecord>empty());
+        retryQueue = startedQueue();
+        TradeEvaluationQueue queue = new TradeEvaluationQueue(tradeExecutionService, new TradeEvaluationConfig(),
+                registry, TestCollaborators.unboundedBudget(), retryQueue);
+        queue.start();
+        try {
+            queue.submit(announcement("AAA")).block();
+
+            await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                    assertThat(retryCount("success")).isEqualTo(1));
+            assertThat(registry.get("coinsniper.evaluation").tag("outcome", "error").timer().count()).isEqualTo(1);
+        } finally {
+            queue.stop();
+        }
+    }
+
+    private AssessmentRetryQueue startedQueue() {
+        AssessmentRetryQueue started = new AssessmentRetryQueue(tradeExecutionService, repository, config, registry);
+        started.start();
+        return started;
+    }
+
+    private double retryCount(String outcome) {
+        var counter = registry.find("coinsniper.assessment.retry").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double deadLetterCount(String reason) {
+        return registry.get("coinsniper.assessment.dead-letter").tag("reason", reason).counter().count();
+    }
+
+    private static CoinAnnouncementRecord announcement(String symbol) {
+        return CoinAnnouncementRecord.builder().id(UUID.randomUUID()).coinSymbol(symbol).title("Binance Will List " + symbol).build();
+    }
+}
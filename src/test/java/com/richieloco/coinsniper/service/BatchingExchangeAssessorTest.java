@@ -0,0 +1,172 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AssessmentBatchingConfig;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.service.deadline.Deadline;
+import com.richieloco.coinsniper.service.risk.BatchingExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BatchingExchangeAssessorTest {
+
+    private ExchangeAssessor assessor;
+    private AssessmentBatchingConfig config;
+    private SimpleMeterRegistry registry;
+    private BatchingExchangeAssessor batching;
+
+    @BeforeEach
+    void setUp() {
+        assessor = mock(ExchangeAssessor.class);
+        when(assessor.assess(any())).thenAnswer(invocation -> {
+            ExchangeSelectorContext context = invocation.getArgument(0);
+            return Mono.just(List.of(record(context.targetCoin(), "Binance")));
+        });
+        when(assessor.assessBatch(any())).thenAnswer(invocation -> {
+            List<ExchangeSelectorContext> contexts = invocation.getArgument(0);
+            return Mono.just(contexts.stream().collect(Collectors.toMap(
+                    context -> context.targetCoin().toUpperCase(),
+                    context -> List.of(record(context.targetCoin(), "Binance"), record(context.targetCoin(), "Bybit")))));
+        });
+        config = new AssessmentBatchingConfig();
+        config.setWindow(Duration.ofMillis(50));
+        config.setMaxBatchSize(5);
+        registry = new SimpleMeterRegistry();
+        batching = new BatchingExchangeAssessor(assessor, config, registry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coinsArrivingWithinWindow_shareOneCall_andGetTheirOwnRecords() throws Exception {
+        var a = batching.assess(context("AAA", "Binance,Bybit")).toFuture();
+        var b = batching.assess(context("BBB", "Bybit,Binance")).toFuture();
+        var c = batching.assess(context("CCC", "Binance,Bybit")).toFuture();
+
+        assertThat(coins(a)).containsOnly("AAAUSDT");
+        assertThat(coins(b)).containsOnly("BBBUSDT");
+        assertThat(coins(c)).containsOnly("CCCUSDT");
+
+        ArgumentCaptor<List<ExchangeSelectorContext>> batch = ArgumentCaptor.forClass(List.class);
+        verify(assessor, times(1)).assessBatch(batch.capture());
+        assertThat(batch.getValue()).extracting(ExchangeSelectorContext::targetCoin).containsExactly("AAA", "BBB", "CCC");
+        verify(assessor, never()).assess(any());
+        assertThat(registry.get("coinsniper.assessment.batch.size").summary().max()).isEqualTo(3);
+    }
+
+    @Test
+    void batchCall_runsUnderTheLatestCallerDeadline() throws Exception {
+        AtomicReference<Deadline> batchDeadline = new AtomicReference<>();
+        doReturn(Mono.deferContextual(ctx -> {
+            batchDeadline.set(Deadline.from(ctx).orElse(null));
+            return Mono.just(Map.of());
+        })).when(assessor).assessBatch(any());
+        Deadline early = Deadline.after(Duration.ofSeconds(5));
+        Deadline late = Deadline.after(Duration.ofSeconds(10));
+
+        var a = batching.assess(context("AAA", "Binance")).contextWrite(early::attachTo).toFuture();
+        var b = batching.assess(context("BBB", "Binance")).contextWrite(late::attachTo).toFuture();
+        CompletableFuture.allOf(a, b).get(1, TimeUnit.SECONDS);
+
+        assertThat(batchDeadline.get()).isEqualTo(late);
+    }
+
+    @Test
+    void fullBatch_isSentWithoutWaitingForTheWindow() throws Exception {
+        config.setWindow(Duration.ofMinutes(1));
+        config.setMaxBatchSize(2);
+
+        var a = batching.assess(context("AAA", "Binance")).toFuture();
+        var b = batching.assess(context("BBB", "Binance")).toFuture();
+
+        assertThat(coins(a)).containsOnly("AAAUSDT");
+        assertThat(coins(b)).containsOnly("BBBUSDT");
+        verify(assessor, times(1)).assessBatch(any());
+    }
+
+    @Test
+    void loneCoin_usesSingleCoinAssessment() throws Exception {
+        assertThat(coins(batching.assess(context("AAA", "Binance")).toFuture())).containsExactly("AAAUSDT");
+
+        verify(assessor, times(1)).assess(any());
+        verify(assessor, never()).assessBatch(any());
+    }
+
+    @Test
+    void differentExchangeSets_areNotBatchedTogether() throws Exception {
+        var a = batching.assess(context("AAA", "Binance")).toFuture();
+        var b = batching.assess(context("BBB", "Kraken")).toFuture();
+
+        coins(a);
+        coins(b);
+        verify(assessor, times(2)).assess(any());
+        verify(assessor, never()).assessBatch(any());
+    }
+
+    @Test
+    void coinMissingFromBatchedAnswer_isAssessedOnItsOwn() throws Exception {
+        doReturn(Mono.just(Map.of("AAA", List.of(record("AAA", "Binance")), "CCC", List.of()))).when(assessor).assessBatch(any());
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+
+        var a = batching.assess(context("AAA", "Binance")).toFuture();
+        var b = batching.assess(context("BBB", "Binance")).contextWrite(deadline::attachTo).toFuture();
+        var c = batching.assess(context("CCC", "Binance")).toFuture();
+
+        assertThat(coins(a)).containsExactly("AAAUSDT");
+        assertThat(coins(b)).containsExactly("BBBUSDT");
+        assertThat(coins(c)).containsExactly("CCCUSDT");
+        verify(assessor, times(1)).assessBatch(any());
+        verify(assessor, times(2)).assess(any());
+    }
+
+    @Test
+    void failedBatch_failsEveryCaller() {
+        doReturn(Mono.error(new RuntimeException("LLM down"))).when(assessor).assessBatch(any());
+
+        var a = batching.assess(context("AAA", "Binance")).toFuture();
+        var b = batching.assess(context("BBB", "Binance")).toFuture();
+
+        assertThatThrownBy(a::join).isInstanceOf(CompletionException.class).hasMessageContaining("LLM down");
+        assertThatThrownBy(b::join).isInstanceOf(CompletionException.class).hasMessageContaining("LLM down");
+    }
+
+    @Test
+    void disabled_assessesEachCoinAlone() throws Exception {
+        config.setEnabled(false);
+
+        coins(batching.assess(context("AAA", "Binance")).toFuture());
+        coins(batching.assess(context("BBB", "Binance")).toFuture());
+
+        verify(assessor, times(2)).assess(any());
+        verify(assessor, never()).assessBatch(any());
+    }
+
+    private static List<String> coins(CompletableFuture<List<ExchangeAssessmentRecord>> future) throws Exception {
+        return future.get(1, TimeUnit.SECONDS).stream().map(ExchangeAssessmentRecord::getCoinListing).toList();
+    }
+
+    private static ExchangeAssessmentRecord record(String coin, String exchange) {
+        return ExchangeAssessmentRecord.builder().exchange(exchange).coinListing(coin.toUpperCase() + "USDT").build();
+    }
+
+    private static ExchangeSelectorContext context(String coin, String exchanges) {
+        return new ExchangeSelectorContext(exchanges, coin, "USDT");
+    }
+}
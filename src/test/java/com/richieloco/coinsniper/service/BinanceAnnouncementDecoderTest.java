@@ -0,0 +1,127 @@
+package com.richieloco.coinsniper.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.model.BinanceApiResponse;
+import com.richieloco.coinsniper.model.CatalogArticle;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinanceAnnouncementDecoderTest {
+
+    private static final Set<String> ALLOWED = Set.of("New Cryptocurrency Listing", "Delisting");
+
+    private final BinanceAnnouncementDecoder decoder = new BinanceAnnouncementDecoder(TestCollaborators.pipelineMetrics());
+
+    @Test
+    public void decode_matchesBindingPath_forFullResponse() throws IOException {
+        byte[] payload = new ClassPathResource("testResponse_Full.json").getContentAsByteArray();
+
+        List<CatalogArticle> expected = bind(payload);
+        List<CatalogArticle> actual = decoder.decode(chunked(payload, 8192), ALLOWED).collectList().block();
+
+        assertThat(expected).hasSize(20);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void decode_handlesTokensSplitAcrossTinyBuffers() throws IOException {
+        byte[] payload = new ClassPathResource("testResponse_Full.json").getContentAsByteArray();
+
+        List<CatalogArticle> actual = decoder.decode(chunked(payload, 7), ALLOWED).collectList().block();
+
+        assertThat(actual).isEqualTo(bind(payload));
+    }
+
+    @Test
+    public void decode_skipsDisallowedCatalogs() {
+        String json = """
+                {"data":{"catalogs":[
+                  {"catalogName":"Latest Binance News","articles":[{"id":1,"title":"News","releaseDate":1}]},
+                  {"catalogName":"Delisting","articles":[{"id":2,"title":"Binance Will Delist ABC","releaseDate":2}]}
+                ]}}""";
+
+        StepVerifier.create(decoder.decode(chunked(json.getBytes(StandardCharsets.UTF_8), 16), ALLOWED))
+                .expectNextMatches(entry -> entry.catalogName().equals("Delisting")
+                        && entry.article().getId() == 2
+                        && entry.article().getReleaseDate() == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    public void decode_buffersArticlesSeenBeforeCatalogName() {
+        String json = """
+                {"data":{"catalogs":[
+                  {"articles":[{"id":7,"title":"Binance Will List Foo (FOO)","releaseDate":7}],"catalogName":"New Cryptocurrency Listing"},
+                  {"articles":[{"id":8,"title":"Ignored","releaseDate":8}],"catalogName":"API Updates"}
+                ]}}""";
+
+        StepVerifier.create(decoder.decode(chunked(json.getBytes(StandardCharsets.UTF_8), 5), ALLOWED))
+                .expectNextMatches(entry -> entry.catalogName().equals("New Cryptocurrency Listing")
+                        && entry.article().getTitle().equals("Binance Will List Foo (FOO)"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void decode_ignoresNestedCatalogsAndUnknownFields() {
+        String json = """
+                {"data":{"catalogs":[
+                  {"catalogName":"Delisting","extra":{"articles":[{"id":99}]},
+                   "articles":[{"id":3,"meta":{"id":42},"title":"Removal","releaseDate":3}],
+                   "catalogs":[{"catalogName":"Delisting","articles":[{"id":4,"title":"Nested","releaseDate":4}]}]}
+                ]},"success":true}""";
+
+        StepVerifier.create(decoder.decode(chunked(json.getBytes(StandardCharsets.UTF_8), 11), ALLOWED))
+                .expectNextMatches(entry -> entry.article().getId() == 3 && entry.article().getTitle().equals("Removal"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void decode_emptyCatalogs_completesEmpty() {
+        StepVerifier.create(decoder.decode(chunked("{\"data\":{\"catalogs\":[]}}".getBytes(StandardCharsets.UTF_8), 4), ALLOWED))
+                .verifyComplete();
+    }
+
+    @Test
+    public void decode_truncatedPayload_failsWithDecodingException() {
+        String json = "{\"data\":{\"catalogs\":[{\"catalogName\":\"Delisting\",\"articles\":[{\"id\":1";
+
+        StepVerifier.create(decoder.decode(chunked(json.getBytes(StandardCharsets.UTF_8), 8), ALLOWED))
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    private static List<CatalogArticle> bind(byte[] payload) throws IOException {
+        ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        BinanceApiResponse response = mapper.readValue(payload, BinanceApiResponse.class);
+        List<CatalogArticle> result = new ArrayList<>();
+        response.getData().getCatalogs().stream()
+                .filter(catalog -> ALLOWED.contains(catalog.getCatalogName()))
+                .forEach(catalog -> catalog.getArticles()
+                        .forEach(article -> result.add(new CatalogArticle(catalog.getCatalogName(), article))));
+        return result;
+    }
+
+    private static Flux<DataBuffer> chunked(byte[] payload, int chunkSize) {
+        DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < payload.length; offset += chunkSize) {
+            buffers.add(factory.wrap(Arrays.copyOfRange(payload, offset, Math.min(payload.length, offset + chunkSize))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -0,0 +1,82 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.BlockingExecutionConfig;
+import com.richieloco.coinsniper.config.BlockingExecutionConfig.Mode;
+import com.richieloco.coinsniper.service.execution.BlockingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockingExecutorTest {
+
+    private final List<BlockingExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executors.forEach(BlockingExecutor::dispose);
+    }
+
+    @Test
+    void virtualThreadMode_runsOnVirtualThreads() {
+        BlockingExecutor executor = executor(Mode.VIRTUAL_THREADS, 10);
+
+        StepVerifier.create(executor.call(() -> Thread.currentThread().isVirtual()))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void boundedElasticMode_runsOnBoundedElastic() {
+        BlockingExecutor executor = executor(Mode.BOUNDED_ELASTIC, 10);
+
+        StepVerifier.create(executor.call(() -> Thread.currentThread().getName()))
+                .expectNextMatches(name -> name.startsWith("boundedElastic"))
+                .verifyComplete();
+    }
+
+    @Test
+    void virtualThreadMode_neverExceedsMaxConcurrency() {
+        BlockingExecutor executor = executor(Mode.VIRTUAL_THREADS, 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger peakWaiting = new AtomicInteger();
+
+        Flux.range(0, 12)
+                .flatMap(i -> executor.call(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    peakWaiting.accumulateAndGet(executor.waiting(), Math::max);
+                    Thread.sleep(50);
+                    running.decrementAndGet();
+                    return i;
+                }), 12)
+                .blockLast(Duration.ofSeconds(5));
+
+        assertThat(peak.get()).isEqualTo(3);
+        assertThat(peakWaiting.get()).isPositive();
+        assertThat(executor.active()).isZero();
+        assertThat(executor.waiting()).isZero();
+    }
+
+    @Test
+    void nullResult_completesEmpty() {
+        StepVerifier.create(executor(Mode.VIRTUAL_THREADS, 1).call(() -> null)).verifyComplete();
+    }
+
+    private BlockingExecutor executor(Mode mode, int maxConcurrency) {
+        BlockingExecutionConfig config = new BlockingExecutionConfig();
+        config.setMode(mode);
+        config.setMaxConcurrency(maxConcurrency);
+        BlockingExecutor executor = new BlockingExecutor(config, new SimpleMeterRegistry());
+        executors.add(executor);
+        return executor;
+    }
+}
@@ -0,0 +1,130 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.service.risk.CoalescingAssessmentFunction;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessmentKey;
+import com.richieloco.coinsniper.service.risk.StreamingAssessmentFunction;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingAssessmentFunctionTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Sinks.One<List<ExchangeAssessmentRecord>> response;
+    private CoalescingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> coalescing;
+
+    @BeforeEach
+    void setUp() {
+        response = Sinks.one();
+        StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> assessor = context -> Mono.defer(() -> {
+            calls.incrementAndGet();
+            return response.asMono();
+        });
+        coalescing = new CoalescingAssessmentFunction<>(assessor, ExchangeAssessmentKey::of, registry);
+    }
+
+    @Test
+    void concurrentIdenticalCalls_shareOneAssessment() {
+        var first = coalescing.assess(context("XYZ", "Binance,Bybit")).toFuture();
+        var second = coalescing.assess(context("xyz", "Bybit,Binance")).toFuture();
+        var other = coalescing.assess(context("ABC", "Binance")).toFuture();
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(coalescing.inFlight()).isEqualTo(2);
+
+        List<ExchangeAssessmentRecord> result = List.of(ExchangeAssessmentRecord.builder().exchange("Binance").build());
+        response.tryEmitValue(result);
+
+        assertThat(first.join()).isSameAs(result);
+        assertThat(second.join()).isSameAs(result);
+        assertThat(other.join()).isSameAs(result);
+        assertThat(coalescing.inFlight()).isZero();
+        assertThat(registry.get("coinsniper.assessment.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void callAfterCompletion_startsNewAssessment() {
+        response.tryEmitValue(List.of());
+        coalescing.assess(context("XYZ", "Binance")).block();
+        coalescing.assess(context("XYZ", "Binance")).block();
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(registry.get("coinsniper.assessment.coalesced").counter().count()).isZero();
+    }
+
+    @Test
+    void failure_reachesWaitersButIsNotRemembered() {
+        var first = coalescing.assess(context("XYZ", "Binance"));
+        var second = coalescing.assess(context("XYZ", "Binance"));
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> response.tryEmitError(new RuntimeException("LLM down")))
+                .expectErrorMessage("LLM down")
+                .verify();
+
+        response = Sinks.one();
+        response.tryEmitValue(List.of());
+        StepVerifier.create(coalescing.assess(context("XYZ", "Binance"))).expectNext(List.of()).verifyComplete();
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void cancelledCaller_doesNotCancelSharedAssessment() {
+        Disposable cancelled = coalescing.assess(context("XYZ", "Binance")).subscribe();
+        var waiting = coalescing.assess(context("XYZ", "Binance")).toFuture();
+
+        cancelled.dispose();
+        response.tryEmitValue(List.of());
+
+        assertThat(waiting.join()).isEmpty();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentStreams_shareOneStreamAndReplayToLateJoiners() {
+        AtomicInteger streams = new AtomicInteger();
+        Sinks.Many<ExchangeAssessmentRecord> tokens = Sinks.many().unicast().onBackpressureBuffer();
+        StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> streaming = new StreamingAssessmentFunction<>() {
+            @Override
+            public Mono<List<ExchangeAssessmentRecord>> assess(ExchangeSelectorContext context) {
+                return Mono.error(new IllegalStateException("not used"));
+            }
+
+            @Override
+            public Flux<ExchangeAssessmentRecord> stream(ExchangeSelectorContext context) {
+                return Flux.defer(() -> {
+                    streams.incrementAndGet();
+                    return tokens.asFlux();
+                });
+            }
+        };
+        coalescing = new CoalescingAssessmentFunction<>(streaming, ExchangeAssessmentKey::of, registry);
+
+        var first = coalescing.stream(context("XYZ", "Binance")).collectList().toFuture();
+        tokens.tryEmitNext(ExchangeAssessmentRecord.builder().exchange("Binance").build());
+        var late = coalescing.stream(context("XYZ", "Binance")).collectList().toFuture();
+        tokens.tryEmitNext(ExchangeAssessmentRecord.builder().exchange("Bybit").build());
+        tokens.tryEmitComplete();
+
+        assertThat(first.join()).extracting(ExchangeAssessmentRecord::getExchange).containsExactly("Binance", "Bybit");
+        assertThat(late.join()).extracting(ExchangeAssessmentRecord::getExchange).containsExactly("Binance", "Bybit");
+        assertThat(streams.get()).isEqualTo(1);
+        assertThat(coalescing.inFlight()).isZero();
+    }
+
+    private static ExchangeSelectorContext context(String coin, String exchanges) {
+        return new ExchangeSelectorContext(exchanges, coin, "USDT");
+    }
+}
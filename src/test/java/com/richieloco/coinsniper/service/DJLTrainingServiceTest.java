@@ -26,7 +26,7 @@ public class DJLTrainingServiceTest {
         System.setProperty("coin-sniper.export.enabled", "false");
 
         TradeDecisionRepository mockRepo = Mockito.mock(TradeDecisionRepository.class);
-        trainer = new DJLTrainingService(mockRepo);
+        trainer = new DJLTrainingService(mockRepo, TestCollaborators.boundedElastic());
     }
 
     @Test
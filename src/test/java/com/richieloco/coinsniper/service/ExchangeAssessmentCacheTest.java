@@ -0,0 +1,180 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AssessmentCacheConfig;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessmentCache;
+import com.richieloco.coinsniper.service.risk.StreamingAssessmentFunction;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExchangeAssessmentCacheTest {
+
+    private StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> assessor;
+    private AssessmentCacheConfig config;
+    private Clock clock;
+    private Instant now;
+    private SimpleMeterRegistry registry;
+    private ExchangeAssessmentCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        assessor = mock(StreamingAssessmentFunction.class);
+        when(assessor.assess(any())).thenAnswer(invocation -> {
+            ExchangeSelectorContext context = invocation.getArgument(0);
+            return Mono.just(List.of(ExchangeAssessmentRecord.builder()
+                    .exchange("Binance")
+                    .coinListing(context.targetCoin() + "USDT")
+                    .overallRiskScore("LOW")
+                    .build()));
+        });
+        config = new AssessmentCacheConfig();
+        config.setTtl(Duration.ofMinutes(10));
+        config.setMaxEntries(2);
+        now = Instant.parse("2025-03-01T00:00:00Z");
+        clock = mock(Clock.class);
+        when(clock.instant()).thenAnswer(invocation -> now);
+        registry = new SimpleMeterRegistry();
+        cache = new ExchangeAssessmentCache(assessor, config, registry, clock);
+    }
+
+    @Test
+    void repeatedContext_isServedFromCache_regardlessOfOrderAndCase() {
+        StepVerifier.create(cache.assess(new ExchangeSelectorContext("Binance,Bybit", "XYZ", "USDT,USDC")))
+                .expectNextMatches(list -> list.getFirst().getCoinListing().equals("XYZUSDT"))
+                .verifyComplete();
+        StepVerifier.create(cache.assess(new ExchangeSelectorContext(" bybit, BINANCE", "xyz ", "USDC,USDT")))
+                .expectNextMatches(list -> list.getFirst().getCoinListing().equals("XYZUSDT"))
+                .verifyComplete();
+
+        verify(assessor, times(1)).assess(any());
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+        assertThat(registry.get("coinsniper.assessment.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void differentExchangeSet_isAssessedSeparately() {
+        cache.assess(context("XYZ", "Binance")).block();
+        cache.assess(context("XYZ", "Binance,Bybit")).block();
+
+        verify(assessor, times(2)).assess(any());
+    }
+
+    @Test
+    void emptyAssessment_isNotCached() {
+        doReturn(Mono.just(List.of())).when(assessor).assess(any());
+
+        cache.assess(context("XYZ", "Binance")).block();
+        cache.assess(context("XYZ", "Binance")).block();
+
+        verify(assessor, times(2)).assess(any());
+        assertThat(cache.stats().getHits()).isZero();
+    }
+
+    @Test
+    void expiredEntry_isReassessed() {
+        cache.assess(context("XYZ", "Binance")).block();
+        now = now.plus(Duration.ofMinutes(10));
+        cache.assess(context("XYZ", "Binance")).block();
+
+        verify(assessor, times(2)).assess(any());
+        assertThat(cache.stats().getExpired()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedEntry_isEvictedBeyondMaxEntries() {
+        cache.assess(context("AAA", "Binance")).block();
+        cache.assess(context("BBB", "Binance")).block();
+        cache.assess(context("AAA", "Binance")).block(); // AAA is now the most recently used
+        cache.assess(context("CCC", "Binance")).block();
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.stats().getEvictedBySize()).isEqualTo(1);
+
+        cache.assess(context("AAA", "Binance")).block();
+        cache.assess(context("BBB", "Binance")).block();
+        verify(assessor, times(2)).assess(context("BBB", "Binance"));
+        verify(assessor, times(1)).assess(context("AAA", "Binance"));
+    }
+
+    @Test
+    void failedAssessment_isNotCached() {
+        when(assessor.assess(context("ERR", "Binance")))
+                .thenReturn(Mono.error(new RuntimeException("LLM down")))
+                .thenReturn(Mono.just(List.of()));
+
+        StepVerifier.create(cache.assess(context("ERR", "Binance"))).expectError().verify();
+        StepVerifier.create(cache.assess(context("ERR", "Binance"))).expectNext(List.of()).verifyComplete();
+
+        verify(assessor, times(2)).assess(context("ERR", "Binance"));
+    }
+
+    @Test
+    void invalidate_removesOnlyThatCoin() {
+        cache.assess(context("AAA", "Binance")).block();
+        cache.assess(context("BBB", "Binance")).block();
+
+        assertThat(cache.invalidate("aaa")).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.invalidateAll()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+        assertThat(cache.stats().getInvalidated()).isEqualTo(2);
+    }
+
+    @Test
+    void completedStream_isCachedAndReplayed() {
+        when(assessor.stream(any())).thenAnswer(invocation -> Flux.just(
+                ExchangeAssessmentRecord.builder().exchange("Binance").build(),
+                ExchangeAssessmentRecord.builder().exchange("Bybit").build()));
+
+        StepVerifier.create(cache.stream(context("XYZ", "Binance,Bybit"))).expectNextCount(2).verifyComplete();
+        StepVerifier.create(cache.stream(context("XYZ", "Binance,Bybit")).map(ExchangeAssessmentRecord::getExchange))
+                .expectNext("Binance", "Bybit")
+                .verifyComplete();
+        StepVerifier.create(cache.assess(context("XYZ", "Binance,Bybit"))).expectNextMatches(list -> list.size() == 2).verifyComplete();
+
+        verify(assessor, times(1)).stream(any());
+        verify(assessor, never()).assess(any());
+    }
+
+    @Test
+    void cancelledStream_isNotCached() {
+        when(assessor.stream(any())).thenReturn(Flux.just(
+                ExchangeAssessmentRecord.builder().exchange("Binance").build(),
+                ExchangeAssessmentRecord.builder().exchange("Bybit").build()));
+
+        StepVerifier.create(cache.stream(context("XYZ", "Binance")).take(1)).expectNextCount(1).verifyComplete();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void disabledCache_alwaysDelegates() {
+        config.setEnabled(false);
+
+        cache.assess(context("XYZ", "Binance")).block();
+        cache.assess(context("XYZ", "Binance")).block();
+
+        verify(assessor, times(2)).assess(any());
+        assertThat(cache.size()).isZero();
+    }
+
+    private static ExchangeSelectorContext context(String coin, String exchanges) {
+        return new ExchangeSelectorContext(exchanges, coin, "USDT");
+    }
+}
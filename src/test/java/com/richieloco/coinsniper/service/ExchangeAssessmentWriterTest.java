@@ -0,0 +1,169 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AssessmentWriteBehindConfig;
+import com.richieloco.coinsniper.config.AssessmentWriteBehindConfig.OverflowPolicy;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.repository.ExchangeAssessmentRepository;
+import com.richieloco.coinsniper.service.persistence.ExchangeAssessmentWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class ExchangeAssessmentWriterTest {
+
+    private ExchangeAssessmentRepository repository;
+    private AssessmentWriteBehindConfig config;
+    private SimpleMeterRegistry registry;
+    private ExchangeAssessmentWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ExchangeAssessmentRepository.class);
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<ExchangeAssessmentRecord>>getArgument(0)));
+        when(repository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        config = new AssessmentWriteBehindConfig();
+        config.setBatchSize(3);
+        config.setFlushInterval(Duration.ofMinutes(1));
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void write_completesWithoutWaitingForTheDatabase() {
+        when(repository.saveAll(anyIterable())).thenReturn(Flux.never());
+        config.setBatchSize(1);
+        writer = started();
+
+        StepVerifier.create(writer.write(record("Binance")))
+                .expectNextMatches(record -> record.getExchange().equals("Binance"))
+                .verifyComplete();
+
+        verify(repository, timeout(1000)).saveAll(anyIterable());
+        verify(repository, never()).save(any());
+        assertThat(writer.pending()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fullBatch_isWrittenInOneSaveAll() {
+        writer = started();
+
+        for (String exchange : List.of("Binance", "Bybit", "Kraken", "Poloniex")) {
+            writer.write(record(exchange)).block();
+        }
+
+        ArgumentCaptor<Iterable<ExchangeAssessmentRecord>> batch = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository, timeout(1000)).saveAll(batch.capture());
+        assertThat(batch.getValue()).extracting(ExchangeAssessmentRecord::getExchange).containsExactly("Binance", "Bybit", "Kraken");
+        assertThat(writer.pending()).isEqualTo(1);
+    }
+
+    @Test
+    void partialBatch_isWrittenAfterTheFlushInterval() {
+        config.setFlushInterval(Duration.ofMillis(50));
+        writer = started();
+
+        writer.write(record("Binance")).block();
+
+        verify(repository, timeout(1000)).saveAll(anyIterable());
+        assertThat(registry.get("coinsniper.assessment.write-behind.batch.size").summary().max()).isEqualTo(1);
+    }
+
+    @Test
+    void fullBuffer_writesThroughOnTheCallersPath() {
+        when(repository.saveAll(anyIterable())).thenReturn(Flux.never());
+        config.setBatchSize(1);
+        config.setCapacity(2);
+        writer = started();
+
+        writer.write(record("Binance")).block();
+        writer.write(record("Bybit")).block();
+        writer.write(record("Kraken")).block();
+
+        verify(repository).save(argThat(record -> record.getExchange().equals("Kraken")));
+        assertThat(registry.get("coinsniper.assessment.write-behind.overflow").tag("policy", "write-through").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fullBuffer_withDropPolicy_skipsPersistence() {
+        when(repository.saveAll(anyIterable())).thenReturn(Flux.never());
+        config.setBatchSize(1);
+        config.setCapacity(1);
+        config.setOverflowPolicy(OverflowPolicy.DROP);
+        writer = started();
+
+        writer.write(record("Binance")).block();
+        StepVerifier.create(writer.write(record("Bybit")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(repository, never()).save(any());
+        assertThat(registry.get("coinsniper.assessment.write-behind.overflow").tag("policy", "drop").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stop_flushesWhatIsBuffered() {
+        writer = started();
+        writer.write(record("Binance")).block();
+        writer.write(record("Bybit")).block();
+
+        writer.stop();
+
+        ArgumentCaptor<Iterable<ExchangeAssessmentRecord>> batch = ArgumentCaptor.forClass(Iterable.class);
+        verify(repository).saveAll(batch.capture());
+        assertThat(batch.getValue()).hasSize(2);
+        assertThat(writer.pending()).isZero();
+
+        writer.write(record("Kraken")).block();
+        verify(repository).save(any());
+    }
+
+    @Test
+    void failedBatch_isCountedAndTheWriterKeepsGoing() {
+        config.setBatchSize(1);
+        when(repository.saveAll(anyIterable()))
+                .thenReturn(Flux.error(new IllegalStateException("db down")))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<ExchangeAssessmentRecord>>getArgument(0)));
+        writer = started();
+
+        writer.write(record("Binance")).block();
+        writer.write(record("Bybit")).block();
+
+        verify(repository, timeout(1000).times(2)).saveAll(anyIterable());
+        assertThat(registry.get("coinsniper.assessment.write-behind.failed").counter().count()).isEqualTo(1);
+    }
+
+    private ExchangeAssessmentWriter started() {
+        ExchangeAssessmentWriter started = new ExchangeAssessmentWriter(repository, config, registry);
+        started.start();
+        return started;
+    }
+
+    private static ExchangeAssessmentRecord record(String exchange) {
+        return ExchangeAssessmentRecord.builder()
+                .exchange(exchange)
+                .coinListing("XYZUSDT")
+                .overallRiskScore("LOW")
+                .build();
+    }
+}
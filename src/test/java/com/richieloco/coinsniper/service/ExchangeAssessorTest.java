@@ -1,10 +1,14 @@
 package com.richieloco.coinsniper.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.richieloco.coinsniper.config.AiPromptConfig;
+import com.richieloco.coinsniper.config.AssessmentStreamingConfig;
 import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
 import com.richieloco.coinsniper.entity.RiskLevel;
 import com.richieloco.coinsniper.repository.ExchangeAssessmentRepository;
+import com.richieloco.coinsniper.service.llm.ChatModelTransport;
 import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.LenientJsonArrayExtractor;
 import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,8 +26,11 @@ import reactor.test.StepVerifier;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
@@ -46,7 +53,9 @@ public class ExchangeAssessorTest {
         when(promptConfig.exchangeCoinAvailabilityPromptTemplate()).thenReturn(promptTemplate);
         when(promptTemplate.render(any(Map.class))).thenReturn("Rendered Prompt");
 
-        assessor = new ExchangeAssessor(chatModel, repository, promptConfig);
+        assessor = new ExchangeAssessor(new ChatModelTransport(chatModel, TestCollaborators.boundedElastic()),
+                TestCollaborators.writeThrough(repository), promptConfig, TestCollaborators.pipelineMetrics(),
+                new AssessmentStreamingConfig());
     }
 
     @Test
@@ -144,4 +153,78 @@ public class ExchangeAssessorTest {
                 })
                 .verifyComplete(); // Should still return parsed object even if save fails
     }
+
+    @Test
+    public void testAssess_repairsJsonInsideProseInsteadOfFailing() {
+        String aiResponse = """
+                Here you go:
+                ```json
+                [
+                  {'exchange': 'Binance', 'coinListing': 'XYZ/USDT', 'overallRiskScore': 'LOW',},
+                  {"exchange": "Bybit", "coinListing": "XYZ/USDT"},
+                  {"exchange": "Kraken", "coinListing": "XYZ/USD", "overallRiskScore": "HIGH", "liquidity": "Lo
+                """;
+        ExchangeSelectorContext context = new ExchangeSelectorContext("Binance,Bybit,Kraken", "XYZ", "USDT,USD");
+        when(chatModel.call(any(Prompt.class))).thenReturn(new ChatResponse(List.of(new Generation(new AssistantMessage(aiResponse)))));
+        when(repository.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        StepVerifier.create(assessor.assess(context))
+                .expectNextMatches(list -> list.size() == 2
+                        && list.get(0).getExchange().equals("Binance") && list.get(0).getOverallRiskScore().equals("LOW")
+                        && list.get(1).getExchange().equals("Kraken") && list.get(1).getOverallRiskScore().equals("HIGH"))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testAssess_failsWhenNoObjectIsUsable() {
+        String aiResponse = "[{\"exchange\": \"Binance\"}, {\"coinListing\": \"XYZ/USDT\"}]";
+        ExchangeSelectorContext context = new ExchangeSelectorContext("Binance", "XYZ", "USDT");
+        when(chatModel.call(any(Prompt.class))).thenReturn(new ChatResponse(List.of(new Generation(new AssistantMessage(aiResponse)))));
+
+        StepVerifier.create(assessor.assess(context))
+                .expectErrorMatches(error -> error.getMessage().contains("Failed to parse LLM response"))
+                .verify();
+    }
+
+    @Test
+    public void testAssessBatch_splitsAnswerPerCoin() {
+        PromptTemplate multiCoinTemplate = new PromptTemplate("Exchanges: <exchanges>, Coins: <targetCoins>, Stables: <stableCoins>");
+        when(promptConfig.exchangeMultiCoinAvailabilityPromptTemplate()).thenReturn(multiCoinTemplate);
+        String aiResponse = """
+                [
+                  {"targetCoin": "aaa", "exchange": "Binance", "coinListing": "AAA/USDT", "overallRiskScore": "LOW",
+                   "liquidity": "High", "tradingVolume": "High", "tradingFees": "Low"},
+                  {"exchange": "Bybit", "coinListing": "BBB/USDT", "overallRiskScore": "HIGH",
+                   "liquidity": "Low", "tradingVolume": "Low", "tradingFees": "High"},
+                  {"targetCoin": "ZZZ", "exchange": "Bybit", "coinListing": "ZZZ/USDT", "overallRiskScore": "LOW",
+                   "liquidity": "Low", "tradingVolume": "Low", "tradingFees": "Low"}
+                ]""";
+        when(chatModel.call(any(Prompt.class))).thenReturn(new ChatResponse(List.of(new Generation(new AssistantMessage(aiResponse)))));
+        when(repository.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        List<ExchangeSelectorContext> contexts = List.of(
+                new ExchangeSelectorContext("Binance,Bybit", "AAA", "USDT"),
+                new ExchangeSelectorContext("Binance,Bybit", "BBB", "USDT"),
+                new ExchangeSelectorContext("Binance,Bybit", "CCC", "USDT"));
+
+        StepVerifier.create(assessor.assessBatch(contexts))
+                .expectNextMatches(byCoin -> byCoin.keySet().equals(Set.of("AAA", "BBB", "CCC"))
+                        && byCoin.get("AAA").size() == 1 && byCoin.get("AAA").getFirst().getExchange().equals("Binance")
+                        && byCoin.get("AAA").getFirst().getContextDescription().contains("coin: AAA")
+                        && byCoin.get("BBB").size() == 1 && byCoin.get("BBB").getFirst().getExchange().equals("Bybit")
+                        && byCoin.get("CCC").isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    public void testIsReadable_acceptsWhatTheParserAccepts() {
+        LenientJsonArrayExtractor extractor = new LenientJsonArrayExtractor(new ObjectMapper());
+
+        assertTrue(ExchangeAssessor.isReadable(extractor, "Sure:\n```json\n[{\"exchange\": \"Binance\", \"overallRiskScore\": \"LOW\"}]\n```"));
+        assertTrue(ExchangeAssessor.isReadable(extractor, "[{'exchange': 'Binance', 'overallRiskScore': LOW,}, {\"exchange\": \"Bybit\", \"overall"));
+        assertTrue(ExchangeAssessor.isReadable(extractor, "Exchange: Binance, Coin Listing: XYZUSDT, Overall Risk Score: MEDIUM"));
+        assertFalse(ExchangeAssessor.isReadable(extractor, "[{\"exchange\": \"Binance\"}, {\"coinListing\": \"XYZ/USDT\"}]"));
+        assertFalse(ExchangeAssessor.isReadable(extractor, "Something unexpected with no structure"));
+        assertFalse(ExchangeAssessor.isReadable(extractor, " "));
+    }
 }
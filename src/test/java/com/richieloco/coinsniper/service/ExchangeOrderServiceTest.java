@@ -0,0 +1,323 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.config.ExchangeTradingConfig;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.entity.TradeDecisionRecord;
+import com.richieloco.coinsniper.repository.TradeDecisionRepository;
+import com.richieloco.coinsniper.service.deadline.Deadline;
+import com.richieloco.coinsniper.service.exchange.ExchangeClient;
+import com.richieloco.coinsniper.service.exchange.ExchangeOrderService;
+import com.richieloco.coinsniper.service.exchange.OrderRequest;
+import com.richieloco.coinsniper.service.exchange.OrderResult;
+import com.richieloco.coinsniper.service.exchange.OrderResult.Status;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExchangeOrderServiceTest {
+
+    private static final CoinAnnouncementRecord ANNOUNCEMENT = CoinAnnouncementRecord.builder()
+            .id(UUID.randomUUID())
+            .coinSymbol("xyz")
+            .announcedAt(Instant.now())
+            .delisting(false)
+            .build();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<MockExchangeServer> servers = new ArrayList<>();
+    private final Map<String, CoinSniperConfig.Api.OnExchange> onExchange = new LinkedHashMap<>();
+    private final ExchangeTradingConfig tradingConfig = new ExchangeTradingConfig();
+    private final List<ExchangeOrderService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tradingConfig.setEnabled(true);
+        tradingConfig.setOrderPath(MockExchangeServer.ORDER_PATH);
+        tradingConfig.setReconcileDelay(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(ExchangeOrderService::close);
+        servers.forEach(MockExchangeServer::close);
+    }
+
+    @Test
+    void place_sendsASignedMarketOrder_andReturnsTheFill() {
+        MockExchangeServer poloniex = exchange("poloniex", "secret", Duration.ZERO);
+        ExchangeOrderService service = service();
+
+        StepVerifier.create(service.place(ANNOUNCEMENT, "Poloniex"))
+                .assertNext(result -> {
+                    assertThat(result.status()).isEqualTo(Status.FILLED);
+                    assertThat(result.exchange()).isEqualTo("Poloniex");
+                    assertThat(result.executedQuantity()).isEqualByComparingTo("5");
+                    assertThat(result.averagePrice()).isEqualByComparingTo("2");
+                    assertThat(result.orderId()).isNotNull();
+                    assertThat(poloniex.filled()).containsOnlyKeys(result.clientOrderId());
+                })
+                .verifyComplete();
+
+        assertThat(registry.get("coinsniper.exchange.order").tag("exchange", "Poloniex").tag("status", "filled").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void place_withAWrongSecret_isRejectedWithTheExchangesMessage() {
+        MockExchangeServer bybit = exchange("bybit", "secret", Duration.ZERO);
+        onExchange.get("bybit").getTrade().setApiSecret("not-the-secret");
+
+        StepVerifier.create(service().place(ANNOUNCEMENT, "Bybit"))
+                .assertNext(result -> {
+                    assertThat(result.status()).isEqualTo(Status.REJECTED);
+                    assertThat(result.message()).contains("Signature");
+                })
+                .verifyComplete();
+        assertThat(bybit.filled()).isEmpty();
+    }
+
+    @Test
+    void place_reusesTheClientOrderId_soARetriedEvaluationCannotBuyTwice() {
+        MockExchangeServer poloniex = exchange("poloniex", "secret", Duration.ZERO);
+        ExchangeOrderService service = service();
+
+        OrderResult first = service.place(ANNOUNCEMENT, "Poloniex").block();
+        OrderResult second = service.place(ANNOUNCEMENT, "Poloniex").block();
+
+        assertThat(first.status()).isEqualTo(Status.FILLED);
+        assertThat(second.status()).isEqualTo(Status.REJECTED);
+        assertThat(second.clientOrderId()).isEqualTo(first.clientOrderId());
+        assertThat(poloniex.filled()).hasSize(1);
+    }
+
+    @Test
+    void timedOutOrder_isLookedUpByItsClientOrderId_insteadOfCountedAsFailed() {
+        MockExchangeServer poloniex = exchange("poloniex", "secret", Duration.ofSeconds(1));
+        tradingConfig.setOrderTimeout(Duration.ofMillis(200));
+
+        StepVerifier.create(service().place(ANNOUNCEMENT, "Poloniex"))
+                .assertNext(result -> {
+                    assertThat(result.status()).isEqualTo(Status.FILLED);
+                    assertThat(result.orderId()).isEqualTo(poloniex.filled().get(result.clientOrderId()).toString());
+                })
+                .verifyComplete();
+        assertThat(poloniex.filled()).hasSize(1);
+    }
+
+    @Test
+    void serverErrorForAnOrderTheExchangeNeverTook_isFailedOnceLookedUp() {
+        MockExchangeServer poloniex = exchange("poloniex", "secret", Duration.ZERO);
+        poloniex.failOrdersWith(503);
+
+        StepVerifier.create(service().place(ANNOUNCEMENT, "Poloniex"))
+                .assertNext(result -> {
+                    assertThat(result.status()).isEqualTo(Status.FAILED);
+                    assertThat(result.message()).contains("Not received by the exchange");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void orderThatCannotBeLookedUp_staysUnknown_andIsNotRecordedAsExecuted() {
+        AtomicInteger lookUps = new AtomicInteger();
+        ExchangeClient unreachable = new ExchangeClient() {
+            @Override
+            public String exchange() {
+                return "Poloniex";
+            }
+
+            @Override
+            public Mono<OrderResult> placeOrder(OrderRequest request) {
+                return Mono.error(new IOException("Connection reset by peer"));
+            }
+
+            @Override
+            public Mono<OrderResult> queryOrder(OrderRequest request) {
+                lookUps.incrementAndGet();
+                return Mono.error(new IOException("Connection reset by peer"));
+            }
+        };
+
+        StepVerifier.create(tradeExecution(service(unreachable), "Poloniex").evaluateAndTrade(ANNOUNCEMENT))
+                .expectNextMatches(decision -> !decision.isTradeExecuted())
+                .verifyComplete();
+        assertThat(lookUps).hasValue(tradingConfig.getReconcileAttempts());
+        assertThat(registry.get("coinsniper.exchange.order").tag("exchange", "Poloniex").tag("status", "unknown").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void orderThatCouldNotConnect_isFailedWithoutALookUp() {
+        exchange("poloniex", "secret", Duration.ZERO).close();
+
+        StepVerifier.create(service().place(ANNOUNCEMENT, "Poloniex"))
+                .assertNext(result -> {
+                    assertThat(result.status()).isEqualTo(Status.FAILED);
+                    assertThat(result.message()).doesNotContain("Not received");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deadline_stopsAnOrderBeingSent_butNeverCutsOffOneInFlight() {
+        MockExchangeServer poloniex = exchange("poloniex", "secret", Duration.ofMillis(300));
+        ExchangeOrderService service = service();
+
+        StepVerifier.create(service.place(ANNOUNCEMENT, "Poloniex").contextWrite(new Deadline(0)::attachTo))
+                .assertNext(result -> assertThat(result.status()).isEqualTo(Status.FAILED))
+                .verifyComplete();
+        assertThat(poloniex.filled()).isEmpty();
+
+        StepVerifier.create(service.place(ANNOUNCEMENT, "Poloniex").contextWrite(Deadline.after(Duration.ofMillis(50))::attachTo))
+                .assertNext(result -> assertThat(result.status()).isEqualTo(Status.FILLED))
+                .verifyComplete();
+    }
+
+    @Test
+    void place_isEmpty_forAnExchangeWithoutAClient_orWhenTradingIsDisabled() {
+        exchange("poloniex", "secret", Duration.ZERO);
+
+        StepVerifier.create(service().place(ANNOUNCEMENT, "Kraken")).verifyComplete();
+        StepVerifier.create(TestCollaborators.noOrders().place(ANNOUNCEMENT, "Poloniex")).verifyComplete();
+    }
+
+    @Test
+    void exchangeClientBean_replacesTheRestClientForItsExchange() {
+        exchange("poloniex", "secret", Duration.ZERO);
+        ExchangeClient custom = new ExchangeClient() {
+            @Override
+            public String exchange() {
+                return "Poloniex";
+            }
+
+            @Override
+            public Mono<OrderResult> placeOrder(OrderRequest request) {
+                return Mono.just(new OrderResult(request.exchange(), request.clientOrderId(), "custom-1", Status.FILLED,
+                        BigDecimal.ONE, BigDecimal.TEN, null));
+            }
+
+            @Override
+            public Mono<OrderResult> queryOrder(OrderRequest request) {
+                return Mono.empty();
+            }
+        };
+
+        StepVerifier.create(service(custom).place(ANNOUNCEMENT, "Poloniex"))
+                .assertNext(result -> assertThat(result.orderId()).isEqualTo("custom-1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void approvedDecisions_placeTheirOrdersInParallel_andRecordWhichOnesExecuted() {
+        exchange("poloniex", "secret", Duration.ofMillis(400));
+        exchange("bybit", "secret", Duration.ofMillis(400));
+        exchange("kucoin", "secret", Duration.ofMillis(400));
+        exchange("gate", "secret", Duration.ofSeconds(2)); // answers after the order timeout, but fills at once
+        tradingConfig.setOrderTimeout(Duration.ofMillis(800));
+
+        TradeExecutionService tradeExecution = tradeExecution(service(), "Poloniex", "Bybit", "Kucoin", "Gate", "Binance");
+        long start = System.nanoTime();
+        List<TradeDecisionRecord> decisions = tradeExecution.evaluateAndTrade(ANNOUNCEMENT).collectList().block();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<String, Boolean> executed = new HashMap<>();
+        decisions.forEach(decision -> executed.put(decision.getExchange(), decision.isTradeExecuted()));
+        assertThat(executed).containsOnly(
+                Map.entry("Poloniex", true),
+                Map.entry("Bybit", true),
+                Map.entry("Kucoin", true),
+                Map.entry("Gate", true),      // timed out, then found filled by its clientOrderId
+                Map.entry("Binance", false)); // no trade endpoint configured
+        // One order timeout, not the sum of every exchange's latency
+        assertThat(elapsed).isLessThan(Duration.ofMillis(2000));
+        assertThat(registry.get("coinsniper.exchange.order").tag("exchange", "Gate").tag("status", "filled").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rejectedDecision_placesNoOrder() {
+        MockExchangeServer poloniex = exchange("poloniex", "secret", Duration.ZERO);
+        ExchangeAssessor assessor = mock(ExchangeAssessor.class);
+        when(assessor.assess(any())).thenReturn(Mono.just(List.of(assessment("Poloniex", "HIGH"))));
+
+        StepVerifier.create(tradeExecution(assessor, service(), "Poloniex").evaluateAndTrade(ANNOUNCEMENT))
+                .expectNextMatches(decision -> !decision.isTradeExecuted())
+                .verifyComplete();
+        assertThat(poloniex.filled()).isEmpty();
+    }
+
+    private MockExchangeServer exchange(String name, String secret, Duration latency) {
+        MockExchangeServer server = new MockExchangeServer(name + "-key", secret, latency, new BigDecimal("2"));
+        servers.add(server);
+
+        CoinSniperConfig.Api.OnExchange.Trade trade = new CoinSniperConfig.Api.OnExchange.Trade();
+        trade.setBaseUrl(server.baseUrl());
+        trade.setApiKey(name + "-key");
+        trade.setApiSecret(secret);
+        CoinSniperConfig.Api.OnExchange settings = new CoinSniperConfig.Api.OnExchange();
+        settings.setTrade(trade);
+        onExchange.put(name, settings);
+        return server;
+    }
+
+    private ExchangeOrderService service(ExchangeClient... beans) {
+        CoinSniperConfig config = new CoinSniperConfig();
+        config.setApi(new CoinSniperConfig.Api());
+        config.getApi().setOnExchange(onExchange);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (ExchangeClient bean : beans) {
+            beanFactory.addBean(bean.exchange() + "Client", bean);
+        }
+        ExchangeOrderService service = new ExchangeOrderService(config, tradingConfig,
+                beanFactory.getBeanProvider(ExchangeClient.class), registry);
+        services.add(service);
+        return service;
+    }
+
+    private TradeExecutionService tradeExecution(ExchangeOrderService orders, String... exchanges) {
+        ExchangeAssessor assessor = mock(ExchangeAssessor.class);
+        when(assessor.assess(any())).thenReturn(Mono.just(Arrays.stream(exchanges)
+                .map(exchange -> assessment(exchange, "LOW"))
+                .toList()));
+        return tradeExecution(assessor, orders, exchanges);
+    }
+
+    private TradeExecutionService tradeExecution(ExchangeAssessor assessor, ExchangeOrderService orders, String... exchanges) {
+        TradeDecisionRepository repository = mock(TradeDecisionRepository.class);
+        when(repository.upsertPerMinute(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(Mono.empty());
+        CoinSniperConfig config = new CoinSniperConfig();
+        config.setSupported(new CoinSniperConfig.Supported());
+        config.getSupported().setExchanges(List.of(exchanges));
+        config.getSupported().setStableCoins(List.of("USDT"));
+        return new TradeExecutionService(assessor, repository, config, TestCollaborators.pipelineMetrics(), TestCollaborators.unboundedBudget(), orders);
+    }
+
+    private static ExchangeAssessmentRecord assessment(String exchange, String risk) {
+        return ExchangeAssessmentRecord.builder()
+                .exchange(exchange)
+                .coinListing("XYZUSDT")
+                .overallRiskScore(risk)
+                .assessedAt(Instant.now())
+                .contextType("Exchange")
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.richieloco.coinsniper.service;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local stand-in for an LLM: {@link #stream} emits a canned response in fixed-size tokens, one every
+ * {@code tokenDelay}, and {@link #call} returns it whole after the time the stream would have taken.
+ */
+class FakeStreamingChatModel implements ChatModel {
+
+    private final String response;
+    private final int tokenSize;
+    private final Duration tokenDelay;
+
+    FakeStreamingChatModel(String response, int tokenSize, Duration tokenDelay) {
+        this.response = response;
+        this.tokenSize = tokenSize;
+        this.tokenDelay = tokenDelay;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return chunk(response);
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.fromIterable(tokens())
+                .delayElements(tokenDelay)
+                .map(FakeStreamingChatModel::chunk);
+    }
+
+    List<String> tokens() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < response.length(); i += tokenSize) {
+            tokens.add(response.substring(i, Math.min(response.length(), i + tokenSize)));
+        }
+        return tokens;
+    }
+
+    /**
+     * Virtual time at which the token containing {@code text} has been emitted.
+     */
+    Duration emittedBy(String text) {
+        int end = response.indexOf(text) + text.length();
+        return tokenDelay.multipliedBy((end + tokenSize - 1) / tokenSize);
+    }
+
+    Duration totalDuration() {
+        return tokenDelay.multipliedBy(tokens().size());
+    }
+
+    private static ChatResponse chunk(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
@@ -0,0 +1,145 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.LlmHedgingConfig;
+import com.richieloco.coinsniper.service.llm.ChatTransport;
+import com.richieloco.coinsniper.service.llm.HedgingChatTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgingChatTransportTest {
+
+    private static final String VALID = "[{\"exchange\": \"Binance\"}]";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private LlmHedgingConfig config;
+    private FakeTransport primary;
+    private FakeTransport secondary;
+    private HedgingChatTransport hedging;
+
+    @BeforeEach
+    void setUp() {
+        config = new LlmHedgingConfig();
+        config.setInitialDelay(Duration.ofSeconds(1));
+        config.setMinDelay(Duration.ofMillis(100));
+        config.setMaxDelay(Duration.ofSeconds(5));
+        config.setMinSamples(5);
+        config.setWindow(10);
+        config.setPercentile(0.8);
+        primary = new FakeTransport("primary");
+        secondary = new FakeTransport("secondary");
+        hedging = new HedgingChatTransport(primary, secondary, text -> text.startsWith("["), config, registry);
+    }
+
+    @Test
+    void fastPrimary_isNeverHedged() {
+        primary.respond(Duration.ofMillis(300), VALID);
+        secondary.respond(Duration.ofMillis(10), VALID);
+
+        StepVerifier.withVirtualTime(() -> hedging.call("prompt"))
+                .thenAwait(Duration.ofMillis(300))
+                .expectNext(VALID + " from primary")
+                .verifyComplete();
+
+        assertThat(secondary.calls.get()).isZero();
+        assertThat(registry.get("coinsniper.llm.hedge").tag("winner", "primary").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowPrimary_isHedged_andLoserCancelled() {
+        primary.respond(Duration.ofSeconds(8), VALID);
+        secondary.respond(Duration.ofMillis(200), VALID);
+
+        StepVerifier.withVirtualTime(() -> hedging.call("prompt"))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(1199))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext(VALID + " from secondary")
+                .verifyComplete();
+
+        assertThat(primary.cancelled).isTrue();
+        assertThat(registry.get("coinsniper.llm.hedge.fired").counter().count()).isEqualTo(1);
+        assertThat(registry.get("coinsniper.llm.hedge").tag("winner", "secondary").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unusablePrimaryAnswer_hedgesImmediately() {
+        primary.respond(Duration.ofMillis(50), "Sorry, I cannot help with that");
+        secondary.respond(Duration.ofMillis(200), VALID);
+
+        StepVerifier.withVirtualTime(() -> hedging.call("prompt"))
+                .thenAwait(Duration.ofMillis(250))
+                .expectNext(VALID + " from secondary")
+                .verifyComplete();
+    }
+
+    @Test
+    void noUsableAnswer_fails() {
+        primary.respond(Duration.ofMillis(50), "nope");
+        secondary.respond(Duration.ofMillis(50), "nope");
+
+        StepVerifier.withVirtualTime(() -> hedging.call("prompt"))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectErrorMatches(error -> error instanceof IllegalStateException
+                        && error.getMessage().contains("usable"))
+                .verify();
+    }
+
+    @Test
+    void hedgeDelay_followsPrimaryLatencyPercentile() {
+        assertThat(hedging.hedgeDelay()).isEqualTo(Duration.ofSeconds(1));
+        secondary.respond(Duration.ofSeconds(10), VALID); // hedges fire but never win, so every latency is recorded in full
+
+        for (int latency : new int[]{200, 300, 400, 500, 600, 700, 800, 900, 1000, 2000}) {
+            primary.respond(Duration.ofMillis(latency), VALID);
+            StepVerifier.withVirtualTime(() -> hedging.call("prompt"))
+                    .thenAwait(Duration.ofSeconds(3))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        // 80th percentile of the last ten primary latencies
+        assertThat(hedging.hedgeDelay()).isEqualTo(Duration.ofMillis(900));
+    }
+
+    private static final class FakeTransport implements ChatTransport {
+        private final String name;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile boolean cancelled;
+        private Duration latency;
+        private String text;
+
+        private FakeTransport(String name) {
+            this.name = name;
+        }
+
+        void respond(Duration latency, String text) {
+            this.latency = latency;
+            this.text = text;
+        }
+
+        @Override
+        public Mono<String> call(String prompt) {
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                return Mono.just(text.startsWith("[") ? text + " from " + name : text)
+                        .delayElement(latency)
+                        .doOnCancel(() -> cancelled = true);
+            });
+        }
+
+        @Override
+        public Flux<String> stream(String prompt) {
+            return call(prompt).flux();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.richieloco.coinsniper.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.model.ExchangeAssessmentResponse;
+import com.richieloco.coinsniper.service.risk.IncrementalJsonArrayParser;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementalJsonArrayParserTest {
+
+    private static final String RESPONSE = """
+            Here is the assessment:
+            ```json
+            [
+              {"exchange": "Binance", "coinListing": "XYZUSDT", "overallRiskScore": "LOW",
+               "liquidity": "High", "tradingVolume": "High", "tradingFees": "Low"},
+              {"exchange": "Bybit [spot]", "coinListing": "XYZUSDT", "overallRiskScore": "MEDIUM",
+               "liquidity": "Medium", "tradingVolume": "Medium", "tradingFees": "Medium"}
+            ]
+            ```
+            Let me know if you need more.""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void elementsAreReturnedAsEachObjectCloses_evenWhenSplitMidToken() {
+        IncrementalJsonArrayParser<ExchangeAssessmentResponse> parser =
+                new IncrementalJsonArrayParser<>(objectMapper, ExchangeAssessmentResponse.class);
+        int firstClose = RESPONSE.indexOf('}') + 1;
+
+        List<ExchangeAssessmentResponse> beforeFirstClose = feedInPieces(parser, RESPONSE.substring(0, firstClose - 1), 3);
+        List<ExchangeAssessmentResponse> atFirstClose = parser.feed(RESPONSE.substring(firstClose - 1, firstClose));
+        List<ExchangeAssessmentResponse> rest = feedInPieces(parser, RESPONSE.substring(firstClose), 3);
+
+        assertThat(beforeFirstClose).isEmpty();
+        assertThat(atFirstClose).extracting(ExchangeAssessmentResponse::exchange).containsExactly("Binance");
+        assertThat(rest).extracting(ExchangeAssessmentResponse::exchange).containsExactly("Bybit [spot]");
+        assertThat(parser.sawArray()).isTrue();
+        assertThat(parser.isComplete()).isTrue();
+    }
+
+    @Test
+    void nestedStructures_belongToTheirElement() {
+        IncrementalJsonArrayParser<Map> parser = new IncrementalJsonArrayParser<>(objectMapper, Map.class);
+
+        List<Map> elements = parser.feed("[{\"exchange\": \"Binance\", \"pairs\": [{\"q\": \"USDT\"}, {\"q\": \"USDC\"}]}, 42, {\"exchange\": \"Bybit\"}]");
+
+        assertThat(elements).hasSize(2);
+        assertThat(elements.getFirst().get("pairs")).asInstanceOf(InstanceOfAssertFactories.LIST).hasSize(2);
+        assertThat(elements.get(1)).containsEntry("exchange", "Bybit");
+    }
+
+    @Test
+    void textWithoutArray_isIgnored() {
+        IncrementalJsonArrayParser<Map> parser = new IncrementalJsonArrayParser<>(objectMapper, Map.class);
+
+        assertThat(parser.feed("Exchange: Binance, Coin Listing: XYZUSDT")).isEmpty();
+        assertThat(parser.sawArray()).isFalse();
+    }
+
+    @Test
+    void truncatedArray_keepsCompletedElements() {
+        IncrementalJsonArrayParser<Map> parser = new IncrementalJsonArrayParser<>(objectMapper, Map.class);
+
+        List<Map> elements = parser.feed("[{\"exchange\": \"Binance\"}, {\"exchange\": \"By");
+
+        assertThat(elements).hasSize(1);
+        assertThat(parser.isComplete()).isFalse();
+    }
+
+    @Test
+    void malformedElement_fails() {
+        IncrementalJsonArrayParser<Map> parser = new IncrementalJsonArrayParser<>(objectMapper, Map.class);
+
+        assertThatThrownBy(() -> parser.feed("[{\"exchange\": Binance}]"))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private static <T> List<T> feedInPieces(IncrementalJsonArrayParser<T> parser, String text, int size) {
+        List<T> elements = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += size) {
+            elements.addAll(parser.feed(text.substring(i, Math.min(text.length(), i + size))));
+        }
+        return elements;
+    }
+}
@@ -0,0 +1,215 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AiPromptConfig;
+import com.richieloco.coinsniper.config.AssessmentStreamingConfig;
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.config.LatencyBudgetConfig;
+import com.richieloco.coinsniper.config.TradeEvaluationConfig;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.repository.ExchangeAssessmentRepository;
+import com.richieloco.coinsniper.repository.TradeDecisionRepository;
+import com.richieloco.coinsniper.service.deadline.Deadline;
+import com.richieloco.coinsniper.service.deadline.DeadlineExceededException;
+import com.richieloco.coinsniper.service.deadline.LatencyBudget;
+import com.richieloco.coinsniper.service.evaluation.TradeEvaluationQueue;
+import com.richieloco.coinsniper.service.llm.ChatTransport;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.StreamingAssessmentFunction;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LatencyBudgetTest {
+
+    private static final Duration BUDGET = Duration.ofSeconds(2);
+
+    private StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> assessor;
+    private TradeDecisionRepository decisions;
+    private CoinSniperConfig config;
+    private LatencyBudgetConfig budgetConfig;
+    private SimpleMeterRegistry registry;
+    private LatencyBudget latencyBudget;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        assessor = mock(StreamingAssessmentFunction.class);
+        decisions = mock(TradeDecisionRepository.class);
+        when(decisions.upsertPerMinute(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(Mono.empty());
+        config = new CoinSniperConfig();
+        config.setSupported(new CoinSniperConfig.Supported());
+        config.getSupported().setExchanges(List.of("Binance", "Bybit"));
+        config.getSupported().setStableCoins(List.of("USDT"));
+        budgetConfig = new LatencyBudgetConfig();
+        budgetConfig.setBudget(BUDGET);
+        registry = new SimpleMeterRegistry();
+        latencyBudget = new LatencyBudget(budgetConfig, registry);
+    }
+
+    @Test
+    void stuckAssessment_isCancelledAtTheDeadline_andUndecidedExchangesAreRejected() {
+        when(assessor.assess(any())).thenReturn(Mono.<List<ExchangeAssessmentRecord>>never().doOnCancel(() -> cancelled.set(true)));
+
+        StepVerifier.withVirtualTime(() -> service().evaluateAndTrade(announcement(Instant.now())))
+                .expectSubscription()
+                .expectNoEvent(BUDGET.minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .recordWith(ArrayList::new)
+                .expectNextCount(2)
+                .consumeRecordedWith(recorded -> assertThat(recorded)
+                        .allMatch(decision -> !decision.isTradeExecuted() && decision.isExpired()))
+                .verifyComplete();
+
+        assertThat(cancelled).isTrue();
+        assertThat(registry.get("coinsniper.deadline.exceeded").tag("stage", LatencyBudget.ASSESSMENT).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void skipOnExpiry_recordsNothingForUndecidedExchanges() {
+        budgetConfig.setOnExpiry(LatencyBudgetConfig.ExpiryDecision.SKIP);
+        when(assessor.assess(any())).thenReturn(Mono.never());
+
+        StepVerifier.withVirtualTime(() -> service().evaluateAndTrade(announcement(Instant.now())))
+                .expectSubscription()
+                .thenAwait(BUDGET)
+                .verifyComplete();
+
+        verifyNoInteractions(decisions);
+    }
+
+    @Test
+    void streamedDecisions_madeInTime_areKept() {
+        when(assessor.isStreaming()).thenReturn(true);
+        // assembled per call, so the delay runs on the virtual clock
+        when(assessor.stream(any())).thenAnswer(invocation -> Flux.concat(
+                Mono.delay(Duration.ofMillis(500)).map(tick -> assessment("Binance", "LOW")),
+                Flux.<ExchangeAssessmentRecord>never().doOnCancel(() -> cancelled.set(true))));
+
+        StepVerifier.withVirtualTime(() -> service().evaluateAndTrade(announcement(Instant.now())))
+                .expectSubscription()
+                .thenAwait(Duration.ofMillis(500))
+                .expectNextMatches(decision -> decision.getExchange().equals("Binance") && decision.isTradeExecuted() && !decision.isExpired())
+                .thenAwait(BUDGET)
+                .expectNextMatches(decision -> decision.getExchange().equals("Bybit") && !decision.isTradeExecuted() && decision.isExpired())
+                .verifyComplete();
+
+        assertThat(cancelled).isTrue();
+        assertThat(registry.get("coinsniper.deadline.remaining").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void budgetSpentBeforeEvaluation_skipsTheAssessment() {
+        budgetConfig.setAnchor(LatencyBudgetConfig.Anchor.RELEASE);
+
+        StepVerifier.create(service().evaluateAndTrade(announcement(Instant.now().minus(Duration.ofMinutes(1)))))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        verify(assessor, never()).assess(any());
+        assertThat(registry.get("coinsniper.deadline.exceeded").tag("stage", LatencyBudget.QUEUED).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void deadlineInContext_cancelsTheLlmCall() {
+        ChatTransport transport = mock(ChatTransport.class);
+        when(transport.call(any())).thenReturn(Mono.<String>never().doOnCancel(() -> cancelled.set(true)));
+        ExchangeAssessor exchangeAssessor = exchangeAssessor(transport);
+        ExchangeSelectorContext context = new ExchangeSelectorContext("Binance", "XYZ", "USDT");
+
+        StepVerifier.withVirtualTime(() -> exchangeAssessor.assess(context)
+                        .contextWrite(ctx -> Deadline.after(BUDGET).attachTo(ctx)))
+                .expectSubscription()
+                .thenAwait(BUDGET)
+                .expectError(DeadlineExceededException.class)
+                .verify();
+
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void expiredDeadline_neverCallsTheLlm() {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        ChatTransport transport = mock(ChatTransport.class);
+        when(transport.call(any())).thenReturn(Mono.fromSupplier(() -> {
+            subscribed.set(true);
+            return "[]";
+        }));
+        ExchangeAssessor exchangeAssessor = exchangeAssessor(transport);
+
+        StepVerifier.create(exchangeAssessor.assess(new ExchangeSelectorContext("Binance", "XYZ", "USDT"))
+                        .contextWrite(ctx -> new Deadline(0).attachTo(ctx)))
+                .expectError(DeadlineExceededException.class)
+                .verify();
+
+        assertThat(subscribed).isFalse();
+    }
+
+    @Test
+    void queue_startsTheDeadlineAtSubmit_andEvaluatesUnderIt() {
+        TradeExecutionService tradeExecutionService = mock(TradeExecutionService.class);
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        when(tradeExecutionService.evaluateAndTrade(any())).thenReturn(Flux.deferContextual(ctx -> {
+            seen.set(Deadline.from(ctx).orElse(null));
+            return Flux.empty();
+        }));
+        TradeEvaluationQueue queue = new TradeEvaluationQueue(tradeExecutionService, new TradeEvaluationConfig(), registry, latencyBudget,
+                TestCollaborators.noRetries());
+        queue.start();
+        try {
+            StepVerifier.create(queue.submit(announcement(Instant.now()))).verifyComplete();
+        } finally {
+            queue.stop();
+        }
+
+        assertThat(seen.get()).isNotNull();
+        assertThat(seen.get().remaining()).isPositive().isLessThanOrEqualTo(BUDGET);
+    }
+
+    private TradeExecutionService service() {
+        return new TradeExecutionService(assessor, decisions, config, TestCollaborators.pipelineMetrics(), latencyBudget,
+                TestCollaborators.noOrders());
+    }
+
+    private ExchangeAssessor exchangeAssessor(ChatTransport transport) {
+        PromptTemplate template = mock(PromptTemplate.class);
+        when(template.getTemplate()).thenReturn("Exchange: <exchanges>, Coin: <targetCoin>, Stables: <stableCoins>");
+        AiPromptConfig promptConfig = mock(AiPromptConfig.class);
+        when(promptConfig.exchangeCoinAvailabilityPromptTemplate()).thenReturn(template);
+        return new ExchangeAssessor(transport, TestCollaborators.writeThrough(mock(ExchangeAssessmentRepository.class)), promptConfig,
+                TestCollaborators.pipelineMetrics(), new AssessmentStreamingConfig());
+    }
+
+    private static CoinAnnouncementRecord announcement(Instant announcedAt) {
+        return CoinAnnouncementRecord.builder()
+                .coinSymbol("XYZ")
+                .announcedAt(announcedAt)
+                .build();
+    }
+
+    private static ExchangeAssessmentRecord assessment(String exchange, String risk) {
+        return ExchangeAssessmentRecord.builder()
+                .exchange(exchange)
+                .coinListing("XYZUSDT")
+                .overallRiskScore(risk)
+                .build();
+    }
+}
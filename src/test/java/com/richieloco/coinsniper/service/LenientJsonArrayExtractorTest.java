@@ -0,0 +1,106 @@
+package com.richieloco.coinsniper.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.model.ExchangeAssessmentResponse;
+import com.richieloco.coinsniper.service.risk.LenientJsonArrayExtractor;
+import com.richieloco.coinsniper.service.risk.LenientJsonArrayExtractor.Extraction;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LenientJsonArrayExtractorTest {
+
+    private final LenientJsonArrayExtractor extractor = new LenientJsonArrayExtractor(new ObjectMapper());
+
+    @Test
+    void strictArray_isReadClean() {
+        Extraction<ExchangeAssessmentResponse> extraction = extract("""
+                [{"exchange": "Binance", "coinListing": "XYZ/USDT", "overallRiskScore": "Low"},
+                 {"exchange": "Bybit [spot]", "coinListing": "XYZ/USDT", "overallRiskScore": "High"}]""");
+
+        assertThat(extraction.isClean()).isTrue();
+        assertThat(extraction.elements()).extracting(ExchangeAssessmentResponse::exchange).containsExactly("Binance", "Bybit [spot]");
+    }
+
+    @Test
+    void arrayInProseWithCommonDefects_isRepaired() {
+        Extraction<ExchangeAssessmentResponse> extraction = extract("""
+                Sure! Here is the assessment [as requested]:
+                ```json
+                [
+                  {'exchange': 'Binance', 'coinListing': 'XYZ/USDT', 'overallRiskScore': 'Low', 'tradingFees': 'Binance\\'s "VIP" tier',},
+                  {exchange: "Kraken", coinListing: "XYZ/USD", overallRiskScore: Medium, liquidity: None,,},
+                ]
+                ```
+                Let me know if you need anything else.""");
+
+        assertThat(extraction.foundJson()).isTrue();
+        assertThat(extraction.repaired()).isTrue();
+        assertThat(extraction.dropped()).isZero();
+        assertThat(extraction.elements()).hasSize(2);
+        assertThat(extraction.elements().getFirst().tradingFees()).isEqualTo("Binance's \"VIP\" tier");
+        assertThat(extraction.elements().get(1)).satisfies(kraken -> {
+            assertThat(kraken.exchange()).isEqualTo("Kraken");
+            assertThat(kraken.overallRiskScore()).isEqualTo("Medium");
+            assertThat(kraken.liquidity()).isNull();
+        });
+    }
+
+    @Test
+    void truncatedLastObject_keepsItsCompleteMembers() {
+        Extraction<ExchangeAssessmentResponse> extraction = extract("""
+                [{"exchange": "Binance", "overallRiskScore": "Low"},
+                 {"exchange": "Bybit", "overallRiskScore": "High", "liquidity": "Lo""");
+
+        assertThat(extraction.repaired()).isTrue();
+        assertThat(extraction.elements()).hasSize(2);
+        assertThat(extraction.elements().get(1).overallRiskScore()).isEqualTo("High");
+        assertThat(extraction.elements().get(1).liquidity()).isNull();
+    }
+
+    @Test
+    void objectCutOffBeforeAnyCompleteMember_isLeftOut() {
+        Extraction<ExchangeAssessmentResponse> extraction = extract("[{\"exchange\": \"Binance\", \"overallRiskScore\": \"Low\"}, {\"exch");
+
+        assertThat(extraction.elements()).extracting(ExchangeAssessmentResponse::exchange).containsExactly("Binance");
+    }
+
+    @Test
+    void unbindableObject_isDroppedWithoutLosingTheOthers() {
+        Extraction<ExchangeAssessmentResponse> extraction = extract("""
+                [{"exchange": {"name": "Binance"}, "overallRiskScore": "Low"},
+                 {"exchange": "Bybit", "overallRiskScore": "Medium", "note": "unknown properties are ignored"}]""");
+
+        assertThat(extraction.dropped()).isEqualTo(1);
+        assertThat(extraction.elements()).extracting(ExchangeAssessmentResponse::exchange).containsExactly("Bybit");
+    }
+
+    @Test
+    void bareObjects_areTakenWithoutAnArray() {
+        Extraction<ExchangeAssessmentResponse> extraction = extract("""
+                Binance: {"exchange": "Binance", "overallRiskScore": "Low"}
+                Kucoin: {"exchange": "Kucoin", "overallRiskScore": "High"}""");
+
+        assertThat(extraction.elements()).extracting(ExchangeAssessmentResponse::exchange).containsExactly("Binance", "Kucoin");
+    }
+
+    @Test
+    void emptyArray_isJsonWithNoElements() {
+        Extraction<ExchangeAssessmentResponse> extraction = extract("No regulated exchange lists it: []");
+
+        assertThat(extraction.foundJson()).isTrue();
+        assertThat(extraction.elements()).isEmpty();
+    }
+
+    @Test
+    void textWithoutJson_isNotFound() {
+        Extraction<ExchangeAssessmentResponse> extraction = extract("Exchange: Binance [spot], Coin Listing: XYZUSDT, Overall Risk Score: MEDIUM");
+
+        assertThat(extraction.foundJson()).isFalse();
+        assertThat(extraction.elements()).isEmpty();
+    }
+
+    private Extraction<ExchangeAssessmentResponse> extract(String text) {
+        return extractor.extract(text, ExchangeAssessmentResponse.class);
+    }
+}
@@ -0,0 +1,246 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.LlmAdmissionConfig;
+import com.richieloco.coinsniper.service.admission.AdmissionPriority;
+import com.richieloco.coinsniper.service.admission.AdmissionRejectedException;
+import com.richieloco.coinsniper.service.admission.LlmAdmissionController;
+import com.richieloco.coinsniper.service.admission.LlmAdmissionController.Permit;
+import com.richieloco.coinsniper.service.admission.TokenBucket;
+import com.richieloco.coinsniper.service.llm.AdmittedChatTransport;
+import com.richieloco.coinsniper.service.llm.ChatTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LlmAdmissionControllerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Permit> granted = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void callsBeyondMaxConcurrency_waitForASlot() {
+        LlmAdmissionController controller = controller(2, 10, Duration.ofMinutes(1));
+
+        acquire(controller, AdmissionPriority.NEW_LISTING);
+        acquire(controller, AdmissionPriority.NEW_LISTING);
+        Disposable third = acquire(controller, AdmissionPriority.NEW_LISTING);
+
+        assertThat(granted).hasSize(2);
+        assertThat(controller.depth(AdmissionPriority.NEW_LISTING)).isEqualTo(1);
+        assertThat(registry.get("coinsniper.llm.admission.in-flight").gauge().value()).isEqualTo(2);
+
+        granted.getFirst().release();
+        granted.getFirst().release(); // a second release is ignored
+
+        assertThat(granted).hasSize(3);
+        assertThat(controller.inFlight()).isEqualTo(2);
+        assertThat(controller.depth(AdmissionPriority.NEW_LISTING)).isZero();
+        assertThat(registry.get("coinsniper.llm.admission.wait").tag("priority", "new-listing").timer().count()).isEqualTo(3);
+        third.dispose();
+    }
+
+    @Test
+    void freedSlot_goesToNewListingsBeforeReassessments() {
+        LlmAdmissionController controller = controller(1, 10, Duration.ofMinutes(1));
+        acquire(controller, AdmissionPriority.NEW_LISTING);
+
+        List<AdmissionPriority> order = new ArrayList<>();
+        controller.acquire(AdmissionPriority.REASSESSMENT).subscribe(permit -> order.add(AdmissionPriority.REASSESSMENT));
+        controller.acquire(AdmissionPriority.NEW_LISTING).subscribe(permit -> {
+            order.add(AdmissionPriority.NEW_LISTING);
+            permit.release();
+        });
+
+        granted.getFirst().release();
+
+        assertThat(order).containsExactly(AdmissionPriority.NEW_LISTING, AdmissionPriority.REASSESSMENT);
+    }
+
+    @Test
+    void fullQueue_rejectsTheCall() {
+        LlmAdmissionController controller = controller(1, 1, Duration.ofMinutes(1));
+        acquire(controller, AdmissionPriority.NEW_LISTING);
+        acquire(controller, AdmissionPriority.NEW_LISTING);
+
+        StepVerifier.create(controller.acquire(AdmissionPriority.REASSESSMENT))
+                .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(AdmissionRejectedException.class)
+                        .extracting("reason").isEqualTo("queue-full"))
+                .verify();
+        assertThat(rejected("reassessment", "queue-full")).isEqualTo(1);
+    }
+
+    @Test
+    void callWaitingLongerThanMaxWait_isRejected_andLeavesTheQueue() {
+        LlmAdmissionController controller = controller(1, 10, Duration.ofSeconds(5));
+        acquire(controller, AdmissionPriority.NEW_LISTING);
+
+        StepVerifier.withVirtualTime(() -> controller.acquire(AdmissionPriority.NEW_LISTING))
+                .expectSubscription()
+                .then(() -> assertThat(controller.depth(AdmissionPriority.NEW_LISTING)).isEqualTo(1))
+                .thenAwait(Duration.ofSeconds(5))
+                .expectError(AdmissionRejectedException.class)
+                .verify();
+
+        assertThat(controller.depth(AdmissionPriority.NEW_LISTING)).isZero();
+        assertThat(rejected("new-listing", "timeout")).isEqualTo(1);
+        granted.getFirst().release();
+        assertThat(controller.inFlight()).isZero();
+    }
+
+    @Test
+    void cancelledWaiter_doesNotTakeTheFreedSlot() {
+        LlmAdmissionController controller = controller(1, 10, Duration.ofMinutes(1));
+        acquire(controller, AdmissionPriority.NEW_LISTING);
+        acquire(controller, AdmissionPriority.NEW_LISTING).dispose();
+
+        granted.getFirst().release();
+
+        assertThat(granted).hasSize(1);
+        assertThat(controller.inFlight()).isZero();
+    }
+
+    @Test
+    void tokenBucket_allowsABurstThenSpacesRequestsOut() {
+        VirtualTimeScheduler.getOrSet();
+        LlmAdmissionConfig.RateLimit rateLimit = new LlmAdmissionConfig.RateLimit();
+        rateLimit.setRequestsPerSecond(2);
+        rateLimit.setBurst(2);
+        TokenBucket bucket = new TokenBucket(rateLimit);
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isEqualTo(Duration.ofMillis(500));
+        assertThat(bucket.reserve()).isEqualTo(Duration.ofSeconds(1));
+
+        VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(10));
+        assertThat(bucket.reserve()).isZero();
+        assertThat(new TokenBucket(new LlmAdmissionConfig.RateLimit()).isLimited()).isFalse();
+    }
+
+    @Test
+    void admittedTransport_holdsTheSlotUntilTheCallEnds() {
+        LlmAdmissionController controller = controller(1, 10, Duration.ofMinutes(1));
+        Sinks.One<String> firstAnswer = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+        ChatTransport provider = new ChatTransport() {
+            @Override
+            public Mono<String> call(String prompt) {
+                return calls.incrementAndGet() == 1 ? firstAnswer.asMono() : Mono.just("second");
+            }
+
+            @Override
+            public Flux<String> stream(String prompt) {
+                return Flux.just(prompt);
+            }
+        };
+        AdmittedChatTransport transport = new AdmittedChatTransport(provider, controller,
+                new TokenBucket(new LlmAdmissionConfig.RateLimit()), "primary", registry);
+
+        List<String> answers = new ArrayList<>();
+        transport.call("first").subscribe(answers::add);
+        transport.call("second")
+                .contextWrite(AdmissionPriority.REASSESSMENT::attachTo)
+                .subscribe(answers::add);
+
+        assertThat(calls).hasValue(1);
+        assertThat(controller.depth(AdmissionPriority.REASSESSMENT)).isEqualTo(1);
+
+        firstAnswer.tryEmitValue("first");
+
+        assertThat(answers).containsExactlyInAnyOrder("first", "second");
+        assertThat(controller.inFlight()).isZero();
+        StepVerifier.create(transport.stream("streamed")).expectNext("streamed").verifyComplete();
+        assertThat(controller.inFlight()).isZero();
+    }
+
+    @Test
+    void rateLimitedCall_waitsForItsTokenWithoutHoldingASlot() {
+        VirtualTimeScheduler.getOrSet();
+        LlmAdmissionController controller = controller(1, 10, Duration.ofMinutes(1));
+        TokenBucket primaryLimit = new TokenBucket(rateLimit(0.1, 1)); // one call per 10s
+        AdmittedChatTransport primary = new AdmittedChatTransport(echo(), controller, primaryLimit, "primary", registry);
+        AdmittedChatTransport secondary = new AdmittedChatTransport(echo(), controller,
+                new TokenBucket(new LlmAdmissionConfig.RateLimit()), "secondary", registry);
+
+        List<String> answers = new ArrayList<>();
+        primary.call("first").subscribe(answers::add);
+        primary.call("throttled").subscribe(answers::add);
+
+        assertThat(controller.inFlight()).isZero();
+        secondary.call("hedge").subscribe(answers::add);
+        assertThat(answers).containsExactly("first", "hedge");
+
+        VirtualTimeScheduler.get().advanceTimeBy(Duration.ofSeconds(10));
+        assertThat(answers).containsExactly("first", "hedge", "throttled");
+        assertThat(controller.inFlight()).isZero();
+    }
+
+    @Test
+    void callCancelledBeforeItIsSent_returnsItsToken() {
+        VirtualTimeScheduler.getOrSet();
+        TokenBucket limit = new TokenBucket(rateLimit(0.1, 1));
+        AdmittedChatTransport transport = new AdmittedChatTransport(echo(), controller(1, 10, Duration.ofMinutes(1)),
+                limit, "primary", registry);
+
+        transport.call("first").subscribe();
+        transport.call("cancelled").subscribe().dispose();
+
+        // Only the first call's token is spent
+        assertThat(limit.reserve()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    private LlmAdmissionController controller(int maxConcurrency, int queueCapacity, Duration maxWait) {
+        LlmAdmissionConfig config = new LlmAdmissionConfig();
+        config.setMaxConcurrency(maxConcurrency);
+        config.setQueueCapacity(queueCapacity);
+        config.setMaxWait(maxWait);
+        return new LlmAdmissionController(config, registry);
+    }
+
+    private static LlmAdmissionConfig.RateLimit rateLimit(double requestsPerSecond, int burst) {
+        LlmAdmissionConfig.RateLimit rateLimit = new LlmAdmissionConfig.RateLimit();
+        rateLimit.setRequestsPerSecond(requestsPerSecond);
+        rateLimit.setBurst(burst);
+        return rateLimit;
+    }
+
+    private static ChatTransport echo() {
+        return new ChatTransport() {
+            @Override
+            public Mono<String> call(String prompt) {
+                return Mono.just(prompt);
+            }
+
+            @Override
+            public Flux<String> stream(String prompt) {
+                return Flux.just(prompt);
+            }
+        };
+    }
+
+    private Disposable acquire(LlmAdmissionController controller, AdmissionPriority priority) {
+        return controller.acquire(priority).subscribe(granted::add);
+    }
+
+    private double rejected(String priority, String reason) {
+        return registry.get("coinsniper.llm.admission.rejected").tag("priority", priority).tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,150 @@
+package com.richieloco.coinsniper.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.service.exchange.RestExchangeClient;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for an exchange's signed order endpoint: checks the API key and HMAC signature the way the exchange
+ * would, fills the whole market order at {@code price}, then waits {@code latency} before answering. A repeated
+ * {@code clientOrderId} is refused as a duplicate, and a signed {@code GET} by {@code clientOrderId} returns the fill
+ * or 404.
+ */
+class MockExchangeServer implements AutoCloseable {
+
+    static final String ORDER_PATH = "/api/v1/order";
+
+    private final String apiKey;
+    private final String apiSecret;
+    private final Duration latency;
+    private final BigDecimal price;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Long> filled = new ConcurrentHashMap<>();
+    private final Map<String, String> fills = new ConcurrentHashMap<>();
+    private volatile int failWithStatus;
+    private final AtomicLong orderIds = new AtomicLong(1000);
+    private final DisposableServer server;
+
+    MockExchangeServer(String apiKey, String apiSecret, Duration latency, BigDecimal price) {
+        this.apiKey = apiKey;
+        this.apiSecret = apiSecret;
+        this.latency = latency;
+        this.price = price;
+        this.server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post(ORDER_PATH, this::order).get(ORDER_PATH, this::lookUp))
+                .bindNow();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    /**
+     * Orders filled so far, by {@code clientOrderId}.
+     */
+    Map<String, Long> filled() {
+        return filled;
+    }
+
+    /**
+     * Answers every further order with {@code status} without filling it.
+     */
+    void failOrdersWith(int status) {
+        failWithStatus = status;
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> order(HttpServerRequest request, HttpServerResponse response) {
+        return request.receive().aggregate().asString().flatMap(body -> {
+            String timestamp = request.requestHeaders().get(RestExchangeClient.TIMESTAMP_HEADER);
+            String signature = request.requestHeaders().get(RestExchangeClient.SIGNATURE_HEADER);
+            if (!apiKey.equals(request.requestHeaders().get(RestExchangeClient.API_KEY_HEADER))
+                    || timestamp == null
+                    || !sign(timestamp + "POST" + ORDER_PATH + body).equals(signature)) {
+                return send(response, 401, "{\"code\": -1022, \"msg\": \"Signature for this request is not valid.\"}");
+            }
+
+            if (failWithStatus != 0) {
+                return send(response, failWithStatus, "{\"code\": -1001, \"msg\": \"Internal error.\"}");
+            }
+
+            JsonNode order = read(body);
+            String clientOrderId = order.path("clientOrderId").asText();
+            long orderId = orderIds.incrementAndGet();
+            if (filled.putIfAbsent(clientOrderId, orderId) != null) {
+                return send(response, 400, "{\"code\": -2010, \"msg\": \"Duplicate order sent.\"}");
+            }
+            BigDecimal quoteQty = new BigDecimal(order.path("quoteOrderQty").asText());
+            String fill = """
+                    {"symbol": "%s", "orderId": %d, "clientOrderId": "%s", "status": "FILLED",
+                     "executedQty": "%s", "avgPrice": "%s"}""".formatted(order.path("symbol").asText(), orderId, clientOrderId,
+                    quoteQty.divide(price, 8, RoundingMode.DOWN).toPlainString(), price.toPlainString());
+            fills.put(clientOrderId, fill);
+            return Mono.delay(latency).then(send(response, 200, fill));
+        });
+    }
+
+    private Mono<Void> lookUp(HttpServerRequest request, HttpServerResponse response) {
+        String timestamp = request.requestHeaders().get(RestExchangeClient.TIMESTAMP_HEADER);
+        if (!apiKey.equals(request.requestHeaders().get(RestExchangeClient.API_KEY_HEADER))
+                || timestamp == null
+                || !sign(timestamp + "GET" + request.uri()).equals(request.requestHeaders().get(RestExchangeClient.SIGNATURE_HEADER))) {
+            return send(response, 401, "{\"code\": -1022, \"msg\": \"Signature for this request is not valid.\"}");
+        }
+        String clientOrderId = new QueryStringDecoder(request.uri()).parameters()
+                .getOrDefault("clientOrderId", List.of("")).getFirst();
+        String fill = fills.get(clientOrderId);
+        return fill == null
+                ? send(response, 404, "{\"code\": -2013, \"msg\": \"Order does not exist.\"}")
+                : send(response, 200, fill);
+    }
+
+    private Mono<Void> send(HttpServerResponse response, int status, String json) {
+        return response.status(status)
+                .header("Content-Type", "application/json")
+                .sendString(Mono.just(json))
+                .then();
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(apiSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode read(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AiPromptConfig;
+import com.richieloco.coinsniper.config.AssessmentStreamingConfig;
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.repository.ExchangeAssessmentRepository;
+import com.richieloco.coinsniper.repository.TradeDecisionRepository;
+import com.richieloco.coinsniper.service.llm.ChatModelTransport;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PipelineMetricsTest {
+
+    private PrometheusMeterRegistry registry;
+    private PipelineMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        metrics = new PipelineMetrics(registry);
+    }
+
+    @Test
+    void tradeDecision_recordsUpsertAndReleaseToDecision() {
+        var assessor = mock(ExchangeAssessor.class);
+        var repository = mock(TradeDecisionRepository.class);
+        var config = new CoinSniperConfig();
+        config.setSupported(new CoinSniperConfig.Supported());
+        config.getSupported().setExchanges(List.of("Binance"));
+        config.getSupported().setStableCoins(List.of("USDT"));
+        when(assessor.assess(any(ExchangeSelectorContext.class))).thenReturn(Mono.just(List.of(
+                ExchangeAssessmentRecord.builder().exchange("Binance").overallRiskScore("LOW").build())));
+        when(repository.upsertPerMinute(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(Mono.empty());
+
+        var announcement = CoinAnnouncementRecord.builder()
+                .coinSymbol("XYZ")
+                .announcedAt(Instant.now().minusSeconds(30))
+                .build();
+
+        StepVerifier.create(new TradeExecutionService(assessor, repository, config, metrics,
+                TestCollaborators.unboundedBudget(), TestCollaborators.noOrders()).evaluateAndTrade(announcement))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        var releaseToDecision = registry.get("coinsniper.pipeline.release.to.decision").timer();
+        assertThat(releaseToDecision.count()).isEqualTo(1);
+        assertThat(releaseToDecision.totalTime(TimeUnit.SECONDS)).isBetween(30.0, 60.0);
+        assertThat(stageCount(PipelineMetrics.DECISION_UPSERT)).isEqualTo(1);
+    }
+
+    @Test
+    void assessor_recordsLlmCallAndParse() {
+        var chatModel = mock(ChatModel.class);
+        var promptConfig = mock(AiPromptConfig.class);
+        var promptTemplate = mock(PromptTemplate.class);
+        var repository = mock(ExchangeAssessmentRepository.class);
+        when(promptConfig.exchangeCoinAvailabilityPromptTemplate()).thenReturn(promptTemplate);
+        when(promptTemplate.getTemplate()).thenReturn("Exchange: <exchanges>, Coin: <targetCoin>, Stables: <stableCoins>");
+        when(repository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(chatModel.call(any(Prompt.class))).thenReturn(new ChatResponse(List.of(new Generation(new AssistantMessage(
+                "Exchange: Binance, Coin Listing: XYZUSDT, Overall Risk Score: LOW")))));
+
+        var assessor = new ExchangeAssessor(new ChatModelTransport(chatModel, TestCollaborators.boundedElastic()),
+                TestCollaborators.writeThrough(repository), promptConfig, metrics, new AssessmentStreamingConfig());
+
+        StepVerifier.create(assessor.assess(new ExchangeSelectorContext("Binance", "XYZ", "USDT")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(stageCount(PipelineMetrics.LLM_CALL)).isEqualTo(1);
+        assertThat(stageCount(PipelineMetrics.PARSE)).isEqualTo(1);
+    }
+
+    @Test
+    void streamingDecode_recordsOneDecodeSamplePerResponse() throws Exception {
+        byte[] payload = new ClassPathResource("testResponse_Full.json").getContentAsByteArray();
+        var decoder = new BinanceAnnouncementDecoder(metrics);
+
+        StepVerifier.create(decoder.decode(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(payload)),
+                        Set.of("New Cryptocurrency Listing", "Delisting")))
+                .expectNextCount(20)
+                .verifyComplete();
+
+        assertThat(stageCount(PipelineMetrics.DECODE)).isEqualTo(1);
+    }
+
+    @Test
+    void prometheusScrape_exposesHistogramBuckets() {
+        metrics.time(PipelineMetrics.ANNOUNCEMENT_SAVE, Mono.just("saved")).block();
+        metrics.recordReleaseToDecision(Instant.now().minus(Duration.ofSeconds(5)), Instant.now());
+
+        String scrape = registry.scrape();
+
+        assertThat(scrape).contains("coinsniper_pipeline_stage_seconds_bucket{stage=\"announcement-save\"");
+        assertThat(scrape).contains("coinsniper_pipeline_release_to_decision_seconds_bucket{");
+        assertThat(scrape).contains("coinsniper_pipeline_release_to_decision_seconds_count 1");
+    }
+
+    private long stageCount(String stage) {
+        return registry.get("coinsniper.pipeline.stage").tag("stage", stage).timer().count();
+    }
+}
@@ -0,0 +1,160 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.RuleAssessmentConfig;
+import com.richieloco.coinsniper.entity.ExchangeAssessmentRecord;
+import com.richieloco.coinsniper.service.risk.ExchangeListingTable;
+import com.richieloco.coinsniper.service.risk.RuleBasedExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.StreamingAssessmentFunction;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RuleBasedExchangeAssessorTest {
+
+    private static final String HEADER = "coin,exchange,stable_coin,liquidity,trading_volume,trading_fees,risk,verified_at\n";
+
+    @TempDir
+    Path dir;
+
+    private Path tableFile;
+    private StreamingAssessmentFunction<ExchangeSelectorContext, ExchangeAssessmentRecord> llm;
+    private RuleAssessmentConfig config;
+    private SimpleMeterRegistry registry;
+    private ExchangeListingTable table;
+    private RuleBasedExchangeAssessor assessor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+        tableFile = dir.resolve("exchange-listings.csv");
+        write("""
+                # maintained by hand
+                XYZ,Binance,USDT,High,High,Low,,2025-02-20
+                XYZ,Binance,USDC,Medium,Low,Low,,2025-02-20
+                XYZ,Bybit,USDT,Low,Low,High,,2025-02-20
+                XYZ,Kraken,USDT,High,High,Low,,2025-02-20
+                OLD,Binance,USDT,High,High,Low,,2024-01-01
+                ODD,Binance,USDT,High,High,Low,MEDIUM,
+                BAD,Binance,USDT,High,High
+                """);
+        llm = mock(StreamingAssessmentFunction.class);
+        when(llm.assess(any())).thenReturn(Mono.just(List.of(ExchangeAssessmentRecord.builder()
+                .contextType("ExchangeAssessment")
+                .exchange("Binance")
+                .overallRiskScore("MEDIUM")
+                .build())));
+        when(llm.stream(any())).thenReturn(Flux.just(ExchangeAssessmentRecord.builder().contextType("ExchangeAssessment").build()));
+        config = new RuleAssessmentConfig();
+        config.setTable(tableFile.toUri().toString());
+        config.setRefreshInterval(Duration.ZERO);
+        registry = new SimpleMeterRegistry();
+        Clock clock = Clock.fixed(Instant.parse("2025-03-01T00:00:00Z"), ZoneOffset.UTC);
+        table = new ExchangeListingTable(config, new DefaultResourceLoader(), clock);
+        table.start();
+        assessor = new RuleBasedExchangeAssessor(llm, table, config, registry, clock);
+    }
+
+    @Test
+    void coinInTable_isAssessedWithoutTheLlm() {
+        StepVerifier.create(assessor.assess(new ExchangeSelectorContext("Binance,Bybit", "xyz", "USDT,USDC")))
+                .assertNext(assessments -> {
+                    assertThat(assessments).extracting(ExchangeAssessmentRecord::getExchange).containsExactly("Binance", "Bybit");
+                    assertThat(assessments.getFirst().getCoinListing()).isEqualTo("XYZUSDT");
+                    assertThat(assessments.getFirst().getOverallRiskScore()).isEqualTo("LOW");
+                    assertThat(assessments.get(1).getOverallRiskScore()).isEqualTo("HIGH");
+                    assertThat(assessments).allMatch(record -> record.getContextType().equals("ExchangeRules"));
+                })
+                .verifyComplete();
+
+        verifyNoInteractions(llm);
+        assertThat(registry.get("coinsniper.assessment.tier").tag("tier", "rules").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void explicitRisk_overridesTheDerivedScore() {
+        StepVerifier.create(assessor.assess(new ExchangeSelectorContext("Binance", "ODD", "USDT")))
+                .expectNextMatches(assessments -> assessments.getFirst().getOverallRiskScore().equals("MEDIUM"))
+                .verifyComplete();
+    }
+
+    @Test
+    void unknownCoin_fallsBackToTheLlm() {
+        StepVerifier.create(assessor.assess(new ExchangeSelectorContext("Binance", "NEW", "USDT")))
+                .expectNextMatches(assessments -> assessments.getFirst().getContextType().equals("ExchangeAssessment"))
+                .verifyComplete();
+
+        verify(llm).assess(any());
+        assertThat(registry.get("coinsniper.assessment.tier").tag("tier", "llm").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void coinNotOnRequestedExchanges_fallsBackToTheLlm() {
+        StepVerifier.create(assessor.assess(new ExchangeSelectorContext("Coinbase", "XYZ", "USDT")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(llm).assess(any());
+    }
+
+    @Test
+    void staleRows_fallBackToTheLlm() {
+        StepVerifier.create(assessor.stream(new ExchangeSelectorContext("Binance", "OLD", "USDT")))
+                .expectNextMatches(record -> record.getContextType().equals("ExchangeAssessment"))
+                .verifyComplete();
+
+        verify(llm).stream(any());
+    }
+
+    @Test
+    void malformedRows_areSkipped() {
+        assertThat(table.stats().getRows()).isEqualTo(6);
+        assertThat(table.stats().getSkippedRows()).isEqualTo(1);
+        assertThat(table.listings("BAD")).isEmpty();
+    }
+
+    @Test
+    void reload_picksUpEditsToTheTable() throws IOException {
+        write("NEW,Binance,USDT,High,Medium,Low,,2025-02-28\n");
+
+        table.reload();
+
+        StepVerifier.create(assessor.assess(new ExchangeSelectorContext("Binance", "NEW", "USDT")))
+                .expectNextMatches(assessments -> assessments.getFirst().getOverallRiskScore().equals("LOW")
+                        && assessments.getFirst().getContextType().equals("ExchangeRules"))
+                .verifyComplete();
+        assertThat(table.listings("XYZ")).isEmpty();
+        verifyNoInteractions(llm);
+    }
+
+    @Test
+    void disabled_alwaysUsesTheLlm() {
+        config.setEnabled(false);
+
+        StepVerifier.create(assessor.assess(new ExchangeSelectorContext("Binance", "XYZ", "USDT")))
+                .expectNextMatches(assessments -> assessments.getFirst().getContextType().equals("ExchangeAssessment"))
+                .verifyComplete();
+    }
+
+    private void write(String rows) throws IOException {
+        Files.writeString(tableFile, HEADER + rows);
+    }
+}
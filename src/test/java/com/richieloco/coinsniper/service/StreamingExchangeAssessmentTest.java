@@ -0,0 +1,180 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AiPromptConfig;
+import com.richieloco.coinsniper.config.AssessmentStreamingConfig;
+import com.richieloco.coinsniper.config.CoinSniperConfig;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.repository.ExchangeAssessmentRepository;
+import com.richieloco.coinsniper.repository.TradeDecisionRepository;
+import com.richieloco.coinsniper.service.llm.ChatModelTransport;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import com.richieloco.coinsniper.service.risk.ExchangeAssessor;
+import com.richieloco.coinsniper.service.risk.context.ExchangeSelectorContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StreamingExchangeAssessmentTest {
+
+    private static final String FIRST = """
+            {"exchange": "Binance", "coinListing": "XYZUSDT", "overallRiskScore": "LOW",
+             "liquidity": "High", "tradingVolume": "High", "tradingFees": "Low"}""";
+    private static final String SECOND = """
+            {"exchange": "Bybit", "coinListing": "XYZUSDT", "overallRiskScore": "HIGH",
+             "liquidity": "Low", "tradingVolume": "Low", "tradingFees": "High"}""";
+    private static final String RESPONSE = "[" + FIRST + ",\n" + SECOND + "]";
+    private static final Duration TOKEN_DELAY = Duration.ofMillis(20);
+
+    private ExchangeAssessmentRepository assessmentRepository;
+    private AiPromptConfig promptConfig;
+    private AssessmentStreamingConfig streamingConfig;
+    private final ExchangeSelectorContext context = new ExchangeSelectorContext("Binance,Bybit", "XYZ", "USDT");
+
+    @BeforeEach
+    void setUp() {
+        assessmentRepository = mock(ExchangeAssessmentRepository.class);
+        when(assessmentRepository.save(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        PromptTemplate template = mock(PromptTemplate.class);
+        when(template.getTemplate()).thenReturn("Exchange: <exchanges>, Coin: <targetCoin>, Stables: <stableCoins>");
+        promptConfig = mock(AiPromptConfig.class);
+        when(promptConfig.exchangeCoinAvailabilityPromptTemplate()).thenReturn(template);
+        streamingConfig = new AssessmentStreamingConfig();
+        streamingConfig.setEnabled(true);
+    }
+
+    @Test
+    void stream_emitsEachExchangeAsItsObjectCloses() {
+        FakeStreamingChatModel model = new FakeStreamingChatModel(RESPONSE, 4, TOKEN_DELAY);
+        ExchangeAssessor assessor = assessor(model);
+        Duration firstClosed = model.emittedBy(FIRST);
+
+        StepVerifier.withVirtualTime(() -> assessor.stream(context))
+                .expectSubscription()
+                .expectNoEvent(firstClosed.minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNextMatches(record -> record.getExchange().equals("Binance")
+                        && record.getOverallRiskScore().equals("LOW"))
+                .expectNoEvent(model.emittedBy(SECOND).minus(firstClosed).minusMillis(1))
+                .thenAwait(model.totalDuration())
+                .expectNextMatches(record -> record.getExchange().equals("Bybit"))
+                .verifyComplete();
+
+        verify(assessmentRepository, times(2)).save(any());
+    }
+
+    @Test
+    void firstTradeDecision_isMadeBeforeTheModelFinishes() {
+        FakeStreamingChatModel model = new FakeStreamingChatModel(RESPONSE, 4, TOKEN_DELAY);
+        TradeDecisionRepository decisions = mock(TradeDecisionRepository.class);
+        when(decisions.upsertPerMinute(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(Mono.empty());
+        CoinSniperConfig config = new CoinSniperConfig();
+        config.setSupported(new CoinSniperConfig.Supported());
+        config.getSupported().setExchanges(List.of("Binance", "Bybit"));
+        config.getSupported().setStableCoins(List.of("USDT"));
+        TradeExecutionService service = new TradeExecutionService(assessor(model), decisions, config, TestCollaborators.pipelineMetrics(),
+                TestCollaborators.unboundedBudget(), TestCollaborators.noOrders());
+        CoinAnnouncementRecord announcement = CoinAnnouncementRecord.builder()
+                .coinSymbol("XYZ")
+                .announcedAt(Instant.now())
+                .build();
+
+        StepVerifier.withVirtualTime(() -> service.evaluateAndTrade(announcement))
+                .expectSubscription()
+                .thenAwait(model.emittedBy(FIRST))
+                .expectNextMatches(decision -> decision.getExchange().equals("Binance") && decision.isTradeExecuted())
+                .expectNoEvent(model.emittedBy(SECOND).minus(model.emittedBy(FIRST)).minusMillis(1))
+                .thenAwait(model.totalDuration())
+                .expectNextMatches(decision -> decision.getExchange().equals("Bybit") && !decision.isTradeExecuted())
+                .verifyComplete();
+    }
+
+    @Test
+    void nonJsonResponse_isParsedOnceTheStreamEnds() {
+        String keyValue = "Exchange: Binance, Coin Listing: XYZUSDT, Overall Risk Score: MEDIUM";
+        FakeStreamingChatModel model = new FakeStreamingChatModel(keyValue, 5, TOKEN_DELAY);
+        ExchangeAssessor assessor = assessor(model);
+
+        StepVerifier.withVirtualTime(() -> assessor.stream(context))
+                .expectSubscription()
+                .expectNoEvent(model.totalDuration().minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNextMatches(record -> record.getExchange().equals("Binance")
+                        && record.getOverallRiskScore().equals("MEDIUM"))
+                .verifyComplete();
+    }
+
+    @Test
+    void malformedStream_stillYieldsEveryObject() {
+        String third = "{'exchange': 'Kraken', 'coinListing': 'XYZUSDT', 'overallRiskScore': 'MEDIUM',}";
+        FakeStreamingChatModel model = new FakeStreamingChatModel("[" + FIRST + ",\n" + third + ",\n" + SECOND + ",\n]", 4, TOKEN_DELAY);
+        ExchangeAssessor assessor = assessor(model);
+
+        StepVerifier.withVirtualTime(() -> assessor.stream(context))
+                .expectSubscription()
+                .thenAwait(model.emittedBy(FIRST))
+                .expectNextMatches(record -> record.getExchange().equals("Binance"))
+                .thenAwait(model.totalDuration())
+                .expectNextMatches(record -> record.getExchange().equals("Kraken") && record.getOverallRiskScore().equals("MEDIUM"))
+                .expectNextMatches(record -> record.getExchange().equals("Bybit"))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamedObjectWithoutRiskScore_isDropped() {
+        String incomplete = "{\"exchange\": \"Kraken\", \"coinListing\": \"XYZUSDT\"}";
+        FakeStreamingChatModel model = new FakeStreamingChatModel("[" + FIRST + ",\n" + incomplete + ",\n" + SECOND + "]", 4, TOKEN_DELAY);
+        ExchangeAssessor assessor = assessor(model);
+
+        StepVerifier.withVirtualTime(() -> assessor.stream(context))
+                .expectSubscription()
+                .thenAwait(model.totalDuration())
+                .expectNextMatches(record -> record.getExchange().equals("Binance"))
+                .expectNextMatches(record -> record.getExchange().equals("Bybit"))
+                .verifyComplete();
+        verify(assessmentRepository, times(2)).save(any());
+    }
+
+    @Test
+    void malformedStream_doesNotRepeatExchangesAlreadyEmitted_whenTheRepairFindsAnExtraObjectBeforeThem() {
+        // The strict parser skips the string element; the repair reads the {} inside it as an (unusable) object
+        String kraken = "{'exchange': 'Kraken', 'coinListing': 'XYZUSDT', 'overallRiskScore': 'MEDIUM',}";
+        String response = "[\"Scores {} follow\",\n" + FIRST + ",\n" + SECOND + ",\n" + kraken + "]";
+        FakeStreamingChatModel model = new FakeStreamingChatModel(response, 4, TOKEN_DELAY);
+        ExchangeAssessor assessor = assessor(model);
+
+        StepVerifier.withVirtualTime(() -> assessor.stream(context))
+                .expectSubscription()
+                .thenAwait(model.totalDuration())
+                .expectNextMatches(record -> record.getExchange().equals("Binance"))
+                .expectNextMatches(record -> record.getExchange().equals("Bybit"))
+                .expectNextMatches(record -> record.getExchange().equals("Kraken"))
+                .verifyComplete();
+        verify(assessmentRepository, times(3)).save(any());
+    }
+
+    @Test
+    void disabledStreaming_fallsBackToWholeResponse() {
+        streamingConfig.setEnabled(false);
+        ExchangeAssessor assessor = assessor(new FakeStreamingChatModel(RESPONSE, 4, TOKEN_DELAY));
+
+        assertThat(assessor.isStreaming()).isFalse();
+        StepVerifier.create(assessor.stream(context))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    private ExchangeAssessor assessor(FakeStreamingChatModel model) {
+        return new ExchangeAssessor(new ChatModelTransport(model, TestCollaborators.boundedElastic()),
+                TestCollaborators.writeThrough(assessmentRepository), promptConfig, TestCollaborators.pipelineMetrics(), streamingConfig);
+    }
+}
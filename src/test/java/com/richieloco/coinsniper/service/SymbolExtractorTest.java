@@ -0,0 +1,99 @@
+package com.richieloco.coinsniper.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.service.symbol.KnownSymbolDictionary;
+import com.richieloco.coinsniper.service.symbol.RegexSymbolExtractor;
+import com.richieloco.coinsniper.service.symbol.SymbolExtractor;
+import com.richieloco.coinsniper.service.symbol.TokenizingSymbolExtractor;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SymbolExtractorTest {
+
+    private final SymbolExtractor regex = new RegexSymbolExtractor();
+    private final SymbolExtractor tokenizer = new TokenizingSymbolExtractor();
+
+    @Test
+    public void tokenizer_matchesRegex_forCapturedTitles() throws IOException {
+        List<String> titles = capturedTitles();
+
+        assertThat(titles).hasSizeGreaterThan(100);
+        for (String title : titles) {
+            assertThat(tokenizer.extract(title)).as(title).isEqualTo(regex.extract(title));
+        }
+    }
+
+    @Test
+    public void tokenizer_matchesRegex_forEdgeCases() {
+        List<String> titles = List.of(
+                "",
+                "()",
+                "(A) (ABCDEFGHIJK) (ABCDEFGHIJ) (abc) (AB_C) ((XY))",
+                "Binance Will List StraitsX USD (XUSD)",
+                "binance will list FOO and BAR",
+                "BINANCE HAS ADD   \t ZZ9 today",
+                "Binance Will Listing FOO",
+                "Binance Will Delist AMB, CLV, STMX, VITE on 2025-02-24",
+                "Binance will list ABCDEFGHIJKLMNOP QRS",
+                "Binance will list ___ A_B CDE",
+                "Binance will list Café ÉTÉ",
+                "Binance will list\nFOO",
+                "Binance will list  \nFOO",
+                "Binance will list - USDT",
+                "Binance will list BNB then Binance has delist OLD (NEW)",
+                "xbinance will support 1INCH",
+                "Binance Will Add USDⓈ-Margined Perpetual (USD)",
+                "Binance will introduce");
+        for (String title : titles) {
+            assertThat(tokenizer.extract(title)).as(title).isEqualTo(regex.extract(title));
+        }
+    }
+
+    @Test
+    public void extract_noSymbol_returnsUnknown() {
+        assertThat(tokenizer.extract("Notice on Maintenance")).containsExactly(SymbolExtractor.UNKNOWN_COIN);
+    }
+
+    @Test
+    public void dictionary_addsWholeWordKnownSymbols() {
+        SymbolExtractor extractor = new TokenizingSymbolExtractor(
+                KnownSymbolDictionary.of(List.of("amb", "CLV", "STMX", "VITE", "TMX", "USDT", "ABCDEFGHIJKL")));
+
+        assertThat(extractor.extract("Binance Will Delist AMB, CLV, STMX, VITE on 2025-02-24"))
+                .containsExactly("AMB", "CLV", "STMX", "VITE");
+        assertThat(extractor.extract("Binance Will List XSTMX (NEW) paired with USDT"))
+                .containsExactly("NEW", "XSTMX");
+    }
+
+    @Test
+    public void dictionary_reportsOverlappingSymbols() {
+        KnownSymbolDictionary dictionary = KnownSymbolDictionary.of(Set.of("ETH", "ETHFI", "HFI", "FI"));
+        List<String> matches = new ArrayList<>();
+
+        dictionary.forEachMatch("ETHFI/ETH FI", matches::add);
+
+        assertThat(dictionary.size()).isEqualTo(4);
+        assertThat(matches).containsExactly("ETHFI", "ETH", "FI");
+    }
+
+    private static List<String> capturedTitles() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> titles = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources("classpath:testResponse_*.json")) {
+            JsonNode root = mapper.readTree(resource.getInputStream());
+            for (JsonNode catalog : root.path("data").path("catalogs")) {
+                catalog.path("articles").forEach(article -> titles.add(article.path("title").asText()));
+            }
+        }
+        return titles;
+    }
+}
@@ -0,0 +1,67 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AssessmentRetryConfig;
+import com.richieloco.coinsniper.config.AssessmentWriteBehindConfig;
+import com.richieloco.coinsniper.config.BlockingExecutionConfig;
+import com.richieloco.coinsniper.config.ExchangeTradingConfig;
+import com.richieloco.coinsniper.config.LatencyBudgetConfig;
+import com.richieloco.coinsniper.repository.AssessmentDeadLetterRepository;
+import com.richieloco.coinsniper.repository.ExchangeAssessmentRepository;
+import com.richieloco.coinsniper.service.deadline.LatencyBudget;
+import com.richieloco.coinsniper.service.exchange.ExchangeOrderService;
+import com.richieloco.coinsniper.service.execution.BlockingExecutor;
+import com.richieloco.coinsniper.service.metrics.PipelineMetrics;
+import com.richieloco.coinsniper.service.persistence.ExchangeAssessmentWriter;
+import com.richieloco.coinsniper.service.retry.AssessmentRetryQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Collaborators switched off or passing straight through, for tests that build a service by hand and do not care
+ * about that part of the pipeline.
+ */
+public final class TestCollaborators {
+
+    private TestCollaborators() {
+    }
+
+    public static PipelineMetrics pipelineMetrics() {
+        return new PipelineMetrics(new SimpleMeterRegistry());
+    }
+
+    public static LatencyBudget unboundedBudget() {
+        LatencyBudgetConfig config = new LatencyBudgetConfig();
+        config.setEnabled(false);
+        return new LatencyBudget(config, new SimpleMeterRegistry());
+    }
+
+    public static AssessmentRetryQueue noRetries() {
+        AssessmentRetryConfig config = new AssessmentRetryConfig();
+        config.setEnabled(false);
+        AssessmentDeadLetterRepository deadLetters = mock(AssessmentDeadLetterRepository.class);
+        when(deadLetters.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        return new AssessmentRetryQueue(null, deadLetters, config, new SimpleMeterRegistry());
+    }
+
+    public static ExchangeAssessmentWriter writeThrough(ExchangeAssessmentRepository repository) {
+        AssessmentWriteBehindConfig config = new AssessmentWriteBehindConfig();
+        config.setEnabled(false);
+        return new ExchangeAssessmentWriter(repository, config, new SimpleMeterRegistry());
+    }
+
+    public static ExchangeOrderService noOrders() {
+        ExchangeTradingConfig config = new ExchangeTradingConfig();
+        config.setEnabled(false);
+        return new ExchangeOrderService(config, List.of(), new SimpleMeterRegistry());
+    }
+
+    public static BlockingExecutor boundedElastic() {
+        return new BlockingExecutor(new BlockingExecutionConfig(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,199 @@
+package com.richieloco.coinsniper.service;
+
+import com.richieloco.coinsniper.config.AssessmentRetryConfig;
+import com.richieloco.coinsniper.config.TradeEvaluationConfig;
+import com.richieloco.coinsniper.config.TradeEvaluationConfig.OverflowPolicy;
+import com.richieloco.coinsniper.entity.AssessmentDeadLetterRecord;
+import com.richieloco.coinsniper.entity.CoinAnnouncementRecord;
+import com.richieloco.coinsniper.entity.TradeDecisionRecord;
+import com.richieloco.coinsniper.repository.AssessmentDeadLetterRepository;
+import com.richieloco.coinsniper.service.evaluation.TradeEvaluationQueue;
+import com.richieloco.coinsniper.service.retry.AssessmentRetryQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TradeEvaluationQueueTest {
+
+    private final Map<String, Sinks.Empty<Void>> evaluations = new ConcurrentHashMap<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private TradeExecutionService tradeExecutionService;
+    private AssessmentDeadLetterRepository deadLetters;
+    private TradeEvaluationQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        tradeExecutionService = mock(TradeExecutionService.class);
+        // Each evaluation stays in flight until the test completes its sink
+        when(tradeExecutionService.evaluateAndTrade(any())).thenAnswer(invocation -> {
+            CoinAnnouncementRecord announcement = invocation.getArgument(0);
+            Sinks.Empty<Void> done = evaluations.computeIfAbsent(announcement.getCoinSymbol(), symbol -> Sinks.empty());
+            return done.asMono().thenMany(Flux.<TradeDecisionRecord>empty());
+        });
+        deadLetters = mock(AssessmentDeadLetterRepository.class);
+        when(deadLetters.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void submit_completesBeforeEvaluation_andEvaluatorsBoundConcurrency() {
+        queue = startedQueue(2, 10, OverflowPolicy.DROP_NEWEST);
+
+        for (String symbol : new String[]{"AAA", "BBB", "CCC", "DDD"}) {
+            StepVerifier.create(queue.submit(announcement(symbol))).verifyComplete();
+        }
+
+        verify(tradeExecutionService, times(2)).evaluateAndTrade(any());
+        assertThat(queue.depth()).isEqualTo(2);
+        assertThat(registry.get("coinsniper.evaluation.queue.depth").gauge().value()).isEqualTo(2);
+
+        finish("AAA");
+        verify(tradeExecutionService).evaluateAndTrade(argThat(a -> a.getCoinSymbol().equals("CCC")));
+        assertThat(queue.depth()).isEqualTo(1);
+        assertThat(registry.get("coinsniper.evaluation").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("coinsniper.evaluation.queue.wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void dropNewest_deadLettersAnnouncementThatDoesNotFit() {
+        queue = startedQueue(1, 1, OverflowPolicy.DROP_NEWEST);
+
+        queue.submit(announcement("AAA")).block();
+        queue.submit(announcement("BBB")).block();
+        StepVerifier.create(queue.submit(announcement("CCC"))).verifyComplete();
+
+        assertThat(overflowCount("drop-newest")).isEqualTo(1);
+        assertThat(deadLettered()).containsExactly("CCC");
+        finish("AAA");
+        finish("BBB");
+        verify(tradeExecutionService, never()).evaluateAndTrade(argThat(a -> a.getCoinSymbol().equals("CCC")));
+    }
+
+    @Test
+    void dropOldest_evictsLongestWaitingAnnouncementToTheDeadLetters() {
+        queue = startedQueue(1, 1, OverflowPolicy.DROP_OLDEST);
+
+        queue.submit(announcement("AAA")).block();
+        queue.submit(announcement("BBB")).block();
+        queue.submit(announcement("CCC")).block();
+
+        assertThat(overflowCount("drop-oldest")).isEqualTo(1);
+        finish("AAA");
+        verify(tradeExecutionService).evaluateAndTrade(argThat(a -> a.getCoinSymbol().equals("CCC")));
+        verify(tradeExecutionService, never()).evaluateAndTrade(argThat(a -> a.getCoinSymbol().equals("BBB")));
+        assertThat(deadLettered()).containsExactly("BBB");
+    }
+
+    @Test
+    void stop_deadLettersWaitingAndInterruptedAnnouncements() {
+        queue = startedQueue(1, 10, OverflowPolicy.DROP_NEWEST);
+        queue.submit(announcement("AAA")).block();
+        queue.submit(announcement("BBB")).block();
+        queue.submit(announcement("CCC")).block();
+        finish("AAA");
+
+        queue.stop();
+
+        ArgumentCaptor<AssessmentDeadLetterRecord> saved = ArgumentCaptor.forClass(AssessmentDeadLetterRecord.class);
+        verify(deadLetters, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(AssessmentDeadLetterRecord::getCoinSymbol).containsExactly("BBB", "CCC");
+        assertThat(saved.getAllValues()).allSatisfy(record -> {
+            assertThat(record.getAttempts()).isZero();
+            assertThat(record.getLastError()).isEqualTo("Never evaluated: shutdown");
+        });
+        assertThat(queue.depth()).isZero();
+    }
+
+    @Test
+    void callerRuns_evaluatesInsideSubmitWhenFull() {
+        queue = startedQueue(1, 1, OverflowPolicy.CALLER_RUNS);
+
+        queue.submit(announcement("AAA")).block();
+        queue.submit(announcement("BBB")).block();
+
+        StepVerifier.create(queue.submit(announcement("CCC")))
+                .then(() -> {
+                    verify(tradeExecutionService).evaluateAndTrade(argThat(a -> a.getCoinSymbol().equals("CCC")));
+                    finish("CCC");
+                })
+                .verifyComplete();
+        assertThat(overflowCount("caller-runs")).isEqualTo(1);
+    }
+
+    @Test
+    void failedEvaluation_doesNotStopConsumers() {
+        queue = startedQueue(1, 10, OverflowPolicy.DROP_NEWEST);
+
+        queue.submit(announcement("AAA")).block();
+        queue.submit(announcement("BBB")).block();
+        evaluations.get("AAA").tryEmitError(new IllegalStateException("LLM down"));
+
+        verify(tradeExecutionService).evaluateAndTrade(argThat(a -> a.getCoinSymbol().equals("BBB")));
+        assertThat(registry.get("coinsniper.evaluation").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void notQueued_evaluatesInsideSubmit() {
+        var config = new TradeEvaluationConfig();
+        config.setQueued(false);
+        queue = new TradeEvaluationQueue(tradeExecutionService, config, registry, TestCollaborators.unboundedBudget(),
+                TestCollaborators.noRetries());
+        queue.start();
+
+        StepVerifier.create(queue.submit(announcement("AAA")))
+                .then(() -> finish("AAA"))
+                .verifyComplete();
+        verify(tradeExecutionService).evaluateAndTrade(any());
+    }
+
+    private TradeEvaluationQueue startedQueue(int evaluators, int capacity, OverflowPolicy policy) {
+        var config = new TradeEvaluationConfig();
+        config.setEvaluators(evaluators);
+        config.setQueueCapacity(capacity);
+        config.setOverflowPolicy(policy);
+        var retryConfig = new AssessmentRetryConfig();
+        retryConfig.setEnabled(false);
+        var started = new TradeEvaluationQueue(tradeExecutionService, config, registry, TestCollaborators.unboundedBudget(),
+                new AssessmentRetryQueue(tradeExecutionService, deadLetters, retryConfig, registry));
+        started.start();
+        return started;
+    }
+
+    private void finish(String symbol) {
+        evaluations.get(symbol).tryEmitEmpty();
+    }
+
+    private List<String> deadLettered() {
+        ArgumentCaptor<AssessmentDeadLetterRecord> saved = ArgumentCaptor.forClass(AssessmentDeadLetterRecord.class);
+        verify(deadLetters, atLeast(0)).save(saved.capture());
+        return saved.getAllValues().stream().map(AssessmentDeadLetterRecord::getCoinSymbol).toList();
+    }
+
+    private double overflowCount(String policy) {
+        return registry.get("coinsniper.evaluation.queue.overflow").tag("policy", policy).counter().count();
+    }
+
+    private static CoinAnnouncementRecord announcement(String symbol) {
+        return CoinAnnouncementRecord.builder().coinSymbol(symbol).title("Binance Will List " + symbol).build();
+    }
+}
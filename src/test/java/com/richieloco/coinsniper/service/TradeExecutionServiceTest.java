@@ -54,17 +54,43 @@ public class TradeExecutionServiceTest {
                 .build();
 
         when(assessor.assess(any(ExchangeSelectorContext.class))).thenReturn(Mono.just(List.of(assessment)));
-        when(repo.upsertPerMinute(any(), any(), any(), any(), any(), any(), any()))
+        when(repo.upsertPerMinute(any(), any(), any(), any(), any(), any(), any(), any()))
                 .thenReturn(Mono.empty());
 
 
-        TradeExecutionService service = new TradeExecutionService(assessor, repo, config);
+        TradeExecutionService service = service();
 
         StepVerifier.create(service.evaluateAndTrade(announcement))
                 .expectNextMatches(trade -> trade.getExchange().equals("Binance") && trade.isTradeExecuted())
                 .verifyComplete();
     }
 
+    @Test
+    public void testEvaluateAndTrade_missingRiskScore_isTreatedAsHighestRisk() {
+        CoinAnnouncementRecord announcement = CoinAnnouncementRecord.builder()
+                .coinSymbol("XYZ")
+                .announcedAt(Instant.now())
+                .delisting(false)
+                .build();
+
+        ExchangeAssessmentRecord assessment = ExchangeAssessmentRecord.builder()
+                .exchange("Binance")
+                .coinListing("XYZUSDT")
+                .assessedAt(Instant.now())
+                .contextType("Exchange")
+                .build();
+
+        when(assessor.assess(any(ExchangeSelectorContext.class))).thenReturn(Mono.just(List.of(assessment)));
+        when(repo.upsertPerMinute(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.empty());
+
+        TradeExecutionService service = service();
+
+        StepVerifier.create(service.evaluateAndTrade(announcement))
+                .expectNextMatches(trade -> trade.getRiskScore() == 10 && !trade.isTradeExecuted())
+                .verifyComplete();
+    }
+
     @Test
     public void testEvaluateAndTrade_unsupportedExchange_skipsTrade() {
         CoinAnnouncementRecord announcement = CoinAnnouncementRecord.builder()
@@ -83,7 +109,7 @@ public class TradeExecutionServiceTest {
 
         when(assessor.assess(any())).thenReturn(Mono.just(List.of(unsupportedAssessment)));
 
-        TradeExecutionService service = new TradeExecutionService(assessor, repo, config);
+        TradeExecutionService service = service();
 
         StepVerifier.create(service.evaluateAndTrade(announcement))
                 .expectComplete()
@@ -102,7 +128,7 @@ public class TradeExecutionServiceTest {
 
         when(assessor.assess(any())).thenReturn(Mono.empty());
 
-        TradeExecutionService service = new TradeExecutionService(assessor, repo, config);
+        TradeExecutionService service = service();
 
         StepVerifier.create(service.evaluateAndTrade(delistingAnnouncement))
                 .verifyComplete();
@@ -120,7 +146,7 @@ public class TradeExecutionServiceTest {
 
         when(assessor.assess(any())).thenReturn(Mono.empty());
 
-        TradeExecutionService service = new TradeExecutionService(assessor, repo, config);
+        TradeExecutionService service = service();
 
         StepVerifier.create(service.evaluateAndTrade(announcement))
                 .expectComplete()
@@ -139,10 +165,15 @@ public class TradeExecutionServiceTest {
 
         when(assessor.assess(any())).thenReturn(Mono.error(new RuntimeException("Assessment error")));
 
-        TradeExecutionService service = new TradeExecutionService(assessor, repo, config);
+        TradeExecutionService service = service();
 
         StepVerifier.create(service.evaluateAndTrade(announcement))
                 .expectErrorMessage("Assessment error")
                 .verify();
     }
+
+    private TradeExecutionService service() {
+        return new TradeExecutionService(assessor, repo, config, TestCollaborators.pipelineMetrics(),
+                TestCollaborators.unboundedBudget(), TestCollaborators.noOrders());
+    }
 }
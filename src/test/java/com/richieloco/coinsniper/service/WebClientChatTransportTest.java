@@ -0,0 +1,118 @@
+package com.richieloco.coinsniper.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.richieloco.coinsniper.config.LlmTransportConfig;
+import com.richieloco.coinsniper.service.llm.WebClientChatTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebClientChatTransportTest {
+
+    private static final String COMPLETION = """
+            {"id": "1", "object": "chat.completion", "model": "test-model",
+             "choices": [{"index": 0, "message": {"role": "assistant", "content": "[{\\"exchange\\": \\"Binance\\"}]"}, "finish_reason": "stop"}]}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<JsonNode> lastRequest = new AtomicReference<>();
+    private final AtomicReference<String> lastAuthorization = new AtomicReference<>();
+    private DisposableServer server;
+    private WebClientChatTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .post("/v1/chat/completions", (request, response) -> request.receive().aggregate().asString()
+                                .flatMap(body -> {
+                                    lastAuthorization.set(request.requestHeaders().get("Authorization"));
+                                    JsonNode json = read(body);
+                                    lastRequest.set(json);
+                                    String content = json.path("messages").path(0).path("content").asText();
+                                    if (content.equals("slow")) {
+                                        return Mono.delay(Duration.ofSeconds(5)).then();
+                                    }
+                                    if (content.equals("fail")) {
+                                        return response.status(503).send().then();
+                                    }
+                                    if (json.path("stream").asBoolean()) {
+                                        return response.header("Content-Type", "text/event-stream")
+                                                .sendString(Flux.just(delta("[{\\\"exch"), delta("ange\\\": \\\"Binance\\\"}]"),
+                                                        "data: {\"choices\": [{\"index\": 0, \"delta\": {}}]}\n\n", "data: [DONE]\n\n"))
+                                                .then();
+                                    }
+                                    return response.header("Content-Type", "application/json").sendString(Mono.just(COMPLETION)).then();
+                                })))
+                .bindNow();
+
+        LlmTransportConfig config = new LlmTransportConfig();
+        config.setRequestTimeout(Duration.ofMillis(500));
+        transport = WebClientChatTransport.create("http://localhost:" + server.port(), "test-key", "test-model", 0.2, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    void call_postsChatCompletionAndReturnsContent() {
+        StepVerifier.create(transport.call("assess XYZ"))
+                .expectNext("[{\"exchange\": \"Binance\"}]")
+                .verifyComplete();
+
+        assertThat(lastAuthorization.get()).isEqualTo("Bearer test-key");
+        assertThat(lastRequest.get().path("model").asText()).isEqualTo("test-model");
+        assertThat(lastRequest.get().path("temperature").asDouble()).isEqualTo(0.2);
+        assertThat(lastRequest.get().path("stream").asBoolean()).isFalse();
+    }
+
+    @Test
+    void stream_emitsDeltasUntilDone() {
+        StepVerifier.create(transport.stream("assess XYZ").reduce(String::concat))
+                .expectNext("[{\"exchange\": \"Binance\"}]")
+                .verifyComplete();
+
+        assertThat(lastRequest.get().path("stream").asBoolean()).isTrue();
+    }
+
+    @Test
+    void slowResponse_timesOut() {
+        StepVerifier.create(transport.call("slow"))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void errorStatus_isSurfaced() {
+        StepVerifier.create(transport.call("fail"))
+                .expectErrorMatches(error -> error instanceof WebClientResponseException e && e.getStatusCode().value() == 503)
+                .verify();
+    }
+
+    private JsonNode read(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static String delta(String content) {
+        return "data: {\"choices\": [{\"index\": 0, \"delta\": {\"content\": \"" + content + "\"}}]}\n\n";
+    }
+}